@@ -0,0 +1,137 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesmo cenario de buscar-pessoa.js para onde nao ha k6: taxa de chegada constante de GET /api/v1/pessoa/{cpf}, com os
+ * mesmos CPFs e o mesmo cadastro inicial, e resumo de latencia e vazao. So usa o JDK:
+ *
+ * <pre>java load-test/CargaBuscaPessoa.java [rps] [duracao-s] [aquecimento-s] [base-url]</pre>
+ *
+ * A latencia vai do envio ao fim da leitura da resposta de cada requisicao, com qualquer status, e a vazao conta so as
+ * respostas 200 e 204. Como no k6, ate MAX_EM_VOO requisicoes ficam em andamento; as chegadas alem disso sao
+ * descartadas e contadas, sem esperar.
+ */
+public class CargaBuscaPessoa {
+
+    private static final List<String> CPFS = List.of("52998224725", "98765432100", "11144477735", "19119119100",
+            "39053344705");
+    private static final List<String> CADASTRADOS = CPFS.subList(0, 3);
+    private static final int MAX_EM_VOO = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int rps = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int duracao = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        int aquecimento = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        String baseUrl = args.length > 3 ? args[3] : "http://localhost:8088";
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        cadastrar(client, baseUrl);
+
+        rodar(client, executor, baseUrl, rps, aquecimento);
+        Resultado resultado = rodar(client, executor, baseUrl, rps, duracao);
+        System.out.println(resultado.resumo(rps, duracao));
+        executor.shutdownNow();
+    }
+
+    private static void cadastrar(HttpClient client, String baseUrl) throws Exception {
+        for (String cpf : CADASTRADOS) {
+            String corpo = "{\"cdDocPessoa\":\"%s\",\"nmPessoa\":\"Pessoa %s\",\"tpPessoa\":\"CLIENTE\",\"dsEmail\":\"carga.%s@email.com\"}"
+                    .formatted(cpf, cpf, cpf);
+            // 400 quando o CPF ja foi cadastrado por uma rodada anterior
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/pessoa"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static Resultado rodar(HttpClient client, ExecutorService executor, String baseUrl, int rps, int segundos)
+            throws InterruptedException {
+        Resultado resultado = new Resultado();
+        AtomicInteger emVoo = new AtomicInteger();
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / rps;
+        long inicio = System.nanoTime();
+        long total = (long) rps * segundos;
+        for (long i = 0; i < total; i++) {
+            long chegada = inicio + i * intervalo;
+            long espera = chegada - System.nanoTime();
+            if (espera > 0) {
+                TimeUnit.NANOSECONDS.sleep(espera);
+            }
+            if (emVoo.incrementAndGet() > MAX_EM_VOO) {
+                emVoo.decrementAndGet();
+                resultado.descartadas.increment();
+                continue;
+            }
+            String cpf = CPFS.get(ThreadLocalRandom.current().nextInt(CPFS.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/pessoa/" + cpf))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            executor.execute(() -> {
+                long envio = System.nanoTime();
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    resultado.latencias.add(System.nanoTime() - envio);
+                    if (status == 200 || status == 204) {
+                        resultado.sucessos.increment();
+                    } else {
+                        resultado.falhas.increment();
+                    }
+                } catch (Exception e) {
+                    resultado.falhas.increment();
+                } finally {
+                    emVoo.decrementAndGet();
+                }
+            });
+        }
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (emVoo.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        resultado.decorrido = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    private static final class Resultado {
+
+        private final ConcurrentLinkedQueue<Long> latencias = new ConcurrentLinkedQueue<>();
+        private final LongAdder sucessos = new LongAdder();
+        private final LongAdder falhas = new LongAdder();
+        private final LongAdder descartadas = new LongAdder();
+        private long decorrido;
+
+        private String resumo(int rps, int duracao) {
+            long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+            return "rps=%d duracao=%ds respostas=%d vazao=%.1f/s p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms falhas=%d descartadas=%d"
+                    .formatted(rps, duracao, ordenadas.length, sucessos.sum() / (decorrido / 1e9),
+                            percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99),
+                            ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6,
+                            falhas.sum(), descartadas.sum());
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int posicao = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+            return ordenadas[Math.max(0, posicao)] / 1e6;
+        }
+    }
+}
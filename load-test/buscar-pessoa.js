@@ -0,0 +1,40 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8088';
+// Todos com digitos verificadores validos: CPFs invalidos respondem 400 sem consultar o DynamoDB e distorceriam o p99
+const CPFS = ['52998224725', '98765432100', '11144477735', '19119119100', '39053344705'];
+// Cadastrados no setup; os demais exercitam a busca sem resultado (204)
+const CADASTRADOS = CPFS.slice(0, 3);
+
+export const options = {
+    scenarios: {
+        buscas: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RPS || 500),
+            timeUnit: '1s',
+            duration: __ENV.DURACAO || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    CADASTRADOS.forEach((cpf) => {
+        // 400 quando o CPF ja foi cadastrado por uma rodada anterior
+        http.post(`${BASE_URL}/api/v1/pessoa`, JSON.stringify({
+            cdDocPessoa: cpf,
+            nmPessoa: `Pessoa ${cpf}`,
+            tpPessoa: 'CLIENTE',
+            dsEmail: `carga.${cpf}@email.com`,
+        }), { headers: { 'Content-Type': 'application/json' } });
+    });
+}
+
+export default function () {
+    const cpf = CPFS[Math.floor(Math.random() * CPFS.length)];
+    const resposta = http.get(`${BASE_URL}/api/v1/pessoa/${cpf}`);
+    check(resposta, { 'status 200 ou 204': (r) => r.status === 200 || r.status === 204 });
+}
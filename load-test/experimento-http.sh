@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Compara o p99 da busca por CPF com cada client HTTP do DynamoDB contra o DynamoDB Local.
+# Requer docker compose, k6 e jq. Uso: ./load-test/experimento-http.sh [rps], padrao 30: meia CPU sustenta cerca de 50
+set -euo pipefail
+
+RPS="${1:-30}"
+COMPOSE="docker compose -f docker-compose.yaml -f load-test/docker-compose.carga.yaml"
+CENARIOS=(
+  "APACHE 50"
+  "APACHE 10"
+  "URL_CONNECTION 50"
+  "CRT 50"
+  "CRT 10"
+)
+RESUMO="$(mktemp)"
+trap 'rm -f "$RESUMO"' EXIT
+
+# URL_CONNECTION e CRT so entram no jar com o perfil clientes-http
+./mvnw -q -Pclientes-http -DskipTests package
+
+for cenario in "${CENARIOS[@]}"; do
+  read -r implementacao conexoes <<< "$cenario"
+  export AWS_DYNAMODB_HTTP_IMPLEMENTACAO="$implementacao"
+  export AWS_DYNAMODB_HTTP_MAX_CONEXOES="$conexoes"
+
+  $COMPOSE up -d --build --force-recreate fiap-fastfood > /dev/null
+  until curl -sf http://localhost:8088/actuator/health > /dev/null; do sleep 2; done
+
+  k6 run -q -e RPS="$RPS" --summary-export="$RESUMO" load-test/buscar-pessoa.js > /dev/null
+  p99=$(jq '.metrics.http_req_duration["p(99)"]' "$RESUMO")
+  echo "$implementacao max-conexoes=$conexoes p99=${p99}ms"
+done
+
+$COMPOSE down > /dev/null
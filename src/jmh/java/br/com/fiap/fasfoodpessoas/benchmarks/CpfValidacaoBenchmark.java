@@ -0,0 +1,92 @@
+package br.com.fiap.fasfoodpessoas.benchmarks;
+
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.validators.CpfValido;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.validator.constraints.br.CPF;
+import org.hibernate.validator.internal.constraintvalidators.hv.br.CPFValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validacao de CPF com o {@code @CPF} do Hibernate Validator e com {@link Cpf}/{@link CpfValido}, isolada e passando
+ * pelo {@link Validator} como no POST. Com {@code -prof gc}, {@code gc.alloc.rate.norm} mostra os bytes alocados por
+ * validacao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CpfValidacaoBenchmark {
+
+    private static final Pattern FORMATO_HIBERNATE =
+            Pattern.compile("([0-9]{3}[.]?[0-9]{3}[.]?[0-9]{3}-[0-9]{2})|([0-9]{11})");
+
+    @Param({ "11144477735", "111.444.777-35", "11144477736" })
+    private String cdDocPessoa;
+
+    private CPFValidator hibernate;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ComCpfHibernate comCpfHibernate;
+    private ComCpfValido comCpfValido;
+
+    @Setup
+    public void preparar() throws NoSuchFieldException {
+        hibernate = new CPFValidator();
+        hibernate.initialize(ComCpfHibernate.class.getDeclaredField("cdDocPessoa").getAnnotation(CPF.class));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        comCpfHibernate = new ComCpfHibernate(cdDocPessoa);
+        comCpfValido = new ComCpfValido(cdDocPessoa);
+    }
+
+    @TearDown
+    public void encerrar() {
+        validatorFactory.close();
+    }
+
+    // O @CPF e composto: um @Pattern de formato mais o CPFValidator, que sozinho ignora caracteres nao numericos
+    @Benchmark
+    public boolean hibernateCpf() {
+        return FORMATO_HIBERNATE.matcher(cdDocPessoa).matches() && hibernate.isValid(cdDocPessoa, null);
+    }
+
+    @Benchmark
+    public boolean cpfIsValido() {
+        return Cpf.isValido(cdDocPessoa);
+    }
+
+    @Benchmark
+    public int validatorComHibernateCpf() {
+        return validator.validate(comCpfHibernate).size();
+    }
+
+    @Benchmark
+    public int validatorComCpfValido() {
+        return validator.validate(comCpfValido).size();
+    }
+
+    public record ComCpfHibernate(@CPF String cdDocPessoa) {
+    }
+
+    public record ComCpfValido(@CpfValido String cdDocPessoa) {
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.fasfoodpessoas.benchmarks;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.PessoaEmbeddedRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cadastros por segundo no repositorio embarcado com uma unica thread, por politica de sincronizacao. Cada operacao
+ * grava um CPF novo, entao o indice cresce durante a medicao como em uma carga de cadastros. Com {@code SEMPRE} o
+ * resultado depende do tempo de fsync do disco em que o diretorio temporario esta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class LogPessoasBenchmark {
+
+    @Param({ "NUNCA", "INTERVALO", "SEMPRE" })
+    private LogPessoas.Sincronizacao sincronizacao;
+
+    private Path diretorio;
+    private PessoaEmbeddedRepository repository;
+    private long proximoCpf;
+
+    @Setup
+    public void preparar() throws IOException {
+        diretorio = Files.createTempDirectory("log-pessoas-benchmark");
+        repository = new PessoaEmbeddedRepository(LogPessoas.abrir(diretorio, sincronizacao, Duration.ofMillis(100),
+                64L * 1024 * 1024));
+    }
+
+    @TearDown
+    public void encerrar() throws IOException {
+        repository.close();
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(arquivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public PessoaModel cadastrarPessoa() {
+        long cpf = ++proximoCpf;
+        return repository.cadastrarPessoa(new PessoaModel(Cpf.formatar(cpf), "Pessoa de Benchmark",
+                TipoPessoaEnum.CLIENTE, "pessoa" + cpf + "@email.com"));
+    }
+}
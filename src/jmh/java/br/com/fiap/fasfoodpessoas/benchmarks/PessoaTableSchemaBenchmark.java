@@ -0,0 +1,87 @@
+package br.com.fiap.fasfoodpessoas.benchmarks;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversao de {@link PessoaEntity} para item e de item para entidade, como no PutItem e no GetItem, com o schema
+ * estatico de {@link DynamoDbConfig#pessoaTableSchema()} e com {@code TableSchema.fromBean}. Com {@code -prof gc},
+ * {@code gc.alloc.rate.norm} mostra os bytes alocados por conversao. {@code construir} mede a primeira criacao do
+ * schema em uma JVM nova, como na subida: o SDK guarda o schema de bean depois da primeira introspeccao, entao so a
+ * chamada fria e comparavel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PessoaTableSchemaBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Conversao {
+
+        @Param({ "estatico", "bean" })
+        private String schema;
+
+        private TableSchema<PessoaEntity> tableSchema;
+        private PessoaEntity pessoa;
+        private Map<String, AttributeValue> item;
+
+        @Setup
+        public void preparar() {
+            tableSchema = criar(schema);
+            pessoa = new PessoaEntity("11144477735", "Joao Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+            item = tableSchema.itemToMap(pessoa, true);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Subida {
+
+        @Param({ "estatico", "bean" })
+        private String schema;
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> itemToMap(Conversao conversao) {
+        return conversao.tableSchema.itemToMap(conversao.pessoa, true);
+    }
+
+    @Benchmark
+    public PessoaEntity mapToItem(Conversao conversao) {
+        return conversao.tableSchema.mapToItem(conversao.item);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public TableSchema<PessoaEntity> construir(Subida subida) {
+        return criar(subida.schema);
+    }
+
+    private static TableSchema<PessoaEntity> criar(String schema) {
+        return "bean".equals(schema)
+                ? TableSchema.fromBean(PessoaEntity.class)
+                : new DynamoDbConfig().pessoaTableSchema();
+    }
+}
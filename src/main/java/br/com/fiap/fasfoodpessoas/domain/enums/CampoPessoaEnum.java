@@ -0,0 +1,31 @@
+package br.com.fiap.fasfoodpessoas.domain.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Campos de uma pessoa que podem ser solicitados em uma busca projetada. O atributo e o nome do campo na API e na
+ * tabela Pessoas.
+ */
+public enum CampoPessoaEnum {
+    CD_DOC_PESSOA("cdDocPessoa"),
+    NM_PESSOA("nmPessoa"),
+    TP_PESSOA("tpPessoa"),
+    DS_EMAIL("dsEmail");
+
+    private final String atributo;
+
+    CampoPessoaEnum(String atributo) {
+        this.atributo = atributo;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    public static Optional<CampoPessoaEnum> doAtributo(String atributo) {
+        return Arrays.stream(values())
+                .filter(campo -> campo.atributo.equals(atributo))
+                .findFirst();
+    }
+}
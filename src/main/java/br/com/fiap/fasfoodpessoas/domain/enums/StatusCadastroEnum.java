@@ -0,0 +1,8 @@
+package br.com.fiap.fasfoodpessoas.domain.enums;
+
+public enum StatusCadastroEnum {
+    CRIADO,
+    DUPLICADO,
+    INVALIDO,
+    FALHA
+}
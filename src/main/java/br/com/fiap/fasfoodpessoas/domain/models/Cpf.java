@@ -0,0 +1,185 @@
+package br.com.fiap.fasfoodpessoas.domain.models;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Regras do CPF usadas na validacao das requisicoes e nas buscas, e a forma compacta do CPF em memoria: um
+ * {@code long} com os 11 digitos nos 37 bits baixos e os separadores informados (pontos e hifen) nos bits
+ * {@link #DESLOCAMENTO_SEPARADORES} em diante. A conversao e reversivel: {@link #formatar(long)} devolve exatamente o
+ * texto compactado, entao CPFs compactados sao iguais se e somente se os textos forem iguais. Compactar e
+ * {@link #escrever(long, byte[], int)} nao alocam memoria.
+ */
+public final class Cpf {
+
+    public static final int DIGITOS = 11;
+
+    /**
+     * Valor devolvido por {@link #compactar(CharSequence)} para textos fora dos formatos de CPF. Nunca e um CPF
+     * compactado, que e sempre positivo.
+     */
+    public static final long INVALIDO = -1L;
+
+    static final int DESLOCAMENTO_SEPARADORES = 40;
+    private static final long MASCARA_NUMERO = (1L << DESLOCAMENTO_SEPARADORES) - 1;
+    // 99.999.999.999 < 2^37
+    private static final int BITS_NUMERO = 37;
+    private static final long REPUNIT = 11_111_111_111L;
+
+    // Separadores ja vistos: ponto apos o 3o digito, ponto apos o 6o e hifen antes dos verificadores
+    private static final int PONTO_3 = 1;
+    private static final int PONTO_6 = 2;
+    private static final int HIFEN = 4;
+
+    private Cpf() {
+    }
+
+    /**
+     * Verifica formato e digitos verificadores em uma unica passada pelos caracteres, sem regex nem copias da entrada.
+     * Aceita os mesmos formatos do {@code @CPF} do Hibernate Validator: 11 digitos seguidos ou com hifen antes dos
+     * verificadores e, opcionalmente, pontos apos o terceiro e o sexto digitos ({@code 111.444.777-35}). CPFs com os
+     * 11 digitos iguais passam no calculo dos verificadores, mas nao sao emitidos pela Receita e sao recusados.
+     */
+    public static boolean isValido(CharSequence cpf) {
+        long compactado = compactar(cpf);
+        if (compactado == INVALIDO) {
+            return false;
+        }
+        long numero = numero(compactado);
+        return !digitosIguais(numero) && digitosVerificadoresConferem(numero);
+    }
+
+    // 00000000000, 11111111111, ..., 99999999999 sao exatamente os multiplos de 11111111111 com 11 digitos
+    private static boolean digitosIguais(long numero) {
+        return numero % REPUNIT == 0;
+    }
+
+    /**
+     * Compacta um CPF nos formatos aceitos por {@link #isValido(CharSequence)}, sem conferir os digitos
+     * verificadores. Devolve {@link #INVALIDO} para nulo ou qualquer outro texto.
+     */
+    public static long compactar(CharSequence cpf) {
+        if (cpf == null) {
+            return INVALIDO;
+        }
+        int tamanho = cpf.length();
+        if (tamanho < DIGITOS || tamanho > DIGITOS + 3) {
+            return INVALIDO;
+        }
+
+        int digitos = 0;
+        int separadores = 0;
+        long numero = 0;
+        for (int i = 0; i < tamanho; i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digitos == DIGITOS) {
+                    return INVALIDO;
+                }
+                numero = numero * 10 + (c - '0');
+                digitos++;
+            } else {
+                int separador = separador(c, digitos);
+                if (separador == 0 || (separadores & separador) != 0) {
+                    return INVALIDO;
+                }
+                separadores |= separador;
+            }
+        }
+        if (digitos != DIGITOS || (separadores != 0 && (separadores & HIFEN) == 0)) {
+            return INVALIDO;
+        }
+        return numero | (long) separadores << DESLOCAMENTO_SEPARADORES;
+    }
+
+    /**
+     * Texto do CPF compactado, com os mesmos separadores do texto original.
+     */
+    public static String formatar(long cpf) {
+        byte[] texto = new byte[tamanho(cpf)];
+        escrever(cpf, texto, 0);
+        return new String(texto, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Escreve o texto ASCII do CPF compactado em {@code destino} a partir de {@code posicao} e devolve a quantidade
+     * de bytes escritos, {@link #tamanho(long)}.
+     */
+    public static int escrever(long cpf, byte[] destino, int posicao) {
+        int tamanho = tamanho(cpf);
+        int separadores = (int) (cpf >>> DESLOCAMENTO_SEPARADORES);
+        long numero = numero(cpf);
+        int fim = posicao + tamanho;
+        for (int i = fim - 1, digitos = DIGITOS; i >= posicao; i--) {
+            int separador = separador(digitos);
+            if ((separadores & separador) != 0) {
+                destino[i] = (byte) (separador == HIFEN ? '-' : '.');
+                separadores &= ~separador;
+            } else {
+                destino[i] = (byte) ('0' + numero % 10);
+                numero /= 10;
+                digitos--;
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Quantidade de caracteres do texto do CPF compactado: 11 digitos mais os separadores.
+     */
+    public static int tamanho(long cpf) {
+        if (cpf < 0 || numero(cpf) > 99_999_999_999L || (cpf >>> DESLOCAMENTO_SEPARADORES) > (PONTO_3 | PONTO_6 | HIFEN)) {
+            throw new IllegalArgumentException("CPF compactado invalido: " + cpf);
+        }
+        return DIGITOS + Long.bitCount(cpf >>> DESLOCAMENTO_SEPARADORES);
+    }
+
+    /**
+     * Os 11 digitos do CPF compactado como numero, sem os separadores: textos com e sem pontuacao do mesmo CPF
+     * resultam no mesmo numero.
+     */
+    public static long numero(long cpf) {
+        return cpf & MASCARA_NUMERO;
+    }
+
+    /**
+     * O CPF compactado reduzido a 40 bits (separadores acima dos 37 bits do numero) e com a mesma ordem dos valores
+     * compactados: {@code ordem(a) < ordem(b)} se e somente se {@code a < b}. Sobram bits para acompanhar a chave com
+     * um indice em um unico {@code long} ordenavel.
+     */
+    public static long ordem(long cpf) {
+        return (cpf >>> DESLOCAMENTO_SEPARADORES) << BITS_NUMERO | numero(cpf);
+    }
+
+    private static boolean digitosVerificadoresConferem(long numero) {
+        int segundoVerificador = (int) (numero % 10);
+        int primeiroVerificador = (int) (numero / 10 % 10);
+        long base = numero / 100;
+
+        int somaPrimeiro = 0;
+        int somaSegundo = primeiroVerificador * 2;
+        for (int peso = 2; peso <= 10; peso++, base /= 10) {
+            int digito = (int) (base % 10);
+            somaPrimeiro += digito * peso;
+            somaSegundo += digito * (peso + 1);
+        }
+        return primeiroVerificador == somaPrimeiro * 10 % 11 % 10 && segundoVerificador == somaSegundo * 10 % 11 % 10;
+    }
+
+    private static int separador(char c, int digitosAnteriores) {
+        int separador = separador(digitosAnteriores);
+        if (separador == HIFEN ? c == '-' : c == '.' && separador != 0) {
+            return separador;
+        }
+        return 0;
+    }
+
+    // Separador que pode aparecer depois da quantidade de digitos informada
+    private static int separador(int digitosAnteriores) {
+        return switch (digitosAnteriores) {
+            case 3 -> PONTO_3;
+            case 6 -> PONTO_6;
+            case 9 -> HIFEN;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.fasfoodpessoas.domain.models;
+
+import java.util.Locale;
+
+/**
+ * Forma canonica do e-mail usada na reserva de unicidade e nas buscas: sem espacos nas pontas e em minusculas, para
+ * que {@code Joao@Email.com} e {@code joao@email.com } reservem e encontrem o mesmo cadastro.
+ */
+public final class Email {
+
+    private Email() {
+    }
+
+    public static String normalizar(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
+}
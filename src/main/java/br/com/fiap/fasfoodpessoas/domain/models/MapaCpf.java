@@ -0,0 +1,184 @@
+package br.com.fiap.fasfoodpessoas.domain.models;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Mapa de CPF compactado ({@link Cpf#compactar(CharSequence)}) para objeto, com enderecamento aberto e sondagem
+ * linear em dois arrays: cada entrada custa um {@code long} e uma referencia, sem a String da chave, o {@code Long}
+ * de um HashMap nem o no de cada entrada. Nao e thread-safe e nao aceita valores nulos.
+ */
+public final class MapaCpf<V> {
+
+    private static final int CAPACIDADE_MINIMA = 8;
+    private static final long VAZIO = Cpf.INVALIDO;
+
+    private long[] chaves;
+    private Object[] valores;
+    private int tamanho;
+    private int limite;
+
+    public MapaCpf() {
+        this(CAPACIDADE_MINIMA);
+    }
+
+    public MapaCpf(int capacidadeEsperada) {
+        if (capacidadeEsperada < 0) {
+            throw new IllegalArgumentException("A capacidade esperada do mapa nao pode ser negativa");
+        }
+        alocar(Math.max(CAPACIDADE_MINIMA, Integer.highestOneBit(Math.max(1, capacidadeEsperada * 4 / 3)) << 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V buscar(long cpf) {
+        int indice = indice(cpf);
+        return indice < 0 ? null : (V) valores[indice];
+    }
+
+    public boolean contem(long cpf) {
+        return indice(cpf) >= 0;
+    }
+
+    /**
+     * Associa o valor ao CPF e devolve o valor anterior, ou {@code null} se nao havia.
+     */
+    public V colocar(long cpf, V valor) {
+        return colocar(cpf, valor, true);
+    }
+
+    /**
+     * Associa o valor ao CPF apenas se ainda nao houver valor para ele; devolve o valor existente, ou {@code null}
+     * quando o novo valor foi associado.
+     */
+    public V colocarSeAusente(long cpf, V valor) {
+        return colocar(cpf, valor, false);
+    }
+
+    /**
+     * Remove o CPF e devolve o valor que estava associado a ele, ou {@code null} se nao havia. As entradas seguintes
+     * da mesma sequencia de sondagem sao recuadas, sem marcas de remocao.
+     */
+    @SuppressWarnings("unchecked")
+    public V remover(long cpf) {
+        int indice = indice(cpf);
+        if (indice < 0) {
+            return null;
+        }
+        V anterior = (V) valores[indice];
+        int mascara = chaves.length - 1;
+        int vago = indice;
+        for (int atual = (vago + 1) & mascara; chaves[atual] != VAZIO; atual = (atual + 1) & mascara) {
+            int ideal = posicao(chaves[atual]);
+            // A entrada so pode ocupar o lugar vago se ele estiver entre a posicao ideal dela e a atual
+            if (((atual - ideal) & mascara) >= ((atual - vago) & mascara)) {
+                chaves[vago] = chaves[atual];
+                valores[vago] = valores[atual];
+                vago = atual;
+            }
+        }
+        chaves[vago] = VAZIO;
+        valores[vago] = null;
+        tamanho--;
+        return anterior;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean isVazio() {
+        return tamanho == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void paraCada(ConsumidorCpf<? super V> consumidor) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIO) {
+                consumidor.aceitar(chaves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorCpf<V> {
+        void aceitar(long cpf, V valor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V colocar(long cpf, V valor, boolean substituir) {
+        Objects.requireNonNull(valor, "O mapa de CPFs nao aceita valores nulos");
+        int mascara = chaves.length - 1;
+        int indice = posicao(validar(cpf));
+        while (chaves[indice] != VAZIO) {
+            if (chaves[indice] == cpf) {
+                V anterior = (V) valores[indice];
+                if (substituir) {
+                    valores[indice] = valor;
+                }
+                return anterior;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        chaves[indice] = cpf;
+        valores[indice] = valor;
+        if (++tamanho > limite) {
+            redimensionar();
+        }
+        return null;
+    }
+
+    private int indice(long cpf) {
+        if (cpf < 0) {
+            return -1;
+        }
+        int mascara = chaves.length - 1;
+        for (int indice = posicao(cpf); chaves[indice] != VAZIO; indice = (indice + 1) & mascara) {
+            if (chaves[indice] == cpf) {
+                return indice;
+            }
+        }
+        return -1;
+    }
+
+    private void redimensionar() {
+        long[] chavesAnteriores = chaves;
+        Object[] valoresAnteriores = valores;
+        alocar(chaves.length << 1);
+        int mascara = chaves.length - 1;
+        for (int i = 0; i < chavesAnteriores.length; i++) {
+            if (chavesAnteriores[i] != VAZIO) {
+                int indice = posicao(chavesAnteriores[i]);
+                while (chaves[indice] != VAZIO) {
+                    indice = (indice + 1) & mascara;
+                }
+                chaves[indice] = chavesAnteriores[i];
+                valores[indice] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        Arrays.fill(chaves, VAZIO);
+        valores = new Object[capacidade];
+        limite = capacidade / 4 * 3;
+    }
+
+    // Os digitos do CPF sao quase sequenciais nos bits baixos; o finalizador do MurmurHash3 os espalha pela tabela
+    private int posicao(long cpf) {
+        long hash = cpf;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash & (chaves.length - 1);
+    }
+
+    private static long validar(long cpf) {
+        if (cpf < 0) {
+            throw new IllegalArgumentException("CPF compactado invalido: " + cpf);
+        }
+        return cpf;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.fasfoodpessoas.domain.models;
+
+import java.util.List;
+
+public class PaginaPessoasModel {
+
+    private final List<PessoaModel> pessoas;
+    private final String cursor;
+
+    /**
+     * @param cursor posicao opaca para buscar a proxima pagina, ou {@code null} quando nao ha mais paginas
+     */
+    public PaginaPessoasModel(List<PessoaModel> pessoas, String cursor) {
+        this.pessoas = pessoas;
+        this.cursor = cursor;
+    }
+
+    public List<PessoaModel> getPessoas() {
+        return pessoas;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
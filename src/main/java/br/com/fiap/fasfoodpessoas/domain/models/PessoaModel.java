@@ -5,6 +5,9 @@ import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
 
 public class PessoaModel {
 
+    // CPF compactado por Cpf.compactar. O texto e guardado quando nao esta em um formato de CPF; nos demais casos e
+    // criado na primeira leitura e reaproveitado
+    private long cpf = Cpf.INVALIDO;
     private String cdDocPessoa;
     private String nmPessoa;
     private TipoPessoaEnum tpPessoa;
@@ -14,21 +17,51 @@ public class PessoaModel {
     }
 
     public PessoaModel(String cdDocPessoa, String nmPessoa, TipoPessoaEnum tpPessoa, String dsEmail) {
-        this.cdDocPessoa = cdDocPessoa;
+        // Mesma atribuicao de setCdDocPessoa, sem chamar o metodo sobrescrevivel no construtor
+        this.cpf = Cpf.compactar(cdDocPessoa);
+        this.cdDocPessoa = cpf != Cpf.INVALIDO ? null : cdDocPessoa;
         this.nmPessoa = nmPessoa;
         this.tpPessoa = tpPessoa;
-        this.dsEmail = dsEmail;
+        this.dsEmail = Email.normalizar(dsEmail);
     }
 
+    /**
+     * Copia de {@code origem}, para entregar o mesmo resultado a mais de um chamador sem compartilhar a instancia.
+     */
+    public PessoaModel(PessoaModel origem) {
+        this.cpf = origem.cpf;
+        this.cdDocPessoa = origem.cdDocPessoa;
+        this.nmPessoa = origem.nmPessoa;
+        this.tpPessoa = origem.tpPessoa;
+        this.dsEmail = origem.dsEmail;
+    }
+
+    /**
+     * Texto do CPF, criado a partir da forma compacta na primeira chamada. Como em {@code String.hashCode}, threads
+     * concorrentes podem criar o texto mais de uma vez, sempre igual. Indices em memoria devem usar {@link #getCpf()}.
+     */
     public String getCdDocPessoa() {
-        return cdDocPessoa;
+        String texto = cdDocPessoa;
+        if (texto == null && cpf != Cpf.INVALIDO) {
+            texto = Cpf.formatar(cpf);
+            cdDocPessoa = texto;
+        }
+        return texto;
     }
 
     public PessoaModel setCdDocPessoa(String cdDocPessoa) {
-        this.cdDocPessoa = cdDocPessoa;
+        this.cpf = Cpf.compactar(cdDocPessoa);
+        this.cdDocPessoa = cpf != Cpf.INVALIDO ? null : cdDocPessoa;
         return this;
     }
 
+    /**
+     * CPF compactado, ou {@link Cpf#INVALIDO} quando o documento nao esta em um formato de CPF.
+     */
+    public long getCpf() {
+        return cpf;
+    }
+
     public String getNmPessoa() {
         return nmPessoa;
     }
@@ -52,7 +85,7 @@ public class PessoaModel {
     }
 
     public PessoaModel setDsEmail(String dsEmail) {
-        this.dsEmail = dsEmail;
+        this.dsEmail = Email.normalizar(dsEmail);
         return this;
     }
 
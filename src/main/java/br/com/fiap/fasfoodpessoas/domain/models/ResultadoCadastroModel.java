@@ -0,0 +1,53 @@
+package br.com.fiap.fasfoodpessoas.domain.models;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
+
+public class ResultadoCadastroModel {
+
+    private final String cdDocPessoa;
+    private final StatusCadastroEnum status;
+    private final String mensagem;
+
+    public ResultadoCadastroModel(String cdDocPessoa, StatusCadastroEnum status) {
+        this(cdDocPessoa, status, null);
+    }
+
+    public ResultadoCadastroModel(String cdDocPessoa, StatusCadastroEnum status, String mensagem) {
+        this.cdDocPessoa = cdDocPessoa;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+
+    public static ResultadoCadastroModel criado(String cdDocPessoa) {
+        return new ResultadoCadastroModel(cdDocPessoa, StatusCadastroEnum.CRIADO);
+    }
+
+    public static ResultadoCadastroModel duplicado(String cdDocPessoa) {
+        return new ResultadoCadastroModel(cdDocPessoa, StatusCadastroEnum.DUPLICADO);
+    }
+
+    public static ResultadoCadastroModel emailDuplicado(String cdDocPessoa) {
+        return new ResultadoCadastroModel(cdDocPessoa, StatusCadastroEnum.DUPLICADO,
+                "Cliente ja cadastrado com o e-mail informado");
+    }
+
+    /**
+     * Item que nao pode ser gravado por um erro que nao depende dele, como indisponibilidade do banco; pode ser
+     * reenviado.
+     */
+    public static ResultadoCadastroModel falha(String cdDocPessoa, String mensagem) {
+        return new ResultadoCadastroModel(cdDocPessoa, StatusCadastroEnum.FALHA, mensagem);
+    }
+
+    public String getCdDocPessoa() {
+        return cdDocPessoa;
+    }
+
+    public StatusCadastroEnum getStatus() {
+        return status;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.fasfoodpessoas.domain.ports.in;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante nao bloqueante de {@link PessoaServicePort}.
+ */
+public interface PessoaAsyncServicePort {
+
+    CompletableFuture<PessoaModel> cadastraPessoa(PessoaModel pessoa);
+    CompletableFuture<Optional<PessoaModel>> buscaPessoaPorCpf(String cdDocPessoa);
+    CompletableFuture<Optional<PessoaModel>> buscaPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos);
+    CompletableFuture<Optional<PessoaModel>> buscaPessoaPorEmail(String dsEmail);
+    CompletableFuture<PaginaPessoasModel> listaPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor);
+    CompletableFuture<List<PessoaModel>> buscaPessoasPorCpfs(Collection<String> cdDocPessoas);
+}
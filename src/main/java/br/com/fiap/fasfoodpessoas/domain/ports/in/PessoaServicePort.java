@@ -1,10 +1,54 @@
 package br.com.fiap.fasfoodpessoas.domain.ports.in;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface PessoaServicePort {
     PessoaModel cadastraPessoa(PessoaModel pessoa);
     Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa);
+
+    default Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        return buscaPessoaPorCpf(cdDocPessoa);
+    }
+
+    Optional<PessoaModel> buscaPessoaPorEmail(String dsEmail);
+    PaginaPessoasModel listaPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor);
+    void exportaPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor);
+
+    default boolean existePessoa(String cdDocPessoa) {
+        return buscaPessoaPorCpf(cdDocPessoa).isPresent();
+    }
+
+    default Optional<TipoPessoaEnum> buscaTipoPessoa(String cdDocPessoa) {
+        return buscaPessoaPorCpf(cdDocPessoa).map(PessoaModel::getTpPessoa);
+    }
+
+    default List<PessoaModel> buscaPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        return cdDocPessoas.stream()
+                .map(this::buscaPessoaPorCpf)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    default List<ResultadoCadastroModel> cadastraPessoas(List<PessoaModel> pessoas) {
+        return pessoas.stream()
+                .map(pessoa -> {
+                    try {
+                        return ResultadoCadastroModel.criado(cadastraPessoa(pessoa).getCdDocPessoa());
+                    } catch (CpfCadastradoException e) {
+                        return ResultadoCadastroModel.duplicado(pessoa.getCdDocPessoa());
+                    }
+                })
+                .toList();
+    }
 }
@@ -0,0 +1,30 @@
+package br.com.fiap.fasfoodpessoas.domain.ports.out;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante nao bloqueante de {@link PessoaRepositoryPort}. Falhas sao entregues pelo {@link CompletableFuture}
+ * retornado, nunca lancadas pelo metodo.
+ */
+public interface PessoaAsyncRepositoryPort {
+
+    CompletableFuture<PessoaModel> cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel);
+    CompletableFuture<Optional<PessoaModel>> buscarPessoaPorCpf(String cdDocPessoa);
+
+    /**
+     * Busca a pessoa trazendo ao menos o CPF e os {@code campos} informados; os demais podem vir nulos.
+     */
+    CompletableFuture<Optional<PessoaModel>> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos);
+    CompletableFuture<Optional<PessoaModel>> buscarPessoaPorEmail(String dsEmail);
+    CompletableFuture<PaginaPessoasModel> listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor);
+    CompletableFuture<List<PessoaModel>> buscarPessoasPorCpfs(Collection<String> cdDocPessoas);
+}
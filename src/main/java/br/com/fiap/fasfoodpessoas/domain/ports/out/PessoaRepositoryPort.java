@@ -1,11 +1,109 @@
 package br.com.fiap.fasfoodpessoas.domain.ports.out;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface PessoaRepositoryPort {
 
     PessoaModel cadastrarPessoa(PessoaModel pessoaModel);
     Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa);
+
+    /**
+     * Busca a pessoa trazendo ao menos o CPF e os {@code campos} informados; os demais podem vir nulos.
+     * Implementacoes com suporte a projecao devem sobrescrever este metodo para ler apenas os atributos pedidos.
+     */
+    default Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        return buscarPessoaPorCpf(cdDocPessoa);
+    }
+
+    /**
+     * Busca a pessoa pelo e-mail, sem varrer o cadastro.
+     */
+    Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail);
+
+    /**
+     * Lista ate {@code tamanho} pessoas do tipo informado, ordenadas por nome, a partir do {@code cursor} devolvido
+     * pela pagina anterior ({@code null} na primeira).
+     */
+    PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor);
+
+    /**
+     * Entrega todas as pessoas cadastradas ao {@code consumidor}, uma por vez, lendo a base em {@code segmentos}
+     * paralelos sem ultrapassar {@code capacidadeLeituraPorSegundo} unidades de leitura (zero desliga o limite).
+     * Implementacoes devem manter a memoria constante, sem acumular o resultado.
+     */
+    void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor);
+
+    default boolean existePessoa(String cdDocPessoa) {
+        return buscarPessoaPorCpf(cdDocPessoa, Set.of()).isPresent();
+    }
+
+    default Optional<TipoPessoaEnum> buscarTipoPessoa(String cdDocPessoa) {
+        return buscarPessoaPorCpf(cdDocPessoa, Set.of(CampoPessoaEnum.TP_PESSOA)).map(PessoaModel::getTpPessoa);
+    }
+
+    /**
+     * Cadastra a pessoa somente se o CPF ainda nao existir, lancando {@link CpfCadastradoException} caso contrario.
+     * Implementacoes que suportam escrita condicional devem sobrescrever este metodo para garantir a verificacao
+     * e a insercao de forma atomica.
+     */
+    default PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        if (buscarPessoaPorCpf(pessoaModel.getCdDocPessoa()).isPresent()) {
+            throw new CpfCadastradoException("Cliente ja cadastrado com o CPF informado");
+        }
+        return cadastrarPessoa(pessoaModel);
+    }
+
+    /**
+     * Cadastra cada pessoa somente se o CPF e o e-mail ainda nao estiverem em uso, com a mesma garantia de
+     * {@link #cadastrarPessoaSeNaoExistir(PessoaModel)}, e devolve um resultado por pessoa, na ordem recebida. Uma
+     * falha em uma pessoa nao impede as demais. As pessoas devem ter CPFs e e-mails distintos entre si.
+     * Implementacoes com suporte a escrita em lote devem sobrescrever este metodo para evitar uma chamada por pessoa.
+     */
+    default List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        return pessoas.stream()
+                .map(pessoa -> {
+                    try {
+                        return ResultadoCadastroModel.criado(cadastrarPessoaSeNaoExistir(pessoa).getCdDocPessoa());
+                    } catch (CpfCadastradoException e) {
+                        return ResultadoCadastroModel.duplicado(pessoa.getCdDocPessoa());
+                    } catch (EmailCadastradoException e) {
+                        return ResultadoCadastroModel.emailDuplicado(pessoa.getCdDocPessoa());
+                    } catch (RuntimeException e) {
+                        return ResultadoCadastroModel.falha(pessoa.getCdDocPessoa(), e.getMessage());
+                    }
+                })
+                .toList();
+    }
+
+    /**
+     * Busca as pessoas cadastradas para os CPFs informados. CPFs nao encontrados sao omitidos do resultado.
+     * Implementacoes com suporte a leitura em lote devem sobrescrever este metodo para evitar uma chamada por CPF.
+     */
+    default List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        return cdDocPessoas.stream()
+                .map(this::buscarPessoaPorCpf)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Grava as pessoas informadas sem verificar duplicidade de CPF, substituindo cadastros existentes. Pessoas cujo
+     * e-mail pertence a outro CPF nao sao gravadas: as demais sao, e entao {@code EmailCadastradoException} e lancada.
+     * Implementacoes com suporte a escrita em lote devem sobrescrever este metodo para evitar uma chamada por pessoa.
+     */
+    default void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        pessoas.forEach(this::cadastrarPessoa);
+    }
 }
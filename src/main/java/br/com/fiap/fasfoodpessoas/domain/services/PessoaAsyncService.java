@@ -0,0 +1,65 @@
+package br.com.fiap.fasfoodpessoas.domain.services;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Email;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaAsyncRepositoryPort;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mesmas regras do {@link PessoaService} sobre o {@link PessoaAsyncRepositoryPort}: nenhuma chamada espera o DynamoDB
+ * em uma thread. As buscas vao direto ao repositorio, sem os caches e o agrupamento da porta sincrona.
+ */
+public class PessoaAsyncService implements PessoaAsyncServicePort {
+
+    private final PessoaAsyncRepositoryPort pessoaAsyncRepositoryPort;
+
+    public PessoaAsyncService(PessoaAsyncRepositoryPort pessoaAsyncRepositoryPort) {
+        this.pessoaAsyncRepositoryPort = pessoaAsyncRepositoryPort;
+    }
+
+    @Override
+    public CompletableFuture<PessoaModel> cadastraPessoa(PessoaModel pessoa) {
+        return pessoaAsyncRepositoryPort.cadastrarPessoaSeNaoExistir(pessoa);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PessoaModel>> buscaPessoaPorCpf(String cdDocPessoa) {
+        return pessoaAsyncRepositoryPort.buscarPessoaPorCpf(cdDocPessoa);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PessoaModel>> buscaPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        return pessoaAsyncRepositoryPort.buscarPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PessoaModel>> buscaPessoaPorEmail(String dsEmail) {
+        return pessoaAsyncRepositoryPort.buscarPessoaPorEmail(Email.normalizar(dsEmail));
+    }
+
+    @Override
+    public CompletableFuture<PaginaPessoasModel> listaPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return pessoaAsyncRepositoryPort.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public CompletableFuture<List<PessoaModel>> buscaPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        Set<String> cpfsDistintos = new LinkedHashSet<>(cdDocPessoas);
+        cpfsDistintos.removeIf(Objects::isNull);
+        if (cpfsDistintos.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return pessoaAsyncRepositoryPort.buscarPessoasPorCpfs(cpfsDistintos);
+    }
+}
@@ -1,11 +1,24 @@
 package br.com.fiap.fasfoodpessoas.domain.services;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Email;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
 import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
-import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class PessoaService implements PessoaServicePort {
 
@@ -17,11 +30,7 @@ public class PessoaService implements PessoaServicePort {
 
     @Override
     public PessoaModel cadastraPessoa(PessoaModel pessoaModel) {
-        Optional<PessoaModel> pessoaModelEncontrada = this.buscaPessoaPorCpf(pessoaModel.getCdDocPessoa());
-        if (pessoaModelEncontrada.isPresent()) {
-            throw new CpfCadastradoException("Cliente ja cadastrado com o CPF informado");
-        }
-        return pessoaRepositoryPort.cadastrarPessoa(pessoaModel);
+        return pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaModel);
     }
 
     @Override
@@ -29,5 +38,77 @@ public class PessoaService implements PessoaServicePort {
         return pessoaRepositoryPort.buscarPessoaPorCpf(cdDocPessoa);
     }
 
+    @Override
+    public Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        return pessoaRepositoryPort.buscarPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscaPessoaPorEmail(String dsEmail) {
+        return pessoaRepositoryPort.buscarPessoaPorEmail(Email.normalizar(dsEmail));
+    }
+
+    @Override
+    public PaginaPessoasModel listaPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return pessoaRepositoryPort.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
 
+    @Override
+    public void exportaPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        pessoaRepositoryPort.exportarPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public boolean existePessoa(String cdDocPessoa) {
+        return pessoaRepositoryPort.existePessoa(cdDocPessoa);
+    }
+
+    @Override
+    public Optional<TipoPessoaEnum> buscaTipoPessoa(String cdDocPessoa) {
+        return pessoaRepositoryPort.buscarTipoPessoa(cdDocPessoa);
+    }
+
+    @Override
+    public List<PessoaModel> buscaPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        Set<String> cpfsDistintos = new LinkedHashSet<>(cdDocPessoas);
+        cpfsDistintos.removeIf(Objects::isNull);
+        if (cpfsDistintos.isEmpty()) {
+            return List.of();
+        }
+        return pessoaRepositoryPort.buscarPessoasPorCpfs(cpfsDistintos);
+    }
+
+    /**
+     * A primeira ocorrencia de cada CPF e de cada e-mail na requisicao segue para o cadastro condicional; as demais
+     * sao marcadas como duplicadas sem consultar o repositorio. O repositorio decide, item a item e de forma atomica,
+     * se o CPF ou o e-mail ja existem.
+     */
+    @Override
+    public List<ResultadoCadastroModel> cadastraPessoas(List<PessoaModel> pessoas) {
+        ResultadoCadastroModel[] resultados = new ResultadoCadastroModel[pessoas.size()];
+        Set<String> cpfsProcessados = new HashSet<>();
+        Set<String> emailsProcessados = new HashSet<>();
+        List<Integer> posicoes = new ArrayList<>(pessoas.size());
+        List<PessoaModel> candidatas = new ArrayList<>(pessoas.size());
+        for (int i = 0; i < pessoas.size(); i++) {
+            PessoaModel pessoa = pessoas.get(i);
+            String cdDocPessoa = pessoa.getCdDocPessoa();
+            if (!cpfsProcessados.add(cdDocPessoa)) {
+                resultados[i] = ResultadoCadastroModel.duplicado(cdDocPessoa);
+            } else if (pessoa.getDsEmail() != null && !emailsProcessados.add(pessoa.getDsEmail())) {
+                resultados[i] = ResultadoCadastroModel.emailDuplicado(cdDocPessoa);
+            } else {
+                posicoes.add(i);
+                candidatas.add(pessoa);
+            }
+        }
+
+        if (!candidatas.isEmpty()) {
+            List<ResultadoCadastroModel> gravadas = pessoaRepositoryPort.cadastrarPessoasSeNaoExistirem(candidatas);
+            for (int i = 0; i < gravadas.size(); i++) {
+                resultados[posicoes.get(i)] = gravadas.get(i);
+            }
+        }
+        return Arrays.asList(resultados);
+    }
 }
@@ -0,0 +1,135 @@
+package br.com.fiap.fasfoodpessoas.domain.services;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link PessoaServicePort} que agrupa buscas concorrentes pelo mesmo CPF: enquanto uma busca esta em
+ * andamento, as demais aguardam e recebem o mesmo resultado ou a mesma excecao, sem nova ida ao repositorio. As buscas
+ * sao agrupadas pelo CPF compactado ({@link Cpf#compactar(CharSequence)}), como nos caches, e cada chamada agrupada
+ * recebe a propria copia da pessoa encontrada, ja que {@link PessoaModel} e mutavel. A forma compacta guarda os
+ * separadores, porque o CPF e gravado como foi informado: {@code 111.444.777-35} e {@code 11144477735} sao itens
+ * distintos no repositorio e nao compartilham a busca.
+ */
+public class PessoaServiceSingleFlight implements PessoaServicePort {
+
+    private final PessoaServicePort delegate;
+    private final ConcurrentMap<Long, CompletableFuture<Optional<PessoaModel>>> buscasEmAndamento = new ConcurrentHashMap<>();
+    private final LongAdder buscasExecutadas = new LongAdder();
+    private final LongAdder buscasAgrupadas = new LongAdder();
+
+    public PessoaServiceSingleFlight(PessoaServicePort delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PessoaModel cadastraPessoa(PessoaModel pessoa) {
+        return delegate.cadastraPessoa(pessoa);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa) {
+        long cpf = Cpf.compactar(cdDocPessoa);
+        if (cpf == Cpf.INVALIDO) {
+            return delegate.buscaPessoaPorCpf(cdDocPessoa);
+        }
+
+        CompletableFuture<Optional<PessoaModel>> busca = new CompletableFuture<>();
+        CompletableFuture<Optional<PessoaModel>> emAndamento = buscasEmAndamento.putIfAbsent(cpf, busca);
+        if (emAndamento != null) {
+            buscasAgrupadas.increment();
+            return aguardar(emAndamento).map(PessoaModel::new);
+        }
+
+        buscasExecutadas.increment();
+        try {
+            Optional<PessoaModel> pessoa = delegate.buscaPessoaPorCpf(cdDocPessoa);
+            busca.complete(pessoa);
+            return pessoa;
+        } catch (RuntimeException | Error e) {
+            busca.completeExceptionally(e);
+            throw e;
+        } finally {
+            buscasEmAndamento.remove(cpf, busca);
+        }
+    }
+
+    // Buscas projetadas leem menos atributos e nao sao agrupadas com as buscas completas
+    @Override
+    public Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        return delegate.buscaPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscaPessoaPorEmail(String dsEmail) {
+        return delegate.buscaPessoaPorEmail(dsEmail);
+    }
+
+    @Override
+    public PaginaPessoasModel listaPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return delegate.listaPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public void exportaPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        delegate.exportaPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public boolean existePessoa(String cdDocPessoa) {
+        return delegate.existePessoa(cdDocPessoa);
+    }
+
+    @Override
+    public Optional<TipoPessoaEnum> buscaTipoPessoa(String cdDocPessoa) {
+        return delegate.buscaTipoPessoa(cdDocPessoa);
+    }
+
+    @Override
+    public List<PessoaModel> buscaPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        return delegate.buscaPessoasPorCpfs(cdDocPessoas);
+    }
+
+    @Override
+    public List<ResultadoCadastroModel> cadastraPessoas(List<PessoaModel> pessoas) {
+        return delegate.cadastraPessoas(pessoas);
+    }
+
+    public long getBuscasExecutadas() {
+        return buscasExecutadas.sum();
+    }
+
+    public long getBuscasAgrupadas() {
+        return buscasAgrupadas.sum();
+    }
+
+    private static Optional<PessoaModel> aguardar(CompletableFuture<Optional<PessoaModel>> busca) {
+        try {
+            return busca.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.cli;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoNdjson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Modo CLI da exportacao: com {@code pessoas.exportacao.arquivo} informado, grava o NDJSON nesse arquivo assim que a
+ * aplicacao sobe e encerra o contexto em seguida. Pensado para rodar com {@code spring.main.web-application-type=none}.
+ */
+@Component
+@ConditionalOnProperty(name = "pessoas.exportacao.arquivo")
+public class ExportacaoPessoasRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportacaoPessoasRunner.class);
+
+    private final ExportacaoNdjson exportacaoNdjson;
+    private final ConfigurableApplicationContext contexto;
+    private final Path arquivo;
+
+    public ExportacaoPessoasRunner(ExportacaoNdjson exportacaoNdjson, ConfigurableApplicationContext contexto,
+                                   @Value("${pessoas.exportacao.arquivo}") Path arquivo) {
+        this.exportacaoNdjson = exportacaoNdjson;
+        this.contexto = contexto;
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long inicio = System.nanoTime();
+        long linhas;
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            linhas = exportacaoNdjson.exportar(saida);
+        }
+        LOGGER.info("Exportacao concluida: {} pessoas em {} ({} ms)", linhas, arquivo,
+                (System.nanoTime() - inicio) / 1_000_000);
+        SpringApplication.exit(contexto);
+    }
+}
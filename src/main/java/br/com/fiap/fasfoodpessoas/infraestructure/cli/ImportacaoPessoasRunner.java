@@ -0,0 +1,82 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.cli;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.FormatoImportacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoProperties;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Modo CLI da importacao: com {@code pessoas.importacao.arquivo} informado, importa o arquivo assim que a aplicacao sobe
+ * e encerra o contexto em seguida. A ultima linha confirmada fica no arquivo de checkpoint; se a importacao for
+ * interrompida, rodar o mesmo comando de novo retoma a partir dela.
+ */
+@Component
+@ConditionalOnProperty(name = "pessoas.importacao.arquivo")
+public class ImportacaoPessoasRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportacaoPessoasRunner.class);
+
+    private final ImportacaoPessoas importacaoPessoas;
+    private final ConfigurableApplicationContext contexto;
+    private final Path arquivo;
+    private final Path checkpoint;
+
+    public ImportacaoPessoasRunner(ImportacaoPessoas importacaoPessoas, ImportacaoProperties importacaoProperties,
+                                   ConfigurableApplicationContext contexto) {
+        this.importacaoPessoas = importacaoPessoas;
+        this.contexto = contexto;
+        this.arquivo = Path.of(importacaoProperties.arquivo());
+        this.checkpoint = importacaoProperties.checkpoint() != null
+                ? Path.of(importacaoProperties.checkpoint())
+                : Path.of(importacaoProperties.arquivo() + ".checkpoint");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long aPartirDaLinha = Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).strip()) : 0;
+        if (aPartirDaLinha > 0) {
+            LOGGER.info("Retomando a importacao de {} apos a linha {}", arquivo, aPartirDaLinha);
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoImportacaoDto resultado;
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            resultado = importacaoPessoas.importar(entrada, FormatoImportacao.doArquivo(arquivo.toString()),
+                    aPartirDaLinha, this::gravarCheckpoint);
+        }
+        Files.deleteIfExists(checkpoint);
+        LOGGER.info("Importacao concluida: {} linhas lidas, {} criadas, {} duplicadas, {} invalidas ({} ms)",
+                resultado.linhasLidas(), resultado.criadas(), resultado.duplicadas(), resultado.invalidas(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        resultado.linhasInvalidas().forEach(linha ->
+                LOGGER.warn("Linha {} invalida (cdDocPessoa={}): {}", linha.linha(), linha.cdDocPessoa(), linha.errors()));
+        SpringApplication.exit(contexto);
+    }
+
+    // Grava em um arquivo temporario e troca de uma vez, para uma queda no meio nao deixar o checkpoint pela metade
+    private void gravarCheckpoint(long ultimaLinhaConfirmada) {
+        try {
+            Path temporario = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            Files.writeString(temporario, Long.toString(ultimaLinhaConfirmada), StandardCharsets.UTF_8);
+            Files.move(temporario, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.cli;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository.ResumoReservaEmails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Modo CLI do backfill das reservas de e-mail: com {@code pessoas.reservas-email.backfill=true}, normaliza os e-mails
+ * ja gravados na tabela Pessoas e cria as reservas que faltam em {@code PessoasEmail} assim que a aplicacao sobe, e
+ * encerra o contexto em seguida. Roda uma vez, depois de criar a tabela {@code PessoasEmail}; repetir e seguro.
+ */
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(name = "pessoas.reservas-email.backfill", havingValue = "true")
+public class ReservaEmailsRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservaEmailsRunner.class);
+
+    private final PessoaRepository pessoaRepository;
+    private final ConfigurableApplicationContext contexto;
+    private final int segmentos;
+
+    public ReservaEmailsRunner(PessoaRepository pessoaRepository, ConfigurableApplicationContext contexto,
+                               @Value("${pessoas.reservas-email.segmentos:4}") int segmentos) {
+        this.pessoaRepository = pessoaRepository;
+        this.contexto = contexto;
+        this.segmentos = segmentos;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.nanoTime();
+        ResumoReservaEmails resumo = pessoaRepository.reservarEmailsCadastrados(segmentos);
+        LOGGER.info("Backfill das reservas de e-mail concluido em {} ms: {} reservados ({} normalizados), {} com e-mail"
+                        + " de outro CPF, {} alterados durante o backfill",
+                (System.nanoTime() - inicio) / 1_000_000, resumo.reservados(), resumo.normalizados(),
+                resumo.recusados(), resumo.alterados());
+        SpringApplication.exit(contexto);
+    }
+}
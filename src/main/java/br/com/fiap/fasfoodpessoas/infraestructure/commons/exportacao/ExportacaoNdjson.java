@@ -0,0 +1,61 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao;
+
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escreve todas as pessoas em NDJSON, uma por linha, no mesmo formato da busca por CPF. Usado pelo endpoint de
+ * exportacao e pelo modo CLI; cada linha vai direto para a saida, sem acumular a tabela em memoria.
+ */
+@Component
+@EnableConfigurationProperties(ExportacaoProperties.class)
+public class ExportacaoNdjson {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final PessoaServicePort pessoaServicePort;
+    private final ExportacaoProperties exportacaoProperties;
+    private final ObjectWriter writer;
+
+    public ExportacaoNdjson(PessoaServicePort pessoaServicePort, ExportacaoProperties exportacaoProperties,
+                            ObjectMapper objectMapper) {
+        this.pessoaServicePort = pessoaServicePort;
+        this.exportacaoProperties = exportacaoProperties;
+        this.writer = objectMapper.writerFor(PessoaResponseDto.class);
+    }
+
+    /**
+     * Exporta para {@code saida}, que nao e fechada, e devolve o numero de linhas escritas. Uma saida lenta segura o
+     * scan: a escrita acontece na thread de quem chamou e o repositorio so le novas paginas quando ha espaco na fila.
+     */
+    public long exportar(OutputStream saida) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+        LongAdder linhas = new LongAdder();
+        try {
+            pessoaServicePort.exportaPessoas(exportacaoProperties.segmentos(),
+                    exportacaoProperties.capacidadeLeituraPorSegundo(), pessoa -> {
+                        try {
+                            buffer.write(writer.writeValueAsBytes(new PessoaResponseDto(pessoa)));
+                            buffer.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        linhas.increment();
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffer.flush();
+        return linhas.sum();
+    }
+}
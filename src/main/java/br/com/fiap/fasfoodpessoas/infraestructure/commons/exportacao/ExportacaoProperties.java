@@ -0,0 +1,19 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuracao da exportacao NDJSON da tabela Pessoas ({@code pessoas.exportacao.*}).
+ *
+ * @param segmentos                   segmentos do scan paralelo, cada um lido por uma thread virtual
+ * @param capacidadeLeituraPorSegundo teto de unidades de leitura consumidas por segundo somando todos os segmentos;
+ *                                    zero desliga o limite
+ * @param arquivo                     quando informado, a aplicacao sobe em modo CLI: exporta para este arquivo e encerra
+ */
+@ConfigurationProperties(prefix = "pessoas.exportacao")
+public record ExportacaoProperties(
+        @DefaultValue("4") int segmentos,
+        @DefaultValue("200") double capacidadeLeituraPorSegundo,
+        String arquivo) {
+}
@@ -0,0 +1,100 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formatos aceitos na importacao. Os dois sao lidos linha a linha: o CSV tem as colunas
+ * {@code cdDocPessoa,nmPessoa,tpPessoa,dsEmail}, com cabecalho opcional e campos entre aspas quando contem virgula, e o
+ * NDJSON traz um objeto por linha com os campos do cadastro.
+ */
+public enum FormatoImportacao {
+    CSV,
+    NDJSON;
+
+    static final String CABECALHO_CSV = "cdDocPessoa";
+
+    private static final int COLUNAS_CSV = 4;
+
+    public static FormatoImportacao doArquivo(String arquivo) {
+        String nome = arquivo.toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nome.endsWith(".ndjson") || nome.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Formato de importacao nao reconhecido pela extensao: " + arquivo);
+    }
+
+    boolean isCabecalho(long numero, String linha) {
+        return this == CSV && numero == 1 && linha.startsWith(CABECALHO_CSV);
+    }
+
+    /**
+     * Converte uma linha do arquivo. Linhas que nao podem ser lidas lancam {@link IllegalArgumentException} com o
+     * motivo, que vai para o relatorio da importacao.
+     */
+    PessoaRequestDto ler(String linha, ObjectReader leitorJson) {
+        if (this == NDJSON) {
+            try {
+                return leitorJson.readValue(linha);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("A linha nao e um JSON de pessoa valido.", e);
+            }
+        }
+
+        List<String> colunas = dividirCsv(linha);
+        if (colunas.size() != COLUNAS_CSV) {
+            throw new IllegalArgumentException("A linha deve ter as colunas cdDocPessoa, nmPessoa, tpPessoa e dsEmail.");
+        }
+        TipoPessoaEnum tpPessoa = null;
+        if (!colunas.get(2).isEmpty()) {
+            try {
+                tpPessoa = TipoPessoaEnum.valueOf(colunas.get(2));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("O atributo tpPessoa deve ser CLIENTE ou FUNCIONARIO.", e);
+            }
+        }
+        return new PessoaRequestDto(vazioComoNulo(colunas.get(0)), vazioComoNulo(colunas.get(1)), tpPessoa,
+                vazioComoNulo(colunas.get(3)));
+    }
+
+    private static List<String> dividirCsv(String linha) {
+        List<String> colunas = new ArrayList<>(COLUNAS_CSV);
+        StringBuilder coluna = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    coluna.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    coluna.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                colunas.add(coluna.toString().strip());
+                coluna.setLength(0);
+            } else {
+                coluna.append(c);
+            }
+        }
+        colunas.add(coluna.toString().strip());
+        return colunas;
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+}
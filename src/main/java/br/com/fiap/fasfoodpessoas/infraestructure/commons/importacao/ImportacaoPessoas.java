@@ -0,0 +1,373 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao;
+
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorMessageDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto.LinhaInvalidaDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.ImportacaoInterrompidaException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Importa pessoas de um arquivo CSV ou NDJSON em tres estagios: a thread de quem chamou le as linhas, uma thread virtual
+ * converte, valida e descarta CPFs e e-mails repetidos, e os lotes validos sao gravados pelo cadastro em lote em ate
+ * {@code lotesEmAndamento} threads virtuais. A fila entre os estagios e o numero de lotes em andamento sao limitados,
+ * entao a leitura para quando a gravacao nao acompanha e a memoria nao cresce com o tamanho do arquivo. Se a validacao
+ * ou uma gravacao falhar, a leitura para em seguida e a falha chega a quem chamou.
+ */
+@Component
+@EnableConfigurationProperties(ImportacaoProperties.class)
+public class ImportacaoPessoas {
+
+    static final int TAMANHO_FILA = 1000;
+    static final int MAXIMO_LINHAS_INVALIDAS_REPORTADAS = 100;
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    // Intervalo em que a leitura, com a fila cheia, confere se a validacao ainda esta consumindo
+    private static final long ESPERA_FILA_MS = 50;
+
+    private final PessoaServicePort pessoaServicePort;
+    private final ImportacaoProperties importacaoProperties;
+    private final Validator validator;
+    private final ObjectReader leitorJson;
+
+    public ImportacaoPessoas(PessoaServicePort pessoaServicePort, ImportacaoProperties importacaoProperties,
+                             Validator validator, ObjectMapper objectMapper) {
+        this.pessoaServicePort = pessoaServicePort;
+        this.importacaoProperties = importacaoProperties;
+        this.validator = validator;
+        this.leitorJson = objectMapper.readerFor(PessoaRequestDto.class);
+    }
+
+    public ResultadoImportacaoDto importar(InputStream entrada, FormatoImportacao formato, long aPartirDaLinha)
+            throws IOException {
+        return importar(entrada, formato, aPartirDaLinha, linha -> { });
+    }
+
+    /**
+     * Importa as linhas de {@code entrada} posteriores a {@code aPartirDaLinha}. Sempre que todas as linhas ate um ponto
+     * do arquivo estao gravadas ou rejeitadas, {@code aoConfirmar} recebe o numero dessa linha: e o valor a informar em
+     * {@code aPartirDaLinha} para retomar a importacao caso ela seja interrompida.
+     *
+     * @throws ImportacaoInterrompidaException quando um lote nao pode ser gravado; as linhas seguintes nao sao lidas
+     */
+    public ResultadoImportacaoDto importar(InputStream entrada, FormatoImportacao formato, long aPartirDaLinha,
+                                           LongConsumer aoConfirmar) throws IOException {
+        Execucao execucao = new Execucao(formato, aPartirDaLinha, aoConfirmar);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("importacao-", 0).factory());
+        try {
+            Future<?> validacao = executor.submit(() -> {
+                execucao.validar(executor);
+                return null;
+            });
+            execucao.ler(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANHO_BUFFER),
+                    validacao);
+            validacao.get();
+            execucao.aguardarLotes();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImportacaoInterrompidaException("Importacao interrompida", execucao.ultimaLinhaConfirmada(), e);
+        } catch (ExecutionException e) {
+            throw new ImportacaoInterrompidaException("Importacao interrompida", execucao.ultimaLinhaConfirmada(),
+                    e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return execucao.resultado();
+    }
+
+    private record Linha(long numero, String texto) {
+    }
+
+    private static final class Lote {
+        private final long ultimaLinha;
+        private boolean concluido;
+
+        private Lote(long ultimaLinha) {
+            this.ultimaLinha = ultimaLinha;
+        }
+    }
+
+    private final class Execucao {
+
+        private final FormatoImportacao formato;
+        private final long aPartirDaLinha;
+        private final LongConsumer aoConfirmar;
+
+        private final int tamanhoLote = importacaoProperties.tamanhoLote();
+        private final int lotesEmAndamento = importacaoProperties.lotesEmAndamento();
+        private final BlockingQueue<Linha> fila = new ArrayBlockingQueue<>(TAMANHO_FILA);
+        private final Semaphore vagas = new Semaphore(lotesEmAndamento);
+        private final AtomicReference<Throwable> falha = new AtomicReference<>();
+
+        // CPFs e e-mails dos ultimos lotes enviados: cobrem os lotes ainda gravando, cujas transacoes concorrentes pelo
+        // mesmo e-mail seriam canceladas por conflito, e os recem-gravados, que o BatchGetItem do cadastro em lote
+        // (eventualmente consistente) pode ainda nao enxergar. Repeticoes mais distantes no arquivo sao apontadas como
+        // DUPLICADO pelo proprio cadastro em lote
+        private final Deque<MapaCpf<PessoaModel>> cpfsRecentes = new ArrayDeque<>();
+        private final Deque<Set<String>> emailsRecentes = new ArrayDeque<>();
+
+        // Lotes na ordem do arquivo, para confirmar apenas linhas sem nenhum lote anterior pendente
+        private final Deque<Lote> lotesPendentes = new ArrayDeque<>();
+        private long ultimaLinhaConfirmada;
+
+        private final LongAdder criadas = new LongAdder();
+        private final LongAdder duplicadas = new LongAdder();
+        private final List<LinhaInvalidaDto> linhasInvalidas = new ArrayList<>();
+        private long linhasLidas;
+        private long invalidas;
+
+        private Execucao(FormatoImportacao formato, long aPartirDaLinha, LongConsumer aoConfirmar) {
+            this.formato = formato;
+            this.aPartirDaLinha = aPartirDaLinha;
+            this.aoConfirmar = aoConfirmar;
+            this.ultimaLinhaConfirmada = aPartirDaLinha;
+        }
+
+        private void ler(BufferedReader leitor, Future<?> validacao) throws IOException, InterruptedException {
+            long numero = 0;
+            String texto;
+            while (falha.get() == null && (texto = leitor.readLine()) != null) {
+                numero++;
+                if (numero > aPartirDaLinha && !texto.isBlank() && !formato.isCabecalho(numero, texto)
+                        && !colocar(new Linha(numero, texto), validacao)) {
+                    return;
+                }
+            }
+            colocar(new Linha(Math.max(numero, aPartirDaLinha), null), validacao);
+        }
+
+        /**
+         * Entrega a linha a validacao; devolve {@code false} se ela terminou antes do fim do arquivo, por falha, e a
+         * fila cheia nunca mais seria esvaziada.
+         */
+        private boolean colocar(Linha linha, Future<?> validacao) throws InterruptedException {
+            while (!fila.offer(linha, ESPERA_FILA_MS, TimeUnit.MILLISECONDS)) {
+                if (validacao.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void validar(ExecutorService executor) throws InterruptedException {
+            try {
+                validarLinhas(executor);
+            } catch (RuntimeException | Error e) {
+                falha.compareAndSet(null, e);
+                throw e;
+            }
+        }
+
+        private void validarLinhas(ExecutorService executor) throws InterruptedException {
+            List<PessoaModel> lote = new ArrayList<>(tamanhoLote);
+            MapaCpf<PessoaModel> cpfsDoLote = new MapaCpf<>(tamanhoLote);
+            Set<String> emailsDoLote = new HashSet<>();
+            while (true) {
+                Linha linha = fila.take();
+                if (linha.texto() == null) {
+                    if (falha.get() == null) {
+                        enviar(executor, lote, cpfsDoLote, emailsDoLote, linha.numero());
+                    }
+                    return;
+                }
+                if (falha.get() != null) {
+                    continue;
+                }
+
+                linhasLidas++;
+                PessoaModel pessoa = converter(linha);
+                if (pessoa != null) {
+                    if (repetida(pessoa, cpfsDoLote, emailsDoLote)) {
+                        duplicadas.increment();
+                    } else {
+                        lote.add(pessoa);
+                    }
+                }
+                if (lote.size() == tamanhoLote) {
+                    enviar(executor, lote, cpfsDoLote, emailsDoLote, linha.numero());
+                    lote = new ArrayList<>(tamanhoLote);
+                    cpfsDoLote = new MapaCpf<>(tamanhoLote);
+                    emailsDoLote = new HashSet<>();
+                }
+            }
+        }
+
+        /**
+         * Verifica CPF e e-mail (ja normalizado pelo {@link PessoaModel}) contra o lote atual e os recentes e, se a
+         * pessoa for nova, a registra no lote atual.
+         */
+        private boolean repetida(PessoaModel pessoa, MapaCpf<PessoaModel> cpfsDoLote, Set<String> emailsDoLote) {
+            String email = pessoa.getDsEmail();
+            if (jaEnviado(pessoa.getCpf(), email) || cpfsDoLote.contem(pessoa.getCpf())
+                    || (email != null && emailsDoLote.contains(email))) {
+                return true;
+            }
+            cpfsDoLote.colocar(pessoa.getCpf(), pessoa);
+            if (email != null) {
+                emailsDoLote.add(email);
+            }
+            return false;
+        }
+
+        private PessoaModel converter(Linha linha) {
+            PessoaRequestDto pessoa;
+            try {
+                pessoa = formato.ler(linha.texto(), leitorJson);
+            } catch (IllegalArgumentException e) {
+                rejeitar(linha.numero(), null, List.of(new ErrorMessageDto(e.getMessage())));
+                return null;
+            }
+            if (pessoa == null) {
+                rejeitar(linha.numero(), null, List.of(new ErrorMessageDto("A linha nao e um JSON de pessoa valido.")));
+                return null;
+            }
+
+            Set<ConstraintViolation<PessoaRequestDto>> violacoes = validator.validate(pessoa);
+            if (!violacoes.isEmpty()) {
+                rejeitar(linha.numero(), pessoa.cdDocPessoa(),
+                        violacoes.stream().map(violacao -> new ErrorMessageDto(violacao.getMessage())).toList());
+                return null;
+            }
+            return new PessoaModel(pessoa.cdDocPessoa(), pessoa.nmPessoa(), pessoa.tpPessoa(), pessoa.dsEmail());
+        }
+
+        private void rejeitar(long numero, String cdDocPessoa, List<ErrorMessageDto> errors) {
+            invalidas++;
+            if (linhasInvalidas.size() < MAXIMO_LINHAS_INVALIDAS_REPORTADAS) {
+                linhasInvalidas.add(new LinhaInvalidaDto(numero, cdDocPessoa, errors));
+            }
+        }
+
+        private boolean jaEnviado(long cpf, String email) {
+            for (MapaCpf<PessoaModel> cpfs : cpfsRecentes) {
+                if (cpfs.contem(cpf)) {
+                    return true;
+                }
+            }
+            if (email != null) {
+                for (Set<String> emails : emailsRecentes) {
+                    if (emails.contains(email)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void enviar(ExecutorService executor, List<PessoaModel> pessoas, MapaCpf<PessoaModel> cpfs,
+                            Set<String> emails, long ultimaLinha) throws InterruptedException {
+            Lote lote = new Lote(ultimaLinha);
+            synchronized (lotesPendentes) {
+                lotesPendentes.addLast(lote);
+            }
+            cpfsRecentes.addLast(cpfs);
+            emailsRecentes.addLast(emails);
+            if (cpfsRecentes.size() > 2 * lotesEmAndamento) {
+                cpfsRecentes.removeFirst();
+                emailsRecentes.removeFirst();
+            }
+            if (pessoas.isEmpty()) {
+                concluir(lote);
+                return;
+            }
+
+            vagas.acquire();
+            if (falha.get() != null) {
+                vagas.release();
+                return;
+            }
+            executor.execute(() -> {
+                try {
+                    gravar(pessoas);
+                    concluir(lote);
+                } catch (RuntimeException | Error e) {
+                    // Inclusive erros: sem registrar a falha, o lote nunca seria confirmado e a importacao terminaria
+                    // como se tivesse sido concluida
+                    falha.compareAndSet(null, e);
+                } finally {
+                    vagas.release();
+                }
+            });
+        }
+
+        private void gravar(List<PessoaModel> pessoas) {
+            for (ResultadoCadastroModel resultado : pessoaServicePort.cadastraPessoas(pessoas)) {
+                switch (resultado.getStatus()) {
+                    case CRIADO -> criadas.increment();
+                    case DUPLICADO -> duplicadas.increment();
+                    // O lote nao e confirmado: a importacao para e pode ser retomada a partir dele
+                    case FALHA -> throw new IllegalStateException("Nao foi possivel gravar o CPF "
+                            + resultado.getCdDocPessoa() + ": " + resultado.getMensagem());
+                    default -> throw new IllegalStateException("Status inesperado no cadastro em lote: "
+                            + resultado.getStatus());
+                }
+            }
+        }
+
+        private void concluir(Lote lote) {
+            synchronized (lotesPendentes) {
+                lote.concluido = true;
+                long anterior = ultimaLinhaConfirmada;
+                while (!lotesPendentes.isEmpty() && lotesPendentes.peekFirst().concluido) {
+                    ultimaLinhaConfirmada = lotesPendentes.removeFirst().ultimaLinha;
+                }
+                if (ultimaLinhaConfirmada != anterior) {
+                    aoConfirmar.accept(ultimaLinhaConfirmada);
+                }
+            }
+        }
+
+        private void aguardarLotes() throws InterruptedException {
+            vagas.acquire(lotesEmAndamento);
+            vagas.release(lotesEmAndamento);
+            if (falha.get() != null) {
+                throw new ImportacaoInterrompidaException("Importacao interrompida; linhas confirmadas ate a "
+                        + ultimaLinhaConfirmada(), ultimaLinhaConfirmada(), falha.get());
+            }
+        }
+
+        private long ultimaLinhaConfirmada() {
+            synchronized (lotesPendentes) {
+                return ultimaLinhaConfirmada;
+            }
+        }
+
+        private ResultadoImportacaoDto resultado() {
+            return new ResultadoImportacaoDto(linhasLidas, criadas.sum(), duplicadas.sum(), invalidas,
+                    ultimaLinhaConfirmada(), List.copyOf(linhasInvalidas));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuracao da importacao de arquivos CSV e NDJSON ({@code pessoas.importacao.*}).
+ *
+ * @param tamanhoLote      pessoas validas por chamada ao cadastro em lote
+ * @param lotesEmAndamento lotes gravando ao mesmo tempo; a leitura do arquivo espera quando todos estao ocupados
+ * @param arquivo          quando informado, a aplicacao sobe em modo CLI: importa este arquivo e encerra
+ * @param checkpoint       arquivo com a ultima linha confirmada no modo CLI; por padrao {@code <arquivo>.checkpoint}
+ */
+@ConfigurationProperties(prefix = "pessoas.importacao")
+public record ImportacaoProperties(
+        @DefaultValue("500") int tamanhoLote,
+        @DefaultValue("4") int lotesEmAndamento,
+        String arquivo,
+        String checkpoint) {
+}
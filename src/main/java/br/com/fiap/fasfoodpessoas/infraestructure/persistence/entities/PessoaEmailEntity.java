@@ -0,0 +1,38 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * Reserva de um e-mail na tabela PessoasEmail. Gravada na mesma transacao que a pessoa, com a condicao de que o
+ * e-mail ainda nao exista, garante a unicidade sem depender do indice por e-mail, que e eventualmente consistente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class PessoaEmailEntity {
+
+    private String dsEmail;
+    private String cdDocPessoa;
+
+    @DynamoDbPartitionKey
+    public String getDsEmail() {
+        return dsEmail;
+    }
+
+    public String getCdDocPessoa() {
+        return cdDocPessoa;
+    }
+
+    public void setDsEmail(String dsEmail) {
+        this.dsEmail = dsEmail;
+    }
+
+    public void setCdDocPessoa(String cdDocPessoa) {
+        this.cdDocPessoa = cdDocPessoa;
+    }
+}
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
 @Data
 @NoArgsConstructor
@@ -13,28 +15,44 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbParti
 @DynamoDbBean
 public class PessoaEntity {
 
+    public static final String INDICE_EMAIL = "dsEmail-index";
+    public static final String INDICE_TIPO = "tpPessoa-nmPessoa-index";
+
     private String cdDocPessoa;
     private String nmPessoa;
     private TipoPessoaEnum tpPessoa;
     private String dsEmail;
+    // Instante (epoch em milissegundos) da escrita que gerou esta versao; nulo em itens gravados antes do atributo
+    private Long dtAtualizacao;
+
+    public PessoaEntity(String cdDocPessoa, String nmPessoa, TipoPessoaEnum tpPessoa, String dsEmail) {
+        this(cdDocPessoa, nmPessoa, tpPessoa, dsEmail, null);
+    }
 
     @DynamoDbPartitionKey
     public String getCdDocPessoa() {
         return cdDocPessoa;
     }
 
+    @DynamoDbSecondarySortKey(indexNames = INDICE_TIPO)
     public String getNmPessoa() {
         return nmPessoa;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = INDICE_TIPO)
     public TipoPessoaEnum getTpPessoa() {
         return tpPessoa;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = INDICE_EMAIL)
     public String getDsEmail() {
         return dsEmail;
     }
 
+    public Long getDtAtualizacao() {
+        return dtAtualizacao;
+    }
+
     public void setCdDocPessoa(String cdDocPessoa) {
         this.cdDocPessoa = cdDocPessoa;
     }
@@ -50,4 +68,8 @@ public class PessoaEntity {
     public void setDsEmail(String dsEmail) {
         this.dsEmail = dsEmail;
     }
+
+    public void setDtAtualizacao(Long dtAtualizacao) {
+        this.dtAtualizacao = dtAtualizacao;
+    }
 }
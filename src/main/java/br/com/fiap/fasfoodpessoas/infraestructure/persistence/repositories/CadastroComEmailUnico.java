@@ -0,0 +1,168 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactDeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactPutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.List;
+
+/**
+ * Cadastro condicional do repositorio do DynamoDB: a pessoa e a reserva do seu e-mail sao gravadas em uma unica
+ * TransactWriteItems, cada uma condicionada a nao existir. Nenhuma das duas e gravada se o CPF ou o e-mail ja
+ * estiverem em uso. O envio do write-behind usa as mesmas reservas, com a pessoa condicionada a versao. As gravacoes
+ * que substituem a pessoa removem, na mesma transacao, a reserva do e-mail anterior quando ele muda.
+ */
+final class CadastroComEmailUnico {
+
+    static final String NOME_TABELA_EMAIL = "PessoasEmail";
+
+    static final Expression CPF_NAO_EXISTE = Expression.builder()
+            .expression("attribute_not_exists(cdDocPessoa)")
+            .build();
+
+    static final Expression EMAIL_NAO_RESERVADO = Expression.builder()
+            .expression("attribute_not_exists(dsEmail)")
+            .build();
+
+    private static final String CONDICAO_FALHOU = "ConditionalCheckFailed";
+    private static final String EMAIL_LIVRE_OU_DO_CPF = "attribute_not_exists(dsEmail) OR cdDocPessoa = :cdDocPessoa";
+    private static final String VERSAO_ANTERIOR =
+            "attribute_not_exists(dtAtualizacao) OR dtAtualizacao <= :dtAtualizacao";
+    private static final String EMAIL_GRAVADO = "dsEmail = :dsEmailGravado";
+    private static final String RESERVA_DO_CPF = "cdDocPessoa = :cdDocPessoa";
+
+    private CadastroComEmailUnico() {
+    }
+
+    static TransactWriteItemsEnhancedRequest requisicao(MappedTableResource<PessoaEntity> tabelaPessoa,
+                                                       MappedTableResource<PessoaEmailEntity> tabelaEmail,
+                                                       PessoaEntity pessoaEntity) {
+        TransactWriteItemsEnhancedRequest.Builder request = TransactWriteItemsEnhancedRequest.builder();
+        adicionar(request, tabelaPessoa, tabelaEmail, pessoaEntity);
+        return request.build();
+    }
+
+    /**
+     * Acrescenta a transacao a pessoa e, se ela tiver e-mail, a reserva dele, nessa ordem. Devolve quantos itens
+     * foram acrescentados.
+     */
+    static int adicionar(TransactWriteItemsEnhancedRequest.Builder request,
+                         MappedTableResource<PessoaEntity> tabelaPessoa,
+                         MappedTableResource<PessoaEmailEntity> tabelaEmail,
+                         PessoaEntity pessoaEntity) {
+        request.addPutItem(tabelaPessoa, TransactPutItemEnhancedRequest.builder(PessoaEntity.class)
+                .item(pessoaEntity)
+                .conditionExpression(CPF_NAO_EXISTE)
+                .build());
+        if (pessoaEntity.getDsEmail() == null) {
+            return 1;
+        }
+        request.addPutItem(tabelaEmail, TransactPutItemEnhancedRequest.builder(PessoaEmailEntity.class)
+                .item(reserva(pessoaEntity))
+                .conditionExpression(EMAIL_NAO_RESERVADO)
+                .build());
+        return 2;
+    }
+
+    /**
+     * Condicao das gravacoes que substituem a pessoa: a reserva do e-mail pode ser criada ou regravada pelo proprio
+     * CPF, mas nunca tomada de outro.
+     */
+    static Expression emailLivreOuDoCpf(String cdDocPessoa) {
+        return Expression.builder()
+                .expression(EMAIL_LIVRE_OU_DO_CPF)
+                .putExpressionValue(":cdDocPessoa", AttributeValue.fromS(cdDocPessoa))
+                .build();
+    }
+
+    /**
+     * Condicao da pessoa nas gravacoes que a substituem: o e-mail gravado ainda e o lido antes da escrita, ou nenhum.
+     * Garante que a reserva removida junto e de fato a do e-mail anterior.
+     */
+    static Expression emailGravado(String dsEmailGravado) {
+        if (dsEmailGravado == null) {
+            return EMAIL_NAO_RESERVADO;
+        }
+        return Expression.builder()
+                .expression(EMAIL_GRAVADO)
+                .putExpressionValue(":dsEmailGravado", AttributeValue.fromS(dsEmailGravado))
+                .build();
+    }
+
+    /**
+     * Transacao que substitui a pessoa: a pessoa com {@code condicaoPessoa}, a reserva do novo e-mail, se houver, com
+     * {@link #emailLivreOuDoCpf(String)} e, se {@code reservaLiberada} for informada, a remocao da reserva do e-mail
+     * anterior condicionada a ainda ser deste CPF, nessa ordem.
+     */
+    static TransactWriteItemsEnhancedRequest substituicao(MappedTableResource<PessoaEntity> tabelaPessoa,
+                                                         MappedTableResource<PessoaEmailEntity> tabelaEmail,
+                                                         PessoaEntity pessoaEntity, Expression condicaoPessoa,
+                                                         String reservaLiberada) {
+        TransactWriteItemsEnhancedRequest.Builder request = TransactWriteItemsEnhancedRequest.builder()
+                .addPutItem(tabelaPessoa, TransactPutItemEnhancedRequest.builder(PessoaEntity.class)
+                        .item(pessoaEntity)
+                        .conditionExpression(condicaoPessoa)
+                        .build());
+        if (pessoaEntity.getDsEmail() != null) {
+            request.addPutItem(tabelaEmail, TransactPutItemEnhancedRequest.builder(PessoaEmailEntity.class)
+                    .item(reserva(pessoaEntity))
+                    .conditionExpression(emailLivreOuDoCpf(pessoaEntity.getCdDocPessoa()))
+                    .build());
+        }
+        if (reservaLiberada != null) {
+            request.addDeleteItem(tabelaEmail, TransactDeleteItemEnhancedRequest.builder()
+                    .key(Key.builder().partitionValue(reservaLiberada).build())
+                    .conditionExpression(Expression.builder()
+                            .expression(RESERVA_DO_CPF)
+                            .putExpressionValue(":cdDocPessoa", AttributeValue.fromS(pessoaEntity.getCdDocPessoa()))
+                            .build())
+                    .build());
+        }
+        return request.build();
+    }
+
+    /**
+     * Condicao do envio de uma versao datada: grava sobre item ausente, sem versao ou com versao igual ou mais antiga,
+     * nunca sobre uma escrita mais nova vinda de outra loja ou da API. Versoes iguais sao regravadas, ja que duas
+     * escritas locais do mesmo CPF no mesmo milissegundo levam a mesma versao.
+     */
+    static Expression versaoAnterior(long dtAtualizacao) {
+        return Expression.builder()
+                .expression(VERSAO_ANTERIOR)
+                .putExpressionValue(":dtAtualizacao", AttributeValue.fromN(Long.toString(dtAtualizacao)))
+                .build();
+    }
+
+    static boolean condicaoFalhou(CancellationReason motivo) {
+        return CONDICAO_FALHOU.equals(motivo.code());
+    }
+
+    static PessoaEmailEntity reserva(PessoaEntity pessoaEntity) {
+        return new PessoaEmailEntity(pessoaEntity.getDsEmail(), pessoaEntity.getCdDocPessoa());
+    }
+
+    /**
+     * Os motivos de cancelamento seguem a ordem dos itens da transacao: o primeiro e a pessoa, o segundo a reserva.
+     * Cancelamentos por outros motivos, como conflito com outra transacao, sao devolvidos sem traducao.
+     */
+    static RuntimeException traduzir(TransactionCanceledException e) {
+        List<CancellationReason> motivos = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+        if (!motivos.isEmpty() && condicaoFalhou(motivos.get(0))) {
+            return new CpfCadastradoException("Cliente ja cadastrado com o CPF informado", e);
+        }
+        if (motivos.size() > 1 && condicaoFalhou(motivos.get(1))) {
+            return new EmailCadastradoException("Cliente ja cadastrado com o e-mail informado", e);
+        }
+        return e;
+    }
+}
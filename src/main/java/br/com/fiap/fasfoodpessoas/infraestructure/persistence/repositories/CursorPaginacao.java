@@ -0,0 +1,128 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Cursor opaco da listagem por tipo, no mesmo formato nos repositorios do DynamoDB e local. A posicao de uma pagina e
+ * sempre tipo, nome e CPF; o cursor guarda os tres valores em Base64 URL-safe seguidos de um HMAC-SHA256 deles, entao
+ * o cliente nao consegue montar um cursor para comecar a listagem em uma chave escolhida por ele.
+ * <p>
+ * A chave vem de {@code pessoas.cursor.chave} e precisa ser a mesma em todas as replicas. Sem ela, uma chave aleatoria
+ * e gerada na subida e os cursores emitidos deixam de valer ao reiniciar ou em outra replica.
+ */
+@Component
+public final class CursorPaginacao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CursorPaginacao.class);
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final String SEPARADOR = "\u0000";
+    private static final char SEPARADOR_ASSINATURA = '.';
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec chave;
+
+    @Autowired
+    public CursorPaginacao(@Value("${pessoas.cursor.chave:}") String chave) {
+        this(chave == null || chave.isBlank() ? chaveAleatoria() : chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CursorPaginacao(byte[] chave) {
+        this.chave = new SecretKeySpec(chave, ALGORITMO);
+    }
+
+    private static byte[] chaveAleatoria() {
+        LOGGER.warn("pessoas.cursor.chave nao configurada: cursores de listagem valem apenas nesta instancia");
+        byte[] chave = new byte[32];
+        new SecureRandom().nextBytes(chave);
+        return chave;
+    }
+
+    public String codificar(TipoPessoaEnum tpPessoa, String nmPessoa, String cdDocPessoa) {
+        byte[] valores = String.join(SEPARADOR, tpPessoa.name(), nmPessoa, cdDocPessoa)
+                .getBytes(StandardCharsets.UTF_8);
+        return CODIFICADOR.encodeToString(valores) + SEPARADOR_ASSINATURA + CODIFICADOR.encodeToString(assinar(valores));
+    }
+
+    /**
+     * Devolve nome e CPF do cursor, ou {@code null} para a primeira pagina. Cursores malformados, com assinatura
+     * invalida ou gerados para outro tipo de pessoa sao rejeitados com {@link CursorInvalidoException}.
+     */
+    public String[] decodificar(String cursor, TipoPessoaEnum tpPessoa) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separador = cursor.indexOf(SEPARADOR_ASSINATURA);
+        if (separador < 0) {
+            throw new CursorInvalidoException("Cursor invalido");
+        }
+        byte[] valores;
+        byte[] assinatura;
+        try {
+            valores = DECODIFICADOR.decode(cursor.substring(0, separador));
+            assinatura = DECODIFICADOR.decode(cursor.substring(separador + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException("Cursor invalido", e);
+        }
+        if (!MessageDigest.isEqual(assinar(valores), assinatura)) {
+            throw new CursorInvalidoException("Cursor invalido");
+        }
+        String[] partes = new String(valores, StandardCharsets.UTF_8).split(SEPARADOR, -1);
+        if (partes.length != 3 || !tpPessoa.name().equals(partes[0])) {
+            throw new CursorInvalidoException("Cursor invalido");
+        }
+        return new String[] { partes[1], partes[2] };
+    }
+
+    /**
+     * Cursor do LastEvaluatedKey do indice por tipo, ou {@code null} na ultima pagina.
+     */
+    String codificar(Map<String, AttributeValue> ultimaChave) {
+        if (ultimaChave == null || ultimaChave.isEmpty()) {
+            return null;
+        }
+        return codificar(TipoPessoaEnum.valueOf(ultimaChave.get("tpPessoa").s()),
+                ultimaChave.get("nmPessoa").s(),
+                ultimaChave.get("cdDocPessoa").s());
+    }
+
+    /**
+     * ExclusiveStartKey da proxima pagina do indice por tipo, ou {@code null} para a primeira.
+     */
+    Map<String, AttributeValue> decodificarChave(String cursor, TipoPessoaEnum tpPessoa) {
+        String[] posicao = decodificar(cursor, tpPessoa);
+        if (posicao == null) {
+            return null;
+        }
+        return Map.of("tpPessoa", AttributeValue.fromS(tpPessoa.name()),
+                "nmPessoa", AttributeValue.fromS(posicao[0]),
+                "cdDocPessoa", AttributeValue.fromS(posicao[1]));
+    }
+
+    private byte[] assinar(byte[] valores) {
+        try {
+            // Mac nao e thread-safe; criar um por cursor custa menos que a Query da pagina
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(valores);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponivel", e);
+        }
+    }
+}
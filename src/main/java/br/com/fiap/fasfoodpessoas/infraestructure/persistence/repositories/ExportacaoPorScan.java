@@ -0,0 +1,134 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.mappers.PessoaMapper;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Scan paralelo da tabela Pessoas entregue a um unico consumidor. Cada segmento e lido por uma thread virtual, pagina a
+ * pagina, e os itens passam por uma fila limitada: quando o consumidor e mais lento que o DynamoDB, as threads de scan
+ * ficam bloqueadas na fila e deixam de pedir paginas. A memoria fica limitada a fila mais uma pagina por segmento,
+ * qualquer que seja o tamanho da tabela.
+ */
+final class ExportacaoPorScan {
+
+    static final int TAMANHO_FILA = 1000;
+    static final int ITENS_POR_PAGINA = 500;
+
+    // Marca o fim de um segmento na fila; o consumidor termina depois de receber uma por segmento
+    private static final Object FIM_SEGMENTO = new Object();
+
+    private ExportacaoPorScan() {
+    }
+
+    /**
+     * Executa o scan e chama o {@code consumidor} na thread de quem chamou, um item por vez, sem exigir que ele seja
+     * thread-safe. Se o consumidor lancar excecao, os segmentos ainda em andamento sao interrompidos.
+     */
+    static void exportar(DynamoDbTable<PessoaEntity> tabelaPessoa, int segmentos, double capacidadeLeituraPorSegundo,
+                         Consumer<PessoaModel> consumidor) {
+        BlockingQueue<Object> fila = new ArrayBlockingQueue<>(TAMANHO_FILA);
+        LimitadorCapacidade limitador = new LimitadorCapacidade(capacidadeLeituraPorSegundo);
+        AtomicReference<RuntimeException> falha = new AtomicReference<>();
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("exportacao-segmento-", 0).factory());
+        try {
+            for (int segmento = 0; segmento < segmentos; segmento++) {
+                int atual = segmento;
+                executor.execute(() -> lerSegmento(tabelaPessoa, atual, segmentos, limitador, fila, falha));
+            }
+
+            int segmentosConcluidos = 0;
+            while (segmentosConcluidos < segmentos) {
+                Object item = fila.take();
+                if (item == FIM_SEGMENTO) {
+                    segmentosConcluidos++;
+                } else if (falha.get() == null) {
+                    consumidor.accept(PessoaMapper.toModel((PessoaEntity) item));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Exportacao interrompida", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (falha.get() != null) {
+            throw falha.get();
+        }
+    }
+
+    private static void lerSegmento(DynamoDbTable<PessoaEntity> tabelaPessoa, int segmento, int totalSegmentos,
+                                    LimitadorCapacidade limitador, BlockingQueue<Object> fila,
+                                    AtomicReference<RuntimeException> falha) {
+        ScanEnhancedRequest request = ScanEnhancedRequest.builder()
+                .segment(segmento)
+                .totalSegments(totalSegmentos)
+                .limit(ITENS_POR_PAGINA)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .build();
+        try {
+            for (Page<PessoaEntity> pagina : tabelaPessoa.scan(request)) {
+                for (PessoaEntity entity : pagina.items()) {
+                    fila.put(entity);
+                }
+                if (falha.get() != null) {
+                    break;
+                }
+                limitador.consumir(pagina.consumedCapacity());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            falha.compareAndSet(null, e);
+        }
+
+        try {
+            fila.put(FIM_SEGMENTO);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Limita as unidades de leitura consumidas por segundo somando o custo de cada pagina ja lida: quem ultrapassa o
+     * ritmo espera ate que o tempo devido passe. Capacidade zero ou negativa desliga o limite.
+     */
+    static final class LimitadorCapacidade {
+
+        private final double unidadesPorNano;
+        private long proximaLiberacao = System.nanoTime();
+
+        LimitadorCapacidade(double capacidadeLeituraPorSegundo) {
+            this.unidadesPorNano = capacidadeLeituraPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        }
+
+        void consumir(ConsumedCapacity consumida) throws InterruptedException {
+            if (unidadesPorNano <= 0 || consumida == null || consumida.capacityUnits() == null) {
+                return;
+            }
+            long espera;
+            synchronized (this) {
+                long agora = System.nanoTime();
+                proximaLiberacao = Math.max(proximaLiberacao, agora) + (long) (consumida.capacityUnits() / unidadesPorNano);
+                espera = proximaLiberacao - agora;
+            }
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executa leituras pontuais com hedge: a primeira chamada roda na propria thread de quem le e, se nao responder dentro
+ * do percentil configurado das latencias recentes, uma segunda chamada identica e enviada em uma thread virtual e vale
+ * a primeira resposta bem-sucedida. Leituras rapidas nao trocam de thread nem criam nenhuma.
+ *
+ * <p>Quando o hedge vence e quem le e uma thread virtual, ela e interrompida para abandonar a primeira chamada, que o
+ * client sincrono aborta no I/O. Threads de plataforma, como as do pool do Tomcat, nunca sao interrompidas: uma
+ * interrupcao enquanto o client HTTP aguarda o pool de conexoes pode abortar o emprestimo e vazar a conexao, e outro
+ * codigo da mesma thread veria uma interrupcao espuria. Nelas a primeira chamada termina normalmente ou pelo timeout
+ * por tentativa e so entao a resposta do hedge e devolvida. Um hedge perdedor nao e cancelado e termina em segundo
+ * plano.
+ *
+ * <p>Cada leitura acumula {@code taxaMaxima} de credito, limitado a {@link #CREDITO_MAXIMO} hedges, e cada hedge
+ * consome um; assim, mesmo com o DynamoDB degradado, no maximo essa fracao das leituras gera carga extra.
+ */
+public class LeituraComHedge implements AutoCloseable {
+
+    static final int JANELA_AMOSTRAS = 1024;
+    static final int INTERVALO_RECALCULO = 64;
+    static final long CREDITO_MAXIMO = 10;
+
+    // Credito guardado em milionesimos de hedge para manter a conta em inteiros
+    private static final long ESCALA_CREDITO = 1_000_000;
+
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor agendador;
+    private final double percentil;
+    private final long atrasoMinimoNanos;
+    private final long creditoPorLeitura;
+    private final AtomicLongArray latencias = new AtomicLongArray(JANELA_AMOSTRAS);
+    private final AtomicLong amostras = new AtomicLong();
+    private final AtomicLong credito = new AtomicLong();
+    private final LongAdder hedgesEnviados = new LongAdder();
+    private final LongAdder hedgesVencedores = new LongAdder();
+    private final LongAdder hedgesNegados = new LongAdder();
+    private volatile long atrasoNanos;
+
+    public LeituraComHedge(double percentil, Duration atrasoMinimo, double taxaMaxima) {
+        this(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dynamodb-hedge-", 0).factory()),
+                percentil, atrasoMinimo, taxaMaxima);
+    }
+
+    public LeituraComHedge(ExecutorService executor, double percentil, Duration atrasoMinimo, double taxaMaxima) {
+        this.executor = executor;
+        this.agendador = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("dynamodb-hedge-agendador").daemon().factory());
+        // Quase toda leitura responde antes do atraso e cancela o disparo; sem isso a fila do agendador cresceria
+        this.agendador.setRemoveOnCancelPolicy(true);
+        this.percentil = percentil;
+        this.atrasoMinimoNanos = atrasoMinimo.toNanos();
+        this.creditoPorLeitura = Math.round(taxaMaxima * ESCALA_CREDITO);
+        this.atrasoNanos = atrasoMinimoNanos;
+    }
+
+    public <T> T executar(Supplier<T> leitura) {
+        acumularCredito();
+        Tentativa<T> tentativa = new Tentativa<>(Thread.currentThread());
+        ScheduledFuture<?> disparo = agendador.schedule(() -> dispararHedge(tentativa, leitura),
+                atrasoNanos, TimeUnit.NANOSECONDS);
+
+        long inicio = System.nanoTime();
+        T valor = null;
+        RuntimeException erro = null;
+        try {
+            valor = leitura.get();
+        } catch (RuntimeException e) {
+            erro = e;
+        }
+        // Se o hedge venceu e a primeira foi abandonada, a latencia registrada e um limite inferior
+        registrarLatencia(System.nanoTime() - inicio);
+        disparo.cancel(false);
+
+        int anterior = tentativa.concluirPrimeira();
+        if (anterior == Tentativa.HEDGE_CONCLUIDO) {
+            return tentativa.resultadoDoHedge();
+        }
+        if (erro == null) {
+            return valor;
+        }
+        if (anterior != Tentativa.HEDGE_ENVIADO) {
+            throw erro;
+        }
+        // A primeira falhou depois do disparo: vale o hedge, se ele responder
+        try {
+            T valorHedge = tentativa.hedge.join();
+            hedgesVencedores.increment();
+            return valorHedge;
+        } catch (CompletionException e) {
+            throw erro;
+        }
+    }
+
+    private <T> void dispararHedge(Tentativa<T> tentativa, Supplier<T> leitura) {
+        if (!consumirCredito()) {
+            return;
+        }
+        CompletableFuture<T> hedge = new CompletableFuture<>();
+        if (!tentativa.enviarHedge(hedge)) {
+            devolverCredito();
+            return;
+        }
+        hedgesEnviados.increment();
+        hedge.thenAccept(valor -> {
+            if (tentativa.concluirHedge()) {
+                hedgesVencedores.increment();
+            }
+        });
+        try {
+            hedge.completeAsync(leitura, executor);
+        } catch (RejectedExecutionException e) {
+            hedge.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Estado de uma leitura. O hedge so e publicado pela mesma troca de estado que confirma que a primeira chamada
+     * ainda nao terminou, entao a primeira sabe, ao concluir, se ha um hedge do qual esperar. Quem conclui primeiro
+     * decide o resultado: a primeira chamada, na thread de quem le, ou o hedge bem-sucedido, que interrompe essa thread
+     * se ela for virtual e avisa quando terminou, para que a interrupcao possa ser limpa antes de devolver a resposta.
+     */
+    private static final class Tentativa<T> {
+
+        private static final int PENDENTE = 0;
+        private static final int HEDGE_ENVIADO = 1;
+        private static final int PRIMEIRA_CONCLUIDA = 2;
+        private static final int HEDGE_CONCLUIDO = 3;
+
+        private final Thread leitor;
+        private final AtomicInteger estado = new AtomicInteger(PENDENTE);
+        private volatile CompletableFuture<T> hedge;
+        private volatile boolean interrupcaoEntregue;
+
+        private Tentativa(Thread leitor) {
+            this.leitor = leitor;
+        }
+
+        private boolean enviarHedge(CompletableFuture<T> futuro) {
+            hedge = futuro;
+            return estado.compareAndSet(PENDENTE, HEDGE_ENVIADO);
+        }
+
+        /**
+         * Conclui a primeira chamada e devolve o estado anterior: {@link #HEDGE_CONCLUIDO} se o hedge ja venceu.
+         */
+        private int concluirPrimeira() {
+            return estado.getAndUpdate(atual -> atual == HEDGE_CONCLUIDO ? atual : PRIMEIRA_CONCLUIDA);
+        }
+
+        private boolean concluirHedge() {
+            if (!estado.compareAndSet(HEDGE_ENVIADO, HEDGE_CONCLUIDO)) {
+                return false;
+            }
+            if (leitor.isVirtual()) {
+                leitor.interrupt();
+            }
+            interrupcaoEntregue = true;
+            return true;
+        }
+
+        private T resultadoDoHedge() {
+            while (!interrupcaoEntregue) {
+                Thread.onSpinWait();
+            }
+            if (leitor.isVirtual()) {
+                Thread.interrupted();
+            }
+            return hedge.join();
+        }
+    }
+
+    private void acumularCredito() {
+        credito.accumulateAndGet(creditoPorLeitura, (atual, incremento) ->
+                Math.min(atual + incremento, CREDITO_MAXIMO * ESCALA_CREDITO));
+    }
+
+    private boolean consumirCredito() {
+        long anterior = credito.getAndUpdate(atual -> atual >= ESCALA_CREDITO ? atual - ESCALA_CREDITO : atual);
+        if (anterior >= ESCALA_CREDITO) {
+            return true;
+        }
+        hedgesNegados.increment();
+        return false;
+    }
+
+    private void devolverCredito() {
+        credito.accumulateAndGet(ESCALA_CREDITO, (atual, incremento) ->
+                Math.min(atual + incremento, CREDITO_MAXIMO * ESCALA_CREDITO));
+    }
+
+    /**
+     * Guarda a latencia da primeira chamada numa janela circular e recalcula o atraso do hedge a cada
+     * {@link #INTERVALO_RECALCULO} amostras. Enquanto a janela nao enche, vale o atraso minimo.
+     */
+    private void registrarLatencia(long nanos) {
+        long amostra = amostras.getAndIncrement();
+        latencias.set((int) (amostra % JANELA_AMOSTRAS), nanos);
+        if (amostra + 1 >= JANELA_AMOSTRAS && (amostra + 1) % INTERVALO_RECALCULO == 0) {
+            long[] janela = new long[JANELA_AMOSTRAS];
+            for (int i = 0; i < JANELA_AMOSTRAS; i++) {
+                janela[i] = latencias.get(i);
+            }
+            Arrays.sort(janela);
+            int posicao = (int) Math.min(JANELA_AMOSTRAS - 1, Math.ceil(percentil * JANELA_AMOSTRAS) - 1);
+            atrasoNanos = Math.max(atrasoMinimoNanos, janela[Math.max(0, posicao)]);
+        }
+    }
+
+    public long getHedgesEnviados() {
+        return hedgesEnviados.sum();
+    }
+
+    public long getHedgesVencedores() {
+        return hedgesVencedores.sum();
+    }
+
+    public long getHedgesNegados() {
+        return hedgesNegados.sum();
+    }
+
+    public Duration getAtraso() {
+        return Duration.ofNanos(atrasoNanos);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+        executor.shutdown();
+    }
+}
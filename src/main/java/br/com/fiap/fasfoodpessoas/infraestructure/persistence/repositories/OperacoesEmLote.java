@@ -0,0 +1,49 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Limites e utilitarios compartilhados pelas operacoes BatchGetItem, BatchWriteItem e TransactWriteItems dos
+ * repositorios.
+ */
+final class OperacoesEmLote {
+
+    // Limites de itens por chamada BatchGetItem e BatchWriteItem impostos pelo DynamoDB
+    static final int TAMANHO_LOTE_LEITURA = 100;
+    static final int TAMANHO_LOTE_ESCRITA = 25;
+    static final int MAXIMO_TENTATIVAS_LOTE = 6;
+
+    // Cada pessoa ocupa dois itens da escrita em lote: ela e a reserva do seu e-mail
+    static final int PESSOAS_POR_LOTE_ESCRITA = TAMANHO_LOTE_ESCRITA / 2;
+
+    // Limite de itens por TransactWriteItems; no cadastro condicional cada pessoa tambem ocupa dois itens
+    static final int TAMANHO_TRANSACAO = 100;
+    static final int PESSOAS_POR_TRANSACAO = TAMANHO_TRANSACAO / 2;
+
+    private static final long BACKOFF_BASE_MS = 25;
+    private static final long BACKOFF_MAXIMO_MS = 1_000;
+
+    private OperacoesEmLote() {
+    }
+
+    /**
+     * Espera antes de reenviar itens nao processados, com jitter completo sobre um teto exponencial.
+     */
+    static long calcularBackoff(int tentativa) {
+        long teto = Math.min(BACKOFF_MAXIMO_MS, BACKOFF_BASE_MS << Math.min(tentativa, 16));
+        return ThreadLocalRandom.current().nextLong(teto + 1);
+    }
+
+    static <T> List<List<T>> particionar(List<T> itens, int tamanho) {
+        List<List<T>> lotes = new ArrayList<>((itens.size() + tamanho - 1) / tamanho);
+        for (int inicio = 0; inicio < itens.size(); inicio += tamanho) {
+            lotes.add(itens.subList(inicio, Math.min(inicio + tamanho, itens.size())));
+        }
+        if (lotes.isEmpty()) {
+            lotes.add(List.of());
+        }
+        return lotes;
+    }
+}
@@ -0,0 +1,250 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaAsyncRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.mappers.PessoaMapper;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CadastroComEmailUnico.CPF_NAO_EXISTE;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CadastroComEmailUnico.NOME_TABELA_EMAIL;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.MAXIMO_TENTATIVAS_LOTE;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.TAMANHO_LOTE_LEITURA;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.calcularBackoff;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.particionar;
+
+/**
+ * Repositorio do DynamoDB sobre o {@link DynamoDbEnhancedAsyncClient}: cada chamada devolve o {@link CompletableFuture}
+ * do SDK, completado pelo event loop do Netty, sem ocupar uma thread durante a ida ao DynamoDB. As condicoes, a
+ * transacao de reserva do e-mail e o cursor da listagem sao os mesmos do {@link PessoaRepository}.
+ */
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(name = "pessoas.async.habilitado", havingValue = "true")
+public class PessoaAsyncRepository implements PessoaAsyncRepositoryPort {
+
+    private static final String NOME_TABELA = "Pessoas";
+
+    private final DynamoDbEnhancedAsyncClient enhancedAsyncClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final TableSchema<PessoaEntity> pessoaTableSchema;
+    private final DynamoDbAsyncTable<PessoaEntity> tabelaPessoa;
+    private final DynamoDbAsyncTable<PessoaEmailEntity> tabelaEmail;
+    private final CursorPaginacao cursorPaginacao;
+
+    public PessoaAsyncRepository(DynamoDbEnhancedAsyncClient enhancedAsyncClient, DynamoDbAsyncClient dynamoDbAsyncClient,
+                                 TableSchema<PessoaEntity> pessoaTableSchema,
+                                 TableSchema<PessoaEmailEntity> pessoaEmailTableSchema,
+                                 CursorPaginacao cursorPaginacao) {
+        this.enhancedAsyncClient = enhancedAsyncClient;
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.pessoaTableSchema = pessoaTableSchema;
+        this.tabelaPessoa = enhancedAsyncClient.table(NOME_TABELA, pessoaTableSchema);
+        this.tabelaEmail = enhancedAsyncClient.table(NOME_TABELA_EMAIL, pessoaEmailTableSchema);
+        this.cursorPaginacao = cursorPaginacao;
+    }
+
+    /**
+     * Com e-mail, a pessoa e a reserva do e-mail sao gravadas na mesma transacao; sem e-mail, basta a escrita
+     * condicional da pessoa.
+     */
+    @Override
+    public CompletableFuture<PessoaModel> cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        PessoaEntity pessoaEntity = PessoaMapper.toEntity(pessoaModel);
+        pessoaEntity.setDtAtualizacao(System.currentTimeMillis());
+        if (pessoaEntity.getDsEmail() != null) {
+            return cadastrarComEmail(pessoaEntity);
+        }
+
+        PutItemEnhancedRequest<PessoaEntity> request = PutItemEnhancedRequest.builder(PessoaEntity.class)
+                .item(pessoaEntity)
+                .conditionExpression(CPF_NAO_EXISTE)
+                .build();
+        return tabelaPessoa.putItem(request)
+                .thenApply(ignorado -> PessoaMapper.toModel(pessoaEntity))
+                .exceptionally(erro -> {
+                    Throwable causa = causa(erro);
+                    if (causa instanceof ConditionalCheckFailedException) {
+                        throw new CpfCadastradoException("Cliente ja cadastrado com o CPF informado", causa);
+                    }
+                    throw new CompletionException(causa);
+                });
+    }
+
+    private CompletableFuture<PessoaModel> cadastrarComEmail(PessoaEntity pessoaEntity) {
+        return enhancedAsyncClient.transactWriteItems(CadastroComEmailUnico.requisicao(tabelaPessoa, tabelaEmail, pessoaEntity))
+                .thenApply(ignorado -> PessoaMapper.toModel(pessoaEntity))
+                .exceptionally(erro -> {
+                    Throwable causa = causa(erro);
+                    if (causa instanceof TransactionCanceledException cancelada) {
+                        throw CadastroComEmailUnico.traduzir(cancelada);
+                    }
+                    throw new CompletionException(causa);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<PessoaModel>> buscarPessoaPorCpf(String cdDocPessoa) {
+        return tabelaPessoa.getItem(Key.builder().partitionValue(cdDocPessoa).build())
+                .thenApply(pessoaEntity -> Optional.ofNullable(pessoaEntity).map(PessoaMapper::toModel));
+    }
+
+    /**
+     * Como no repositorio sincrono, a projecao usa o client do DynamoDB com {@code ProjectionExpression} e converte o
+     * item parcial pelo mesmo schema.
+     */
+    @Override
+    public CompletableFuture<Optional<PessoaModel>> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        if (campos.containsAll(List.of(CampoPessoaEnum.values()))) {
+            return buscarPessoaPorCpf(cdDocPessoa);
+        }
+
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(NOME_TABELA)
+                .key(Map.of("cdDocPessoa", AttributeValue.fromS(cdDocPessoa)))
+                .projectionExpression(Stream.concat(Stream.of(CampoPessoaEnum.CD_DOC_PESSOA), campos.stream())
+                        .distinct()
+                        .map(CampoPessoaEnum::getAtributo)
+                        .collect(Collectors.joining(", ")))
+                .build();
+        return dynamoDbAsyncClient.getItem(request)
+                .thenApply(response -> !response.hasItem() || response.item().isEmpty()
+                        ? Optional.empty()
+                        : Optional.of(PessoaMapper.toModel(pessoaTableSchema.mapToItem(response.item()))));
+    }
+
+    @Override
+    public CompletableFuture<Optional<PessoaModel>> buscarPessoaPorEmail(String dsEmail) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(dsEmail).build()))
+                .limit(1)
+                .build();
+        return primeiraPagina(tabelaPessoa.index(PessoaEntity.INDICE_EMAIL).query(request))
+                .thenApply(pagina -> pagina == null
+                        ? Optional.empty()
+                        : pagina.items().stream().findFirst().map(PessoaMapper::toModel));
+    }
+
+    /**
+     * Le uma unica pagina do indice por tipo; o cursor e assinado e validado pelo mesmo {@link CursorPaginacao} do
+     * repositorio sincrono, entao os cursores valem nas duas variantes.
+     */
+    @Override
+    public CompletableFuture<PaginaPessoasModel> listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        QueryEnhancedRequest request;
+        try {
+            request = QueryEnhancedRequest.builder()
+                    .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(tpPessoa.name()).build()))
+                    .exclusiveStartKey(cursorPaginacao.decodificarChave(cursor, tpPessoa))
+                    .limit(tamanho)
+                    .build();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return primeiraPagina(tabelaPessoa.index(PessoaEntity.INDICE_TIPO).query(request))
+                .thenApply(pagina -> pagina == null
+                        ? new PaginaPessoasModel(List.of(), null)
+                        : new PaginaPessoasModel(pagina.items().stream().map(PessoaMapper::toModel).toList(),
+                                cursorPaginacao.codificar(pagina.lastEvaluatedKey())));
+    }
+
+    @Override
+    public CompletableFuture<List<PessoaModel>> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        List<CompletableFuture<List<PessoaModel>>> lotes = particionar(new ArrayList<>(cdDocPessoas), TAMANHO_LOTE_LEITURA)
+                .stream()
+                .map(lote -> buscarLote(lote.stream().map(cpf -> Key.builder().partitionValue(cpf).build()).toList(), 1))
+                .toList();
+        return CompletableFuture.allOf(lotes.toArray(CompletableFuture[]::new))
+                .thenApply(ignorado -> lotes.stream()
+                        .flatMap(lote -> lote.join().stream())
+                        .toList());
+    }
+
+    // Cada rodada faz uma unica chamada BatchGetItem; as UnprocessedKeys sao reenviadas apos o backoff, sem bloquear threads
+    private CompletableFuture<List<PessoaModel>> buscarLote(List<Key> chaves, int tentativa) {
+        if (chaves.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        ReadBatch.Builder<PessoaEntity> readBatch = ReadBatch.builder(PessoaEntity.class)
+                .mappedTableResource(tabelaPessoa);
+        chaves.forEach(readBatch::addGetItem);
+        BatchGetItemEnhancedRequest request = BatchGetItemEnhancedRequest.builder()
+                .readBatches(readBatch.build())
+                .build();
+
+        List<PessoaModel> pessoas = new ArrayList<>(chaves.size());
+        List<Key> naoProcessadas = new ArrayList<>();
+        return enhancedAsyncClient.batchGetItem(request)
+                .limit(1)
+                .subscribe(pagina -> {
+                    pagina.resultsForTable(tabelaPessoa).forEach(entity -> pessoas.add(PessoaMapper.toModel(entity)));
+                    naoProcessadas.addAll(pagina.unprocessedKeysForTable(tabelaPessoa));
+                })
+                .thenCompose(ignorado -> {
+                    if (naoProcessadas.isEmpty()) {
+                        return CompletableFuture.completedFuture(pessoas);
+                    }
+                    if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                        return CompletableFuture.failedFuture(new IllegalStateException(
+                                "Nao foi possivel buscar todos os CPFs apos " + MAXIMO_TENTATIVAS_LOTE + " tentativas"));
+                    }
+                    Executor aposBackoff = CompletableFuture.delayedExecutor(calcularBackoff(tentativa), TimeUnit.MILLISECONDS);
+                    return CompletableFuture.supplyAsync(() -> naoProcessadas, aposBackoff)
+                            .thenCompose(pendentes -> buscarLote(pendentes, tentativa + 1))
+                            .thenApply(restantes -> {
+                                pessoas.addAll(restantes);
+                                return pessoas;
+                            });
+                });
+    }
+
+    // Assina o publisher da Query pedindo uma unica pagina; null quando o DynamoDB nao devolve nenhuma
+    private static CompletableFuture<Page<PessoaEntity>> primeiraPagina(SdkPublisher<Page<PessoaEntity>> paginas) {
+        AtomicReference<Page<PessoaEntity>> primeira = new AtomicReference<>();
+        return paginas.limit(1)
+                .subscribe(primeira::set)
+                .thenApply(ignorado -> primeira.get());
+    }
+
+    private static Throwable causa(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+    }
+}
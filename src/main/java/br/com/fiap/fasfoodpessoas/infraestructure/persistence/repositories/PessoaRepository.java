@@ -1,39 +1,900 @@
 package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Email;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
 import br.com.fiap.fasfoodpessoas.infraestructure.commons.mappers.PessoaMapper;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CadastroComEmailUnico.CPF_NAO_EXISTE;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CadastroComEmailUnico.NOME_TABELA_EMAIL;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.MAXIMO_TENTATIVAS_LOTE;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.PESSOAS_POR_LOTE_ESCRITA;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.PESSOAS_POR_TRANSACAO;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.TAMANHO_LOTE_ESCRITA;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.TAMANHO_LOTE_LEITURA;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.calcularBackoff;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.OperacoesEmLote.particionar;
 
 @Component
+@Profile("!embedded")
 public class PessoaRepository implements PessoaRepositoryPort {
 
+    /**
+     * Resultado de cada pessoa em {@link #sincronizarPessoas(List, List)}.
+     */
+    public enum ResultadoEnvio {
+        /**
+         * Gravada no DynamoDB.
+         */
+        GRAVADA,
+        /**
+         * O DynamoDB ja tem uma versao mais nova do CPF; nada foi gravado.
+         */
+        SUPERADA,
+        /**
+         * O e-mail esta reservado para outro CPF; nada foi gravado.
+         */
+        EMAIL_DE_OUTRO_CPF
+    }
+
+    /**
+     * Totais de {@link #reservarEmailsCadastrados(int)}.
+     *
+     * @param reservados  pessoas gravadas com a reserva do e-mail
+     * @param normalizados parte das reservadas cujo e-mail gravado foi regravado na forma canonica
+     * @param recusados   pessoas cujo e-mail ja esta reservado para outro CPF; nada foi gravado
+     * @param alterados   pessoas alteradas por outra escrita durante o backfill, que ja gravou a propria reserva
+     */
+    public record ResumoReservaEmails(long reservados, long normalizados, long recusados, long alterados) {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PessoaRepository.class);
+
+    private static final String NOME_TABELA = "Pessoas";
+
+    // Releituras de uma substituicao quando outro escritor troca o e-mail do CPF entre a leitura e a escrita
+    private static final int TENTATIVAS_SUBSTITUICAO = 3;
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbClient dynamoDbClient;
+    private final TableSchema<PessoaEntity> pessoaTableSchema;
     private final DynamoDbTable<PessoaEntity> tabelaPessoa;
+    private final DynamoDbTable<PessoaEmailEntity> tabelaEmail;
+    private final ExecutorService executor;
+    private final LeituraComHedge leituraComHedge;
+    private final CursorPaginacao cursorPaginacao;
+
+    @Autowired
+    public PessoaRepository(DynamoDbEnhancedClient enhancedClient,
+                            DynamoDbClient dynamoDbClient,
+                            TableSchema<PessoaEntity> pessoaTableSchema,
+                            TableSchema<PessoaEmailEntity> pessoaEmailTableSchema,
+                            @Value("${aws.dynamodb.batch.paralelismo:4}") int paralelismo,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+                            ObjectProvider<LeituraComHedge> leituraComHedge,
+                            CursorPaginacao cursorPaginacao) {
+        this(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema,
+                criarExecutor(paralelismo, threadsVirtuais), leituraComHedge.getIfAvailable(), cursorPaginacao);
+    }
 
+    public PessoaRepository(DynamoDbEnhancedClient enhancedClient, DynamoDbClient dynamoDbClient,
+                            TableSchema<PessoaEntity> pessoaTableSchema,
+                            TableSchema<PessoaEmailEntity> pessoaEmailTableSchema, ExecutorService executor) {
+        this(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema, executor, null);
+    }
 
-    public PessoaRepository(DynamoDbEnhancedClient enhancedClient) {
-        TableSchema<PessoaEntity> schema = TableSchema.fromBean(PessoaEntity.class);
-        this.tabelaPessoa = enhancedClient.table("Pessoas", schema);
+    public PessoaRepository(DynamoDbEnhancedClient enhancedClient, DynamoDbClient dynamoDbClient,
+                            TableSchema<PessoaEntity> pessoaTableSchema,
+                            TableSchema<PessoaEmailEntity> pessoaEmailTableSchema, ExecutorService executor,
+                            LeituraComHedge leituraComHedge) {
+        this(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema, executor, leituraComHedge,
+                new CursorPaginacao((String) null));
+    }
 
+    /**
+     * @param leituraComHedge quando informado, as buscas por CPF enviam um segundo GetItem se o primeiro demorar
+     * @param cursorPaginacao assina os cursores da listagem por tipo
+     */
+    public PessoaRepository(DynamoDbEnhancedClient enhancedClient, DynamoDbClient dynamoDbClient,
+                            TableSchema<PessoaEntity> pessoaTableSchema,
+                            TableSchema<PessoaEmailEntity> pessoaEmailTableSchema, ExecutorService executor,
+                            LeituraComHedge leituraComHedge, CursorPaginacao cursorPaginacao) {
+        this.enhancedClient = enhancedClient;
+        this.dynamoDbClient = dynamoDbClient;
+        this.pessoaTableSchema = pessoaTableSchema;
+        this.tabelaPessoa = enhancedClient.table(NOME_TABELA, pessoaTableSchema);
+        this.tabelaEmail = enhancedClient.table(NOME_TABELA_EMAIL, pessoaEmailTableSchema);
+        this.executor = executor;
+        this.leituraComHedge = leituraComHedge;
+        this.cursorPaginacao = cursorPaginacao;
     }
 
+    /**
+     * Com threads virtuais cada lote ganha sua propria thread; a concorrencia efetiva fica limitada pelo pool de
+     * conexoes do client HTTP do DynamoDB. Sem elas, um pool fixo de {@code paralelismo} threads de plataforma.
+     */
+    static ExecutorService criarExecutor(int paralelismo, boolean threadsVirtuais) {
+        if (threadsVirtuais) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dynamodb-lote-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(paralelismo);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Substitui o cadastro do CPF. Com e-mail, a pessoa e a reserva sao gravadas na mesma transacao e a reserva so e
+     * criada se o e-mail estiver livre ou ja for deste CPF; caso contrario nada e gravado. O cadastro atual e lido
+     * antes para liberar a reserva do e-mail anterior, se ele mudar.
+     *
+     * @throws EmailCadastradoException se o e-mail estiver reservado para outro CPF
+     */
     @Override
     public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
-        PessoaEntity pessoaEntity = PessoaMapper.toEntity(pessoaModel);
-        tabelaPessoa.putItem(pessoaEntity);
+        PessoaEntity pessoaEntity = versaoAtual(pessoaModel);
+        ResultadoEnvio resultado = substituir(pessoaEntity, false, lerGravada(pessoaEntity.getCdDocPessoa()));
+        if (resultado == ResultadoEnvio.EMAIL_DE_OUTRO_CPF) {
+            throw new EmailCadastradoException("Cliente ja cadastrado com o e-mail informado");
+        }
+        return PessoaMapper.toModel(pessoaEntity);
+    }
+
+    /**
+     * Com e-mail, a pessoa e a reserva do e-mail sao gravadas na mesma transacao; sem e-mail, basta a escrita
+     * condicional da pessoa.
+     */
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        PessoaEntity pessoaEntity = versaoAtual(pessoaModel);
+        if (pessoaEntity.getDsEmail() == null) {
+            PutItemEnhancedRequest<PessoaEntity> request = PutItemEnhancedRequest.builder(PessoaEntity.class)
+                    .item(pessoaEntity)
+                    .conditionExpression(CPF_NAO_EXISTE)
+                    .build();
+            try {
+                tabelaPessoa.putItem(request);
+            } catch (ConditionalCheckFailedException e) {
+                throw new CpfCadastradoException("Cliente ja cadastrado com o CPF informado", e);
+            }
+            return PessoaMapper.toModel(pessoaEntity);
+        }
+
+        try {
+            enhancedClient.transactWriteItems(CadastroComEmailUnico.requisicao(tabelaPessoa, tabelaEmail, pessoaEntity));
+        } catch (TransactionCanceledException e) {
+            throw CadastroComEmailUnico.traduzir(e);
+        }
         return PessoaMapper.toModel(pessoaEntity);
     }
 
     @Override
     public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
-        PessoaEntity pessoaEntity = tabelaPessoa.getItem(Key.builder().partitionValue(cdDocPessoa).build());
+        Key chave = Key.builder().partitionValue(cdDocPessoa).build();
+        PessoaEntity pessoaEntity = leituraComHedge == null
+                ? tabelaPessoa.getItem(chave)
+                : leituraComHedge.executar(() -> tabelaPessoa.getItem(chave));
         return Optional.ofNullable(pessoaEntity).map(PessoaMapper::toModel);
     }
+
+    /**
+     * O GetItem do client enhanced nao aceita projecao; a leitura usa o client do DynamoDB com
+     * {@code ProjectionExpression} e converte o item parcial pelo mesmo schema, deixando nulos os atributos nao lidos.
+     */
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        if (campos.containsAll(List.of(CampoPessoaEnum.values()))) {
+            return buscarPessoaPorCpf(cdDocPessoa);
+        }
+
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(NOME_TABELA)
+                .key(Map.of("cdDocPessoa", AttributeValue.fromS(cdDocPessoa)))
+                .projectionExpression(Stream.concat(Stream.of(CampoPessoaEnum.CD_DOC_PESSOA), campos.stream())
+                        .distinct()
+                        .map(CampoPessoaEnum::getAtributo)
+                        .collect(Collectors.joining(", ")))
+                .build();
+        Supplier<GetItemResponse> leitura = () -> dynamoDbClient.getItem(request);
+        GetItemResponse response = leituraComHedge == null ? leitura.get() : leituraComHedge.executar(leitura);
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(PessoaMapper.toModel(pessoaTableSchema.mapToItem(response.item())));
+    }
+
+    /**
+     * Consulta o indice global por e-mail, que projeta todos os atributos: uma unica Query, sem voltar a tabela.
+     * O indice e eventualmente consistente, entao uma pessoa recem-cadastrada pode levar alguns instantes para
+     * aparecer.
+     */
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(dsEmail).build()))
+                .limit(1)
+                .build();
+        return tabelaPessoa.index(PessoaEntity.INDICE_EMAIL).query(request).stream()
+                .flatMap(pagina -> pagina.items().stream())
+                .findFirst()
+                .map(PessoaMapper::toModel);
+    }
+
+    /**
+     * Le uma unica pagina do indice por tipo, ja ordenada por nome: o Limit da Query limita o que o DynamoDB le e
+     * nenhuma pagina alem da pedida e carregada. O LastEvaluatedKey volta ao cliente como cursor opaco.
+     */
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(tpPessoa.name()).build()))
+                .exclusiveStartKey(cursorPaginacao.decodificarChave(cursor, tpPessoa))
+                .limit(tamanho)
+                .build();
+        Page<PessoaEntity> pagina = tabelaPessoa.index(PessoaEntity.INDICE_TIPO).query(request).iterator().next();
+        return new PaginaPessoasModel(pagina.items().stream().map(PessoaMapper::toModel).toList(),
+                cursorPaginacao.codificar(pagina.lastEvaluatedKey()));
+    }
+
+    @Override
+    public List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        List<List<String>> lotes = particionar(new ArrayList<>(cdDocPessoas), TAMANHO_LOTE_LEITURA);
+        return executarEmParalelo(lotes, this::buscarLote).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Pessoas cujo e-mail esta reservado para outro CPF nao sao gravadas; as demais sao, e so entao
+     * {@link EmailCadastradoException} e lancada com os CPFs recusados.
+     */
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        List<PessoaEntity> entities = pessoas.stream().map(PessoaRepository::versaoAtual).toList();
+        List<String> recusadas = executarEmParalelo(particionar(entities, PESSOAS_POR_LOTE_ESCRITA), this::gravarLote)
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+        if (!recusadas.isEmpty()) {
+            throw new EmailCadastradoException("E-mail reservado para outro CPF; nao gravados: "
+                    + String.join(", ", recusadas));
+        }
+    }
+
+    /**
+     * Envio do write-behind: grava cada pessoa com a versao informada, o instante da escrita local, sem sobrescrever
+     * uma versao mais nova gravada por outra loja ou pela API. Em cada lote as versoes atuais e as reservas de e-mail
+     * sao lidas com leitura consistente; CPFs ainda ausentes vao em BatchWriteItem e CPFs ja cadastrados sem versao
+     * mais nova em escritas condicionadas a versao e ao e-mail gravado, por PutItem ou, com e-mail novo ou trocado, por
+     * TransactWriteItems com a reserva nova e a remocao da anterior. Como no cadastro em lote, um CPF criado por outro escritor entre a leitura e o BatchWriteItem ainda pode ser
+     * sobrescrito. Os CPFs devem ser distintos.
+     *
+     * @param versoes versao de cada pessoa, na mesma ordem, em epoch milissegundos
+     * @return o resultado de cada pessoa, na ordem recebida
+     */
+    public List<ResultadoEnvio> sincronizarPessoas(List<PessoaModel> pessoas, List<Long> versoes) {
+        if (pessoas.isEmpty()) {
+            return List.of();
+        }
+        List<PessoaEntity> entities = new ArrayList<>(pessoas.size());
+        for (int i = 0; i < pessoas.size(); i++) {
+            PessoaEntity entity = PessoaMapper.toEntity(pessoas.get(i));
+            entity.setDtAtualizacao(versoes.get(i));
+            entities.add(entity);
+        }
+        return executarEmParalelo(particionar(entities, PESSOAS_POR_LOTE_ESCRITA), this::sincronizarLote).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Pessoas com e-mail precisam gravar a reserva junto com o cadastro, entao vao em grupos de ate
+     * {@code PESSOAS_POR_TRANSACAO} por TransactWriteItems com as mesmas condicoes do cadastro individual. As sem
+     * e-mail vao em lotes de ate {@code TAMANHO_LOTE_ESCRITA} por BatchWriteItem, que custa metade das unidades de
+     * escrita da transacao. Os grupos correm em paralelo e cada um trata as proprias falhas, entao um erro em um grupo
+     * marca como {@code FALHA} apenas as pessoas dele. Os CPFs devem ser distintos.
+     */
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        if (pessoas.isEmpty()) {
+            return List.of();
+        }
+        Map<Boolean, List<PessoaModel>> porEmail = pessoas.stream()
+                .collect(Collectors.partitioningBy(pessoa -> pessoa.getDsEmail() != null));
+        List<List<PessoaModel>> grupos = Stream.concat(
+                        particionar(porEmail.get(true), PESSOAS_POR_TRANSACAO).stream(),
+                        particionar(porEmail.get(false), TAMANHO_LOTE_ESCRITA).stream())
+                .filter(grupo -> !grupo.isEmpty())
+                .toList();
+        Map<String, ResultadoCadastroModel> resultados = executarEmParalelo(grupos,
+                grupo -> grupo.get(0).getDsEmail() == null ? cadastrarLoteSemEmail(grupo) : cadastrarGrupo(grupo))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(ResultadoCadastroModel::getCdDocPessoa, Function.identity()));
+        return pessoas.stream()
+                .map(pessoa -> resultados.get(pessoa.getCdDocPessoa()))
+                .toList();
+    }
+
+    /**
+     * Percorre todos os CPFs cadastrados com um scan paralelo dividido em {@code segmentos}, projetando apenas a
+     * chave. O consumidor e chamado concorrentemente pelas threads do executor e deve ser thread-safe.
+     */
+    public void percorrerCpfsCadastrados(int segmentos, Consumer<String> consumidor) {
+        List<Integer> segmentosScan = IntStream.range(0, segmentos).boxed().toList();
+        executarEmParalelo(segmentosScan, segmento -> percorrerSegmento(segmento, segmentos, consumidor));
+    }
+
+    /**
+     * Backfill das reservas de e-mail de cadastros gravados antes da tabela {@code PessoasEmail} ou com o e-mail fora da
+     * forma de {@link Email#normalizar(String)}. Percorre a tabela com scan paralelo em {@code segmentos} e regrava cada
+     * pessoa com e-mail, ja normalizado e com a versao mantida, junto com a reserva, na transacao de
+     * {@link CadastroComEmailUnico#substituicao} condicionada ao e-mail lido no scan. Pode ser repetido.
+     */
+    public ResumoReservaEmails reservarEmailsCadastrados(int segmentos) {
+        LongAdder reservados = new LongAdder();
+        LongAdder normalizados = new LongAdder();
+        LongAdder recusados = new LongAdder();
+        LongAdder alterados = new LongAdder();
+        List<Integer> segmentosScan = IntStream.range(0, segmentos).boxed().toList();
+        executarEmParalelo(segmentosScan, segmento -> {
+            ScanEnhancedRequest request = ScanEnhancedRequest.builder()
+                    .segment(segmento)
+                    .totalSegments(segmentos)
+                    .filterExpression(Expression.builder().expression("attribute_exists(dsEmail)").build())
+                    .build();
+            tabelaPessoa.scan(request).items().forEach(gravada -> {
+                String emailGravado = gravada.getDsEmail();
+                gravada.setDsEmail(Email.normalizar(emailGravado));
+                switch (reservarEmail(gravada, emailGravado)) {
+                    case GRAVADA -> {
+                        reservados.increment();
+                        if (!emailGravado.equals(gravada.getDsEmail())) {
+                            normalizados.increment();
+                        }
+                    }
+                    case EMAIL_DE_OUTRO_CPF -> {
+                        recusados.increment();
+                        LOGGER.warn("E-mail do CPF {} ja reservado para outro CPF; reserva nao criada",
+                                gravada.getCdDocPessoa());
+                    }
+                    case SUPERADA -> alterados.increment();
+                }
+            });
+            return null;
+        });
+        return new ResumoReservaEmails(reservados.sum(), normalizados.sum(), recusados.sum(), alterados.sum());
+    }
+
+    // SUPERADA aqui indica que o e-mail mudou depois do scan
+    private ResultadoEnvio reservarEmail(PessoaEntity pessoaEntity, String emailGravado) {
+        try {
+            enhancedClient.transactWriteItems(CadastroComEmailUnico.substituicao(tabelaPessoa, tabelaEmail, pessoaEntity,
+                    CadastroComEmailUnico.emailGravado(emailGravado), null));
+            return ResultadoEnvio.GRAVADA;
+        } catch (TransactionCanceledException e) {
+            List<CancellationReason> motivos = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+            if (motivos.size() > 1 && CadastroComEmailUnico.condicaoFalhou(motivos.get(1))) {
+                return ResultadoEnvio.EMAIL_DE_OUTRO_CPF;
+            }
+            if (!motivos.isEmpty() && CadastroComEmailUnico.condicaoFalhou(motivos.get(0))) {
+                return ResultadoEnvio.SUPERADA;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        ExportacaoPorScan.exportar(tabelaPessoa, segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    private Void percorrerSegmento(int segmento, int totalSegmentos, Consumer<String> consumidor) {
+        ScanEnhancedRequest request = ScanEnhancedRequest.builder()
+                .segment(segmento)
+                .totalSegments(totalSegmentos)
+                .attributesToProject("cdDocPessoa")
+                .build();
+        tabelaPessoa.scan(request).items().forEach(entity -> consumidor.accept(entity.getCdDocPessoa()));
+        return null;
+    }
+
+    private <T, R> List<R> executarEmParalelo(List<T> lotes, Function<T, R> operacao) {
+        if (lotes.size() == 1) {
+            return Collections.singletonList(operacao.apply(lotes.get(0)));
+        }
+
+        List<CompletableFuture<R>> operacoes = lotes.stream()
+                .map(lote -> CompletableFuture.supplyAsync(() -> operacao.apply(lote), executor))
+                .toList();
+        try {
+            return operacoes.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private List<PessoaModel> buscarLote(List<String> cdDocPessoas) {
+        if (cdDocPessoas.isEmpty()) {
+            return List.of();
+        }
+
+        ReadBatch.Builder<PessoaEntity> readBatch = ReadBatch.builder(PessoaEntity.class)
+                .mappedTableResource(tabelaPessoa);
+        cdDocPessoas.forEach(cdDocPessoa -> readBatch.addGetItem(Key.builder().partitionValue(cdDocPessoa).build()));
+        BatchGetItemEnhancedRequest request = BatchGetItemEnhancedRequest.builder()
+                .readBatches(readBatch.build())
+                .build();
+
+        // Cada pagina corresponde a uma chamada BatchGetItem; a seguinte reenvia apenas as UnprocessedKeys
+        List<PessoaModel> pessoas = new ArrayList<>(cdDocPessoas.size());
+        Iterator<BatchGetResultPage> paginas = enhancedClient.batchGetItem(request).iterator();
+        for (int tentativa = 1; paginas.hasNext(); tentativa++) {
+            BatchGetResultPage pagina = paginas.next();
+            pagina.resultsForTable(tabelaPessoa).forEach(entity -> pessoas.add(PessoaMapper.toModel(entity)));
+
+            if (pagina.unprocessedKeysForTable(tabelaPessoa).isEmpty()) {
+                break;
+            }
+            if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                throw new IllegalStateException("Nao foi possivel buscar todos os CPFs apos "
+                        + MAXIMO_TENTATIVAS_LOTE + " tentativas");
+            }
+            aguardarBackoff(tentativa);
+        }
+        return pessoas;
+    }
+
+    /**
+     * Grava as pessoas e as reservas dos seus e-mails na mesma chamada BatchWriteItem. A escrita em lote nao aceita
+     * condicoes, entao os cadastros atuais e as reservas sao lidos antes, com leitura consistente: pessoas cujo e-mail
+     * pertence a outro CPF, ou a outra pessoa do mesmo lote, ficam fora da escrita e sao devolvidas. Depois da escrita
+     * as reservas dos e-mails anteriores que mudaram e ainda eram do proprio CPF sao removidas. Uma reserva criada
+     * entre a leitura e a escrita ainda pode ser sobrescrita ou removida; os cadastros individual e condicional em
+     * lote usam transacoes e nao tem essa janela.
+     */
+    private List<String> gravarLote(List<PessoaEntity> lote) {
+        Map<String, PessoaEntity> gravadas = buscarGravadas(lote);
+        Map<String, String> reservas = buscarReservas(Stream.concat(lote.stream(), gravadas.values().stream())
+                .map(PessoaEntity::getDsEmail)
+                .toList());
+        List<PessoaEntity> entities = new ArrayList<>(lote.size());
+        List<String> liberadas = new ArrayList<>();
+        List<String> recusadas = new ArrayList<>();
+        for (PessoaEntity entity : lote) {
+            String cdDocPessoa = entity.getCdDocPessoa();
+            String dono = entity.getDsEmail() == null ? null : reservas.putIfAbsent(entity.getDsEmail(), cdDocPessoa);
+            if (dono != null && !dono.equals(cdDocPessoa)) {
+                recusadas.add(cdDocPessoa);
+                continue;
+            }
+            entities.add(entity);
+            String anterior = gravadas.containsKey(cdDocPessoa) ? gravadas.get(cdDocPessoa).getDsEmail() : null;
+            if (anterior != null && !anterior.equals(entity.getDsEmail()) && cdDocPessoa.equals(reservas.get(anterior))) {
+                liberadas.add(anterior);
+            }
+        }
+
+        escreverEmLote(entities);
+        liberarReservas(liberadas);
+        return recusadas;
+    }
+
+    private List<ResultadoEnvio> sincronizarLote(List<PessoaEntity> lote) {
+        ResultadoEnvio[] resultados = new ResultadoEnvio[lote.size()];
+        Map<String, String> reservas = buscarReservas(lote.stream().map(PessoaEntity::getDsEmail).toList());
+        Map<String, PessoaEntity> gravadas = buscarGravadas(lote);
+        List<PessoaEntity> novas = new ArrayList<>(lote.size());
+        List<Integer> posicoesNovas = new ArrayList<>(lote.size());
+        for (int posicao = 0; posicao < lote.size(); posicao++) {
+            PessoaEntity entity = lote.get(posicao);
+            String cdDocPessoa = entity.getCdDocPessoa();
+            PessoaEntity gravada = gravadas.get(cdDocPessoa);
+            if (gravada != null && gravada.getDtAtualizacao() != null
+                    && gravada.getDtAtualizacao() > entity.getDtAtualizacao()) {
+                resultados[posicao] = ResultadoEnvio.SUPERADA;
+                continue;
+            }
+            String dono = entity.getDsEmail() == null ? null : reservas.putIfAbsent(entity.getDsEmail(), cdDocPessoa);
+            if (dono != null && !dono.equals(cdDocPessoa)) {
+                resultados[posicao] = ResultadoEnvio.EMAIL_DE_OUTRO_CPF;
+            } else if (gravada != null) {
+                resultados[posicao] = substituir(entity, true, gravada);
+            } else {
+                novas.add(entity);
+                posicoesNovas.add(posicao);
+            }
+        }
+
+        escreverEmLote(novas);
+        posicoesNovas.forEach(posicao -> resultados[posicao] = ResultadoEnvio.GRAVADA);
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Substitui a pessoa partindo de {@code gravada}, o item atual lido com leitura consistente ou {@code null}. A
+     * pessoa e condicionada ao e-mail lido e, em {@code versionada}, tambem a versao; quando o e-mail muda, a reserva do
+     * anterior e removida na mesma transacao se ainda for deste CPF. Se outro escritor trocar o e-mail ou a reserva
+     * nesse intervalo, o item e relido e a escrita repetida ate {@link #TENTATIVAS_SUBSTITUICAO} vezes.
+     *
+     * @return {@code SUPERADA} apenas em {@code versionada}, quando o DynamoDB ja tem uma versao mais nova
+     */
+    private ResultadoEnvio substituir(PessoaEntity entity, boolean versionada, PessoaEntity gravada) {
+        String cdDocPessoa = entity.getCdDocPessoa();
+        for (int tentativa = 1; ; tentativa++) {
+            if (versionada && gravada != null && gravada.getDtAtualizacao() != null
+                    && gravada.getDtAtualizacao() > entity.getDtAtualizacao()) {
+                return ResultadoEnvio.SUPERADA;
+            }
+            String emailGravado = gravada == null ? null : gravada.getDsEmail();
+            String reservaLiberada = emailGravado != null && !emailGravado.equals(entity.getDsEmail())
+                    && cdDocPessoa.equals(buscarDonoDaReserva(emailGravado)) ? emailGravado : null;
+            Expression condicao = CadastroComEmailUnico.emailGravado(emailGravado);
+            if (versionada) {
+                condicao = Expression.join(CadastroComEmailUnico.versaoAnterior(entity.getDtAtualizacao()), condicao,
+                        " AND ");
+            }
+
+            try {
+                if (entity.getDsEmail() == null && reservaLiberada == null) {
+                    tabelaPessoa.putItem(PutItemEnhancedRequest.builder(PessoaEntity.class)
+                            .item(entity)
+                            .conditionExpression(condicao)
+                            .build());
+                } else {
+                    enhancedClient.transactWriteItems(CadastroComEmailUnico.substituicao(tabelaPessoa, tabelaEmail,
+                            entity, condicao, reservaLiberada));
+                }
+                return ResultadoEnvio.GRAVADA;
+            } catch (ConditionalCheckFailedException e) {
+                if (tentativa == TENTATIVAS_SUBSTITUICAO) {
+                    throw e;
+                }
+            } catch (TransactionCanceledException e) {
+                // Itens na ordem de CadastroComEmailUnico.substituicao: pessoa, nova reserva e reserva liberada
+                List<CancellationReason> motivos = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+                int itemNovaReserva = entity.getDsEmail() == null ? -1 : 1;
+                if (itemNovaReserva > 0 && motivos.size() > itemNovaReserva
+                        && CadastroComEmailUnico.condicaoFalhou(motivos.get(itemNovaReserva))) {
+                    return ResultadoEnvio.EMAIL_DE_OUTRO_CPF;
+                }
+                boolean condicaoFalhou = motivos.stream().anyMatch(CadastroComEmailUnico::condicaoFalhou);
+                if (!condicaoFalhou || tentativa == TENTATIVAS_SUBSTITUICAO) {
+                    throw e;
+                }
+            }
+            gravada = lerGravada(cdDocPessoa);
+        }
+    }
+
+    private PessoaEntity lerGravada(String cdDocPessoa) {
+        return tabelaPessoa.getItem(GetItemEnhancedRequest.builder()
+                .key(Key.builder().partitionValue(cdDocPessoa).build())
+                .consistentRead(true)
+                .build());
+    }
+
+    private String buscarDonoDaReserva(String dsEmail) {
+        PessoaEmailEntity reserva = tabelaEmail.getItem(GetItemEnhancedRequest.builder()
+                .key(Key.builder().partitionValue(dsEmail).build())
+                .consistentRead(true)
+                .build());
+        return reserva == null ? null : reserva.getCdDocPessoa();
+    }
+
+    /**
+     * Remove as reservas dos e-mails informados por BatchWriteItem, sem condicoes, reenviando as nao processadas com
+     * backoff.
+     */
+    private void liberarReservas(List<String> emails) {
+        for (List<String> lote : particionar(emails, TAMANHO_LOTE_ESCRITA)) {
+            List<Key> pendentes = lote.stream().map(email -> Key.builder().partitionValue(email).build()).toList();
+            for (int tentativa = 1; !pendentes.isEmpty(); tentativa++) {
+                WriteBatch.Builder<PessoaEmailEntity> writeBatch = WriteBatch.builder(PessoaEmailEntity.class)
+                        .mappedTableResource(tabelaEmail);
+                pendentes.forEach(writeBatch::addDeleteItem);
+                BatchWriteResult resultado = enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                        .addWriteBatch(writeBatch.build())
+                        .build());
+
+                pendentes = resultado.unprocessedDeleteItemsForTable(tabelaEmail);
+                if (pendentes.isEmpty()) {
+                    break;
+                }
+                if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                    throw new IllegalStateException("Nao foi possivel liberar todas as reservas de e-mail apos "
+                            + MAXIMO_TENTATIVAS_LOTE + " tentativas");
+                }
+                aguardarBackoff(tentativa);
+            }
+        }
+    }
+
+    /**
+     * Grava as pessoas e as reservas dos seus e-mails na mesma chamada BatchWriteItem, sem condicoes, reenviando os
+     * itens nao processados com backoff.
+     */
+    private void escreverEmLote(List<PessoaEntity> entities) {
+        List<PessoaEntity> pendentes = entities;
+        List<PessoaEmailEntity> reservasPendentes = entities.stream()
+                .filter(entity -> entity.getDsEmail() != null)
+                .map(CadastroComEmailUnico::reserva)
+                .toList();
+        for (int tentativa = 1; !pendentes.isEmpty() || !reservasPendentes.isEmpty(); tentativa++) {
+            BatchWriteItemEnhancedRequest.Builder request = BatchWriteItemEnhancedRequest.builder();
+            if (!pendentes.isEmpty()) {
+                WriteBatch.Builder<PessoaEntity> writeBatch = WriteBatch.builder(PessoaEntity.class)
+                        .mappedTableResource(tabelaPessoa);
+                pendentes.forEach(writeBatch::addPutItem);
+                request.addWriteBatch(writeBatch.build());
+            }
+            if (!reservasPendentes.isEmpty()) {
+                WriteBatch.Builder<PessoaEmailEntity> writeBatch = WriteBatch.builder(PessoaEmailEntity.class)
+                        .mappedTableResource(tabelaEmail);
+                reservasPendentes.forEach(writeBatch::addPutItem);
+                request.addWriteBatch(writeBatch.build());
+            }
+            BatchWriteResult resultado = enhancedClient.batchWriteItem(request.build());
+
+            pendentes = pendentes.isEmpty() ? pendentes : resultado.unprocessedPutItemsForTable(tabelaPessoa);
+            reservasPendentes = reservasPendentes.isEmpty()
+                    ? reservasPendentes
+                    : resultado.unprocessedPutItemsForTable(tabelaEmail);
+            if (pendentes.isEmpty() && reservasPendentes.isEmpty()) {
+                break;
+            }
+            if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                throw new IllegalStateException("Nao foi possivel gravar todas as pessoas apos "
+                        + MAXIMO_TENTATIVAS_LOTE + " tentativas");
+            }
+            aguardarBackoff(tentativa);
+        }
+    }
+
+    /**
+     * Item atual de cada CPF do lote ja cadastrado, por CPF; itens gravados antes do atributo de versao tem
+     * {@code dtAtualizacao} nula.
+     */
+    private Map<String, PessoaEntity> buscarGravadas(List<PessoaEntity> entities) {
+        ReadBatch.Builder<PessoaEntity> readBatch = ReadBatch.builder(PessoaEntity.class)
+                .mappedTableResource(tabelaPessoa);
+        entities.stream()
+                .map(PessoaEntity::getCdDocPessoa)
+                .distinct()
+                .forEach(cdDocPessoa -> readBatch.addGetItem(GetItemEnhancedRequest.builder()
+                        .key(Key.builder().partitionValue(cdDocPessoa).build())
+                        .consistentRead(true)
+                        .build()));
+        BatchGetItemEnhancedRequest request = BatchGetItemEnhancedRequest.builder()
+                .readBatches(readBatch.build())
+                .build();
+
+        Map<String, PessoaEntity> gravadas = new HashMap<>();
+        Iterator<BatchGetResultPage> paginas = enhancedClient.batchGetItem(request).iterator();
+        for (int tentativa = 1; paginas.hasNext(); tentativa++) {
+            BatchGetResultPage pagina = paginas.next();
+            pagina.resultsForTable(tabelaPessoa).forEach(atual -> gravadas.put(atual.getCdDocPessoa(), atual));
+
+            if (pagina.unprocessedKeysForTable(tabelaPessoa).isEmpty()) {
+                break;
+            }
+            if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                throw new IllegalStateException("Nao foi possivel ler as versoes atuais apos "
+                        + MAXIMO_TENTATIVAS_LOTE + " tentativas");
+            }
+            aguardarBackoff(tentativa);
+        }
+        return gravadas;
+    }
+
+    /**
+     * Dono atual de cada e-mail informado ja reservado, por e-mail; e-mails nulos sao ignorados.
+     */
+    private Map<String, String> buscarReservas(List<String> dsEmails) {
+        Map<String, String> reservas = new HashMap<>();
+        List<String> emails = dsEmails.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (emails.isEmpty()) {
+            return reservas;
+        }
+
+        ReadBatch.Builder<PessoaEmailEntity> readBatch = ReadBatch.builder(PessoaEmailEntity.class)
+                .mappedTableResource(tabelaEmail);
+        emails.forEach(email -> readBatch.addGetItem(GetItemEnhancedRequest.builder()
+                .key(Key.builder().partitionValue(email).build())
+                .consistentRead(true)
+                .build()));
+        BatchGetItemEnhancedRequest request = BatchGetItemEnhancedRequest.builder()
+                .readBatches(readBatch.build())
+                .build();
+
+        Iterator<BatchGetResultPage> paginas = enhancedClient.batchGetItem(request).iterator();
+        for (int tentativa = 1; paginas.hasNext(); tentativa++) {
+            BatchGetResultPage pagina = paginas.next();
+            pagina.resultsForTable(tabelaEmail).forEach(reserva -> reservas.put(reserva.getDsEmail(), reserva.getCdDocPessoa()));
+
+            if (pagina.unprocessedKeysForTable(tabelaEmail).isEmpty()) {
+                break;
+            }
+            if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                throw new IllegalStateException("Nao foi possivel ler as reservas de e-mail apos "
+                        + MAXIMO_TENTATIVAS_LOTE + " tentativas");
+            }
+            aguardarBackoff(tentativa);
+        }
+        return reservas;
+    }
+
+    /**
+     * Uma transacao cancelada por condicao indica, pelos motivos de cancelamento, quais pessoas ja tem o CPF ou o
+     * e-mail em uso: elas recebem o resultado correspondente e as demais sao reenviadas em uma nova transacao.
+     * Cancelamentos sem condicao violada, como conflito com outra transacao, sao repetidos com backoff.
+     */
+    private List<ResultadoCadastroModel> cadastrarGrupo(List<PessoaModel> pessoas) {
+        ResultadoCadastroModel[] resultados = new ResultadoCadastroModel[pessoas.size()];
+        List<PessoaEntity> entities = pessoas.stream().map(PessoaRepository::versaoAtual).toList();
+        List<Integer> pendentes = IntStream.range(0, pessoas.size()).boxed().collect(Collectors.toList());
+        try {
+            for (int tentativa = 1; !pendentes.isEmpty(); ) {
+                TransactWriteItemsEnhancedRequest.Builder request = TransactWriteItemsEnhancedRequest.builder();
+                // Posicao no grupo da pessoa de cada item da transacao; o primeiro item de cada pessoa e ela mesma
+                List<Integer> itens = new ArrayList<>(pendentes.size() * 2);
+                for (int posicao : pendentes) {
+                    int quantidade = CadastroComEmailUnico.adicionar(request, tabelaPessoa, tabelaEmail,
+                            entities.get(posicao));
+                    itens.addAll(Collections.nCopies(quantidade, posicao));
+                }
+
+                try {
+                    enhancedClient.transactWriteItems(request.build());
+                    pendentes.forEach(posicao -> resultados[posicao] =
+                            ResultadoCadastroModel.criado(entities.get(posicao).getCdDocPessoa()));
+                    pendentes.clear();
+                } catch (TransactionCanceledException e) {
+                    List<CancellationReason> motivos = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+                    boolean rejeitou = false;
+                    for (int item = 0; item < motivos.size() && item < itens.size(); item++) {
+                        int posicao = itens.get(item);
+                        if (resultados[posicao] != null || !CadastroComEmailUnico.condicaoFalhou(motivos.get(item))) {
+                            continue;
+                        }
+                        String cdDocPessoa = entities.get(posicao).getCdDocPessoa();
+                        boolean itemDaPessoa = item == 0 || itens.get(item - 1) != posicao;
+                        resultados[posicao] = itemDaPessoa
+                                ? ResultadoCadastroModel.duplicado(cdDocPessoa)
+                                : ResultadoCadastroModel.emailDuplicado(cdDocPessoa);
+                        rejeitou = true;
+                    }
+                    if (rejeitou) {
+                        pendentes.removeIf(posicao -> resultados[posicao] != null);
+                        continue;
+                    }
+                    if (tentativa == MAXIMO_TENTATIVAS_LOTE) {
+                        throw e;
+                    }
+                    aguardarBackoff(tentativa++);
+                }
+            }
+        } catch (RuntimeException e) {
+            pendentes.forEach(posicao -> resultados[posicao] = ResultadoCadastroModel.falha(
+                    entities.get(posicao).getCdDocPessoa(), "Nao foi possivel concluir o cadastro; tente novamente"));
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Sem reserva de e-mail a gravar, o cadastro condicional nao precisa de transacao: os CPFs do lote sao lidos com
+     * leitura consistente, os ja cadastrados voltam como duplicados e os demais vao em um BatchWriteItem. Como na
+     * sincronizacao, um CPF criado por outro escritor entre a leitura e a escrita ainda pode ser sobrescrito.
+     */
+    private List<ResultadoCadastroModel> cadastrarLoteSemEmail(List<PessoaModel> pessoas) {
+        List<PessoaEntity> entities = pessoas.stream().map(PessoaRepository::versaoAtual).toList();
+        try {
+            Set<String> cadastrados = buscarGravadas(entities).keySet();
+            escreverEmLote(entities.stream()
+                    .filter(entity -> !cadastrados.contains(entity.getCdDocPessoa()))
+                    .toList());
+            return entities.stream()
+                    .map(PessoaEntity::getCdDocPessoa)
+                    .map(cdDocPessoa -> cadastrados.contains(cdDocPessoa)
+                            ? ResultadoCadastroModel.duplicado(cdDocPessoa)
+                            : ResultadoCadastroModel.criado(cdDocPessoa))
+                    .toList();
+        } catch (RuntimeException e) {
+            return entities.stream()
+                    .map(entity -> ResultadoCadastroModel.falha(entity.getCdDocPessoa(),
+                            "Nao foi possivel concluir o cadastro; tente novamente"))
+                    .toList();
+        }
+    }
+
+    // Escritas da API levam o instante da gravacao como versao, para o envio de uma loja nao sobrescrever um cadastro
+    // mais novo
+    private static PessoaEntity versaoAtual(PessoaModel pessoaModel) {
+        PessoaEntity pessoaEntity = PessoaMapper.toEntity(pessoaModel);
+        pessoaEntity.setDtAtualizacao(System.currentTimeMillis());
+        return pessoaEntity;
+    }
+
+    private static void aguardarBackoff(int tentativa) {
+        try {
+            Thread.sleep(calcularBackoff(tentativa));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operacao em lote interrompida", e);
+        }
+    }
 }
@@ -0,0 +1,395 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de pessoas fora do heap, indexado pelo CPF compactado. A memoria e dividida em segmentos, cada um com um slab
+ * de entradas de tamanho fixo e um indice de enderecamento aberto, ambos em {@link ByteBuffer} direto: o heap guarda
+ * apenas os poucos objetos da estrutura, entao o trabalho do GC nao cresce com a quantidade de pessoas em cache.
+ * Quando o segmento enche, a entrada removida e escolhida pelo algoritmo CLOCK (uma segunda chance para entradas lidas
+ * desde a ultima passada). Pessoas que nao cabem em uma entrada nao sao guardadas.
+ */
+public class CacheOffHeapPessoas {
+
+    static final int SEGMENTOS = 16;
+
+    // Entrada: CPF, validade (System.nanoTime), bit de uso do CLOCK, tipo (ordinal + 1; 0 = nulo) e os textos
+    // nome e e-mail, cada um com o tamanho em UTF-8 (short; -1 = nulo) seguido dos bytes
+    private static final int CPF = 0;
+    private static final int EXPIRA_EM = 8;
+    private static final int USADA = 16;
+    private static final int TIPO = 17;
+    private static final int TEXTOS = 18;
+    static final int TAMANHO_MINIMO_ENTRADA = TEXTOS + 2 * Short.BYTES;
+
+    // Uma entrada livre guarda VAZIO no lugar do CPF e a proxima entrada livre (+1) no lugar da validade
+    private static final long VAZIO = Cpf.INVALIDO;
+    private static final TipoPessoaEnum[] TIPOS = TipoPessoaEnum.values();
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+    private final int tamanhoEntrada;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+
+    public CacheOffHeapPessoas(long memoriaMaxima, int tamanhoEntrada, Duration ttl) {
+        this(memoriaMaxima, tamanhoEntrada, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param ttl validade de cada entrada a partir da escrita; zero ou negativo mantem as entradas ate serem removidas
+     * @param relogio fonte de tempo em nanossegundos, como {@link System#nanoTime()}
+     */
+    public CacheOffHeapPessoas(long memoriaMaxima, int tamanhoEntrada, Duration ttl, LongSupplier relogio) {
+        if (tamanhoEntrada < TAMANHO_MINIMO_ENTRADA || tamanhoEntrada > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("O tamanho da entrada do cache off-heap deve estar entre "
+                    + TAMANHO_MINIMO_ENTRADA + " e " + Short.MAX_VALUE + " bytes");
+        }
+        long entradasPorSegmento = memoriaMaxima / tamanhoEntrada / SEGMENTOS;
+        if (entradasPorSegmento < 1) {
+            throw new IllegalArgumentException("A memoria do cache off-heap deve comportar ao menos uma entrada por segmento");
+        }
+        // Cada segmento e enderecado por int: o slab e o indice (ate 16 bytes por entrada) precisam caber em 2 GB
+        if (entradasPorSegmento * tamanhoEntrada > Integer.MAX_VALUE || entradasPorSegmento > 1 << 26) {
+            throw new IllegalArgumentException("A memoria do cache off-heap excede o limite de "
+                    + (long) Integer.MAX_VALUE * SEGMENTOS + " bytes");
+        }
+
+        this.tamanhoEntrada = tamanhoEntrada;
+        this.ttlNanos = ttl.isNegative() || ttl.isZero() ? 0 : ttl.toNanos();
+        this.relogio = relogio;
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento((int) entradasPorSegmento);
+        }
+    }
+
+    public PessoaModel buscar(long cpf) {
+        if (cpf == Cpf.INVALIDO) {
+            return null;
+        }
+        long hash = misturar(cpf);
+        PessoaModel pessoa = segmento(hash).buscar(cpf, hash);
+        if (pessoa == null) {
+            faltas.increment();
+        } else {
+            acertos.increment();
+        }
+        return pessoa;
+    }
+
+    /**
+     * Guarda a pessoa, substituindo a entrada do mesmo CPF. Se a pessoa nao couber em uma entrada, a entrada anterior
+     * e removida para que o cache nao continue respondendo com o valor antigo.
+     */
+    public void colocar(PessoaModel pessoa) {
+        colocar(pessoa, true);
+    }
+
+    /**
+     * Guarda a pessoa apenas se o CPF ainda nao estiver em cache, para que uma leitura iniciada antes de uma escrita
+     * nao sobrescreva o valor gravado por ela.
+     */
+    public void colocarSeAusente(PessoaModel pessoa) {
+        colocar(pessoa, false);
+    }
+
+    public void remover(long cpf) {
+        if (cpf != Cpf.INVALIDO) {
+            long hash = misturar(cpf);
+            segmento(hash).remover(cpf, hash);
+        }
+    }
+
+    public long getEntradas() {
+        long entradas = 0;
+        for (Segmento segmento : segmentos) {
+            entradas += segmento.ocupadas;
+        }
+        return entradas;
+    }
+
+    public long getCapacidade() {
+        return (long) segmentos[0].entradas * SEGMENTOS;
+    }
+
+    /**
+     * Memoria fora do heap reservada pelos slabs e indices, ocupada ou nao.
+     */
+    public long getMemoriaEmBytes() {
+        long memoria = 0;
+        for (Segmento segmento : segmentos) {
+            memoria += segmento.dados.capacity() + segmento.indice.capacity();
+        }
+        return memoria;
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    private void colocar(PessoaModel pessoa, boolean substituir) {
+        long cpf = pessoa.getCpf();
+        if (cpf == Cpf.INVALIDO) {
+            return;
+        }
+        long hash = misturar(cpf);
+        byte[] nome = bytes(pessoa.getNmPessoa());
+        byte[] email = bytes(pessoa.getDsEmail());
+        if (TEXTOS + tamanho(nome) + tamanho(email) > tamanhoEntrada) {
+            recusadas.increment();
+            if (substituir) {
+                segmento(hash).remover(cpf, hash);
+            }
+            return;
+        }
+        byte tipo = (byte) (pessoa.getTpPessoa() == null ? 0 : pessoa.getTpPessoa().ordinal() + 1);
+        segmento(hash).colocar(cpf, hash, tipo, nome, email, substituir);
+    }
+
+    // Os bits altos escolhem o segmento e os baixos a posicao no indice
+    private Segmento segmento(long hash) {
+        return segmentos[(int) (hash >>> 60)];
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String texto(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int tamanho(byte[] texto) {
+        return Short.BYTES + (texto == null ? 0 : texto.length);
+    }
+
+    // Finalizador de 64 bits do MurmurHash3 para espalhar os digitos do CPF, quase sequenciais nos bits baixos
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+
+    /**
+     * Um slab com {@code entradas} entradas e um indice com ao menos o dobro de posicoes, cada uma com o numero da
+     * entrada + 1 (0 = posicao vazia). As operacoes seguram o lock apenas durante as copias de e para o buffer.
+     */
+    private final class Segmento {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ByteBuffer dados;
+        private final ByteBuffer indice;
+        private final int entradas;
+        private final int mascara;
+        private volatile int ocupadas;
+        private int nuncaUsadas;
+        private int proximaLivre;
+        private int ponteiroClock;
+
+        private Segmento(int entradas) {
+            this.entradas = entradas;
+            int posicoes = Integer.highestOneBit(entradas) << 2;
+            this.mascara = posicoes - 1;
+            this.dados = ByteBuffer.allocateDirect(entradas * tamanhoEntrada);
+            this.indice = ByteBuffer.allocateDirect(posicoes * Integer.BYTES);
+        }
+
+        private PessoaModel buscar(long cpf, long hash) {
+            byte tipo;
+            byte[] nome;
+            byte[] email;
+            lock.lock();
+            try {
+                int posicao = posicao(cpf, hash);
+                if (posicao < 0) {
+                    return null;
+                }
+                int entrada = indice.getInt(posicao * Integer.BYTES) - 1;
+                int base = entrada * tamanhoEntrada;
+                if (expirada(base)) {
+                    removerPosicao(posicao);
+                    liberar(entrada);
+                    return null;
+                }
+                dados.put(base + USADA, (byte) 1);
+                tipo = dados.get(base + TIPO);
+                nome = lerTexto(base + TEXTOS);
+                email = lerTexto(base + TEXTOS + tamanho(nome));
+            } finally {
+                lock.unlock();
+            }
+            return new PessoaModel(Cpf.formatar(cpf), texto(nome), tipo == 0 ? null : TIPOS[tipo - 1], texto(email));
+        }
+
+        private void colocar(long cpf, long hash, byte tipo, byte[] nome, byte[] email, boolean substituir) {
+            lock.lock();
+            try {
+                int posicao = posicao(cpf, hash);
+                int entrada;
+                if (posicao >= 0) {
+                    entrada = indice.getInt(posicao * Integer.BYTES) - 1;
+                    if (!substituir && !expirada(entrada * tamanhoEntrada)) {
+                        return;
+                    }
+                } else {
+                    entrada = alocar();
+                    indexar(cpf, hash, entrada);
+                }
+                gravar(entrada * tamanhoEntrada, cpf, tipo, nome, email);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remover(long cpf, long hash) {
+            lock.lock();
+            try {
+                int posicao = posicao(cpf, hash);
+                if (posicao >= 0) {
+                    int entrada = indice.getInt(posicao * Integer.BYTES) - 1;
+                    removerPosicao(posicao);
+                    liberar(entrada);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int posicao(long cpf, long hash) {
+            for (int posicao = (int) hash & mascara; ; posicao = (posicao + 1) & mascara) {
+                int entrada = indice.getInt(posicao * Integer.BYTES) - 1;
+                if (entrada < 0) {
+                    return -1;
+                }
+                if (dados.getLong(entrada * tamanhoEntrada + CPF) == cpf) {
+                    return posicao;
+                }
+            }
+        }
+
+        private void indexar(long cpf, long hash, int entrada) {
+            int posicao = (int) hash & mascara;
+            while (indice.getInt(posicao * Integer.BYTES) != 0) {
+                posicao = (posicao + 1) & mascara;
+            }
+            indice.putInt(posicao * Integer.BYTES, entrada + 1);
+        }
+
+        // Remove a posicao recuando as seguintes da mesma sequencia de sondagem, sem marcas de remocao
+        private void removerPosicao(int vaga) {
+            for (int atual = (vaga + 1) & mascara; ; atual = (atual + 1) & mascara) {
+                int entrada = indice.getInt(atual * Integer.BYTES) - 1;
+                if (entrada < 0) {
+                    break;
+                }
+                int ideal = (int) misturar(dados.getLong(entrada * tamanhoEntrada + CPF)) & mascara;
+                if (((atual - ideal) & mascara) >= ((atual - vaga) & mascara)) {
+                    indice.putInt(vaga * Integer.BYTES, entrada + 1);
+                    vaga = atual;
+                }
+            }
+            indice.putInt(vaga * Integer.BYTES, 0);
+        }
+
+        // Entrada livre, nunca usada ou, com o slab cheio, a primeira sem uso recente a partir do ponteiro do CLOCK
+        private int alocar() {
+            int entrada;
+            if (proximaLivre != 0) {
+                entrada = proximaLivre - 1;
+                proximaLivre = (int) dados.getLong(entrada * tamanhoEntrada + EXPIRA_EM);
+            } else if (nuncaUsadas < entradas) {
+                entrada = nuncaUsadas++;
+            } else {
+                entrada = removerPeloClock();
+            }
+            ocupadas++;
+            return entrada;
+        }
+
+        private int removerPeloClock() {
+            while (true) {
+                int entrada = ponteiroClock;
+                ponteiroClock = (ponteiroClock + 1) % entradas;
+                int base = entrada * tamanhoEntrada;
+                if (dados.get(base + USADA) != 0 && !expirada(base)) {
+                    dados.put(base + USADA, (byte) 0);
+                    continue;
+                }
+                long cpf = dados.getLong(base + CPF);
+                removerPosicao(posicao(cpf, misturar(cpf)));
+                ocupadas--;
+                remocoes.increment();
+                return entrada;
+            }
+        }
+
+        private void liberar(int entrada) {
+            int base = entrada * tamanhoEntrada;
+            dados.putLong(base + CPF, VAZIO);
+            dados.putLong(base + EXPIRA_EM, proximaLivre);
+            proximaLivre = entrada + 1;
+            ocupadas--;
+        }
+
+        private void gravar(int base, long cpf, byte tipo, byte[] nome, byte[] email) {
+            dados.putLong(base + CPF, cpf);
+            dados.putLong(base + EXPIRA_EM, ttlNanos == 0 ? Long.MAX_VALUE : relogio.getAsLong() + ttlNanos);
+            dados.put(base + USADA, (byte) 0);
+            dados.put(base + TIPO, tipo);
+            int posicao = escreverTexto(base + TEXTOS, nome);
+            escreverTexto(posicao, email);
+        }
+
+        private boolean expirada(int base) {
+            long expiraEm = dados.getLong(base + EXPIRA_EM);
+            return expiraEm != Long.MAX_VALUE && relogio.getAsLong() - expiraEm > 0;
+        }
+
+        private int escreverTexto(int posicao, byte[] texto) {
+            if (texto == null) {
+                dados.putShort(posicao, (short) -1);
+                return posicao + Short.BYTES;
+            }
+            dados.putShort(posicao, (short) texto.length);
+            dados.put(posicao + Short.BYTES, texto);
+            return posicao + Short.BYTES + texto.length;
+        }
+
+        private byte[] lerTexto(int posicao) {
+            short tamanho = dados.getShort(posicao);
+            if (tamanho < 0) {
+                return null;
+            }
+            byte[] texto = new byte[tamanho];
+            dados.get(posicao + Short.BYTES, texto);
+            return texto;
+        }
+    }
+}
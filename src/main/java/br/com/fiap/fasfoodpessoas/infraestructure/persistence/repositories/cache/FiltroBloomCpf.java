@@ -0,0 +1,217 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Filtro de Bloom thread-safe com os CPFs cadastrados, indexado pelo CPF compactado ({@link Cpf#compactar}). Uma
+ * resposta negativa de {@link #podeConter(long)} e definitiva; uma positiva pode ser falso positivo, na taxa
+ * configurada enquanto a capacidade esperada nao for excedida. O filtro so deve ser consultado enquanto
+ * {@link #isPronto()}, depois de carregado com toda a tabela.
+ * <p>
+ * CPFs cadastrados por outras instancias so aparecem na recarga seguinte. Por isso, com {@code validade} informada, o
+ * filtro deixa de ser considerado pronto depois desse prazo, contado do inicio da ultima carga, e so volta a ser usado
+ * quando uma nova carga terminar. A recarga monta um novo conjunto de bits e o troca pelo atual ao final; os CPFs
+ * adicionados localmente durante ela entram nos dois.
+ */
+public class FiltroBloomCpf {
+
+    private final int palavras;
+    private final long totalBits;
+    private final int funcoesHash;
+    private final long capacidadeEsperada;
+    private final double taxaFalsoPositivo;
+    private final Duration validade;
+    private final Clock relogio;
+    private volatile Bits atual;
+    // Conjunto em montagem durante uma recarga; nulo fora dela
+    private volatile Bits emRecarga;
+    // Instante, em milissegundos do relogio, ate o qual o conteudo atual e confiavel; zero antes da primeira carga
+    private volatile long validoAte;
+
+    /**
+     * Filtro sem prazo de validade: uma vez pronto, e usado ate o fim da aplicacao.
+     */
+    public FiltroBloomCpf(long capacidadeEsperada, double taxaFalsoPositivo) {
+        this(capacidadeEsperada, taxaFalsoPositivo, null, Clock.systemUTC());
+    }
+
+    /**
+     * @param validade tempo, desde o inicio da ultima carga, durante o qual o filtro e consultado; nulo para sem prazo
+     */
+    public FiltroBloomCpf(long capacidadeEsperada, double taxaFalsoPositivo, Duration validade, Clock relogio) {
+        if (capacidadeEsperada <= 0) {
+            throw new IllegalArgumentException("A capacidade esperada do filtro deve ser positiva");
+        }
+        if (taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("A taxa de falso positivo do filtro deve estar entre 0 e 1");
+        }
+
+        double bitsIdeais = -capacidadeEsperada * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2));
+        this.palavras = Math.toIntExact(Math.max(1, (long) Math.ceil(bitsIdeais / Long.SIZE)));
+        this.atual = new Bits(palavras);
+        this.totalBits = (long) palavras * Long.SIZE;
+        this.funcoesHash = (int) Math.max(1, Math.round((double) totalBits / capacidadeEsperada * Math.log(2)));
+        this.capacidadeEsperada = capacidadeEsperada;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.validade = validade;
+        this.relogio = relogio;
+    }
+
+    // Documentos fora do formato de CPF nao sao indexados; para eles o filtro sempre responde que pode conter
+    public void adicionar(String cdDocPessoa) {
+        long cpf = Cpf.compactar(cdDocPessoa);
+        if (cpf != Cpf.INVALIDO) {
+            adicionar(cpf);
+        }
+    }
+
+    public boolean podeConter(String cdDocPessoa) {
+        long cpf = Cpf.compactar(cdDocPessoa);
+        return cpf == Cpf.INVALIDO || podeConter(cpf);
+    }
+
+    /**
+     * Le o conjunto em recarga antes do atual: a recarga publica o novo conjunto como atual antes de limpar
+     * {@code emRecarga}, entao o CPF chega sempre ao conjunto que sobrevive a troca.
+     */
+    public void adicionar(long cpf) {
+        Bits recarga = emRecarga;
+        Bits bits = atual;
+        adicionar(bits, cpf);
+        if (recarga != null && recarga != bits) {
+            adicionar(recarga, cpf);
+        }
+    }
+
+    public boolean podeConter(long cpf) {
+        AtomicLongArray bits = atual.palavras;
+        long hash = misturar(cpf);
+        long incremento = misturar(hash) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long indice = Math.floorMod(hash + i * incremento, totalBits);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isPronto() {
+        long limite = validoAte;
+        return limite != 0 && relogio.millis() < limite;
+    }
+
+    /**
+     * Passa a consultar o conteudo atual, pelo prazo de validade a partir de agora.
+     */
+    public void marcarPronto() {
+        this.validoAte = limiteValidade(relogio.millis());
+    }
+
+    /**
+     * Monta um novo conjunto com os CPFs entregues por {@code carga} e o troca pelo atual. Se a carga falhar, o
+     * conjunto atual segue em uso ate o fim da sua validade. Nao deve ser chamado concorrentemente.
+     *
+     * @param carga recebe o consumidor dos CPFs e so retorna depois de entregar todos; pode chama-lo de varias threads
+     */
+    public void recarregar(Consumer<Consumer<String>> carga) {
+        long inicio = relogio.millis();
+        Bits novo = new Bits(palavras);
+        emRecarga = novo;
+        try {
+            carga.accept(cdDocPessoa -> {
+                long cpf = Cpf.compactar(cdDocPessoa);
+                if (cpf != Cpf.INVALIDO) {
+                    adicionar(novo, cpf);
+                }
+            });
+        } catch (RuntimeException e) {
+            emRecarga = null;
+            throw e;
+        }
+        atual = novo;
+        emRecarga = null;
+        validoAte = limiteValidade(inicio);
+    }
+
+    public long getCapacidadeEsperada() {
+        return capacidadeEsperada;
+    }
+
+    public double getTaxaFalsoPositivo() {
+        return taxaFalsoPositivo;
+    }
+
+    public int getFuncoesHash() {
+        return funcoesHash;
+    }
+
+    public long getTotalBits() {
+        return totalBits;
+    }
+
+    public long getMemoriaEmBytes() {
+        return totalBits / Byte.SIZE;
+    }
+
+    /**
+     * Taxa de falso positivo esperada para o preenchimento atual: (bits ligados / total de bits) ^ funcoes hash.
+     */
+    public double getTaxaFalsoPositivoEstimada() {
+        return Math.pow((double) atual.ligados.sum() / totalBits, funcoesHash);
+    }
+
+    /**
+     * Quantidade aproximada de CPFs distintos inseridos, estimada a partir da fracao de bits ligados.
+     */
+    public long getElementosEstimados() {
+        double fracaoDesligada = 1 - (double) atual.ligados.sum() / totalBits;
+        if (fracaoDesligada <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) totalBits / funcoesHash * Math.log(fracaoDesligada));
+    }
+
+    private void adicionar(Bits bits, long cpf) {
+        long hash = misturar(cpf);
+        long incremento = misturar(hash) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long indice = Math.floorMod(hash + i * incremento, totalBits);
+            long mascara = 1L << indice;
+            long anterior = bits.palavras.getAndAccumulate((int) (indice >>> 6), mascara, (palavra, bit) -> palavra | bit);
+            if ((anterior & mascara) == 0) {
+                bits.ligados.increment();
+            }
+        }
+    }
+
+    private long limiteValidade(long inicio) {
+        return validade == null ? Long.MAX_VALUE : inicio + validade.toMillis();
+    }
+
+    // Finalizador de 64 bits do MurmurHash3 para espalhar os digitos do CPF, quase sequenciais nos bits baixos
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+
+    private static final class Bits {
+
+        private final AtomicLongArray palavras;
+        private final LongAdder ligados = new LongAdder();
+
+        private Bits(int palavras) {
+            this.palavras = new AtomicLongArray(palavras);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Decorador de {@link PessoaRepositoryPort} que mantem em memoria as pessoas ja lidas por CPF, indexadas pelo CPF
+ * compactado. Apenas pessoas encontradas sao armazenadas; escritas atualizam o cache depois de confirmadas no
+ * repositorio decorado. Documentos fora do formato de CPF vao sempre ao repositorio.
+ */
+public class PessoaCacheRepository implements PessoaRepositoryPort {
+
+    private final PessoaRepositoryPort delegate;
+    // O Caffeine nao tem chaves primitivas: cada consulta ainda cria um Long, de vida curta; MapaCpf nao teria a
+    // expiracao nem o limite de tamanho do cache
+    private final Cache<Long, PessoaModel> cache;
+
+    public PessoaCacheRepository(PessoaRepositoryPort delegate, Cache<Long, PessoaModel> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+        cache.invalidate(pessoaModel.getCpf());
+        PessoaModel cadastrada = delegate.cadastrarPessoa(pessoaModel);
+        armazenar(cadastrada);
+        return cadastrada;
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        PessoaModel cadastrada = delegate.cadastrarPessoaSeNaoExistir(pessoaModel);
+        armazenar(cadastrada);
+        return cadastrada;
+    }
+
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        Set<Long> cpfs = pessoas.stream()
+                .map(PessoaModel::getCpf)
+                .collect(Collectors.toSet());
+        // Invalida antes e depois: uma leitura concorrente pode repovoar o cache com o valor anterior a escrita
+        cache.invalidateAll(cpfs);
+        try {
+            delegate.cadastrarPessoasEmLote(pessoas);
+        } finally {
+            cache.invalidateAll(cpfs);
+        }
+    }
+
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        Set<Long> cpfs = pessoas.stream()
+                .map(PessoaModel::getCpf)
+                .collect(Collectors.toSet());
+        cache.invalidateAll(cpfs);
+        try {
+            return delegate.cadastrarPessoasSeNaoExistirem(pessoas);
+        } finally {
+            cache.invalidateAll(cpfs);
+        }
+    }
+
+    /**
+     * A busca no repositorio acontece fora do {@code Cache.get(key, loader)}: o loader roda dentro do lock do
+     * ConcurrentHashMap e prenderia a thread de plataforma de uma thread virtual durante toda a chamada ao DynamoDB.
+     * Buscas concorrentes pelo mesmo CPF ja sao agrupadas na camada de servico. O {@code putIfAbsent} evita que uma
+     * leitura iniciada antes de uma escrita sobrescreva o valor gravado por ela.
+     */
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+        long cpf = Cpf.compactar(cdDocPessoa);
+        if (cpf == Cpf.INVALIDO) {
+            return delegate.buscarPessoaPorCpf(cdDocPessoa);
+        }
+        PessoaModel emCache = cache.getIfPresent(cpf);
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+
+        Optional<PessoaModel> pessoa = delegate.buscarPessoaPorCpf(cdDocPessoa);
+        pessoa.ifPresent(encontrada -> cache.asMap().putIfAbsent(cpf, encontrada));
+        return pessoa;
+    }
+
+    /**
+     * Uma pessoa em cache ja tem todos os campos; a busca projetada no repositorio nao e guardada por ser parcial.
+     */
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        long cpf = Cpf.compactar(cdDocPessoa);
+        PessoaModel emCache = cpf != Cpf.INVALIDO ? cache.getIfPresent(cpf) : null;
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+        return delegate.buscarPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    // O cache e indexado por CPF e o indice de e-mail e eventualmente consistente: a busca vai sempre ao delegate
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        return delegate.buscarPessoaPorEmail(dsEmail);
+    }
+
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return delegate.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        delegate.exportarPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        Set<Long> cpfs = new LinkedHashSet<>();
+        List<String> foraDoFormato = new ArrayList<>();
+        for (String cdDocPessoa : cdDocPessoas) {
+            long cpf = Cpf.compactar(cdDocPessoa);
+            if (cpf != Cpf.INVALIDO) {
+                cpfs.add(cpf);
+            } else if (!foraDoFormato.contains(cdDocPessoa)) {
+                foraDoFormato.add(cdDocPessoa);
+            }
+        }
+
+        Map<Long, PessoaModel> encontradas = cache.getAll(cpfs, this::carregarAusentes);
+        List<PessoaModel> pessoas = new ArrayList<>(encontradas.size());
+        cpfs.forEach(cpf -> {
+            PessoaModel pessoa = encontradas.get(cpf);
+            if (pessoa != null) {
+                pessoas.add(pessoa);
+            }
+        });
+        if (!foraDoFormato.isEmpty()) {
+            pessoas.addAll(delegate.buscarPessoasPorCpfs(foraDoFormato));
+        }
+        return pessoas;
+    }
+
+    private Map<Long, PessoaModel> carregarAusentes(Set<? extends Long> cpfs) {
+        List<String> cdDocPessoas = cpfs.stream().map(Cpf::formatar).toList();
+        return delegate.buscarPessoasPorCpfs(cdDocPessoas).stream()
+                .collect(Collectors.toMap(PessoaModel::getCpf, pessoa -> pessoa, (primeira, segunda) -> primeira));
+    }
+
+    private void armazenar(PessoaModel pessoa) {
+        if (pessoa.getCpf() != Cpf.INVALIDO) {
+            cache.put(pessoa.getCpf(), pessoa);
+        }
+    }
+}
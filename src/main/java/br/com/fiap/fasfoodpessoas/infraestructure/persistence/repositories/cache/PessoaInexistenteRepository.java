@@ -0,0 +1,221 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Decorador de {@link PessoaRepositoryPort} que responde sem acessar o repositorio os CPFs sabidamente nao
+ * cadastrados: os descartados pelo {@link FiltroBloomCpf}, quando informado e pronto, e os que tiveram uma busca
+ * recente sem resultado, guardados em um cache negativo de TTL curto indexado pelo CPF compactado. Documentos fora do
+ * formato de CPF vao sempre ao repositorio.
+ * <p>
+ * Uma busca sem resultado so entra no cache negativo se nenhuma escrita tiver terminado durante ela: sem isso, uma
+ * leitura iniciada antes de um cadastro poderia gravar "inexistente" depois da invalidacao feita pelo cadastro. O
+ * controle usa um contador de geracao global, incrementado ao fim de cada escrita.
+ */
+public class PessoaInexistenteRepository implements PessoaRepositoryPort {
+
+    private final PessoaRepositoryPort delegate;
+    private final Cache<Long, Boolean> cacheNegativo;
+    private final FiltroBloomCpf filtroBloom;
+    private final LongAdder descartesFiltro = new LongAdder();
+    private final LongAdder acertosCacheNegativo = new LongAdder();
+    private final AtomicLong geracaoEscritas = new AtomicLong();
+
+    public PessoaInexistenteRepository(PessoaRepositoryPort delegate, Cache<Long, Boolean> cacheNegativo,
+                                       FiltroBloomCpf filtroBloom) {
+        this.delegate = delegate;
+        this.cacheNegativo = cacheNegativo;
+        this.filtroBloom = filtroBloom;
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+        registrarExistencia(pessoaModel.getCpf());
+        try {
+            return delegate.cadastrarPessoa(pessoaModel);
+        } finally {
+            concluirEscrita(List.of(pessoaModel.getCpf()));
+        }
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        registrarExistencia(pessoaModel.getCpf());
+        try {
+            return delegate.cadastrarPessoaSeNaoExistir(pessoaModel);
+        } finally {
+            concluirEscrita(List.of(pessoaModel.getCpf()));
+        }
+    }
+
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        Set<Long> cpfs = pessoas.stream()
+                .map(PessoaModel::getCpf)
+                .collect(Collectors.toSet());
+        cpfs.forEach(this::registrarExistencia);
+        try {
+            delegate.cadastrarPessoasEmLote(pessoas);
+        } finally {
+            concluirEscrita(cpfs);
+        }
+    }
+
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        Set<Long> cpfs = pessoas.stream()
+                .map(PessoaModel::getCpf)
+                .collect(Collectors.toSet());
+        cpfs.forEach(this::registrarExistencia);
+        try {
+            return delegate.cadastrarPessoasSeNaoExistirem(pessoas);
+        } finally {
+            concluirEscrita(cpfs);
+        }
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+        if (sabidamenteInexistente(cdDocPessoa)) {
+            return Optional.empty();
+        }
+
+        long geracao = geracaoEscritas.get();
+        Optional<PessoaModel> pessoa = delegate.buscarPessoaPorCpf(cdDocPessoa);
+        if (pessoa.isEmpty()) {
+            registrarInexistencia(Cpf.compactar(cdDocPessoa), geracao);
+        }
+        return pessoa;
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        if (sabidamenteInexistente(cdDocPessoa)) {
+            return Optional.empty();
+        }
+
+        long geracao = geracaoEscritas.get();
+        Optional<PessoaModel> pessoa = delegate.buscarPessoaPorCpf(cdDocPessoa, campos);
+        if (pessoa.isEmpty()) {
+            registrarInexistencia(Cpf.compactar(cdDocPessoa), geracao);
+        }
+        return pessoa;
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        return delegate.buscarPessoaPorEmail(dsEmail);
+    }
+
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return delegate.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        delegate.exportarPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        List<String> pendentes = cdDocPessoas.stream()
+                .filter(cdDocPessoa -> !sabidamenteInexistente(cdDocPessoa))
+                .toList();
+        if (pendentes.isEmpty()) {
+            return List.of();
+        }
+
+        long geracao = geracaoEscritas.get();
+        List<PessoaModel> pessoas = delegate.buscarPessoasPorCpfs(pendentes);
+        MapaCpf<Boolean> ausentes = new MapaCpf<>(pendentes.size());
+        for (String cdDocPessoa : pendentes) {
+            long cpf = Cpf.compactar(cdDocPessoa);
+            if (cpf != Cpf.INVALIDO) {
+                ausentes.colocar(cpf, Boolean.TRUE);
+            }
+        }
+        pessoas.forEach(pessoa -> ausentes.remover(pessoa.getCpf()));
+        ausentes.paraCada((cpf, ausente) -> registrarInexistencia(cpf, geracao));
+        return pessoas;
+    }
+
+    public long getDescartesFiltro() {
+        return descartesFiltro.sum();
+    }
+
+    public long getAcertosCacheNegativo() {
+        return acertosCacheNegativo.sum();
+    }
+
+    private boolean sabidamenteInexistente(String cdDocPessoa) {
+        long cpf = Cpf.compactar(cdDocPessoa);
+        if (cpf == Cpf.INVALIDO) {
+            return false;
+        }
+        if (filtroBloom != null && filtroBloom.isPronto() && !filtroBloom.podeConter(cpf)) {
+            descartesFiltro.increment();
+            return true;
+        }
+        if (cacheNegativo.getIfPresent(cpf) != null) {
+            acertosCacheNegativo.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Grava e so entao confere a geracao: uma escrita que termine entre a conferencia e a gravacao ja teria
+     * incrementado a geracao antes de invalidar, entao uma das duas remove a entrada.
+     */
+    private void registrarInexistencia(long cpf, long geracaoInicioBusca) {
+        if (cpf == Cpf.INVALIDO || geracaoEscritas.get() != geracaoInicioBusca) {
+            return;
+        }
+        cacheNegativo.put(cpf, Boolean.TRUE);
+        if (geracaoEscritas.get() != geracaoInicioBusca) {
+            cacheNegativo.invalidate(cpf);
+        }
+    }
+
+    // Marca a existencia antes da escrita para que uma leitura concorrente nunca a trate como inexistente
+    private void registrarExistencia(long cpf) {
+        if (cpf == Cpf.INVALIDO) {
+            return;
+        }
+        cacheNegativo.invalidate(cpf);
+        if (filtroBloom != null) {
+            filtroBloom.adicionar(cpf);
+        }
+    }
+
+    // Repete a marcacao no filtro depois da escrita para que uma recarga iniciada durante ela nao perca o CPF
+    private void concluirEscrita(Collection<Long> cpfs) {
+        geracaoEscritas.incrementAndGet();
+        cacheNegativo.invalidateAll(cpfs);
+        if (filtroBloom != null) {
+            cpfs.forEach(cpf -> {
+                if (cpf != Cpf.INVALIDO) {
+                    filtroBloom.adicionar(cpf);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link PessoaRepositoryPort} que mantem as pessoas ja lidas por CPF no {@link CacheOffHeapPessoas},
+ * fora do heap. Segue as mesmas regras do {@link PessoaCacheRepository}: apenas pessoas encontradas sao armazenadas,
+ * escritas atualizam o cache depois de confirmadas e documentos fora do formato de CPF vao sempre ao repositorio.
+ */
+public class PessoaOffHeapRepository implements PessoaRepositoryPort {
+
+    private final PessoaRepositoryPort delegate;
+    private final CacheOffHeapPessoas cache;
+
+    public PessoaOffHeapRepository(PessoaRepositoryPort delegate, CacheOffHeapPessoas cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+        cache.remover(pessoaModel.getCpf());
+        PessoaModel cadastrada = delegate.cadastrarPessoa(pessoaModel);
+        cache.colocar(cadastrada);
+        return cadastrada;
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        PessoaModel cadastrada = delegate.cadastrarPessoaSeNaoExistir(pessoaModel);
+        cache.colocar(cadastrada);
+        return cadastrada;
+    }
+
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        // Invalida antes e depois: uma leitura concorrente pode repovoar o cache com o valor anterior a escrita
+        pessoas.forEach(pessoa -> cache.remover(pessoa.getCpf()));
+        try {
+            delegate.cadastrarPessoasEmLote(pessoas);
+        } finally {
+            pessoas.forEach(pessoa -> cache.remover(pessoa.getCpf()));
+        }
+    }
+
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        pessoas.forEach(pessoa -> cache.remover(pessoa.getCpf()));
+        try {
+            return delegate.cadastrarPessoasSeNaoExistirem(pessoas);
+        } finally {
+            pessoas.forEach(pessoa -> cache.remover(pessoa.getCpf()));
+        }
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+        PessoaModel emCache = cache.buscar(Cpf.compactar(cdDocPessoa));
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+
+        Optional<PessoaModel> pessoa = delegate.buscarPessoaPorCpf(cdDocPessoa);
+        pessoa.ifPresent(cache::colocarSeAusente);
+        return pessoa;
+    }
+
+    // Uma pessoa em cache ja tem todos os campos; a busca projetada no repositorio nao e guardada por ser parcial
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        PessoaModel emCache = cache.buscar(Cpf.compactar(cdDocPessoa));
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+        return delegate.buscarPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        return delegate.buscarPessoaPorEmail(dsEmail);
+    }
+
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return delegate.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        delegate.exportarPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        List<String> distintos = cdDocPessoas.stream().distinct().toList();
+        MapaCpf<PessoaModel> encontradas = new MapaCpf<>(distintos.size());
+        List<String> ausentes = new ArrayList<>();
+        for (String cdDocPessoa : distintos) {
+            PessoaModel emCache = cache.buscar(Cpf.compactar(cdDocPessoa));
+            if (emCache != null) {
+                encontradas.colocar(emCache.getCpf(), emCache);
+            } else {
+                ausentes.add(cdDocPessoa);
+            }
+        }
+
+        List<PessoaModel> foraDoFormato = new ArrayList<>();
+        if (!ausentes.isEmpty()) {
+            for (PessoaModel pessoa : delegate.buscarPessoasPorCpfs(ausentes)) {
+                if (pessoa.getCpf() == Cpf.INVALIDO) {
+                    foraDoFormato.add(pessoa);
+                } else if (encontradas.colocarSeAusente(pessoa.getCpf(), pessoa) == null) {
+                    cache.colocarSeAusente(pessoa);
+                }
+            }
+        }
+
+        List<PessoaModel> pessoas = new ArrayList<>(encontradas.tamanho() + foraDoFormato.size());
+        for (String cdDocPessoa : distintos) {
+            long cpf = Cpf.compactar(cdDocPessoa);
+            PessoaModel pessoa = cpf != Cpf.INVALIDO ? encontradas.buscar(cpf) : null;
+            if (pessoa != null) {
+                pessoas.add(pessoa);
+            }
+        }
+        pessoas.addAll(foraDoFormato);
+        return pessoas;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.config;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.FiltroBloomCpf;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("!embedded")
+@ConditionalOnProperty(name = "pessoas.filtro-bloom.habilitado", havingValue = "true")
+public class FiltroBloomCpfInitializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FiltroBloomCpfInitializer.class);
+
+    @Value("${pessoas.filtro-bloom.segmentos-scan:4}")
+    private int segmentosScan;
+
+    @Value("${pessoas.filtro-bloom.intervalo-recarga:5m}")
+    private Duration intervaloRecarga;
+
+    private final PessoaRepository pessoaRepository;
+    private final FiltroBloomCpf filtroBloomCpf;
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("filtro-bloom-recarga").daemon().factory());
+
+    public FiltroBloomCpfInitializer(PessoaRepository pessoaRepository, FiltroBloomCpf filtroBloomCpf) {
+        this.pessoaRepository = pessoaRepository;
+        this.filtroBloomCpf = filtroBloomCpf;
+    }
+
+    /**
+     * Carrega o filtro na subida e agenda as recargas, que trazem os CPFs cadastrados por outras instancias.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        carregarFiltro();
+        agendador.scheduleWithFixedDelay(this::carregarFiltro, intervaloRecarga.toMillis(), intervaloRecarga.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Carrega no filtro todos os CPFs da tabela. Se o scan falhar o filtro anterior segue em uso ate o fim da sua
+     * validade e depois fica sem uso, pois responder "inexistente" com um filtro incompleto ou antigo esconderia
+     * pessoas cadastradas.
+     */
+    public void carregarFiltro() {
+        try {
+            filtroBloomCpf.recarregar(consumidor -> pessoaRepository.percorrerCpfsCadastrados(segmentosScan, consumidor));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Nao foi possivel carregar o filtro de Bloom de CPFs; consultas seguirao para o DynamoDB", e);
+            return;
+        }
+        LOGGER.info("Filtro de Bloom de CPFs carregado: ~{} CPFs, {} bytes, taxa de falso positivo estimada {}",
+                filtroBloomCpf.getElementosEstimados(), filtroBloomCpf.getMemoriaEmBytes(),
+                filtroBloomCpf.getTaxaFalsoPositivoEstimada());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.config;
+
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.CacheOffHeapPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.FiltroBloomCpf;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaCacheRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaInexistenteRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaOffHeapRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.PessoaSnapshotRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.PessoaWriteBehindRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class PessoaCacheConfig {
+
+    static final String NOME_CACHE = "pessoas";
+    static final String NOME_CACHE_NEGATIVO = "pessoas-inexistentes";
+
+    @Value("${pessoas.cache.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${pessoas.cache.capacidade-maxima:10000}")
+    private long capacidadeMaxima;
+
+    @Value("${pessoas.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${pessoas.cache.negativo.habilitado:true}")
+    private boolean negativoHabilitado;
+
+    @Value("${pessoas.cache.negativo.capacidade-maxima:50000}")
+    private long negativoCapacidadeMaxima;
+
+    @Value("${pessoas.cache.negativo.ttl:30s}")
+    private Duration negativoTtl;
+
+    @Value("${pessoas.cache.off-heap.habilitado:false}")
+    private boolean offHeapHabilitado;
+
+    @Value("${pessoas.cache.off-heap.memoria-maxima:32MB}")
+    private DataSize offHeapMemoriaMaxima;
+
+    @Value("${pessoas.cache.off-heap.tamanho-entrada:192}")
+    private int offHeapTamanhoEntrada;
+
+    @Value("${pessoas.cache.off-heap.ttl:1h}")
+    private Duration offHeapTtl;
+
+    @Value("${pessoas.filtro-bloom.capacidade-esperada:1000000}")
+    private long filtroCapacidadeEsperada;
+
+    @Value("${pessoas.filtro-bloom.taxa-falso-positivo:0.01}")
+    private double filtroTaxaFalsoPositivo;
+
+    @Value("${pessoas.filtro-bloom.validade:15m}")
+    private Duration filtroValidade;
+
+    @Bean
+    @ConditionalOnProperty(name = "pessoas.filtro-bloom.habilitado", havingValue = "true")
+    public FiltroBloomCpf filtroBloomCpf(ObjectProvider<MeterRegistry> meterRegistry) {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(filtroCapacidadeEsperada, filtroTaxaFalsoPositivo, filtroValidade,
+                Clock.systemUTC());
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("pessoas.filtro.bloom.memoria", filtro, FiltroBloomCpf::getMemoriaEmBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("pessoas.filtro.bloom.falso.positivo.estimado", filtro, FiltroBloomCpf::getTaxaFalsoPositivoEstimada)
+                    .register(registry);
+            Gauge.builder("pessoas.filtro.bloom.elementos", filtro, FiltroBloomCpf::getElementosEstimados)
+                    .register(registry);
+        });
+        return filtro;
+    }
+
+    /**
+     * Porta de repositorio usada pelo dominio. Envolve o bean {@code pessoaRepository} (o DynamoDB ou, no perfil
+     * {@code embedded}, o log local) com, de dentro para fora, o envio em segundo plano ao DynamoDB ou o snapshot local, a
+     * camada de CPFs inexistentes (cache negativo e filtro de Bloom), o cache off-heap e o cache de pessoas no heap,
+     * cada uma conforme habilitada.
+     */
+    @Bean
+    @Primary
+    public PessoaRepositoryPort pessoaRepositoryPort(@Qualifier("pessoaRepository") PessoaRepositoryPort pessoaRepository,
+                                                     ObjectProvider<PessoaWriteBehindRepository> pessoaWriteBehindRepository,
+                                                     ObjectProvider<PessoaSnapshotRepository> pessoaSnapshotRepository,
+                                                     ObjectProvider<FiltroBloomCpf> filtroBloomCpf,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        PessoaRepositoryPort port = pessoaRepository;
+
+        // O snapshot le direto do pessoaRepository e, sobre o envio ao DynamoDB, desviaria as escritas da fila
+        PessoaWriteBehindRepository writeBehind = pessoaWriteBehindRepository.getIfAvailable();
+        PessoaSnapshotRepository snapshot = pessoaSnapshotRepository.getIfAvailable();
+        if (writeBehind != null) {
+            port = writeBehind;
+        } else if (snapshot != null) {
+            port = snapshot;
+        }
+
+        FiltroBloomCpf filtro = filtroBloomCpf.getIfAvailable();
+        if (negativoHabilitado || filtro != null) {
+            // Com o cache negativo desabilitado a camada segue apenas com o filtro; capacidade zero nao retem entradas
+            Cache<Long, Boolean> cacheNegativo = Caffeine.newBuilder()
+                    .maximumSize(negativoHabilitado ? negativoCapacidadeMaxima : 0)
+                    .expireAfterWrite(negativoTtl)
+                    .recordStats()
+                    .build();
+            PessoaInexistenteRepository inexistentes = new PessoaInexistenteRepository(port, cacheNegativo, filtro);
+            meterRegistry.ifAvailable(registry -> {
+                CaffeineCacheMetrics.monitor(registry, cacheNegativo, NOME_CACHE_NEGATIVO);
+                FunctionCounter.builder("pessoas.consultas.inexistentes", inexistentes, PessoaInexistenteRepository::getDescartesFiltro)
+                        .tag("origem", "filtro-bloom")
+                        .register(registry);
+                FunctionCounter.builder("pessoas.consultas.inexistentes", inexistentes, PessoaInexistenteRepository::getAcertosCacheNegativo)
+                        .tag("origem", "cache-negativo")
+                        .register(registry);
+            });
+            port = inexistentes;
+        }
+
+        if (offHeapHabilitado) {
+            CacheOffHeapPessoas offHeap = new CacheOffHeapPessoas(offHeapMemoriaMaxima.toBytes(), offHeapTamanhoEntrada, offHeapTtl);
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("pessoas.cache.offheap.entradas", offHeap, CacheOffHeapPessoas::getEntradas)
+                        .register(registry);
+                Gauge.builder("pessoas.cache.offheap.memoria", offHeap, CacheOffHeapPessoas::getMemoriaEmBytes)
+                        .baseUnit("bytes")
+                        .register(registry);
+                FunctionCounter.builder("pessoas.cache.offheap.consultas", offHeap, CacheOffHeapPessoas::getAcertos)
+                        .tag("resultado", "acerto")
+                        .register(registry);
+                FunctionCounter.builder("pessoas.cache.offheap.consultas", offHeap, CacheOffHeapPessoas::getFaltas)
+                        .tag("resultado", "falta")
+                        .register(registry);
+                FunctionCounter.builder("pessoas.cache.offheap.remocoes", offHeap, CacheOffHeapPessoas::getRemocoes)
+                        .register(registry);
+                FunctionCounter.builder("pessoas.cache.offheap.recusadas", offHeap, CacheOffHeapPessoas::getRecusadas)
+                        .register(registry);
+            });
+            port = new PessoaOffHeapRepository(port, offHeap);
+        }
+
+        if (habilitado) {
+            Cache<Long, PessoaModel> cache = Caffeine.newBuilder()
+                    .maximumSize(capacidadeMaxima)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, NOME_CACHE));
+            port = new PessoaCacheRepository(port, cache);
+        }
+        return port;
+    }
+}
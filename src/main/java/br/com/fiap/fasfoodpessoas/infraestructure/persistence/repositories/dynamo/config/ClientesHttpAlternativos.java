@@ -0,0 +1,41 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
+
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.time.Duration;
+
+/**
+ * Builders dos clients HTTP que so entram no jar com o perfil Maven {@code clientes-http}. Ficam fora do
+ * {@link DynamoDbConfig} para que a introspeccao da configuracao pelo Spring nao carregue classes ausentes do classpath;
+ * esta classe so e carregada quando um desses clients e escolhido.
+ */
+final class ClientesHttpAlternativos {
+
+    private static final Duration INTERVALO_KEEP_ALIVE = Duration.ofSeconds(30);
+    private static final Duration TIMEOUT_KEEP_ALIVE = Duration.ofSeconds(5);
+
+    private ClientesHttpAlternativos() {
+    }
+
+    static SdkHttpClient.Builder<?> urlConnection(DynamoDbHttpProperties httpProperties) {
+        return UrlConnectionHttpClient.builder()
+                .connectionTimeout(httpProperties.timeoutConexao())
+                .socketTimeout(httpProperties.timeoutTentativa());
+    }
+
+    static SdkHttpClient.Builder<?> crt(DynamoDbHttpProperties httpProperties) {
+        AwsCrtHttpClient.Builder crt = AwsCrtHttpClient.builder()
+                .maxConcurrency(httpProperties.maxConexoes())
+                .connectionAcquisitionTimeout(httpProperties.timeoutAquisicaoConexao())
+                .connectionTimeout(httpProperties.timeoutConexao())
+                .connectionMaxIdleTime(httpProperties.tempoMaximoOcioso());
+        if (httpProperties.tcpKeepAlive()) {
+            crt.tcpKeepAliveConfiguration(keepAlive -> keepAlive
+                    .keepAliveInterval(INTERVALO_KEEP_ALIVE)
+                    .keepAliveTimeout(TIMEOUT_KEEP_ALIVE));
+        }
+        return crt;
+    }
+}
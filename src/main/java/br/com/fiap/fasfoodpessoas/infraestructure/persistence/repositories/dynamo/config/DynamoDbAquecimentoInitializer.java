@@ -0,0 +1,105 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.mappers.PessoaMapper;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+@Configuration
+@ConditionalOnProperty(name = "pessoas.aquecimento.habilitado", havingValue = "true")
+public class DynamoDbAquecimentoInitializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDbAquecimentoInitializer.class);
+
+    private static final PessoaModel PESSOA_AQUECIMENTO =
+            new PessoaModel("11144477735", "Pessoa Aquecimento", TipoPessoaEnum.CLIENTE, "aquecimento@fastfood.com");
+
+    @Value("${pessoas.aquecimento.conexoes:5}")
+    private int conexoes;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final TableSchema<PessoaEntity> pessoaTableSchema;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public DynamoDbAquecimentoInitializer(DynamoDbClient dynamoDbClient, TableSchema<PessoaEntity> pessoaTableSchema,
+                                          Validator validator, ObjectMapper objectMapper) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.pessoaTableSchema = pessoaTableSchema;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Roda de forma sincrona no {@link ApplicationReadyEvent}: o Spring Boot so publica o estado de readiness
+     * {@code ACCEPTING_TRAFFIC} depois que todos os listeners desse evento terminam, entao o probe de readiness so
+     * responde pronto com credenciais resolvidas, conexoes abertas no pool e os caminhos de conversao ja carregados.
+     * Falhas sao registradas e nao impedem a subida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        long inicio = System.nanoTime();
+        try {
+            dynamoDbClient.serviceClientConfiguration().credentialsProvider().resolveIdentity().join();
+            abrirConexoes();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Nao foi possivel aquecer o client do DynamoDB; a primeira chamada abrira as conexoes", e);
+        }
+
+        try {
+            aquecerConversoes();
+        } catch (RuntimeException | JsonProcessingException e) {
+            LOGGER.warn("Nao foi possivel aquecer as conversoes de pessoa", e);
+        }
+        LOGGER.info("Aquecimento concluido em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // DescribeTable concorrentes forcam o pool a abrir uma conexao (com handshake TLS) para cada chamada simultanea
+    private void abrirConexoes() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> chamadas = IntStream.range(0, conexoes)
+                    .<Future<?>>mapToObj(i -> executor.submit(() -> dynamoDbClient.describeTable(
+                            requisicao -> requisicao.tableName("Pessoas"))))
+                    .toList();
+            for (Future<?> chamada : chamadas) {
+                chamada.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Aquecimento interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao abrir conexoes com o DynamoDB", e.getCause());
+        }
+    }
+
+    private void aquecerConversoes() throws JsonProcessingException {
+        PessoaEntity pessoaEntity = PessoaMapper.toEntity(PESSOA_AQUECIMENTO);
+        PessoaModel pessoaModel = PessoaMapper.toModel(pessoaTableSchema.mapToItem(pessoaTableSchema.itemToMap(pessoaEntity, true)));
+
+        PessoaRequestDto pessoaRequestDto = new PessoaRequestDto(pessoaModel);
+        validator.validate(pessoaRequestDto);
+        objectMapper.readValue(objectMapper.writeValueAsString(pessoaRequestDto), PessoaRequestDto.class);
+        objectMapper.writeValueAsString(new PessoaResponseDto(pessoaModel));
+    }
+}
@@ -1,17 +1,47 @@
 package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.LeituraComHedge;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 
 import java.net.URI;
+import java.time.Duration;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
 
 @Configuration
+@EnableConfigurationProperties({DynamoDbHttpProperties.class, DynamoDbRetryProperties.class})
 public class DynamoDbConfig {
 
     @Value("${aws.dynamodb.endpoint}")
@@ -20,6 +50,33 @@ public class DynamoDbConfig {
     @Value("${aws.region}")
     private String region;
 
+    @Autowired
+    private DynamoDbHttpProperties httpProperties;
+
+    @Autowired
+    private DynamoDbRetryProperties retryProperties;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${aws.dynamodb.async.max-concorrencia:100}")
+    private int asyncMaxConcorrencia;
+
+    @Value("${aws.dynamodb.hedge.percentil:0.95}")
+    private double hedgePercentil;
+
+    @Value("${aws.dynamodb.hedge.atraso-minimo:5ms}")
+    private Duration hedgeAtrasoMinimo;
+
+    @Value("${aws.dynamodb.hedge.taxa-maxima:0.05}")
+    private double hedgeTaxaMaxima;
+
+    /**
+     * O pool de conexoes do client HTTP limita quantas chamadas ao DynamoDB ficam em andamento ao mesmo tempo. Com
+     * threads virtuais ele e o unico limite, por isso {@code aws.dynamodb.http.max-conexoes} deve acompanhar a
+     * concorrencia esperada; as demais threads aguardam uma conexao livre sem ocupar threads de plataforma.
+     * Os limites de {@code aws.dynamodb.retry.max-tentativas-por-operacao} valem apenas para este client.
+     */
     @Bean
     public DynamoDbClient dynamoDbClient() {
         DefaultCredentialsProvider provider = DefaultCredentialsProvider.builder()
@@ -27,7 +84,13 @@ public class DynamoDbConfig {
 
         DynamoDbClientBuilder builder = DynamoDbClient.builder()
                 .region(Region.of(region))
-                .credentialsProvider(provider);
+                .credentialsProvider(provider)
+                .httpClientBuilder(httpClientBuilder())
+                .overrideConfiguration(configuracao -> {
+                    configurarChamadas(configuracao, new RetryStrategyPorOperacao(retryStrategy(),
+                            retryProperties.maxTentativasPorOperacao()));
+                    configuracao.addExecutionInterceptor(RetryStrategyPorOperacao.interceptor());
+                });
 
         if (!endpoint.contains("amazonaws.com")) {
             builder.endpointOverride(URI.create(endpoint));
@@ -36,6 +99,152 @@ public class DynamoDbConfig {
         return builder.build();
     }
 
+    /**
+     * Estrategia de retentativa de {@code aws.dynamodb.retry.*}, com as condicoes de retentativa e de throttling da
+     * AWS. No modo adaptativo, as respostas de throttling reduzem a taxa de envio do client inteiro, que volta a
+     * subir conforme as chamadas tem sucesso. O {@code maxAttempts} e o maior entre o geral e os por operacao.
+     */
+    public RetryStrategy retryStrategy() {
+        int maxTentativas = retryProperties.maxTentativasPorOperacao().values().stream()
+                .reduce(retryProperties.maxTentativas(), Math::max);
+        BackoffStrategy backoff = BackoffStrategy.exponentialDelay(retryProperties.backoffBase(),
+                retryProperties.backoffMaximo());
+        BackoffStrategy backoffThrottling = BackoffStrategy.exponentialDelay(retryProperties.backoffThrottlingBase(),
+                retryProperties.backoffThrottlingMaximo());
+
+        return switch (retryProperties.modo()) {
+            case ADAPTATIVO -> AwsRetryStrategy.adaptiveRetryStrategy().toBuilder()
+                    .maxAttempts(maxTentativas)
+                    .backoffStrategy(backoff)
+                    .throttlingBackoffStrategy(backoffThrottling)
+                    .build();
+            case PADRAO -> AwsRetryStrategy.standardRetryStrategy().toBuilder()
+                    .maxAttempts(maxTentativas)
+                    .backoffStrategy(backoff)
+                    .throttlingBackoffStrategy(backoffThrottling)
+                    .circuitBreakerEnabled(retryProperties.orcamentoRetentativas())
+                    .build();
+        };
+    }
+
+    /**
+     * Timeouts, retentativa e, quando ha um {@link MeterRegistry}, a publicacao das chamadas, retentativas e
+     * throttles por operacao.
+     */
+    private void configurarChamadas(ClientOverrideConfiguration.Builder configuracao, RetryStrategy retryStrategy) {
+        configuracao.apiCallAttemptTimeout(httpProperties.timeoutTentativa())
+                .apiCallTimeout(httpProperties.timeoutTotal())
+                .retryStrategy(retryStrategy);
+        meterRegistry.ifAvailable(registry -> configuracao.addMetricPublisher(new DynamoDbMetricasPublisher(registry)));
+    }
+
+    /**
+     * Client HTTP sincrono escolhido por {@code aws.dynamodb.http.implementacao}. O URL-connection nao tem pool nem
+     * timeout de aquisicao proprios: reaproveita as conexoes pelo keep-alive do {@link java.net.HttpURLConnection}.
+     *
+     * @throws IllegalStateException se o client escolhido nao estiver no classpath
+     */
+    public SdkHttpClient.Builder<?> httpClientBuilder() {
+        exigirNoClasspath(httpProperties.implementacao(), DynamoDbConfig.class.getClassLoader());
+        return switch (httpProperties.implementacao()) {
+            case APACHE -> ApacheHttpClient.builder()
+                    .maxConnections(httpProperties.maxConexoes())
+                    .connectionAcquisitionTimeout(httpProperties.timeoutAquisicaoConexao())
+                    .connectionTimeout(httpProperties.timeoutConexao())
+                    .connectionTimeToLive(httpProperties.ttlConexao())
+                    .connectionMaxIdleTime(httpProperties.tempoMaximoOcioso())
+                    .useIdleConnectionReaper(httpProperties.removerConexoesOciosas())
+                    .tcpKeepAlive(httpProperties.tcpKeepAlive());
+            case URL_CONNECTION -> ClientesHttpAlternativos.urlConnection(httpProperties);
+            case CRT -> ClientesHttpAlternativos.crt(httpProperties);
+        };
+    }
+
+    /**
+     * Falha na subida com o perfil Maven que empacota o client escolhido, em vez de um {@link NoClassDefFoundError} sem
+     * indicacao de como corrigir.
+     */
+    static void exigirNoClasspath(DynamoDbHttpProperties.Implementacao implementacao, ClassLoader classLoader) {
+        if (!ClassUtils.isPresent(implementacao.getClasse(), classLoader)) {
+            throw new IllegalStateException("aws.dynamodb.http.implementacao=" + implementacao + " exige "
+                    + implementacao.getArtefatos() + " no classpath; gere o jar com mvn -Pclientes-http package");
+        }
+    }
+
+    /**
+     * Schema da tabela Pessoas declarado explicitamente, compartilhado pelos repositorios e pelo initializer. Evita a
+     * introspeccao de {@code TableSchema.fromBean} na subida e as chamadas reflexivas de getters e setters a cada item
+     * convertido; os nomes e tipos dos atributos sao os mesmos do {@link PessoaEntity} anotado.
+     */
+    @Bean
+    public TableSchema<PessoaEntity> pessoaTableSchema() {
+        return StaticTableSchema.builder(PessoaEntity.class)
+                .newItemSupplier(PessoaEntity::new)
+                .addAttribute(String.class, atributo -> atributo.name("cdDocPessoa")
+                        .getter(PessoaEntity::getCdDocPessoa)
+                        .setter(PessoaEntity::setCdDocPessoa)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, atributo -> atributo.name("nmPessoa")
+                        .getter(PessoaEntity::getNmPessoa)
+                        .setter(PessoaEntity::setNmPessoa)
+                        .tags(secondarySortKey(PessoaEntity.INDICE_TIPO)))
+                .addAttribute(TipoPessoaEnum.class, atributo -> atributo.name("tpPessoa")
+                        .getter(PessoaEntity::getTpPessoa)
+                        .setter(PessoaEntity::setTpPessoa)
+                        .tags(secondaryPartitionKey(PessoaEntity.INDICE_TIPO)))
+                .addAttribute(String.class, atributo -> atributo.name("dsEmail")
+                        .getter(PessoaEntity::getDsEmail)
+                        .setter(PessoaEntity::setDsEmail)
+                        .tags(secondaryPartitionKey(PessoaEntity.INDICE_EMAIL)))
+                .addAttribute(Long.class, atributo -> atributo.name("dtAtualizacao")
+                        .getter(PessoaEntity::getDtAtualizacao)
+                        .setter(PessoaEntity::setDtAtualizacao))
+                .build();
+    }
+
+    /**
+     * Schema da tabela PessoasEmail, que reserva cada e-mail para um unico CPF. A chave e o proprio e-mail, o que
+     * permite garantir a unicidade com uma escrita condicional em vez de uma varredura.
+     */
+    @Bean
+    public TableSchema<PessoaEmailEntity> pessoaEmailTableSchema() {
+        return StaticTableSchema.builder(PessoaEmailEntity.class)
+                .newItemSupplier(PessoaEmailEntity::new)
+                .addAttribute(String.class, atributo -> atributo.name("dsEmail")
+                        .getter(PessoaEmailEntity::getDsEmail)
+                        .setter(PessoaEmailEntity::setDsEmail)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, atributo -> atributo.name("cdDocPessoa")
+                        .getter(PessoaEmailEntity::getCdDocPessoa)
+                        .setter(PessoaEmailEntity::setCdDocPessoa))
+                .build();
+    }
+
+    /**
+     * Hedge das buscas por CPF do {@code PessoaRepository}. Os contadores mostram quantos hedges foram enviados, quantos
+     * responderam antes da primeira chamada e quantos foram negados pelo limite de {@code taxa-maxima}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "aws.dynamodb.hedge.habilitado", havingValue = "true")
+    public LeituraComHedge leituraComHedge(ObjectProvider<MeterRegistry> meterRegistry) {
+        LeituraComHedge hedge = new LeituraComHedge(hedgePercentil, hedgeAtrasoMinimo, hedgeTaxaMaxima);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("dynamodb.hedge", hedge, LeituraComHedge::getHedgesEnviados)
+                    .tag("resultado", "enviado")
+                    .register(registry);
+            FunctionCounter.builder("dynamodb.hedge", hedge, LeituraComHedge::getHedgesVencedores)
+                    .tag("resultado", "vencedor")
+                    .register(registry);
+            FunctionCounter.builder("dynamodb.hedge", hedge, LeituraComHedge::getHedgesNegados)
+                    .tag("resultado", "negado")
+                    .register(registry);
+            Gauge.builder("dynamodb.hedge.atraso", hedge, h -> h.getAtraso().toNanos() / 1_000_000.0)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        });
+        return hedge;
+    }
+
     @Bean
     public DynamoDbEnhancedClient enhancedClient(DynamoDbClient ddbClient) {
         return DynamoDbEnhancedClient.builder()
@@ -43,4 +252,40 @@ public class DynamoDbConfig {
                 .build();
     }
 
+    /**
+     * Client nao bloqueante do modo assincrono: as requisicoes sao multiplexadas pelo event loop do Netty, limitadas a
+     * {@code aws.dynamodb.async.max-concorrencia} conexoes simultaneas, com os mesmos timeouts e retentativas do client
+     * sincrono.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "pessoas.async.habilitado", havingValue = "true")
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        DefaultCredentialsProvider provider = DefaultCredentialsProvider.builder()
+                .build();
+
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(provider)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(asyncMaxConcorrencia)
+                        .connectionAcquisitionTimeout(httpProperties.timeoutAquisicaoConexao())
+                        .connectionTimeout(httpProperties.timeoutConexao())
+                        .connectionMaxIdleTime(httpProperties.tempoMaximoOcioso())
+                        .tcpKeepAlive(httpProperties.tcpKeepAlive()))
+                .overrideConfiguration(configuracao -> configurarChamadas(configuracao, retryStrategy()));
+
+        if (!endpoint.contains("amazonaws.com")) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pessoas.async.habilitado", havingValue = "true")
+    public DynamoDbEnhancedAsyncClient enhancedAsyncClient(DynamoDbAsyncClient ddbAsyncClient) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(ddbAsyncClient)
+                .build();
+    }
 }
@@ -0,0 +1,62 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuracao do client HTTP sincrono do DynamoDB ({@code aws.dynamodb.http.*}). Os valores padrao sao
+ * dimensionados para o pod de 0,5 CPU e 256Mi: poucas conexoes reaproveitadas por muito tempo e timeouts curtos,
+ * para que uma rajada falhe rapido em vez de enfileirar requisicoes esperando conexao.
+ *
+ * @param implementacao                client HTTP usado: {@code APACHE}, {@code URL_CONNECTION} ou {@code CRT}
+ * @param maxConexoes                  tamanho do pool de conexoes (ignorado pelo {@code URL_CONNECTION}, sem pool proprio)
+ * @param timeoutAquisicaoConexao      espera maxima por uma conexao livre do pool
+ * @param timeoutConexao               tempo maximo para abrir uma conexao TCP
+ * @param ttlConexao                   tempo de vida de uma conexao no pool, para acompanhar a rotacao de DNS do endpoint
+ * @param tempoMaximoOcioso            conexoes ociosas por mais tempo que isso sao descartadas
+ * @param removerConexoesOciosas       liga a thread que descarta conexoes ociosas do pool
+ * @param tcpKeepAlive                 envia keep-alive TCP nas conexoes abertas
+ * @param timeoutTentativa             tempo maximo de cada tentativa de chamada a API
+ * @param timeoutTotal                 tempo maximo da chamada a API, incluindo as retentativas
+ */
+@ConfigurationProperties(prefix = "aws.dynamodb.http")
+public record DynamoDbHttpProperties(
+        @DefaultValue("APACHE") Implementacao implementacao,
+        @DefaultValue("50") int maxConexoes,
+        @DefaultValue("1s") Duration timeoutAquisicaoConexao,
+        @DefaultValue("1s") Duration timeoutConexao,
+        @DefaultValue("5m") Duration ttlConexao,
+        @DefaultValue("30s") Duration tempoMaximoOcioso,
+        @DefaultValue("true") boolean removerConexoesOciosas,
+        @DefaultValue("true") boolean tcpKeepAlive,
+        @DefaultValue("1s") Duration timeoutTentativa,
+        @DefaultValue("3s") Duration timeoutTotal) {
+
+    /**
+     * Cada client com a classe que precisa estar no classpath e os artefatos que a trazem. Apenas o Apache vai no jar
+     * padrao; os demais sao empacotados pelo perfil Maven {@code clientes-http}.
+     */
+    public enum Implementacao {
+        APACHE("software.amazon.awssdk.http.apache.ApacheHttpClient", "apache-client"),
+        URL_CONNECTION("software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient", "url-connection-client"),
+        CRT("software.amazon.awssdk.http.crt.AwsCrtHttpClient", "aws-crt-client e aws-crt");
+
+        private final String classe;
+        private final String artefatos;
+
+        Implementacao(String classe, String artefatos) {
+            this.classe = classe;
+            this.artefatos = artefatos;
+        }
+
+        public String getClasse() {
+            return classe;
+        }
+
+        public String getArtefatos() {
+            return artefatos;
+        }
+    }
+}
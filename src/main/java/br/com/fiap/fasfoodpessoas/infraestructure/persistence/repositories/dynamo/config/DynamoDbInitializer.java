@@ -1,6 +1,9 @@
 package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
 
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
@@ -8,28 +11,61 @@ import org.springframework.context.event.EventListener;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.ResourceInUseException;
 
 @Configuration
 public class DynamoDbInitializer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDbInitializer.class);
+
     @Value("${aws.dynamodb.create-tables:false}")
     private boolean shouldCreate;
 
     private final DynamoDbEnhancedClient enhancedClient;
+    private final TableSchema<PessoaEntity> pessoaTableSchema;
+    private final TableSchema<PessoaEmailEntity> pessoaEmailTableSchema;
 
-    public DynamoDbInitializer(DynamoDbEnhancedClient enhancedClient) {
+    public DynamoDbInitializer(DynamoDbEnhancedClient enhancedClient, TableSchema<PessoaEntity> pessoaTableSchema,
+                               TableSchema<PessoaEmailEntity> pessoaEmailTableSchema) {
         this.enhancedClient = enhancedClient;
+        this.pessoaTableSchema = pessoaTableSchema;
+        this.pessoaEmailTableSchema = pessoaEmailTableSchema;
     }
 
     @EventListener(ApplicationReadyEvent.class)
     public void setupTables() {
         if (!shouldCreate) return;
-        DynamoDbTable<PessoaEntity> table = enhancedClient.table("Pessoas", TableSchema.fromBean(PessoaEntity.class));
+        DynamoDbTable<PessoaEntity> table = enhancedClient.table("Pessoas", pessoaTableSchema);
+        DynamoDbTable<PessoaEmailEntity> tabelaEmail = enhancedClient.table("PessoasEmail", pessoaEmailTableSchema);
+
+        // Os indices projetam todos os atributos para que as buscas por e-mail e por tipo nao precisem voltar a tabela
+        try {
+            table.createTable(CreateTableEnhancedRequest.builder()
+                    .globalSecondaryIndices(
+                            EnhancedGlobalSecondaryIndex.builder()
+                                    .indexName(PessoaEntity.INDICE_EMAIL)
+                                    .projection(projecao -> projecao.projectionType(ProjectionType.ALL))
+                                    .build(),
+                            EnhancedGlobalSecondaryIndex.builder()
+                                    .indexName(PessoaEntity.INDICE_TIPO)
+                                    .projection(projecao -> projecao.projectionType(ProjectionType.ALL))
+                                    .build())
+                    .build());
+        } catch (ResourceInUseException e) {
+            LOGGER.info("Tabela {} ja existe", table.tableName());
+        } catch (Exception e) {
+            LOGGER.warn("Nao foi possivel criar a tabela {}", table.tableName(), e);
+        }
 
         try {
-            table.createTable();
+            tabelaEmail.createTable();
+        } catch (ResourceInUseException e) {
+            LOGGER.info("Tabela {} ja existe", tabelaEmail.tableName());
         } catch (Exception e) {
-            System.out.println(e.getMessage());
+            LOGGER.warn("Nao foi possivel criar a tabela {}", tabelaEmail.tableName(), e);
         }
     }
 }
@@ -0,0 +1,53 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+/**
+ * Publica no Micrometer, por operacao do DynamoDB, as chamadas ({@code dynamodb.chamadas}), as retentativas
+ * ({@code dynamodb.retentativas}) e as tentativas recusadas por throttling ({@code dynamodb.throttles}) a partir das
+ * metricas que o SDK coleta ao fim de cada chamada.
+ */
+public class DynamoDbMetricasPublisher implements MetricPublisher {
+
+    static final String ERRO_THROTTLING = "Throttling";
+
+    private final MeterRegistry meterRegistry;
+
+    public DynamoDbMetricasPublisher(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(MetricCollection metricas) {
+        String operacao = metricas.metricValues(CoreMetric.OPERATION_NAME).stream().findFirst().orElse("desconhecida");
+        boolean sucesso = metricas.metricValues(CoreMetric.API_CALL_SUCCESSFUL).stream().findFirst().orElse(false);
+        int retentativas = metricas.metricValues(CoreMetric.RETRY_COUNT).stream().findFirst().orElse(0);
+        long throttles = metricas.childrenWithName("ApiCallAttempt")
+                .flatMap(tentativa -> tentativa.metricValues(CoreMetric.ERROR_TYPE).stream())
+                .filter(ERRO_THROTTLING::equals)
+                .count();
+
+        Counter.builder("dynamodb.chamadas")
+                .tag("operacao", operacao)
+                .tag("resultado", sucesso ? "sucesso" : "falha")
+                .register(meterRegistry)
+                .increment();
+        Counter.builder("dynamodb.retentativas")
+                .tag("operacao", operacao)
+                .register(meterRegistry)
+                .increment(retentativas);
+        Counter.builder("dynamodb.throttles")
+                .tag("operacao", operacao)
+                .register(meterRegistry)
+                .increment(throttles);
+    }
+
+    @Override
+    public void close() {
+        // Os contadores pertencem ao MeterRegistry da aplicacao
+    }
+}
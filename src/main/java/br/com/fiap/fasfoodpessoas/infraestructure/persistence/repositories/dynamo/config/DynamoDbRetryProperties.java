@@ -0,0 +1,44 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Politica de retentativa dos clients do DynamoDB ({@code aws.dynamodb.retry.*}). Os backoffs usam jitter completo:
+ * cada espera e sorteada entre zero e o exponencial da tentativa, limitado ao maximo.
+ *
+ * @param modo                        {@code ADAPTATIVO} limita a taxa de envio no cliente quando a tabela devolve
+ *                                    throttling; {@code PADRAO} apenas espera o backoff
+ * @param maxTentativas               tentativas por chamada, incluindo a primeira
+ * @param maxTentativasPorOperacao    limite por operacao do DynamoDB (ex.: {@code [GetItem]=2}), menor ou igual a
+ *                                    {@code maxTentativas}
+ * @param backoffBase                 base do backoff para erros transitorios
+ * @param backoffMaximo               espera maxima para erros transitorios
+ * @param backoffThrottlingBase       base do backoff quando a tabela devolve throttling
+ * @param backoffThrottlingMaximo     espera maxima quando a tabela devolve throttling
+ * @param orcamentoRetentativas       no modo {@code PADRAO}, consome um orcamento compartilhado a cada retentativa e
+ *                                    para de retentar quando ele acaba; o modo {@code ADAPTATIVO} sempre o utiliza
+ */
+@ConfigurationProperties(prefix = "aws.dynamodb.retry")
+public record DynamoDbRetryProperties(
+        @DefaultValue("ADAPTATIVO") Modo modo,
+        @DefaultValue("3") int maxTentativas,
+        Map<String, Integer> maxTentativasPorOperacao,
+        @DefaultValue("25ms") Duration backoffBase,
+        @DefaultValue("1s") Duration backoffMaximo,
+        @DefaultValue("100ms") Duration backoffThrottlingBase,
+        @DefaultValue("2s") Duration backoffThrottlingMaximo,
+        @DefaultValue("true") boolean orcamentoRetentativas) {
+
+    public DynamoDbRetryProperties {
+        maxTentativasPorOperacao = maxTentativasPorOperacao == null ? Map.of() : Map.copyOf(maxTentativasPorOperacao);
+    }
+
+    public enum Modo {
+        ADAPTATIVO,
+        PADRAO
+    }
+}
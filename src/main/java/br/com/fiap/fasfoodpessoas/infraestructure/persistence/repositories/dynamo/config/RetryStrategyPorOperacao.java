@@ -0,0 +1,107 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenResponse;
+import software.amazon.awssdk.retries.api.RecordSuccessRequest;
+import software.amazon.awssdk.retries.api.RecordSuccessResponse;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenResponse;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.retries.api.RetryToken;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aplica um limite de tentativas por operacao sobre uma unica estrategia do SDK, que continua dona do backoff, do
+ * limitador de taxa adaptativo e do orcamento de retentativas compartilhados por todas as operacoes.
+ *
+ * <p>O SDK nao informa a operacao a estrategia; o {@link #interceptor()} a registra na thread que faz a chamada e
+ * ela e lida ao emitir o token inicial, que e obtido na mesma thread pelo client sincrono. Por isso a estrategia so
+ * deve ser usada no client sincrono; operacoes sem limite proprio usam o {@code maxAttempts} da estrategia.
+ */
+public class RetryStrategyPorOperacao implements RetryStrategy {
+
+    private static final ThreadLocal<String> OPERACAO_ATUAL = new ThreadLocal<>();
+
+    private final RetryStrategy delegado;
+    private final Map<String, Integer> maxTentativasPorOperacao;
+
+    public RetryStrategyPorOperacao(RetryStrategy delegado, Map<String, Integer> maxTentativasPorOperacao) {
+        this.delegado = delegado;
+        this.maxTentativasPorOperacao = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.maxTentativasPorOperacao.putAll(maxTentativasPorOperacao);
+    }
+
+    public static ExecutionInterceptor interceptor() {
+        return new ExecutionInterceptor() {
+            @Override
+            public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+                OPERACAO_ATUAL.set(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME));
+            }
+        };
+    }
+
+    @Override
+    public AcquireInitialTokenResponse acquireInitialToken(AcquireInitialTokenRequest request) {
+        String operacao = OPERACAO_ATUAL.get();
+        OPERACAO_ATUAL.remove();
+
+        int maxTentativas = Math.min(delegado.maxAttempts(),
+                operacao == null ? delegado.maxAttempts() : maxTentativasPorOperacao.getOrDefault(operacao, delegado.maxAttempts()));
+        AcquireInitialTokenResponse resposta = delegado.acquireInitialToken(request);
+        return AcquireInitialTokenResponse.create(new TokenPorOperacao(resposta.token(), maxTentativas, 1), resposta.delay());
+    }
+
+    @Override
+    public RefreshRetryTokenResponse refreshRetryToken(RefreshRetryTokenRequest request) {
+        TokenPorOperacao token = (TokenPorOperacao) request.token();
+        if (token.tentativa() >= token.maxTentativas()) {
+            throw new TokenAcquisitionFailedException("Limite de " + token.maxTentativas() + " tentativas da operacao atingido",
+                    token, request.failure());
+        }
+
+        RefreshRetryTokenResponse resposta;
+        try {
+            resposta = delegado.refreshRetryToken(request.toBuilder().token(token.delegado()).build());
+        } catch (TokenAcquisitionFailedException e) {
+            throw new TokenAcquisitionFailedException(e.getMessage(), token, e.getCause());
+        }
+        return RefreshRetryTokenResponse.create(
+                new TokenPorOperacao(resposta.token(), token.maxTentativas(), token.tentativa() + 1), resposta.delay());
+    }
+
+    @Override
+    public RecordSuccessResponse recordSuccess(RecordSuccessRequest request) {
+        TokenPorOperacao token = (TokenPorOperacao) request.token();
+        delegado.recordSuccess(RecordSuccessRequest.create(token.delegado()));
+        return RecordSuccessResponse.create(token);
+    }
+
+    @Override
+    public int maxAttempts() {
+        return delegado.maxAttempts();
+    }
+
+    /**
+     * A estrategia ja chega configurada com as condicoes de retentativa da AWS; reaplicar os padroes do client
+     * substituiria este wrapper pela estrategia delegada.
+     */
+    @Override
+    public boolean useClientDefaults() {
+        return false;
+    }
+
+    @Override
+    public Builder<?, ?> toBuilder() {
+        return delegado.toBuilder();
+    }
+
+    record TokenPorOperacao(RetryToken delegado, int maxTentativas, int tentativa) implements RetryToken {
+    }
+}
@@ -0,0 +1,788 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazenamento local de pessoas no modelo do Bitcask: toda escrita e acrescentada ao fim do segmento ativo, um
+ * arquivo de log, e um indice em memoria ({@link MapaCpf}) aponta cada CPF para o registro mais recente. Uma leitura e
+ * uma consulta ao indice e uma leitura posicional no arquivo; uma escrita e uma unica chamada de escrita sequencial.
+ * <p>
+ * O segmento ativo e trocado por um novo ao passar de {@code tamanhoMaximoSegmento}. A compactacao copia os registros
+ * ainda apontados pelo indice dos segmentos fechados para um unico segmento compactado e apaga os originais, sem parar
+ * leituras nem escritas. Na abertura, os segmentos sao relidos em ordem para reconstruir o indice; cada registro tem
+ * CRC32C e o log e truncado no primeiro registro incompleto ou corrompido, o que descarta escritas interrompidas por
+ * uma queda.
+ * <p>
+ * A durabilidade segue a {@link Sincronizacao} escolhida. Os canais de arquivo sao compartilhados entre threads:
+ * interromper uma thread durante uma leitura ou escrita fecha o canal, entao as operacoes nao devem ser interrompidas.
+ */
+public final class LogPessoas implements Closeable {
+
+    /**
+     * Quando uma escrita confirmada chega ao disco.
+     */
+    public enum Sincronizacao {
+        /**
+         * Antes de a escrita retornar. Escritas concorrentes compartilham o mesmo fsync (group commit).
+         */
+        SEMPRE,
+        /**
+         * Em segundo plano, a cada intervalo; uma queda perde no maximo o ultimo intervalo.
+         */
+        INTERVALO,
+        /**
+         * Quando o sistema operacional decidir, alem da troca de segmento e do fechamento.
+         */
+        NUNCA
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogPessoas.class);
+
+    static final long MAGICO = 0x4646504C4F473031L;
+    static final int VERSAO = 1;
+    static final int CABECALHO_SEGMENTO = 16;
+
+    // Registro: CRC32C do tamanho e do conteudo, tamanho do conteudo e conteudo (CPF, tipo, nome e email)
+    static final int CABECALHO_REGISTRO = 2 * Integer.BYTES;
+    private static final int CONTEUDO_MINIMO = Long.BYTES + 1 + 2 * Short.BYTES;
+    private static final int CONTEUDO_MAXIMO = CONTEUDO_MINIMO + 2 * Short.MAX_VALUE;
+    private static final int TAMANHO_BUFFER = 1 << 20;
+
+    private static final Pattern NOME_SEGMENTO = Pattern.compile("pessoas-(\\d{16})(\\.compactado)?\\.log");
+    private static final TipoPessoaEnum[] TIPOS = TipoPessoaEnum.values();
+
+    private final Path diretorio;
+    private final Sincronizacao sincronizacao;
+    private final long tamanhoMaximoSegmento;
+    private final MapaCpf<Localizacao> indice = new MapaCpf<>();
+    // Segmentos em ordem de id, o ativo por ultimo; lista e indice sao protegidos por travaIndice
+    private final List<Segmento> segmentos = new ArrayList<>();
+    private final ReentrantReadWriteLock travaIndice = new ReentrantReadWriteLock();
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+    private final ReentrantLock travaSincronizacao = new ReentrantLock();
+    private final ReentrantLock travaCompactacao = new ReentrantLock();
+    private final LongAdder compactacoes = new LongAdder();
+    private final ScheduledExecutorService sincronizador;
+    private volatile Segmento ativo;
+    // Bytes acrescentados desde a abertura, somando todos os segmentos, e quantos deles ja foram sincronizados
+    private volatile long bytesGravados;
+    private volatile long sincronizadoAte;
+
+    private LogPessoas(Path diretorio, Sincronizacao sincronizacao, Duration intervaloSincronizacao,
+                       long tamanhoMaximoSegmento) {
+        this.diretorio = diretorio;
+        this.sincronizacao = sincronizacao;
+        this.tamanhoMaximoSegmento = tamanhoMaximoSegmento;
+        if (sincronizacao == Sincronizacao.INTERVALO) {
+            sincronizador = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("log-pessoas-sincronizacao").daemon().factory());
+            sincronizador.scheduleWithFixedDelay(this::sincronizarEmSegundoPlano, intervaloSincronizacao.toMillis(),
+                    intervaloSincronizacao.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            sincronizador = null;
+        }
+    }
+
+    /**
+     * Abre o log no diretorio, criando-o se preciso, e reconstroi o indice relendo os segmentos existentes. Novas
+     * escritas vao para um segmento novo, ou para o ultimo se ele ainda nao tiver registros.
+     *
+     * @throws IOException se o diretorio nao puder ser lido ou tiver segmentos de outro formato
+     */
+    public static LogPessoas abrir(Path diretorio, Sincronizacao sincronizacao, Duration intervaloSincronizacao,
+                                   long tamanhoMaximoSegmento) throws IOException {
+        if (tamanhoMaximoSegmento < CABECALHO_SEGMENTO + CABECALHO_REGISTRO + CONTEUDO_MAXIMO) {
+            throw new IllegalArgumentException("Tamanho maximo de segmento muito pequeno: " + tamanhoMaximoSegmento);
+        }
+        Files.createDirectories(diretorio);
+        LogPessoas log = new LogPessoas(diretorio, sincronizacao, intervaloSincronizacao, tamanhoMaximoSegmento);
+        try {
+            log.recuperar();
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        return log;
+    }
+
+    public PessoaModel buscar(long cpf) {
+        if (cpf == Cpf.INVALIDO) {
+            return null;
+        }
+        travaIndice.readLock().lock();
+        try {
+            Localizacao localizacao = indice.buscar(cpf);
+            return localizacao == null ? null : ler(localizacao);
+        } finally {
+            travaIndice.readLock().unlock();
+        }
+    }
+
+    public boolean contem(long cpf) {
+        travaIndice.readLock().lock();
+        try {
+            return indice.contem(cpf);
+        } finally {
+            travaIndice.readLock().unlock();
+        }
+    }
+
+    /**
+     * Acrescenta as pessoas ao log em uma unica escrita e atualiza o indice; com o mesmo CPF mais de uma vez, vale a
+     * ultima. Devolve a marca a informar em {@link #aguardarDurabilidade(long)}: separar as duas etapas permite ao
+     * chamador liberar suas proprias travas antes de esperar o disco.
+     *
+     * @throws IllegalArgumentException se alguma pessoa nao tiver CPF compactavel ou tiver nome ou email maiores que
+     *                                  {@value Short#MAX_VALUE} bytes; nesse caso nada e gravado
+     */
+    public long gravar(Collection<PessoaModel> pessoas) {
+        List<byte[]> nomes = new ArrayList<>(pessoas.size());
+        List<byte[]> emails = new ArrayList<>(pessoas.size());
+        int total = 0;
+        for (PessoaModel pessoa : pessoas) {
+            if (pessoa.getCpf() == Cpf.INVALIDO) {
+                throw new IllegalArgumentException("Documento fora do formato de CPF: " + pessoa.getCdDocPessoa());
+            }
+            byte[] nome = bytes(pessoa.getNmPessoa());
+            byte[] email = bytes(pessoa.getDsEmail());
+            nomes.add(nome);
+            emails.add(email);
+            total += tamanhoRegistro(nome, email);
+        }
+        ByteBuffer lote = ByteBuffer.allocate(total);
+        int i = 0;
+        for (PessoaModel pessoa : pessoas) {
+            escreverRegistro(lote, pessoa, nomes.get(i), emails.get(i));
+            i++;
+        }
+        lote.flip();
+
+        travaEscrita.lock();
+        try {
+            if (ativo.tamanho > CABECALHO_SEGMENTO && ativo.tamanho + total > tamanhoMaximoSegmento) {
+                rotacionar();
+            }
+            Segmento segmento = ativo;
+            long inicio = segmento.tamanho;
+            escreverTudo(segmento.canal, lote, inicio);
+            segmento.tamanho = inicio + total;
+
+            travaIndice.writeLock().lock();
+            try {
+                long posicao = inicio;
+                i = 0;
+                for (PessoaModel pessoa : pessoas) {
+                    int tamanho = tamanhoRegistro(nomes.get(i), emails.get(i));
+                    i++;
+                    colocarNoIndice(pessoa.getCpf(), new Localizacao(segmento, posicao, tamanho));
+                    posicao += tamanho;
+                }
+            } finally {
+                travaIndice.writeLock().unlock();
+            }
+            bytesGravados += total;
+            return bytesGravados;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    /**
+     * Com {@link Sincronizacao#SEMPRE}, espera os bytes ate a {@code marca} chegarem ao disco; com as demais politicas
+     * retorna imediatamente.
+     */
+    public void aguardarDurabilidade(long marca) {
+        if (sincronizacao == Sincronizacao.SEMPRE) {
+            sincronizar(marca);
+        }
+    }
+
+    /**
+     * Entrega ao {@code consumidor} a versao atual de cada pessoa, lendo os segmentos em sequencia, sem acumular o
+     * resultado. Escritas concorrentes podem ou nao aparecer; a compactacao espera o fim da leitura.
+     */
+    public void percorrer(Consumer<PessoaModel> consumidor) {
+        travaCompactacao.lock();
+        try {
+            List<Segmento> atuais;
+            travaIndice.readLock().lock();
+            try {
+                atuais = List.copyOf(segmentos);
+            } finally {
+                travaIndice.readLock().unlock();
+            }
+            for (Segmento segmento : atuais) {
+                LeitorSegmento leitor = new LeitorSegmento(segmento.canal, segmento.tamanho);
+                while (leitor.proximo()) {
+                    if (apontadoPeloIndice(leitor.cpf(), segmento, leitor.posicao) != null) {
+                        consumidor.accept(decodificar(leitor.registro()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaCompactacao.unlock();
+        }
+    }
+
+    /**
+     * Reescreve os registros vivos de todos os segmentos fechados em um segmento compactado e apaga os originais.
+     * Devolve {@code false} se nao havia o que compactar.
+     */
+    public boolean compactar() {
+        travaCompactacao.lock();
+        try {
+            List<Segmento> origem;
+            travaIndice.readLock().lock();
+            try {
+                origem = segmentos.stream().filter(segmento -> segmento != ativo).toList();
+            } finally {
+                travaIndice.readLock().unlock();
+            }
+            if (origem.isEmpty() || origem.size() == 1 && origem.get(0).getLixo() == 0) {
+                return false;
+            }
+            substituir(origem, copiarVivos(origem));
+            compactacoes.increment();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaCompactacao.unlock();
+        }
+    }
+
+    public int getRegistros() {
+        travaIndice.readLock().lock();
+        try {
+            return indice.tamanho();
+        } finally {
+            travaIndice.readLock().unlock();
+        }
+    }
+
+    public int getSegmentos() {
+        travaIndice.readLock().lock();
+        try {
+            return segmentos.size();
+        } finally {
+            travaIndice.readLock().unlock();
+        }
+    }
+
+    public long getBytesEmDisco() {
+        return somarSegmentos(segmento -> segmento.tamanho);
+    }
+
+    public long getBytesVivos() {
+        return somarSegmentos(segmento -> segmento.vivos);
+    }
+
+    /**
+     * Fracao dos bytes de registros que ja foram substituidos por escritas mais novas e sairiam na compactacao.
+     */
+    public double getFracaoLixo() {
+        long registros = somarSegmentos(segmento -> segmento.tamanho - CABECALHO_SEGMENTO);
+        return registros == 0 ? 0 : (double) somarSegmentos(Segmento::getLixo) / registros;
+    }
+
+    public long getCompactacoes() {
+        return compactacoes.sum();
+    }
+
+    /**
+     * Sincroniza o segmento ativo e fecha os arquivos, esperando uma compactacao em andamento terminar.
+     */
+    @Override
+    public void close() throws IOException {
+        if (sincronizador != null) {
+            sincronizador.shutdown();
+        }
+        travaCompactacao.lock();
+        travaEscrita.lock();
+        try {
+            if (ativo != null) {
+                ativo.canal.force(false);
+            }
+            for (Segmento segmento : segmentos) {
+                segmento.canal.close();
+            }
+        } finally {
+            travaEscrita.unlock();
+            travaCompactacao.unlock();
+        }
+    }
+
+    private void recuperar() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : arquivos.toList()) {
+                if (arquivo.getFileName().toString().endsWith(".tmp")) {
+                    // Compactacao interrompida antes de ser promovida: os segmentos originais continuam validos
+                    Files.delete(arquivo);
+                    continue;
+                }
+                Matcher nome = NOME_SEGMENTO.matcher(arquivo.getFileName().toString());
+                if (nome.matches()) {
+                    segmentos.add(new Segmento(arquivo, Long.parseLong(nome.group(1)), nome.group(2) != null));
+                }
+            }
+        }
+        // Um segmento compactado contem apenas registros de segmentos de id menor ou igual ao seu
+        segmentos.sort(Comparator.comparingLong((Segmento segmento) -> segmento.id)
+                .thenComparing(segmento -> segmento.compactado));
+
+        for (Segmento segmento : List.copyOf(segmentos)) {
+            segmento.canal = FileChannel.open(segmento.arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long tamanhoArquivo = segmento.canal.size();
+            if (tamanhoArquivo < CABECALHO_SEGMENTO) {
+                // Segmento criado sem chegar a receber o cabecalho
+                segmento.canal.close();
+                Files.delete(segmento.arquivo);
+                segmentos.remove(segmento);
+                continue;
+            }
+            validarCabecalho(segmento);
+            LeitorSegmento leitor = new LeitorSegmento(segmento.canal, tamanhoArquivo);
+            while (leitor.proximo()) {
+                colocarNoIndice(leitor.cpf(), new Localizacao(segmento, leitor.posicao, leitor.tamanho));
+            }
+            segmento.tamanho = leitor.posicao;
+            if (leitor.posicao < tamanhoArquivo) {
+                LOGGER.warn("Registro incompleto ou corrompido em {} na posicao {}; {} bytes descartados",
+                        segmento.arquivo, leitor.posicao, tamanhoArquivo - leitor.posicao);
+                segmento.canal.truncate(leitor.posicao);
+                segmento.canal.force(true);
+            }
+        }
+
+        // O ultimo segmento sem registros, como o criado por uma subida anterior que nao chegou a escrever, volta a ser o
+        // ativo; sem isso cada reinicio deixaria mais um arquivo so com cabecalho ate a proxima compactacao
+        Segmento ultimo = segmentos.isEmpty() ? null : segmentos.get(segmentos.size() - 1);
+        if (ultimo != null && !ultimo.compactado && ultimo.tamanho == CABECALHO_SEGMENTO) {
+            ativo = ultimo;
+            return;
+        }
+        ativo = criarSegmento(ultimo == null ? 1 : ultimo.id + 1);
+        segmentos.add(ativo);
+    }
+
+    private void validarCabecalho(Segmento segmento) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO_SEGMENTO);
+        lerTudo(segmento.canal, cabecalho, 0);
+        if (cabecalho.getLong(0) != MAGICO || cabecalho.getInt(Long.BYTES) != VERSAO) {
+            throw new IOException("Segmento " + segmento.arquivo + " nao e um log de pessoas da versao " + VERSAO);
+        }
+    }
+
+    private Segmento criarSegmento(long id) throws IOException {
+        Segmento segmento = new Segmento(diretorio.resolve(nomeSegmento(id, false)), id, false);
+        segmento.canal = FileChannel.open(segmento.arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        escreverTudo(segmento.canal, cabecalho(), 0);
+        segmento.tamanho = CABECALHO_SEGMENTO;
+        sincronizarDiretorio();
+        return segmento;
+    }
+
+    // Chamado com travaEscrita: sincroniza o segmento que sai, para que a marca de sincronizacao valha so para o novo
+    private void rotacionar() throws IOException {
+        Segmento novo = criarSegmento(ativo.id + 1);
+        travaSincronizacao.lock();
+        try {
+            ativo.canal.force(false);
+            sincronizadoAte = bytesGravados;
+            travaIndice.writeLock().lock();
+            try {
+                segmentos.add(novo);
+                ativo = novo;
+            } finally {
+                travaIndice.writeLock().unlock();
+            }
+        } finally {
+            travaSincronizacao.unlock();
+        }
+    }
+
+    private void sincronizar(long marca) {
+        if (sincronizadoAte >= marca) {
+            return;
+        }
+        travaSincronizacao.lock();
+        try {
+            // Quem esperava na trava pode ter sido atendido pelo fsync de outra thread
+            if (sincronizadoAte >= marca) {
+                return;
+            }
+            long alvo = bytesGravados;
+            ativo.canal.force(false);
+            sincronizadoAte = Math.max(sincronizadoAte, alvo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaSincronizacao.unlock();
+        }
+    }
+
+    private void sincronizarEmSegundoPlano() {
+        try {
+            sincronizar(bytesGravados);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Nao foi possivel sincronizar o log de pessoas", e);
+        }
+    }
+
+    // Chamado com a escrita do indice ou durante a recuperacao
+    private void colocarNoIndice(long cpf, Localizacao localizacao) {
+        Localizacao anterior = indice.colocar(cpf, localizacao);
+        if (anterior != null) {
+            anterior.segmento.vivos -= anterior.tamanho;
+        }
+        localizacao.segmento.vivos += localizacao.tamanho;
+    }
+
+    private Localizacao apontadoPeloIndice(long cpf, Segmento segmento, long posicao) {
+        travaIndice.readLock().lock();
+        try {
+            Localizacao localizacao = indice.buscar(cpf);
+            return localizacao != null && localizacao.segmento == segmento && localizacao.posicao == posicao
+                    ? localizacao : null;
+        } finally {
+            travaIndice.readLock().unlock();
+        }
+    }
+
+    private CopiaCompactada copiarVivos(List<Segmento> origem) throws IOException {
+        Segmento ultimo = origem.get(origem.size() - 1);
+        Path destino = diretorio.resolve(nomeSegmento(ultimo.id, true));
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        CopiaCompactada copia = new CopiaCompactada(new Segmento(destino, ultimo.id, true));
+
+        try (FileChannel saida = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+            buffer.put(cabecalho());
+            long posicao = CABECALHO_SEGMENTO;
+            for (Segmento segmento : origem) {
+                LeitorSegmento leitor = new LeitorSegmento(segmento.canal, segmento.tamanho);
+                while (leitor.proximo()) {
+                    Localizacao vivo = apontadoPeloIndice(leitor.cpf(), segmento, leitor.posicao);
+                    if (vivo == null) {
+                        continue;
+                    }
+                    if (buffer.remaining() < leitor.tamanho) {
+                        escreverTudo(saida, buffer.flip(), saida.size());
+                        buffer.clear();
+                    }
+                    buffer.put(leitor.registro());
+                    copia.adicionar(leitor.cpf(), vivo, posicao);
+                    posicao += leitor.tamanho;
+                }
+            }
+            escreverTudo(saida, buffer.flip(), saida.size());
+            saida.force(true);
+            copia.segmento.tamanho = posicao;
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDiretorio();
+        copia.segmento.canal = FileChannel.open(destino, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return copia;
+    }
+
+    private void substituir(List<Segmento> origem, CopiaCompactada copia) throws IOException {
+        Segmento compactado = copia.segmento;
+        travaIndice.writeLock().lock();
+        try {
+            // Registros reescritos durante a copia ja apontam para o segmento ativo e ficam como estao
+            for (int i = 0; i < copia.quantidade; i++) {
+                Localizacao anterior = copia.anteriores[i];
+                if (indice.buscar(copia.cpfs[i]) == anterior) {
+                    colocarNoIndice(copia.cpfs[i], new Localizacao(compactado, copia.posicoes[i], anterior.tamanho));
+                }
+            }
+            segmentos.removeAll(origem);
+            segmentos.add(0, compactado);
+        } finally {
+            travaIndice.writeLock().unlock();
+        }
+        for (Segmento segmento : origem) {
+            segmento.canal.close();
+            if (!segmento.arquivo.equals(compactado.arquivo)) {
+                Files.delete(segmento.arquivo);
+            }
+        }
+        sincronizarDiretorio();
+    }
+
+    private PessoaModel ler(Localizacao localizacao) {
+        ByteBuffer registro = ByteBuffer.allocate(localizacao.tamanho);
+        try {
+            lerTudo(localizacao.segmento.canal, registro, localizacao.posicao);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!crcConfere(registro, localizacao.tamanho - CABECALHO_REGISTRO)) {
+            throw new IllegalStateException("Registro corrompido em " + localizacao.segmento.arquivo
+                    + " na posicao " + localizacao.posicao);
+        }
+        return decodificar(registro);
+    }
+
+    private long somarSegmentos(ToLongFunction<Segmento> valor) {
+        travaIndice.readLock().lock();
+        try {
+            return segmentos.stream().mapToLong(valor).sum();
+        } finally {
+            travaIndice.readLock().unlock();
+        }
+    }
+
+    private void sincronizarDiretorio() {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Nem todo sistema de arquivos permite abrir diretorios; nesse caso a criacao do arquivo fica com o SO
+            LOGGER.debug("Nao foi possivel sincronizar o diretorio {}", diretorio, e);
+        }
+    }
+
+    static int tamanhoRegistro(byte[] nome, byte[] email) {
+        return CABECALHO_REGISTRO + CONTEUDO_MINIMO + (nome == null ? 0 : nome.length) + (email == null ? 0 : email.length);
+    }
+
+    private static void escreverRegistro(ByteBuffer destino, PessoaModel pessoa, byte[] nome, byte[] email) {
+        int inicio = destino.position();
+        int conteudo = tamanhoRegistro(nome, email) - CABECALHO_REGISTRO;
+        destino.putInt(0)
+                .putInt(conteudo)
+                .putLong(pessoa.getCpf())
+                .put((byte) (pessoa.getTpPessoa() == null ? 0 : pessoa.getTpPessoa().ordinal() + 1));
+        escreverTexto(destino, nome);
+        escreverTexto(destino, email);
+        CRC32C crc = new CRC32C();
+        crc.update(destino.slice(inicio + Integer.BYTES, Integer.BYTES + conteudo));
+        destino.putInt(inicio, (int) crc.getValue());
+    }
+
+    private static void escreverTexto(ByteBuffer destino, byte[] texto) {
+        if (texto == null) {
+            destino.putShort((short) -1);
+        } else {
+            destino.putShort((short) texto.length).put(texto);
+        }
+    }
+
+    // Registro completo a partir da posicao 0, com o CRC ja conferido
+    private static PessoaModel decodificar(ByteBuffer registro) {
+        registro.position(CABECALHO_REGISTRO);
+        long cpf = registro.getLong();
+        byte tipo = registro.get();
+        String nome = lerTexto(registro);
+        String email = lerTexto(registro);
+        return new PessoaModel(Cpf.formatar(cpf), nome, tipo == 0 ? null : TIPOS[tipo - 1], email);
+    }
+
+    private static String lerTexto(ByteBuffer registro) {
+        short tamanho = registro.getShort();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] texto = new byte[tamanho];
+        registro.get(texto);
+        return new String(texto, StandardCharsets.UTF_8);
+    }
+
+    private static boolean crcConfere(ByteBuffer registro, int conteudo) {
+        CRC32C crc = new CRC32C();
+        crc.update(registro.slice(Integer.BYTES, Integer.BYTES + conteudo));
+        return (int) crc.getValue() == registro.getInt(0);
+    }
+
+    private static byte[] bytes(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Texto com mais de " + Short.MAX_VALUE + " bytes");
+        }
+        return bytes;
+    }
+
+    private static ByteBuffer cabecalho() {
+        return ByteBuffer.allocate(CABECALHO_SEGMENTO).putLong(MAGICO).putInt(VERSAO).putInt(0).flip();
+    }
+
+    private static String nomeSegmento(long id, boolean compactado) {
+        return String.format("pessoas-%016d%s.log", id, compactado ? ".compactado" : "");
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer origem, long posicao) throws IOException {
+        while (origem.hasRemaining()) {
+            posicao += canal.write(origem, posicao);
+        }
+    }
+
+    private static void lerTudo(FileChannel canal, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            int lidos = canal.read(destino, posicao);
+            if (lidos < 0) {
+                throw new IOException("Fim inesperado do arquivo na posicao " + posicao);
+            }
+            posicao += lidos;
+        }
+        destino.flip();
+    }
+
+    private static final class Segmento {
+
+        private final Path arquivo;
+        private final long id;
+        private final boolean compactado;
+        private FileChannel canal;
+        // Escritos com travaEscrita (tamanho) ou com a escrita do indice (vivos)
+        private volatile long tamanho;
+        private volatile long vivos;
+
+        private Segmento(Path arquivo, long id, boolean compactado) {
+            this.arquivo = arquivo;
+            this.id = id;
+            this.compactado = compactado;
+        }
+
+        private long getLixo() {
+            return tamanho - CABECALHO_SEGMENTO - vivos;
+        }
+    }
+
+    private record Localizacao(Segmento segmento, long posicao, int tamanho) {
+    }
+
+    // Registros copiados pela compactacao, em arrays paralelos para nao criar um objeto por registro
+    private static final class CopiaCompactada {
+
+        private final Segmento segmento;
+        private long[] cpfs = new long[1024];
+        private Localizacao[] anteriores = new Localizacao[1024];
+        private long[] posicoes = new long[1024];
+        private int quantidade;
+
+        private CopiaCompactada(Segmento segmento) {
+            this.segmento = segmento;
+        }
+
+        private void adicionar(long cpf, Localizacao anterior, long posicao) {
+            if (quantidade == cpfs.length) {
+                cpfs = Arrays.copyOf(cpfs, quantidade * 2);
+                anteriores = Arrays.copyOf(anteriores, quantidade * 2);
+                posicoes = Arrays.copyOf(posicoes, quantidade * 2);
+            }
+            cpfs[quantidade] = cpf;
+            anteriores[quantidade] = anterior;
+            posicoes[quantidade] = posicao;
+            quantidade++;
+        }
+    }
+
+    /**
+     * Percorre os registros de um segmento em sequencia com um buffer de leitura. Para no fim dos dados ou no primeiro
+     * registro incompleto ou com CRC divergente; {@link #posicao} fica entao no fim do ultimo registro valido.
+     */
+    private static final class LeitorSegmento {
+
+        private final FileChannel canal;
+        private final long fim;
+        private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER).limit(0);
+        // Posicao no arquivo do primeiro byte do buffer
+        private long inicioBuffer = CABECALHO_SEGMENTO;
+        private long posicao = CABECALHO_SEGMENTO;
+        private int tamanho;
+
+        private LeitorSegmento(FileChannel canal, long fim) {
+            this.canal = canal;
+            this.fim = fim;
+        }
+
+        private boolean proximo() throws IOException {
+            posicao += tamanho;
+            tamanho = 0;
+            if (!carregar(CABECALHO_REGISTRO)) {
+                return false;
+            }
+            int conteudo = buffer.getInt(relativa() + Integer.BYTES);
+            if (conteudo < CONTEUDO_MINIMO || conteudo > CONTEUDO_MAXIMO || !carregar(CABECALHO_REGISTRO + conteudo)
+                    || !crcConfere(buffer.slice(relativa(), CABECALHO_REGISTRO + conteudo), conteudo)) {
+                return false;
+            }
+            tamanho = CABECALHO_REGISTRO + conteudo;
+            return true;
+        }
+
+        private long cpf() {
+            return buffer.getLong(relativa() + CABECALHO_REGISTRO);
+        }
+
+        private ByteBuffer registro() {
+            return buffer.slice(relativa(), tamanho);
+        }
+
+        private int relativa() {
+            return (int) (posicao - inicioBuffer);
+        }
+
+        // Garante os proximos bytes a partir da posicao atual no buffer, descartando o que ja foi percorrido
+        private boolean carregar(int bytes) throws IOException {
+            if (posicao + bytes > fim) {
+                return false;
+            }
+            if (relativa() + bytes <= buffer.limit()) {
+                return true;
+            }
+            buffer.position(relativa()).compact();
+            inicioBuffer = posicao;
+            while (buffer.hasRemaining() && inicioBuffer + buffer.position() < fim) {
+                if (canal.read(buffer, inicioBuffer + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.limit() >= bytes;
+        }
+    }
+}
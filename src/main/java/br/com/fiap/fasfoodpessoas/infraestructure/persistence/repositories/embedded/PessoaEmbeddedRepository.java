@@ -0,0 +1,304 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CursorPaginacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link PessoaRepositoryPort} sobre um {@link LogPessoas} local, para lojas que precisam cadastrar e consultar
+ * pessoas sem acesso ao DynamoDB. As buscas por CPF vao ao indice do log; e-mail e listagem por tipo usam indices
+ * secundarios em memoria, reconstruidos a partir do log na abertura, que cumprem o papel dos indices globais da tabela.
+ * O cursor da listagem e o {@link CursorPaginacao} do repositorio do DynamoDB.
+ * <p>
+ * Escritas sao serializadas por uma trava para que as verificacoes de CPF e e-mail e a atualizacao dos indices sejam
+ * atomicas; a espera pelo disco, quando a politica de sincronizacao exige, acontece fora dela e e compartilhada entre
+ * escritas concorrentes.
+ */
+public class PessoaEmbeddedRepository implements PessoaRepositoryPort, Closeable {
+
+    private static final Comparator<ChaveListagem> ORDEM_LISTAGEM =
+            Comparator.comparing(ChaveListagem::nome).thenComparing(ChaveListagem::cdDocPessoa);
+
+    private final LogPessoas log;
+    private final CursorPaginacao cursorPaginacao;
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+    // E-mail -> CPF compactado da pessoa que o usa
+    private final Map<String, Long> emails = new ConcurrentHashMap<>();
+    private final Map<TipoPessoaEnum, NavigableSet<ChaveListagem>> porTipo = new EnumMap<>(TipoPessoaEnum.class);
+
+    public PessoaEmbeddedRepository(LogPessoas log) {
+        this(log, new CursorPaginacao((String) null));
+    }
+
+    public PessoaEmbeddedRepository(LogPessoas log, CursorPaginacao cursorPaginacao) {
+        this.log = log;
+        this.cursorPaginacao = cursorPaginacao;
+        for (TipoPessoaEnum tipo : TipoPessoaEnum.values()) {
+            porTipo.put(tipo, new ConcurrentSkipListSet<>(ORDEM_LISTAGEM));
+        }
+        log.percorrer(this::indexar);
+    }
+
+    /**
+     * Grava a pessoa, substituindo o cadastro anterior do mesmo CPF, como o {@code PutItem} do DynamoDB.
+     *
+     * @throws IllegalArgumentException se o documento nao estiver no formato de CPF
+     * @throws EmailCadastradoException se o e-mail pertencer a outro CPF; nesse caso nada e gravado
+     */
+    @Override
+    public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+        gravar(List.of(pessoaModel), false);
+        return copiar(pessoaModel);
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        gravar(List.of(pessoaModel), true);
+        return copiar(pessoaModel);
+    }
+
+    /**
+     * Grava todas as pessoas em uma unica escrita no log, com uma unica espera pelo disco. Pessoas cujo e-mail pertence
+     * a outro CPF nao sao gravadas; as demais sao, e so entao {@link EmailCadastradoException} e lancada.
+     */
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        if (!pessoas.isEmpty()) {
+            gravar(pessoas, false);
+        }
+    }
+
+    /**
+     * Verifica todas as pessoas e grava as novas em uma unica escrita no log, sob a mesma trava. Se a escrita falhar,
+     * as pessoas que seriam gravadas recebem {@code FALHA}.
+     */
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        ResultadoCadastroModel[] resultados = new ResultadoCadastroModel[pessoas.size()];
+        List<PessoaModel> novas = new ArrayList<>(pessoas.size());
+        long marca = -1;
+        boolean gravou = false;
+        travaEscrita.lock();
+        try {
+            for (int i = 0; i < pessoas.size(); i++) {
+                PessoaModel pessoa = pessoas.get(i);
+                String cdDocPessoa = pessoa.getCdDocPessoa();
+                if (pessoa.getCpf() == Cpf.INVALIDO) {
+                    resultados[i] = ResultadoCadastroModel.falha(cdDocPessoa, "Documento fora do formato de CPF");
+                } else if (log.contem(pessoa.getCpf())) {
+                    resultados[i] = ResultadoCadastroModel.duplicado(cdDocPessoa);
+                } else if (pessoa.getDsEmail() != null && emails.containsKey(pessoa.getDsEmail())) {
+                    resultados[i] = ResultadoCadastroModel.emailDuplicado(cdDocPessoa);
+                } else {
+                    novas.add(pessoa);
+                }
+            }
+            if (!novas.isEmpty()) {
+                marca = log.gravar(novas);
+                novas.forEach(this::indexar);
+            }
+            gravou = true;
+        } catch (RuntimeException e) {
+            marca = -1;
+        } finally {
+            travaEscrita.unlock();
+        }
+        if (marca >= 0) {
+            log.aguardarDurabilidade(marca);
+        }
+
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i] == null) {
+                String cdDocPessoa = pessoas.get(i).getCdDocPessoa();
+                resultados[i] = gravou
+                        ? ResultadoCadastroModel.criado(cdDocPessoa)
+                        : ResultadoCadastroModel.falha(cdDocPessoa, "Nao foi possivel concluir o cadastro; tente novamente");
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+        return Optional.ofNullable(log.buscar(Cpf.compactar(cdDocPessoa)));
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        Long cpf = dsEmail == null ? null : emails.get(dsEmail);
+        return cpf == null ? Optional.empty() : Optional.ofNullable(log.buscar(cpf));
+    }
+
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        NavigableSet<ChaveListagem> indice = porTipo.get(tpPessoa);
+        ChaveListagem inicio = decodificarCursor(cursor, tpPessoa);
+        Iterator<ChaveListagem> chaves = (inicio == null ? indice : indice.tailSet(inicio, false)).iterator();
+
+        List<PessoaModel> pessoas = new ArrayList<>(Math.min(tamanho, 64));
+        ChaveListagem ultima = null;
+        while (pessoas.size() < tamanho && chaves.hasNext()) {
+            ChaveListagem chave = chaves.next();
+            // A chave pode ter sido trocada por uma escrita concorrente depois de lida do indice
+            PessoaModel pessoa = log.buscar(chave.cpf());
+            if (pessoa != null && pessoa.getTpPessoa() == tpPessoa && chave.nome().equals(pessoa.getNmPessoa())) {
+                pessoas.add(pessoa);
+                ultima = chave;
+            }
+        }
+        String proximo = ultima != null && chaves.hasNext() ? cursorPaginacao.codificar(tpPessoa, ultima.nome(), ultima.cdDocPessoa()) : null;
+        return new PaginaPessoasModel(pessoas, proximo);
+    }
+
+    /**
+     * Le o log local em sequencia; os segmentos e o limite de leitura existem para o scan do DynamoDB e sao ignorados.
+     */
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        log.percorrer(consumidor);
+    }
+
+    @Override
+    public boolean existePessoa(String cdDocPessoa) {
+        return log.contem(Cpf.compactar(cdDocPessoa));
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private void gravar(Collection<PessoaModel> pessoas, boolean somenteNovas) {
+        long marca = -1;
+        List<String> recusadas = new ArrayList<>();
+        travaEscrita.lock();
+        try {
+            // Versao gravada de cada CPF antes desta escrita, a versao final de cada CPF no lote e o dono de cada
+            // e-mail ja aceito no lote
+            MapaCpf<PessoaModel> anteriores = new MapaCpf<>(pessoas.size());
+            MapaCpf<PessoaModel> doLote = new MapaCpf<>(pessoas.size());
+            Map<String, Long> emailsDoLote = new HashMap<>();
+            List<PessoaModel> aceitas = new ArrayList<>(pessoas.size());
+            for (PessoaModel pessoa : pessoas) {
+                long cpf = pessoa.getCpf();
+                if (cpf == Cpf.INVALIDO) {
+                    throw new IllegalArgumentException("Documento fora do formato de CPF: " + pessoa.getCdDocPessoa());
+                }
+                if (somenteNovas) {
+                    verificarDisponivel(pessoa);
+                } else if (!emailLivreOuDoCpf(pessoa, emailsDoLote)) {
+                    recusadas.add(pessoa.getCdDocPessoa());
+                    continue;
+                }
+                if (pessoa.getDsEmail() != null) {
+                    emailsDoLote.put(pessoa.getDsEmail(), cpf);
+                }
+                PessoaModel anterior = doLote.contem(cpf) ? null : log.buscar(cpf);
+                if (anterior != null) {
+                    anteriores.colocar(cpf, anterior);
+                }
+                doLote.colocar(cpf, pessoa);
+                aceitas.add(pessoa);
+            }
+
+            if (!aceitas.isEmpty()) {
+                marca = log.gravar(aceitas);
+                anteriores.paraCada((cpf, anterior) -> desindexar(anterior));
+                doLote.paraCada((cpf, pessoa) -> indexar(pessoa));
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+        if (marca >= 0) {
+            log.aguardarDurabilidade(marca);
+        }
+        if (!recusadas.isEmpty()) {
+            throw new EmailCadastradoException("E-mail reservado para outro CPF; nao gravados: "
+                    + String.join(", ", recusadas));
+        }
+    }
+
+    private boolean emailLivreOuDoCpf(PessoaModel pessoa, Map<String, Long> emailsDoLote) {
+        if (pessoa.getDsEmail() == null) {
+            return true;
+        }
+        Long dono = emailsDoLote.containsKey(pessoa.getDsEmail())
+                ? emailsDoLote.get(pessoa.getDsEmail())
+                : emails.get(pessoa.getDsEmail());
+        return dono == null || dono == pessoa.getCpf();
+    }
+
+    private void verificarDisponivel(PessoaModel pessoa) {
+        if (log.contem(pessoa.getCpf())) {
+            throw new CpfCadastradoException("Cliente ja cadastrado com o CPF informado");
+        }
+        if (pessoa.getDsEmail() != null && emails.containsKey(pessoa.getDsEmail())) {
+            throw new EmailCadastradoException("Cliente ja cadastrado com o e-mail informado");
+        }
+    }
+
+    private void indexar(PessoaModel pessoa) {
+        if (pessoa.getDsEmail() != null) {
+            emails.put(pessoa.getDsEmail(), pessoa.getCpf());
+        }
+        if (pessoa.getTpPessoa() != null && pessoa.getNmPessoa() != null) {
+            porTipo.get(pessoa.getTpPessoa()).add(chaveListagem(pessoa));
+        }
+    }
+
+    private void desindexar(PessoaModel pessoa) {
+        if (pessoa.getDsEmail() != null) {
+            emails.remove(pessoa.getDsEmail(), pessoa.getCpf());
+        }
+        if (pessoa.getTpPessoa() != null && pessoa.getNmPessoa() != null) {
+            porTipo.get(pessoa.getTpPessoa()).remove(chaveListagem(pessoa));
+        }
+    }
+
+    private static ChaveListagem chaveListagem(PessoaModel pessoa) {
+        return new ChaveListagem(pessoa.getNmPessoa(), pessoa.getCdDocPessoa(), pessoa.getCpf());
+    }
+
+    private ChaveListagem decodificarCursor(String cursor, TipoPessoaEnum tpPessoa) {
+        String[] posicao = cursorPaginacao.decodificar(cursor, tpPessoa);
+        if (posicao == null) {
+            return null;
+        }
+        // O CPF compactado nao entra na ordem; a pagina seguinte comeca apos o par nome e documento do cursor
+        return new ChaveListagem(posicao[0], posicao[1], Cpf.compactar(posicao[1]));
+    }
+
+    private static PessoaModel copiar(PessoaModel pessoa) {
+        return new PessoaModel(pessoa.getCdDocPessoa(), pessoa.getNmPessoa(), pessoa.getTpPessoa(),
+                pessoa.getDsEmail());
+    }
+
+    // Mesma ordem do indice por tipo da tabela: nome e, no empate, o documento
+    private record ChaveListagem(String nome, String cdDocPessoa, long cpf) {
+    }
+}
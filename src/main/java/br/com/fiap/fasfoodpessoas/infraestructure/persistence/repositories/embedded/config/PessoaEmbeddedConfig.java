@@ -0,0 +1,111 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.config;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CursorPaginacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.PessoaEmbeddedRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("embedded")
+public class PessoaEmbeddedConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PessoaEmbeddedConfig.class);
+
+    @Value("${pessoas.embedded.diretorio:pessoas-log}")
+    private Path diretorio;
+
+    @Value("${pessoas.embedded.sincronizacao:INTERVALO}")
+    private LogPessoas.Sincronizacao sincronizacao;
+
+    @Value("${pessoas.embedded.intervalo-sincronizacao:100ms}")
+    private Duration intervaloSincronizacao;
+
+    @Value("${pessoas.embedded.tamanho-maximo-segmento:64MB}")
+    private DataSize tamanhoMaximoSegmento;
+
+    @Value("${pessoas.embedded.compactacao.intervalo:10m}")
+    private Duration intervaloCompactacao;
+
+    @Value("${pessoas.embedded.compactacao.fracao-minima-lixo:0.5}")
+    private double fracaoMinimaLixo;
+
+    // Compactacao para no fim da copia em andamento: interromper a thread fecharia os canais do log
+    private final ScheduledExecutorService compactador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("log-pessoas-compactacao").daemon().factory());
+
+    /**
+     * Substitui o repositorio do DynamoDB, com o mesmo nome de bean, como base da porta montada em
+     * {@code PessoaCacheConfig}. A abertura rele o log inteiro e acontece antes de a aplicacao aceitar requisicoes.
+     */
+    @Bean(name = "pessoaRepository", destroyMethod = "close")
+    public PessoaEmbeddedRepository pessoaEmbeddedRepository(CursorPaginacao cursorPaginacao,
+                                                             ObjectProvider<MeterRegistry> meterRegistry)
+            throws IOException {
+        long inicio = System.nanoTime();
+        LogPessoas log = LogPessoas.abrir(diretorio, sincronizacao, intervaloSincronizacao,
+                tamanhoMaximoSegmento.toBytes());
+        PessoaEmbeddedRepository repository = new PessoaEmbeddedRepository(log, cursorPaginacao);
+        LOGGER.info("Log de pessoas aberto em {}: {} registros em {} segmentos, {} ms", diretorio, log.getRegistros(),
+                log.getSegmentos(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        compactador.scheduleWithFixedDelay(() -> compactar(log), intervaloCompactacao.toMillis(),
+                intervaloCompactacao.toMillis(), TimeUnit.MILLISECONDS);
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("pessoas.embedded.registros", log, LogPessoas::getRegistros)
+                    .register(registry);
+            Gauge.builder("pessoas.embedded.segmentos", log, LogPessoas::getSegmentos)
+                    .register(registry);
+            Gauge.builder("pessoas.embedded.disco", log, LogPessoas::getBytesEmDisco)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("pessoas.embedded.lixo", log, LogPessoas::getFracaoLixo)
+                    .register(registry);
+            FunctionCounter.builder("pessoas.embedded.compactacoes", log, LogPessoas::getCompactacoes)
+                    .register(registry);
+        });
+        return repository;
+    }
+
+    /**
+     * Compacta quando a fracao de registros substituidos passa do minimo configurado. Uma falha mantem os segmentos
+     * como estao e a proxima tentativa acontece no intervalo seguinte.
+     */
+    void compactar(LogPessoas log) {
+        double lixo = log.getFracaoLixo();
+        if (lixo < fracaoMinimaLixo) {
+            return;
+        }
+        try {
+            long antes = log.getBytesEmDisco();
+            if (log.compactar()) {
+                LOGGER.info("Log de pessoas compactado: {} bytes em disco, antes {}", log.getBytesEmDisco(), antes);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Nao foi possivel compactar o log de pessoas", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        compactador.shutdown();
+    }
+}
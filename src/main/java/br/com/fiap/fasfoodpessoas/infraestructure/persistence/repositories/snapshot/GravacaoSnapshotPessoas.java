@@ -0,0 +1,288 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot;
+
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas.CABECALHO;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas.MAXIMO_REGISTROS;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas.TAMANHO_CHAVE;
+import static br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas.TAMANHO_REGISTRO;
+
+/**
+ * Grava um {@link SnapshotPessoas} a partir de pessoas recebidas em qualquer ordem, como as de um scan da tabela. Os
+ * registros vao para um arquivo temporario na ordem de chegada e cada pessoa gera uma chave {@code long} com a ordem do
+ * CPF ({@link Cpf#ordem(long)}) e a posicao do registro. As chaves sao ordenadas em blocos de no maximo
+ * {@value #CHAVES_POR_BLOCO} no heap e gravadas em outro temporario; ao concluir, os blocos sao intercalados a partir do
+ * arquivo mapeado, sem repetir CPFs, e o arquivo final e escrito em sequencia a partir dos temporarios. Assim o heap
+ * usado nao depende do tamanho da tabela. O arquivo final e gravado ao lado do destino e movido atomicamente para o
+ * lugar, entao leitores veem o snapshot anterior ou o novo, nunca um arquivo parcial.
+ * <p>
+ * Nao e thread-safe e deve haver um unico gravador por arquivo de destino.
+ */
+public final class GravacaoSnapshotPessoas implements Closeable {
+
+    // Indice do registro nos bits baixos da chave; 2^23 > MAXIMO_REGISTROS e a ordem do CPF ocupa os 40 bits de cima
+    private static final int BITS_INDICE = 23;
+    private static final long MASCARA_INDICE = (1L << BITS_INDICE) - 1;
+    private static final int TAMANHO_BUFFER = 256 * TAMANHO_REGISTRO;
+    // 8 MB de chaves no heap por vez; uma tabela no limite do formato gera 8 blocos
+    static final int CHAVES_POR_BLOCO = 1 << 20;
+
+    private final Path destino;
+    private final Path registros;
+    private final Path blocos;
+    private final Path indice;
+    private final FileChannel canalRegistros;
+    private final FileChannel canalBlocos;
+    private final FileChannel canalIndice;
+    private final int chavesPorBloco;
+    private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+    // Posicao em canalBlocos do fim de cada bloco ja ordenado
+    private final List<Long> fimBlocos = new ArrayList<>();
+    private long[] chaves = new long[1024];
+    private int pendentes;
+    private int quantidade;
+    private long descartadas;
+
+    private GravacaoSnapshotPessoas(Path destino, int chavesPorBloco) throws IOException {
+        this.destino = destino;
+        this.chavesPorBloco = chavesPorBloco;
+        this.registros = temporario(destino, ".registros");
+        this.blocos = temporario(destino, ".blocos");
+        this.indice = temporario(destino, ".indice");
+        this.canalRegistros = abrirTemporario(registros);
+        this.canalBlocos = abrirTemporario(blocos);
+        this.canalIndice = abrirTemporario(indice);
+    }
+
+    public static GravacaoSnapshotPessoas iniciar(Path destino) throws IOException {
+        return iniciar(destino, CHAVES_POR_BLOCO);
+    }
+
+    /**
+     * Como {@link #iniciar(Path)}, ordenando no heap blocos de no maximo {@code chavesPorBloco} chaves.
+     */
+    public static GravacaoSnapshotPessoas iniciar(Path destino, int chavesPorBloco) throws IOException {
+        if (chavesPorBloco < 1) {
+            throw new IllegalArgumentException("chavesPorBloco deve ser positivo: " + chavesPorBloco);
+        }
+        Path diretorio = destino.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        return new GravacaoSnapshotPessoas(destino, chavesPorBloco);
+    }
+
+    /**
+     * Acrescenta a pessoa ao snapshot. Pessoas sem CPF compactavel, com nome ou email maiores que os campos do
+     * registro ou alem de {@link SnapshotPessoas#MAXIMO_REGISTROS} sao descartadas e continuam sendo lidas do
+     * repositorio. Se o mesmo CPF aparecer mais de uma vez, fica a ultima ocorrencia.
+     */
+    public boolean adicionar(PessoaModel pessoa) {
+        if (quantidade == MAXIMO_REGISTROS) {
+            descartadas++;
+            return false;
+        }
+        if (pendentes == chavesPorBloco) {
+            ordenarBloco();
+        }
+        if (buffer.remaining() < TAMANHO_REGISTRO) {
+            descarregar();
+        }
+        if (!SnapshotPessoas.escreverRegistro(pessoa, buffer, buffer.position())) {
+            descartadas++;
+            return false;
+        }
+        buffer.position(buffer.position() + TAMANHO_REGISTRO);
+        if (pendentes == chaves.length) {
+            chaves = Arrays.copyOf(chaves, Math.min(chaves.length * 2, chavesPorBloco));
+        }
+        chaves[pendentes++] = Cpf.ordem(pessoa.getCpf()) << BITS_INDICE | quantidade;
+        quantidade++;
+        return true;
+    }
+
+    /**
+     * Escreve o snapshot no destino, substituindo o anterior, e o devolve aberto.
+     *
+     * @param geradoEm instante gravado no cabecalho; para um scan, o inicio da leitura, ja que escritas posteriores
+     *                 podem nao estar no snapshot
+     */
+    public SnapshotPessoas concluir(Instant geradoEm) throws IOException {
+        escrever(canalRegistros, null);
+        gravarBloco();
+        int distintos = intercalar();
+
+        Path temporario = temporario(destino, ".tmp");
+        try (FileChannel saida = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer origem = canalRegistros.map(FileChannel.MapMode.READ_ONLY, 0, (long) quantidade * TAMANHO_REGISTRO);
+            ByteBuffer ordenadas = canalIndice.map(FileChannel.MapMode.READ_ONLY, 0, (long) distintos * TAMANHO_CHAVE);
+            CRC32C crc = new CRC32C();
+            saida.position(CABECALHO);
+            for (int i = 0; i < distintos; i++) {
+                reservar(saida, crc, TAMANHO_CHAVE);
+                buffer.putLong(origem.getLong(posicao(ordenadas.getLong(i * TAMANHO_CHAVE))));
+            }
+            for (int i = 0; i < distintos; i++) {
+                reservar(saida, crc, TAMANHO_REGISTRO);
+                buffer.put(origem.slice(posicao(ordenadas.getLong(i * TAMANHO_CHAVE)), TAMANHO_REGISTRO));
+            }
+            escrever(saida, crc);
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+            SnapshotPessoas.escreverCabecalho(cabecalho, distintos, geradoEm, crc.getValue());
+            while (cabecalho.hasRemaining()) {
+                saida.write(cabecalho, cabecalho.position());
+            }
+            saida.force(true);
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return SnapshotPessoas.abrir(destino);
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public long getDescartadas() {
+        return descartadas;
+    }
+
+    /**
+     * Fecha e apaga os arquivos temporarios; o destino so e alterado por {@link #concluir(Instant)}.
+     */
+    @Override
+    public void close() throws IOException {
+        try (canalRegistros; canalBlocos; canalIndice) {
+            // fecha os tres canais mesmo que um deles falhe
+        } finally {
+            Files.deleteIfExists(registros);
+            Files.deleteIfExists(blocos);
+            Files.deleteIfExists(indice);
+            Files.deleteIfExists(temporario(destino, ".tmp"));
+        }
+    }
+
+    private void ordenarBloco() {
+        try {
+            gravarBloco();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Os registros pendentes vao antes para o disco, ja que o buffer passa a ser usado para as chaves
+    private void gravarBloco() throws IOException {
+        if (pendentes == 0) {
+            return;
+        }
+        escrever(canalRegistros, null);
+        Arrays.sort(chaves, 0, pendentes);
+        for (int i = 0; i < pendentes; i++) {
+            reservar(canalBlocos, null, TAMANHO_CHAVE);
+            buffer.putLong(chaves[i]);
+        }
+        escrever(canalBlocos, null);
+        fimBlocos.add(canalBlocos.position());
+        pendentes = 0;
+    }
+
+    /**
+     * Intercala os blocos ordenados em canalIndice e devolve quantos CPFs distintos ficaram. Como o indice do registro
+     * ocupa os bits baixos, ocorrencias do mesmo CPF saem juntas e em ordem de chegada: fica a ultima de cada CPF.
+     */
+    private int intercalar() throws IOException {
+        ByteBuffer origem = canalBlocos.map(FileChannel.MapMode.READ_ONLY, 0, canalBlocos.size());
+        int quantidadeBlocos = fimBlocos.size();
+        int[] proxima = new int[quantidadeBlocos];
+        int[] fim = new int[quantidadeBlocos];
+        for (int bloco = 0; bloco < quantidadeBlocos; bloco++) {
+            proxima[bloco] = bloco == 0 ? 0 : fim[bloco - 1];
+            fim[bloco] = fimBlocos.get(bloco).intValue();
+        }
+
+        int distintos = 0;
+        long anterior = -1;
+        while (true) {
+            int menor = -1;
+            for (int bloco = 0; bloco < quantidadeBlocos; bloco++) {
+                if (proxima[bloco] < fim[bloco]
+                        && (menor < 0 || origem.getLong(proxima[bloco]) < origem.getLong(proxima[menor]))) {
+                    menor = bloco;
+                }
+            }
+            if (menor < 0) {
+                break;
+            }
+            long chave = origem.getLong(proxima[menor]);
+            proxima[menor] += TAMANHO_CHAVE;
+            if (anterior >= 0 && anterior >>> BITS_INDICE != chave >>> BITS_INDICE) {
+                reservar(canalIndice, null, TAMANHO_CHAVE);
+                buffer.putLong(anterior);
+                distintos++;
+            }
+            anterior = chave;
+        }
+        if (anterior >= 0) {
+            reservar(canalIndice, null, TAMANHO_CHAVE);
+            buffer.putLong(anterior);
+            distintos++;
+        }
+        escrever(canalIndice, null);
+        return distintos;
+    }
+
+    private static Path temporario(Path destino, String sufixo) {
+        return destino.resolveSibling(destino.getFileName() + sufixo);
+    }
+
+    private static FileChannel abrirTemporario(Path arquivo) throws IOException {
+        return FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static int posicao(long chave) {
+        return (int) (chave & MASCARA_INDICE) * TAMANHO_REGISTRO;
+    }
+
+    private void descarregar() {
+        try {
+            escrever(canalRegistros, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void reservar(FileChannel canal, CRC32C crc, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            escrever(canal, crc);
+        }
+    }
+
+    private void escrever(FileChannel canal, CRC32C crc) throws IOException {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+}
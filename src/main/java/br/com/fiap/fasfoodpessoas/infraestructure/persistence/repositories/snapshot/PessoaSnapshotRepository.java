@@ -0,0 +1,229 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link PessoaRepositoryPort} que responde buscas por CPF a partir de um {@link SnapshotPessoas}
+ * carregado do disco, para que um pod recem-criado atenda sem esperar o DynamoDB nem aquecer caches. O DynamoDB
+ * continua sendo a fonte da verdade: CPFs ausentes do snapshot vao ao repositorio, um snapshot mais antigo que a idade
+ * maxima deixa de ser usado e CPFs escritos por este pod desde o inicio do scan que gerou o snapshot sao sempre lidos
+ * do repositorio. Escritas feitas por outros pods aparecem no snapshot seguinte, como nos caches com TTL.
+ */
+public class PessoaSnapshotRepository implements PessoaRepositoryPort {
+
+    // Scans leem com consistencia eventual: uma escrita concluida pouco antes do inicio do scan pode nao estar nele
+    static final Duration MARGEM_CONSISTENCIA = Duration.ofMinutes(1);
+
+    private final PessoaRepositoryPort delegate;
+    private final Duration idadeMaxima;
+    private final Clock relogio;
+    // CPF compactado -> instante (epoch em milissegundos) da ultima escrita por este pod
+    private final Map<Long, Long> escritos = new ConcurrentHashMap<>();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private volatile SnapshotPessoas snapshot;
+
+    public PessoaSnapshotRepository(PessoaRepositoryPort delegate, Duration idadeMaxima, Clock relogio) {
+        this.delegate = delegate;
+        this.idadeMaxima = idadeMaxima;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Passa a responder pelo snapshot informado. Escritas anteriores ao inicio do scan que o gerou, descontada a margem
+     * de consistencia, ja estao nele e deixam de ser acompanhadas.
+     */
+    public void carregar(SnapshotPessoas novo) {
+        snapshot = novo;
+        long limite = novo.getGeradoEm().minus(MARGEM_CONSISTENCIA).toEpochMilli();
+        escritos.values().removeIf(instante -> instante < limite);
+    }
+
+    /**
+     * Deixa de acompanhar escritas que nenhum snapshot ainda utilizavel pode contradizer: um snapshot gerado antes da
+     * idade maxima nao e consultado e um mais novo ja inclui as escritas anteriores ao seu inicio menos a margem. Sem
+     * isso, enquanto nenhum snapshot novo e carregado, o acompanhamento guardaria cada CPF escrito pelo pod.
+     */
+    public void descartarEscritasAntigas() {
+        long limite = relogio.instant().minus(idadeMaxima).minus(MARGEM_CONSISTENCIA).toEpochMilli();
+        escritos.values().removeIf(instante -> instante < limite);
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+        registrarEscrita(pessoaModel);
+        try {
+            return delegate.cadastrarPessoa(pessoaModel);
+        } finally {
+            registrarEscrita(pessoaModel);
+        }
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        registrarEscrita(pessoaModel);
+        try {
+            return delegate.cadastrarPessoaSeNaoExistir(pessoaModel);
+        } finally {
+            registrarEscrita(pessoaModel);
+        }
+    }
+
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        // Registra antes e depois: o instante que vale para descartar o acompanhamento e o do fim da escrita
+        pessoas.forEach(this::registrarEscrita);
+        try {
+            delegate.cadastrarPessoasEmLote(pessoas);
+        } finally {
+            pessoas.forEach(this::registrarEscrita);
+        }
+    }
+
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        pessoas.forEach(this::registrarEscrita);
+        try {
+            return delegate.cadastrarPessoasSeNaoExistirem(pessoas);
+        } finally {
+            pessoas.forEach(this::registrarEscrita);
+        }
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+        PessoaModel doSnapshot = buscarNoSnapshot(Cpf.compactar(cdDocPessoa));
+        return doSnapshot != null ? Optional.of(doSnapshot) : delegate.buscarPessoaPorCpf(cdDocPessoa);
+    }
+
+    // O registro do snapshot tem todos os campos e atende qualquer projecao
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        PessoaModel doSnapshot = buscarNoSnapshot(Cpf.compactar(cdDocPessoa));
+        return doSnapshot != null ? Optional.of(doSnapshot) : delegate.buscarPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        return delegate.buscarPessoaPorEmail(dsEmail);
+    }
+
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return delegate.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        delegate.exportarPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        List<String> distintos = cdDocPessoas.stream().distinct().toList();
+        MapaCpf<PessoaModel> encontradas = new MapaCpf<>(distintos.size());
+        List<String> ausentes = new ArrayList<>();
+        for (String cdDocPessoa : distintos) {
+            PessoaModel doSnapshot = buscarNoSnapshot(Cpf.compactar(cdDocPessoa));
+            if (doSnapshot != null) {
+                encontradas.colocar(doSnapshot.getCpf(), doSnapshot);
+            } else {
+                ausentes.add(cdDocPessoa);
+            }
+        }
+        if (ausentes.isEmpty()) {
+            return ordenar(distintos, encontradas, List.of());
+        }
+
+        List<PessoaModel> foraDoFormato = new ArrayList<>();
+        for (PessoaModel pessoa : delegate.buscarPessoasPorCpfs(ausentes)) {
+            if (pessoa.getCpf() == Cpf.INVALIDO) {
+                foraDoFormato.add(pessoa);
+            } else {
+                encontradas.colocarSeAusente(pessoa.getCpf(), pessoa);
+            }
+        }
+        return ordenar(distintos, encontradas, foraDoFormato);
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    /**
+     * CPFs escritos por este pod que ainda sao lidos do repositorio mesmo presentes no snapshot.
+     */
+    public int getEscritasAcompanhadas() {
+        return escritos.size();
+    }
+
+    /**
+     * Registros do snapshot em uso, ou zero se nenhum foi carregado.
+     */
+    public int getRegistros() {
+        SnapshotPessoas atual = snapshot;
+        return atual == null ? 0 : atual.getQuantidade();
+    }
+
+    /**
+     * Idade do snapshot em uso em segundos, ou {@link Double#NaN} se nenhum foi carregado.
+     */
+    public double getIdadeEmSegundos() {
+        SnapshotPessoas atual = snapshot;
+        return atual == null ? Double.NaN : Duration.between(atual.getGeradoEm(), relogio.instant()).toMillis() / 1000.0;
+    }
+
+    private PessoaModel buscarNoSnapshot(long cpf) {
+        SnapshotPessoas atual = snapshot;
+        if (atual == null || cpf == Cpf.INVALIDO || escritos.containsKey(cpf)
+                || atual.getGeradoEm().plus(idadeMaxima).isBefore(relogio.instant())) {
+            return null;
+        }
+        PessoaModel pessoa = atual.buscar(cpf);
+        (pessoa != null ? acertos : faltas).increment();
+        return pessoa;
+    }
+
+    private void registrarEscrita(PessoaModel pessoa) {
+        if (pessoa.getCpf() != Cpf.INVALIDO) {
+            escritos.put(pessoa.getCpf(), relogio.millis());
+        }
+    }
+
+    private static List<PessoaModel> ordenar(List<String> distintos, MapaCpf<PessoaModel> encontradas,
+                                             List<PessoaModel> foraDoFormato) {
+        List<PessoaModel> pessoas = new ArrayList<>(encontradas.tamanho() + foraDoFormato.size());
+        for (String cdDocPessoa : distintos) {
+            long cpf = Cpf.compactar(cdDocPessoa);
+            PessoaModel pessoa = cpf != Cpf.INVALIDO ? encontradas.buscar(cpf) : null;
+            if (pessoa != null) {
+                pessoas.add(pessoa);
+            }
+        }
+        pessoas.addAll(foraDoFormato);
+        return pessoas;
+    }
+}
@@ -0,0 +1,214 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot local da tabela Pessoas, mapeado em memoria e consultado direto no mapeamento: abrir o arquivo nao copia
+ * registros para o heap, apenas confere o checksum, e cada busca faz uma pesquisa binaria no indice de CPFs e le um
+ * registro de tamanho fixo. As paginas sao carregadas pelo sistema operacional sob demanda e ficam no page cache, fora
+ * do heap e do limite de memoria direta. Instancias sao imutaveis e podem ser consultadas por varias threads.
+ * <p>
+ * Formato (versao {@value #VERSAO}, inteiros big-endian), gravado por {@link GravacaoSnapshotPessoas}:
+ * <ul>
+ *     <li>cabecalho de {@value #CABECALHO} bytes: magico {@code FFPESSOA}, versao, tamanho do registro, quantidade
+ *     de registros, instante de geracao (epoch em milissegundos) e CRC32C de todo o arquivo apos o cabecalho;</li>
+ *     <li>indice: os CPFs compactados ({@link Cpf#compactar(CharSequence)}) em ordem crescente, 8 bytes cada;</li>
+ *     <li>registros de {@value #TAMANHO_REGISTRO} bytes na mesma ordem do indice: CPF, tipo (ordinal + 1; 0 = nulo) e
+ *     nome e email com tamanho em UTF-8 (-1 = nulo) seguido dos bytes, em campos de tamanho fixo.</li>
+ * </ul>
+ * Mudancas de layout, inclusive reordenar {@link TipoPessoaEnum}, exigem uma nova versao; arquivos de outra versao sao
+ * recusados na abertura.
+ */
+public final class SnapshotPessoas {
+
+    static final long MAGICO = 0x4646504553534F41L;
+    static final int VERSAO = 1;
+    static final int CABECALHO = 64;
+    static final int TAMANHO_REGISTRO = 256;
+    static final int TAMANHO_CHAVE = Long.BYTES;
+
+    // O arquivo inteiro cabe em um unico MappedByteBuffer
+    static final int MAXIMO_REGISTROS = (Integer.MAX_VALUE - CABECALHO) / (TAMANHO_CHAVE + TAMANHO_REGISTRO);
+
+    // Cabecalho
+    private static final int POSICAO_VERSAO = 8;
+    private static final int POSICAO_TAMANHO_REGISTRO = 12;
+    private static final int POSICAO_QUANTIDADE = 16;
+    private static final int POSICAO_GERADO_EM = 24;
+    private static final int POSICAO_CHECKSUM = 32;
+
+    // Registro
+    private static final int TIPO = 8;
+    private static final int RESERVADO = 9;
+    private static final int NOME = 10;
+    private static final int TAMANHO_NOME = 120;
+    private static final int EMAIL = NOME + Short.BYTES + TAMANHO_NOME;
+    private static final int TAMANHO_EMAIL = TAMANHO_REGISTRO - EMAIL - Short.BYTES;
+
+    private static final TipoPessoaEnum[] TIPOS = TipoPessoaEnum.values();
+
+    private final Path arquivo;
+    private final ByteBuffer dados;
+    private final int quantidade;
+    private final int inicioRegistros;
+    private final Instant geradoEm;
+
+    private SnapshotPessoas(Path arquivo, ByteBuffer dados, int quantidade, Instant geradoEm) {
+        this.arquivo = arquivo;
+        this.dados = dados;
+        this.quantidade = quantidade;
+        this.inicioRegistros = CABECALHO + quantidade * TAMANHO_CHAVE;
+        this.geradoEm = geradoEm;
+    }
+
+    /**
+     * Mapeia o arquivo somente para leitura e confere magico, versao, tamanho e checksum. O mapeamento continua valido
+     * depois que o arquivo e substituido por uma nova gravacao e e liberado quando a instancia deixa de ser usada.
+     *
+     * @throws IOException se o arquivo nao puder ser lido ou nao for um snapshot valido desta versao
+     */
+    public static SnapshotPessoas abrir(Path arquivo) throws IOException {
+        ByteBuffer dados;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw invalido(arquivo, "tamanho " + tamanho + " fora dos limites");
+            }
+            dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+
+        if (dados.getLong(0) != MAGICO) {
+            throw invalido(arquivo, "nao e um snapshot de pessoas");
+        }
+        int versao = dados.getInt(POSICAO_VERSAO);
+        if (versao != VERSAO || dados.getInt(POSICAO_TAMANHO_REGISTRO) != TAMANHO_REGISTRO) {
+            throw invalido(arquivo, "versao " + versao + " nao suportada");
+        }
+        int quantidade = dados.getInt(POSICAO_QUANTIDADE);
+        if (quantidade < 0 || quantidade > MAXIMO_REGISTROS || dados.capacity() != tamanhoArquivo(quantidade)) {
+            throw invalido(arquivo, "tamanho incompativel com " + quantidade + " registros");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(dados.slice(CABECALHO, dados.capacity() - CABECALHO));
+        if (crc.getValue() != dados.getLong(POSICAO_CHECKSUM)) {
+            throw invalido(arquivo, "checksum nao confere");
+        }
+        return new SnapshotPessoas(arquivo, dados, quantidade, Instant.ofEpochMilli(dados.getLong(POSICAO_GERADO_EM)));
+    }
+
+    /**
+     * Pessoa do CPF compactado, ou {@code null} se o CPF nao estiver no snapshot.
+     */
+    public PessoaModel buscar(long cpf) {
+        if (cpf == Cpf.INVALIDO) {
+            return null;
+        }
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            long chave = dados.getLong(CABECALHO + meio * TAMANHO_CHAVE);
+            if (chave < cpf) {
+                inicio = meio + 1;
+            } else if (chave > cpf) {
+                fim = meio - 1;
+            } else {
+                return ler(inicioRegistros + meio * TAMANHO_REGISTRO);
+            }
+        }
+        return null;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public Instant getGeradoEm() {
+        return geradoEm;
+    }
+
+    static long tamanhoArquivo(int quantidade) {
+        return CABECALHO + (long) quantidade * (TAMANHO_CHAVE + TAMANHO_REGISTRO);
+    }
+
+    static void escreverCabecalho(ByteBuffer destino, int quantidade, Instant geradoEm, long checksum) {
+        destino.putLong(0, MAGICO)
+                .putInt(POSICAO_VERSAO, VERSAO)
+                .putInt(POSICAO_TAMANHO_REGISTRO, TAMANHO_REGISTRO)
+                .putInt(POSICAO_QUANTIDADE, quantidade)
+                .putLong(POSICAO_GERADO_EM, geradoEm.toEpochMilli())
+                .putLong(POSICAO_CHECKSUM, checksum);
+    }
+
+    /**
+     * Escreve o registro da pessoa em {@code destino} a partir de {@code posicao}. Devolve {@code false}, sem escrever,
+     * se o documento nao for um CPF compactavel ou se nome ou email nao couberem nos campos do registro.
+     */
+    static boolean escreverRegistro(PessoaModel pessoa, ByteBuffer destino, int posicao) {
+        byte[] nome = bytes(pessoa.getNmPessoa());
+        byte[] email = bytes(pessoa.getDsEmail());
+        if (pessoa.getCpf() == Cpf.INVALIDO
+                || (nome != null && nome.length > TAMANHO_NOME) || (email != null && email.length > TAMANHO_EMAIL)) {
+            return false;
+        }
+        destino.putLong(posicao, pessoa.getCpf())
+                .put(posicao + TIPO, (byte) (pessoa.getTpPessoa() == null ? 0 : pessoa.getTpPessoa().ordinal() + 1))
+                .put(posicao + RESERVADO, (byte) 0);
+        escreverTexto(destino, posicao + NOME, nome, TAMANHO_NOME);
+        escreverTexto(destino, posicao + EMAIL, email, TAMANHO_EMAIL);
+        return true;
+    }
+
+    private PessoaModel ler(int posicao) {
+        byte tipo = dados.get(posicao + TIPO);
+        return new PessoaModel(Cpf.formatar(dados.getLong(posicao)), lerTexto(posicao + NOME),
+                tipo == 0 ? null : TIPOS[tipo - 1], lerTexto(posicao + EMAIL));
+    }
+
+    private String lerTexto(int posicao) {
+        short tamanho = dados.getShort(posicao);
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] texto = new byte[tamanho];
+        dados.get(posicao + Short.BYTES, texto);
+        return new String(texto, StandardCharsets.UTF_8);
+    }
+
+    private static void escreverTexto(ByteBuffer destino, int posicao, byte[] texto, int tamanhoCampo) {
+        destino.putShort(posicao, (short) (texto == null ? -1 : texto.length));
+        int inicio = posicao + Short.BYTES;
+        int preenchido = 0;
+        if (texto != null) {
+            destino.put(inicio, texto);
+            preenchido = texto.length;
+        }
+        // Bytes nao usados do campo zerados, para que o mesmo conteudo gere sempre o mesmo arquivo
+        for (int i = preenchido; i < tamanhoCampo; i++) {
+            destino.put(inicio + i, (byte) 0);
+        }
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static IOException invalido(Path arquivo, String motivo) {
+        return new IOException("Snapshot de pessoas invalido em " + arquivo + ": " + motivo);
+    }
+}
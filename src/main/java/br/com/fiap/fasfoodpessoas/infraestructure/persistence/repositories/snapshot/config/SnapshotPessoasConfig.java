@@ -0,0 +1,90 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.config;
+
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.PessoaSnapshotRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "pessoas.snapshot.habilitado", havingValue = "true")
+public class SnapshotPessoasConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotPessoasConfig.class);
+    private static final Duration INTERVALO_LIMPEZA = Duration.ofMinutes(1);
+
+    @Value("${pessoas.snapshot.arquivo:pessoas.snapshot}")
+    private Path arquivo;
+
+    @Value("${pessoas.snapshot.idade-maxima:1h}")
+    private Duration idadeMaxima;
+
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("snapshot-pessoas-escritas").daemon().factory());
+
+    /**
+     * Camada de snapshot, a mais interna da porta de repositorio montada em {@code PessoaCacheConfig}. O arquivo
+     * existente e mapeado aqui, antes de a aplicacao aceitar requisicoes; um arquivo ausente ou invalido apenas deixa
+     * as buscas seguirem para o DynamoDB ate a proxima gravacao. As escritas acompanhadas pelo repositorio sao
+     * descartadas a cada minuto, ja que com a gravacao desligada nenhum snapshot novo faria isso.
+     */
+    @Bean
+    public PessoaSnapshotRepository pessoaSnapshotRepository(@Qualifier("pessoaRepository") PessoaRepositoryPort pessoaRepository,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        PessoaSnapshotRepository repository = new PessoaSnapshotRepository(pessoaRepository, idadeMaxima, Clock.systemUTC());
+        if (Files.exists(arquivo)) {
+            try {
+                SnapshotPessoas snapshot = SnapshotPessoas.abrir(arquivo);
+                repository.carregar(snapshot);
+                LOGGER.info("Snapshot de pessoas carregado de {}: {} registros gerados em {}", arquivo,
+                        snapshot.getQuantidade(), snapshot.getGeradoEm());
+            } catch (IOException e) {
+                LOGGER.warn("Snapshot de pessoas ignorado; buscas seguirao para o DynamoDB", e);
+            }
+        }
+
+        agendador.scheduleWithFixedDelay(repository::descartarEscritasAntigas, INTERVALO_LIMPEZA.toMillis(),
+                INTERVALO_LIMPEZA.toMillis(), TimeUnit.MILLISECONDS);
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("pessoas.snapshot.registros", repository, PessoaSnapshotRepository::getRegistros)
+                    .register(registry);
+            Gauge.builder("pessoas.snapshot.idade", repository, PessoaSnapshotRepository::getIdadeEmSegundos)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("pessoas.snapshot.escritas", repository, PessoaSnapshotRepository::getEscritasAcompanhadas)
+                    .register(registry);
+            FunctionCounter.builder("pessoas.snapshot.consultas", repository, PessoaSnapshotRepository::getAcertos)
+                    .tag("resultado", "acerto")
+                    .register(registry);
+            FunctionCounter.builder("pessoas.snapshot.consultas", repository, PessoaSnapshotRepository::getFaltas)
+                    .tag("resultado", "falta")
+                    .register(registry);
+        });
+        return repository;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.config;
+
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.GravacaoSnapshotPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.PessoaSnapshotRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = {"pessoas.snapshot.habilitado", "pessoas.snapshot.gravacao.habilitada"}, havingValue = "true")
+public class SnapshotPessoasGravacaoInitializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotPessoasGravacaoInitializer.class);
+
+    @Value("${pessoas.snapshot.arquivo:pessoas.snapshot}")
+    private Path arquivo;
+
+    @Value("${pessoas.snapshot.gravacao.intervalo:30m}")
+    private Duration intervalo;
+
+    @Value("${pessoas.snapshot.gravacao.segmentos-scan:4}")
+    private int segmentosScan;
+
+    @Value("${pessoas.snapshot.gravacao.capacidade-leitura-por-segundo:100}")
+    private double capacidadeLeituraPorSegundo;
+
+    private final PessoaRepositoryPort pessoaRepository;
+    private final PessoaSnapshotRepository pessoaSnapshotRepository;
+    private final Clock relogio = Clock.systemUTC();
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("snapshot-pessoas").daemon().factory());
+
+    public SnapshotPessoasGravacaoInitializer(@Qualifier("pessoaRepository") PessoaRepositoryPort pessoaRepository,
+                                              PessoaSnapshotRepository pessoaSnapshotRepository) {
+        this.pessoaRepository = pessoaRepository;
+        this.pessoaSnapshotRepository = pessoaSnapshotRepository;
+    }
+
+    /**
+     * Agenda a gravacao periodica. A primeira espera o snapshot carregado na subida completar um intervalo, para que
+     * pods reiniciados em sequencia nao repitam o scan da tabela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void agendarGravacao() {
+        double idade = pessoaSnapshotRepository.getIdadeEmSegundos();
+        long atraso = Double.isNaN(idade) ? 0 : Math.max(0, intervalo.toMillis() - (long) (idade * 1000));
+        agendador.scheduleWithFixedDelay(this::gravar, atraso, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Le a tabela por scan paralelo com teto de leitura, grava o arquivo e passa a responder por ele. Uma falha mantem
+     * o snapshot anterior e a proxima tentativa acontece no intervalo seguinte.
+     */
+    void gravar() {
+        Instant inicio = relogio.instant();
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(arquivo)) {
+            pessoaRepository.exportarPessoas(segmentosScan, capacidadeLeituraPorSegundo, gravacao::adicionar);
+            SnapshotPessoas snapshot = gravacao.concluir(inicio);
+            pessoaSnapshotRepository.carregar(snapshot);
+            LOGGER.info("Snapshot de pessoas gravado em {}: {} registros, {} descartados, {} ms", arquivo,
+                    snapshot.getQuantidade(), gravacao.getDescartadas(),
+                    Duration.between(inicio, relogio.instant()).toMillis());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Nao foi possivel gravar o snapshot de pessoas; o snapshot anterior continua em uso", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
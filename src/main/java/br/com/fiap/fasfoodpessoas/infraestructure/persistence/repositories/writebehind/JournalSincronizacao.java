@@ -0,0 +1,358 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal local dos CPFs cadastrados e ainda nao confirmados no DynamoDB. Cada entrada tem sequencia, CPF compactado e
+ * instante da escrita, em registros de tamanho fixo com CRC32C; o conteudo da pessoa nao e repetido, ja que o envio
+ * sempre le a versao atual do repositorio local. O checkpoint guarda a maior sequencia ate a qual tudo foi confirmado:
+ * na abertura, apenas as entradas posteriores sao reproduzidas e o journal e truncado no primeiro registro incompleto
+ * ou corrompido. Quando tudo o que foi registrado esta confirmado, o journal volta a ficar vazio; com pendencias
+ * constantes, ele e reescrito so com as entradas nao confirmadas por {@link #compactar(List)}.
+ * <p>
+ * A durabilidade das entradas segue a mesma {@link LogPessoas.Sincronizacao} do log local.
+ */
+public final class JournalSincronizacao implements Closeable {
+
+    /**
+     * Entrada reproduzida na abertura.
+     */
+    public record Entrada(long sequencia, long cpf, long instante) {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalSincronizacao.class);
+
+    // CRC32C do restante, sequencia, CPF compactado e instante em epoch milissegundos
+    static final int TAMANHO_ENTRADA = Integer.BYTES + 3 * Long.BYTES;
+    private static final int ENTRADAS_POR_LEITURA = 4096;
+    static final long TAMANHO_MINIMO_COMPACTACAO = 1024 * 1024;
+
+    private final Path arquivo;
+    private final Path checkpoint;
+    private final LogPessoas.Sincronizacao sincronizacao;
+    // Trocado pela compactacao com travaEscrita e travaSincronizacao
+    private FileChannel canal;
+    private final ByteBuffer entrada = ByteBuffer.allocate(TAMANHO_ENTRADA);
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+    private final ReentrantLock travaSincronizacao = new ReentrantLock();
+    private final ScheduledExecutorService sincronizador;
+    private long tamanho;
+    private long confirmadoAte;
+    private volatile long ultimaSequencia;
+    private volatile long sincronizadoAte;
+
+    private JournalSincronizacao(Path diretorio, LogPessoas.Sincronizacao sincronizacao,
+                                 Duration intervaloSincronizacao) throws IOException {
+        this.arquivo = diretorio.resolve("sincronizacao.journal");
+        this.checkpoint = diretorio.resolve("sincronizacao.checkpoint");
+        this.sincronizacao = sincronizacao;
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (sincronizacao == LogPessoas.Sincronizacao.INTERVALO) {
+            sincronizador = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("journal-sincronizacao").daemon().factory());
+            sincronizador.scheduleWithFixedDelay(this::sincronizarEmSegundoPlano, intervaloSincronizacao.toMillis(),
+                    intervaloSincronizacao.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            sincronizador = null;
+        }
+    }
+
+    /**
+     * Abre o journal no diretorio, criando-o se preciso, e entrega ao {@code consumidor}, em ordem de sequencia, as
+     * entradas posteriores ao checkpoint.
+     *
+     * @throws IOException se o journal ou o checkpoint nao puderem ser lidos
+     */
+    public static JournalSincronizacao abrir(Path diretorio, LogPessoas.Sincronizacao sincronizacao,
+                                             Duration intervaloSincronizacao, Consumer<Entrada> consumidor)
+            throws IOException {
+        Files.createDirectories(diretorio);
+        JournalSincronizacao journal = new JournalSincronizacao(diretorio, sincronizacao, intervaloSincronizacao);
+        try {
+            journal.recuperar(consumidor);
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Acrescenta uma entrada e devolve sua sequencia. A durabilidade deve ser aguardada com
+     * {@link #aguardarDurabilidade(long)} informando a mesma sequencia.
+     */
+    public long registrar(long cpf, long instante) {
+        travaEscrita.lock();
+        try {
+            long sequencia = ultimaSequencia + 1;
+            codificar(entrada.clear(), sequencia, cpf, instante);
+            entrada.flip();
+            while (entrada.hasRemaining()) {
+                tamanho += canal.write(entrada, tamanho);
+            }
+            ultimaSequencia = sequencia;
+            return sequencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    /**
+     * Com {@link LogPessoas.Sincronizacao#SEMPRE}, espera a entrada da {@code sequencia} chegar ao disco; escritas
+     * concorrentes compartilham o mesmo fsync. Com as demais politicas retorna imediatamente.
+     */
+    public void aguardarDurabilidade(long sequencia) {
+        if (sincronizacao == LogPessoas.Sincronizacao.SEMPRE) {
+            sincronizar(sequencia);
+        }
+    }
+
+    /**
+     * Registra que todas as entradas ate a {@code sequencia} foram confirmadas. Se nao houver entradas posteriores, o
+     * journal e esvaziado.
+     */
+    public void confirmar(long sequencia) {
+        travaEscrita.lock();
+        try {
+            if (sequencia <= confirmadoAte) {
+                return;
+            }
+            gravarCheckpoint(sequencia);
+            confirmadoAte = sequencia;
+            if (sequencia >= ultimaSequencia && tamanho > 0) {
+                // O checkpoint ja cobre todas as entradas: uma queda antes do truncamento nao as reproduz
+                canal.truncate(0);
+                tamanho = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    /**
+     * Indica se vale reescrever o journal com {@link #compactar(List)}: ele passou de
+     * {@value #TAMANHO_MINIMO_COMPACTACAO} bytes e as {@code pendentes} entradas nao confirmadas ocupariam menos da
+     * metade dele.
+     */
+    public boolean deveCompactar(int pendentes) {
+        travaEscrita.lock();
+        try {
+            return tamanho >= TAMANHO_MINIMO_COMPACTACAO && tamanho > 2L * pendentes * TAMANHO_ENTRADA;
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    /**
+     * Reescreve o journal apenas com as entradas informadas, em ordem crescente de sequencia, e troca o arquivo de uma
+     * vez. O chamador garante que elas sao todas as entradas ainda nao confirmadas e que nenhuma outra e registrada
+     * durante a chamada. Uma queda antes da troca mantem o journal anterior, que continua valido.
+     */
+    public void compactar(List<Entrada> pendentes) {
+        travaEscrita.lock();
+        travaSincronizacao.lock();
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try {
+            FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            long posicao = 0;
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(ENTRADAS_POR_LEITURA * TAMANHO_ENTRADA);
+                for (Entrada pendente : pendentes) {
+                    if (buffer.remaining() < TAMANHO_ENTRADA) {
+                        posicao += escreverTudo(novo, buffer.flip(), posicao);
+                        buffer.clear();
+                    }
+                    codificar(buffer, pendente.sequencia(), pendente.cpf(), pendente.instante());
+                }
+                posicao += escreverTudo(novo, buffer.flip(), posicao);
+                novo.force(true);
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                novo.close();
+                Files.deleteIfExists(temporario);
+                throw e;
+            }
+            FileChannel anterior = canal;
+            canal = novo;
+            LOGGER.info("Journal de sincronizacao compactado de {} para {} bytes", tamanho, posicao);
+            tamanho = posicao;
+            // As entradas que ficaram acabaram de ir para o disco e as que sairam ja estao confirmadas
+            sincronizadoAte = ultimaSequencia;
+            anterior.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaSincronizacao.unlock();
+            travaEscrita.unlock();
+        }
+    }
+
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    public long getConfirmadoAte() {
+        travaEscrita.lock();
+        try {
+            return confirmadoAte;
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    public long getTamanhoEmBytes() {
+        travaEscrita.lock();
+        try {
+            return tamanho;
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sincronizador != null) {
+            sincronizador.shutdown();
+        }
+        travaEscrita.lock();
+        try {
+            if (canal.isOpen()) {
+                canal.force(false);
+                canal.close();
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    private void recuperar(Consumer<Entrada> consumidor) throws IOException {
+        Files.deleteIfExists(checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp"));
+        // Compactacao interrompida antes da troca: o journal original continua valido
+        Files.deleteIfExists(arquivo.resolveSibling(arquivo.getFileName() + ".tmp"));
+        confirmadoAte = Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).strip()) : 0;
+        ultimaSequencia = confirmadoAte;
+
+        long tamanhoArquivo = canal.size();
+        long anterior = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(ENTRADAS_POR_LEITURA * TAMANHO_ENTRADA);
+        long posicao = 0;
+        leitura:
+        while (posicao + TAMANHO_ENTRADA <= tamanhoArquivo) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), (tamanhoArquivo - posicao) / TAMANHO_ENTRADA
+                    * TAMANHO_ENTRADA));
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer, posicao + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            for (int i = 0; i + TAMANHO_ENTRADA <= buffer.limit(); i += TAMANHO_ENTRADA) {
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.slice(i + Integer.BYTES, TAMANHO_ENTRADA - Integer.BYTES));
+                long sequencia = buffer.getLong(i + Integer.BYTES);
+                if ((int) crc.getValue() != buffer.getInt(i) || sequencia <= anterior) {
+                    break leitura;
+                }
+                // Entradas ja confirmadas sobram quando a queda acontece entre o checkpoint e o truncamento
+                if (sequencia > confirmadoAte) {
+                    consumidor.accept(new Entrada(sequencia, buffer.getLong(i + Integer.BYTES + Long.BYTES),
+                            buffer.getLong(i + Integer.BYTES + 2 * Long.BYTES)));
+                    ultimaSequencia = sequencia;
+                }
+                anterior = sequencia;
+                posicao += TAMANHO_ENTRADA;
+            }
+        }
+        if (posicao < tamanhoArquivo) {
+            LOGGER.warn("Entrada incompleta ou corrompida no journal {} na posicao {}; {} bytes descartados", arquivo,
+                    posicao, tamanhoArquivo - posicao);
+            canal.truncate(posicao);
+            canal.force(true);
+        }
+        tamanho = posicao;
+        sincronizadoAte = ultimaSequencia;
+    }
+
+    // Entrada a partir da posicao atual do destino: CRC32C do restante, sequencia, CPF e instante
+    private static void codificar(ByteBuffer destino, long sequencia, long cpf, long instante) {
+        int inicio = destino.position();
+        destino.putInt(0).putLong(sequencia).putLong(cpf).putLong(instante);
+        CRC32C crc = new CRC32C();
+        crc.update(destino.slice(inicio + Integer.BYTES, TAMANHO_ENTRADA - Integer.BYTES));
+        destino.putInt(inicio, (int) crc.getValue());
+    }
+
+    private static int escreverTudo(FileChannel destino, ByteBuffer buffer, long posicao) throws IOException {
+        int escritos = 0;
+        while (buffer.hasRemaining()) {
+            escritos += destino.write(buffer, posicao + escritos);
+        }
+        return escritos;
+    }
+
+    // Grava em um arquivo temporario e troca de uma vez, para uma queda no meio nao deixar o checkpoint pela metade
+    private void gravarCheckpoint(long sequencia) throws IOException {
+        Path temporario = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (FileChannel saida = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            saida.write(ByteBuffer.wrap(Long.toString(sequencia).getBytes(StandardCharsets.UTF_8)));
+            saida.force(true);
+        }
+        Files.move(temporario, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void sincronizar(long sequencia) {
+        if (sincronizadoAte >= sequencia) {
+            return;
+        }
+        travaSincronizacao.lock();
+        try {
+            // Quem esperava na trava pode ter sido atendido pelo fsync de outra thread
+            if (sincronizadoAte >= sequencia) {
+                return;
+            }
+            long alvo = ultimaSequencia;
+            canal.force(false);
+            sincronizadoAte = Math.max(sincronizadoAte, alvo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            travaSincronizacao.unlock();
+        }
+    }
+
+    private void sincronizarEmSegundoPlano() {
+        try {
+            sincronizar(ultimaSequencia);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Nao foi possivel sincronizar o journal de sincronizacao", e);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link PessoaRepositoryPort} que confirma cadastros assim que gravados no repositorio local e os envia
+ * ao DynamoDB depois, em lotes. Cada cadastro registra o CPF no {@link JournalSincronizacao} antes da escrita local,
+ * entao uma queda entre as duas etapas apenas reenvia a versao que estiver no repositorio local. Leituras sao sempre
+ * atendidas pelo repositorio local.
+ * <p>
+ * Conflitos pelo mesmo CPF sao resolvidos de forma deterministica pela ordem das escritas locais: a fila guarda uma
+ * entrada por CPF, com a sequencia da ultima escrita, e cada envio le a versao atual do repositorio local. Uma escrita
+ * que chega enquanto a versao anterior esta sendo enviada mantem o CPF na fila para o envio seguinte, em vez de ser
+ * descartada pela confirmacao da anterior. Como um BatchWriteItem nao aceita duas escritas da mesma chave, pessoas de
+ * um lote com o mesmo e-mail de outra ja incluida ficam para o lote seguinte, na ordem das sequencias.
+ * <p>
+ * Entre lojas e a API, cada pessoa e enviada com o instante da sua escrita local como versao
+ * ({@link PessoaRepository#sincronizarPessoas(List, List)}) e no DynamoDB vale a versao mais nova: um CPF ja gravado
+ * com versao posterior nao e sobrescrito, nem a reserva de um e-mail de outro CPF. Nos dois casos a pessoa sai da fila
+ * sem nova tentativa e a versao local fica diferente da do DynamoDB ate a proxima escrita local do CPF.
+ */
+public class PessoaWriteBehindRepository implements PessoaRepositoryPort, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PessoaWriteBehindRepository.class);
+
+    private final PessoaRepositoryPort local;
+    private final PessoaRepository remoto;
+    private final JournalSincronizacao journal;
+    private final int tamanhoLote;
+    private final Clock relogio;
+    // CPF compactado -> escrita pendente mais recente, em ordem de sequencia; protegido por travaFila
+    private final Map<Long, Pendente> fila = new LinkedHashMap<>();
+    private final ReentrantLock travaFila = new ReentrantLock();
+    // Um envio por vez: a confirmacao compara sequencias lidas antes do envio
+    private final ReentrantLock travaEnvio = new ReentrantLock();
+    private final LongAdder enviadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder superadas = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+
+    /**
+     * Abre o journal em {@code diretorio} e devolve a fila as escritas ainda nao confirmadas.
+     *
+     * @param sincronizacao politica de durabilidade do journal, a mesma do repositorio local
+     */
+    public PessoaWriteBehindRepository(PessoaRepositoryPort local, PessoaRepository remoto, Path diretorio,
+                                       LogPessoas.Sincronizacao sincronizacao, Duration intervaloSincronizacao,
+                                       int tamanhoLote, Clock relogio) throws IOException {
+        this.local = local;
+        this.remoto = remoto;
+        this.tamanhoLote = tamanhoLote;
+        this.relogio = relogio;
+        this.journal = JournalSincronizacao.abrir(diretorio, sincronizacao, intervaloSincronizacao,
+                entrada -> enfileirar(entrada.cpf(), entrada.sequencia(), entrada.instante(), false));
+    }
+
+    @Override
+    public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+        long sequencia = registrar(List.of(pessoaModel));
+        try {
+            return local.cadastrarPessoa(pessoaModel);
+        } finally {
+            liberar(List.of(pessoaModel), sequencia);
+        }
+    }
+
+    /**
+     * A verificacao de CPF e e-mail e a do repositorio local. Um cadastro recusado tambem passa pela fila e apenas
+     * reenvia a pessoa ja cadastrada.
+     */
+    @Override
+    public PessoaModel cadastrarPessoaSeNaoExistir(PessoaModel pessoaModel) {
+        long sequencia = registrar(List.of(pessoaModel));
+        try {
+            return local.cadastrarPessoaSeNaoExistir(pessoaModel);
+        } finally {
+            liberar(List.of(pessoaModel), sequencia);
+        }
+    }
+
+    @Override
+    public void cadastrarPessoasEmLote(Collection<PessoaModel> pessoas) {
+        if (pessoas.isEmpty()) {
+            return;
+        }
+        long sequencia = registrar(pessoas);
+        try {
+            local.cadastrarPessoasEmLote(pessoas);
+        } finally {
+            liberar(pessoas, sequencia);
+        }
+    }
+
+    @Override
+    public List<ResultadoCadastroModel> cadastrarPessoasSeNaoExistirem(List<PessoaModel> pessoas) {
+        if (pessoas.isEmpty()) {
+            return List.of();
+        }
+        long sequencia = registrar(pessoas);
+        try {
+            return local.cadastrarPessoasSeNaoExistirem(pessoas);
+        } finally {
+            liberar(pessoas, sequencia);
+        }
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+        return local.buscarPessoaPorCpf(cdDocPessoa);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa, Set<CampoPessoaEnum> campos) {
+        return local.buscarPessoaPorCpf(cdDocPessoa, campos);
+    }
+
+    @Override
+    public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+        return local.buscarPessoaPorEmail(dsEmail);
+    }
+
+    @Override
+    public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+        return local.listarPessoasPorTipo(tpPessoa, tamanho, cursor);
+    }
+
+    @Override
+    public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        local.exportarPessoas(segmentos, capacidadeLeituraPorSegundo, consumidor);
+    }
+
+    @Override
+    public boolean existePessoa(String cdDocPessoa) {
+        return local.existePessoa(cdDocPessoa);
+    }
+
+    @Override
+    public Optional<TipoPessoaEnum> buscarTipoPessoa(String cdDocPessoa) {
+        return local.buscarTipoPessoa(cdDocPessoa);
+    }
+
+    @Override
+    public List<PessoaModel> buscarPessoasPorCpfs(Collection<String> cdDocPessoas) {
+        return local.buscarPessoasPorCpfs(cdDocPessoas);
+    }
+
+    /**
+     * Envia lotes de ate {@code tamanhoLote} pessoas, das escritas mais antigas para as mais novas, ate a fila ficar
+     * sem lote completo ou um envio falhar. Devolve quantas pessoas sairam da fila, gravadas ou descartadas por
+     * conflito com o DynamoDB; numa falha, as pessoas do lote continuam na fila para a proxima chamada.
+     */
+    public int sincronizar() {
+        travaEnvio.lock();
+        try {
+            int confirmadas = 0;
+            while (true) {
+                Map<Long, Pendente> lote = selecionarLote();
+                if (lote.isEmpty()) {
+                    break;
+                }
+                List<PessoaModel> pessoas = new ArrayList<>(lote.size());
+                List<Long> versoes = new ArrayList<>(lote.size());
+                Set<String> emails = new HashSet<>();
+                Iterator<Map.Entry<Long, Pendente>> selecionadas = lote.entrySet().iterator();
+                while (selecionadas.hasNext()) {
+                    Map.Entry<Long, Pendente> selecionada = selecionadas.next();
+                    PessoaModel pessoa = local.buscarPessoaPorCpf(Cpf.formatar(selecionada.getKey())).orElse(null);
+                    // Sem versao local, de um cadastro que falhou antes de gravar, nao ha o que enviar e a entrada sai
+                    if (pessoa == null) {
+                        continue;
+                    }
+                    if (pessoa.getDsEmail() != null && !emails.add(pessoa.getDsEmail())) {
+                        selecionadas.remove();
+                    } else {
+                        pessoas.add(pessoa);
+                        versoes.add(selecionada.getValue().instante);
+                    }
+                }
+                List<PessoaRepository.ResultadoEnvio> resultados;
+                try {
+                    resultados = pessoas.isEmpty() ? List.of() : remoto.sincronizarPessoas(pessoas, versoes);
+                } catch (RuntimeException e) {
+                    falhas.increment();
+                    LOGGER.warn("Nao foi possivel enviar {} pessoas ao DynamoDB; {} continuam na fila", pessoas.size(),
+                            getProfundidade(), e);
+                    return confirmadas;
+                }
+                contar(pessoas, resultados);
+                confirmadas += pessoas.size();
+                confirmar(lote);
+                if (lote.size() < tamanhoLote) {
+                    break;
+                }
+            }
+            return confirmadas;
+        } finally {
+            travaEnvio.unlock();
+        }
+    }
+
+    /**
+     * CPFs aguardando envio ao DynamoDB.
+     */
+    public int getProfundidade() {
+        travaFila.lock();
+        try {
+            return fila.size();
+        } finally {
+            travaFila.unlock();
+        }
+    }
+
+    /**
+     * Idade em segundos da escrita pendente mais antiga, ou zero com a fila vazia.
+     */
+    public double getAtrasoEmSegundos() {
+        travaFila.lock();
+        try {
+            Iterator<Pendente> pendentes = fila.values().iterator();
+            return pendentes.hasNext() ? Math.max(0, relogio.millis() - pendentes.next().instante) / 1000.0 : 0;
+        } finally {
+            travaFila.unlock();
+        }
+    }
+
+    public long getEnviadas() {
+        return enviadas.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    /**
+     * Pessoas descartadas da fila porque o DynamoDB ja tinha uma versao mais nova do CPF.
+     */
+    public long getSuperadas() {
+        return superadas.sum();
+    }
+
+    /**
+     * Pessoas descartadas da fila porque o e-mail estava reservado para outro CPF no DynamoDB.
+     */
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    /**
+     * Espera o envio em andamento terminar e fecha o journal; o que estiver na fila e enviado na proxima abertura.
+     */
+    @Override
+    public void close() throws IOException {
+        travaEnvio.lock();
+        try {
+            journal.close();
+        } finally {
+            travaEnvio.unlock();
+        }
+    }
+
+    // Registra todos os CPFs no journal e na fila, marcados como em gravacao ate a escrita local terminar
+    private long registrar(Collection<PessoaModel> pessoas) {
+        for (PessoaModel pessoa : pessoas) {
+            if (pessoa.getCpf() == Cpf.INVALIDO) {
+                throw new IllegalArgumentException("Documento fora do formato de CPF: " + pessoa.getCdDocPessoa());
+            }
+        }
+        long instante = relogio.millis();
+        long ultima = 0;
+        int registradas = 0;
+        try {
+            travaFila.lock();
+            try {
+                for (PessoaModel pessoa : pessoas) {
+                    ultima = journal.registrar(pessoa.getCpf(), instante);
+                    enfileirar(pessoa.getCpf(), ultima, instante, true);
+                    registradas++;
+                }
+            } finally {
+                travaFila.unlock();
+            }
+            journal.aguardarDurabilidade(ultima);
+            return ultima;
+        } catch (RuntimeException e) {
+            // Sem escrita local a seguir, os CPFs ja enfileirados nao podem ficar em gravacao para sempre: o envio le a
+            // versao local atual, ou descarta a entrada se nao houver
+            liberar(pessoas.stream().limit(registradas).toList(), ultima);
+            throw e;
+        }
+    }
+
+    private void liberar(Collection<PessoaModel> pessoas, long ultimaSequencia) {
+        travaFila.lock();
+        try {
+            for (PessoaModel pessoa : pessoas) {
+                Pendente pendente = fila.get(pessoa.getCpf());
+                if (pendente != null && pendente.sequencia <= ultimaSequencia) {
+                    pendente.emGravacao = false;
+                }
+            }
+        } finally {
+            travaFila.unlock();
+        }
+    }
+
+    // Chamado com travaFila ou durante a abertura; a reinsercao move o CPF para o fim da ordem de sequencia
+    private void enfileirar(long cpf, long sequencia, long instante, boolean emGravacao) {
+        fila.remove(cpf);
+        fila.put(cpf, new Pendente(sequencia, instante, emGravacao));
+    }
+
+    // CPF -> escrita selecionada, das mais antigas para as mais novas, ignorando escritas locais em andamento
+    private Map<Long, Pendente> selecionarLote() {
+        Map<Long, Pendente> lote = new LinkedHashMap<>();
+        travaFila.lock();
+        try {
+            for (Map.Entry<Long, Pendente> entrada : fila.entrySet()) {
+                if (lote.size() == tamanhoLote) {
+                    break;
+                }
+                if (!entrada.getValue().emGravacao) {
+                    lote.put(entrada.getKey(), entrada.getValue());
+                }
+            }
+        } finally {
+            travaFila.unlock();
+        }
+        return lote;
+    }
+
+    private void contar(List<PessoaModel> pessoas, List<PessoaRepository.ResultadoEnvio> resultados) {
+        for (int i = 0; i < resultados.size(); i++) {
+            switch (resultados.get(i)) {
+                case GRAVADA -> enviadas.increment();
+                case SUPERADA -> superadas.increment();
+                case EMAIL_DE_OUTRO_CPF -> {
+                    recusadas.increment();
+                    LOGGER.warn("CPF {} nao enviado ao DynamoDB: o e-mail esta reservado para outro CPF",
+                            pessoas.get(i).getCdDocPessoa());
+                }
+            }
+        }
+    }
+
+    private void confirmar(Map<Long, Pendente> lote) {
+        long confirmadoAte;
+        travaFila.lock();
+        try {
+            lote.forEach((cpf, selecionada) -> {
+                Pendente pendente = fila.get(cpf);
+                if (pendente != null && pendente.sequencia == selecionada.sequencia) {
+                    fila.remove(cpf);
+                }
+            });
+            // Tudo abaixo da menor sequencia pendente ja foi confirmado ou substituido por uma escrita mais nova
+            Iterator<Pendente> pendentes = fila.values().iterator();
+            confirmadoAte = pendentes.hasNext() ? pendentes.next().sequencia - 1 : journal.getUltimaSequencia();
+        } finally {
+            travaFila.unlock();
+        }
+        journal.confirmar(confirmadoAte);
+        compactarJournal();
+    }
+
+    // Com pendencias constantes o journal nunca fica vazio; passando do limite, e reescrito so com as entradas da fila.
+    // A travaFila impede registros durante a troca, entao a fila tem exatamente as entradas ainda nao confirmadas
+    private void compactarJournal() {
+        travaFila.lock();
+        try {
+            if (!journal.deveCompactar(fila.size())) {
+                return;
+            }
+            List<JournalSincronizacao.Entrada> pendentes = new ArrayList<>(fila.size());
+            fila.forEach((cpf, pendente) ->
+                    pendentes.add(new JournalSincronizacao.Entrada(pendente.sequencia, cpf, pendente.instante)));
+            journal.compactar(pendentes);
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Nao foi possivel compactar o journal de sincronizacao; nova tentativa no proximo envio", e);
+        } finally {
+            travaFila.unlock();
+        }
+    }
+
+    private static final class Pendente {
+
+        private final long sequencia;
+        private final long instante;
+        private boolean emGravacao;
+
+        private Pendente(long sequencia, long instante, boolean emGravacao) {
+            this.sequencia = sequencia;
+            this.instante = instante;
+            this.emGravacao = emGravacao;
+        }
+    }
+}
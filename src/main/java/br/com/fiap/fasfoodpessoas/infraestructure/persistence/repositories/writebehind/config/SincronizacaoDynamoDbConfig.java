@@ -0,0 +1,124 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.config;
+
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.PessoaWriteBehindRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("embedded")
+@ConditionalOnProperty(name = "pessoas.sincronizacao.habilitada", havingValue = "true")
+public class SincronizacaoDynamoDbConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SincronizacaoDynamoDbConfig.class);
+
+    @Value("${pessoas.sincronizacao.diretorio:pessoas-sincronizacao}")
+    private Path diretorio;
+
+    @Value("${pessoas.sincronizacao.intervalo:1s}")
+    private Duration intervalo;
+
+    @Value("${pessoas.sincronizacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${aws.dynamodb.batch.paralelismo:4}")
+    private int paralelismo;
+
+    @Value("${pessoas.embedded.sincronizacao:INTERVALO}")
+    private LogPessoas.Sincronizacao sincronizacao;
+
+    @Value("${pessoas.embedded.intervalo-sincronizacao:100ms}")
+    private Duration intervaloSincronizacao;
+
+    // Envio para no fim do lote em andamento: interromper a thread fecharia o canal do journal
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sincronizacao-dynamodb").daemon().factory());
+    private PessoaRepository remoto;
+
+    /**
+     * Camada de envio ao DynamoDB, a mais interna da porta montada em {@code PessoaCacheConfig}, sobre o repositorio
+     * local do perfil {@code embedded}. As escritas pendentes do journal voltam a fila aqui, antes de a aplicacao
+     * aceitar requisicoes, e o primeiro envio acontece em seguida.
+     */
+    @Bean(destroyMethod = "close")
+    public PessoaWriteBehindRepository pessoaWriteBehindRepository(@Qualifier("pessoaRepository") PessoaRepositoryPort local,
+                                                                   DynamoDbEnhancedClient enhancedClient,
+                                                                   DynamoDbClient dynamoDbClient,
+                                                                   TableSchema<PessoaEntity> pessoaTableSchema,
+                                                                   TableSchema<PessoaEmailEntity> pessoaEmailTableSchema,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry)
+            throws IOException {
+        remoto = new PessoaRepository(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema,
+                Executors.newFixedThreadPool(paralelismo));
+        PessoaWriteBehindRepository repository = new PessoaWriteBehindRepository(local, remoto, diretorio,
+                sincronizacao, intervaloSincronizacao, tamanhoLote, Clock.systemUTC());
+        LOGGER.info("Sincronizacao com o DynamoDB iniciada com {} CPFs pendentes", repository.getProfundidade());
+
+        agendador.scheduleWithFixedDelay(() -> sincronizar(repository), 0, intervalo.toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("pessoas.sincronizacao.fila", repository, PessoaWriteBehindRepository::getProfundidade)
+                    .register(registry);
+            Gauge.builder("pessoas.sincronizacao.atraso", repository, PessoaWriteBehindRepository::getAtrasoEmSegundos)
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("pessoas.sincronizacao.enviadas", repository, PessoaWriteBehindRepository::getEnviadas)
+                    .register(registry);
+            FunctionCounter.builder("pessoas.sincronizacao.falhas", repository, PessoaWriteBehindRepository::getFalhas)
+                    .register(registry);
+            FunctionCounter.builder("pessoas.sincronizacao.descartadas", repository, PessoaWriteBehindRepository::getSuperadas)
+                    .tag("motivo", "versao-mais-nova")
+                    .register(registry);
+            FunctionCounter.builder("pessoas.sincronizacao.descartadas", repository, PessoaWriteBehindRepository::getRecusadas)
+                    .tag("motivo", "email-de-outro-cpf")
+                    .register(registry);
+        });
+        return repository;
+    }
+
+    /**
+     * Falhas de envio ficam no proprio repositorio; aqui sobram falhas locais, que nao podem cancelar o agendamento.
+     */
+    void sincronizar(PessoaWriteBehindRepository repository) {
+        try {
+            repository.sincronizar();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Nao foi possivel sincronizar as pessoas com o DynamoDB", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdown();
+        if (remoto != null) {
+            remoto.encerrar();
+        }
+    }
+}
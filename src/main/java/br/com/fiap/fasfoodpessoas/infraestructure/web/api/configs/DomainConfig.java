@@ -1,15 +1,58 @@
 package br.com.fiap.fasfoodpessoas.infraestructure.web.api.configs;
 
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaAsyncRepositoryPort;
 import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaAsyncService;
 import br.com.fiap.fasfoodpessoas.domain.services.PessoaService;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaServiceSingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Configuration
 public class DomainConfig {
 
+    @Value("${pessoas.single-flight.habilitado:true}")
+    private boolean singleFlightHabilitado;
+
     @Bean
     public PessoaService pessoaService(PessoaRepositoryPort pessoaRepository) {
         return new PessoaService(pessoaRepository);
     }
+
+    /**
+     * Porta de servico usada pelos controllers. Quando habilitado, agrupa buscas concorrentes pelo mesmo CPF em uma
+     * unica chamada ao {@link PessoaService}.
+     */
+    @Bean
+    @Primary
+    public PessoaServicePort pessoaServicePort(PessoaService pessoaService, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!singleFlightHabilitado) {
+            return pessoaService;
+        }
+
+        PessoaServiceSingleFlight singleFlight = new PessoaServiceSingleFlight(pessoaService);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("pessoas.buscas.cpf", singleFlight, PessoaServiceSingleFlight::getBuscasExecutadas)
+                    .tag("resultado", "executada")
+                    .register(registry);
+            FunctionCounter.builder("pessoas.buscas.cpf", singleFlight, PessoaServiceSingleFlight::getBuscasAgrupadas)
+                    .tag("resultado", "agrupada")
+                    .register(registry);
+        });
+        return singleFlight;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pessoas.async.habilitado", havingValue = "true")
+    public PessoaAsyncServicePort pessoaAsyncService(PessoaAsyncRepositoryPort pessoaAsyncRepository) {
+        return new PessoaAsyncService(pessoaAsyncRepository);
+    }
 }
@@ -0,0 +1,116 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaBatchLookupRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaPaginaResponseDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaResponseDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfInvalidoException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Versao assincrona do {@link PessoaController}, ativada por {@code pessoas.async.habilitado=true}. A thread do
+ * servlet e liberada enquanto a chamada ao DynamoDB, feita pelo client assincrono, esta em andamento, e a resposta e
+ * escrita quando o {@link CompletableFuture} completa.
+ */
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Pessoas", description = "end-point para gerenciar os clientes e funcionarios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "pessoas.async.habilitado", havingValue = "true")
+public class PessoaAsyncController {
+    private final PessoaAsyncServicePort pessoaAsyncServicePort;
+
+    public PessoaAsyncController(PessoaAsyncServicePort pessoaAsyncServicePort) {
+        this.pessoaAsyncServicePort = pessoaAsyncServicePort;
+    }
+
+    @PostMapping("/v1/pessoa")
+    @Operation(summary = "Cadastra pessoas", description = "Cadastra os clientes e funcionarios")
+    public CompletableFuture<ResponseEntity<PessoaResponseDto>> cadastrarPessoa(@Valid @RequestBody PessoaRequestDto pessoaRequestDto) {
+        return pessoaAsyncServicePort.cadastraPessoa(toModel(pessoaRequestDto))
+                .thenApply(pessoaModel -> {
+                    PessoaResponseDto pessoaResponseDto = new PessoaResponseDto(pessoaModel);
+                    return ResponseEntity.created(URI.create("/api/v1/pessoa/" + pessoaResponseDto.cdDocPessoa()))
+                            .body(pessoaResponseDto);
+                });
+    }
+
+    @GetMapping("/v1/pessoa/{cdDocPessoa}")
+    @Operation(summary = "Busca pessoa", description = "Busca o cliente ou funcionario por documento. O parametro "
+            + "fields (ex.: fields=nmPessoa,tpPessoa) limita os campos lidos e devolvidos; o CPF vem sempre")
+    public CompletableFuture<ResponseEntity<PessoaResponseDto>> buscarPessoaPorCpf(@PathVariable String cdDocPessoa,
+                                                                                   @RequestParam(name = "fields", required = false) List<String> fields) {
+        if (!Cpf.isValido(cdDocPessoa)) {
+            throw new CpfInvalidoException("CPF invalido: " + cdDocPessoa);
+        }
+        if (fields == null || fields.isEmpty()) {
+            return pessoaAsyncServicePort.buscaPessoaPorCpf(cdDocPessoa)
+                    .thenApply(pessoaModel -> pessoaModel
+                            .map(pessoa -> ResponseEntity.ok(new PessoaResponseDto(pessoa)))
+                            .orElseGet(() -> ResponseEntity.noContent().build()));
+        }
+
+        Set<CampoPessoaEnum> campos = PessoaController.toCampos(fields);
+        return pessoaAsyncServicePort.buscaPessoaPorCpf(cdDocPessoa, campos)
+                .thenApply(pessoaModel -> pessoaModel
+                        .map(pessoa -> ResponseEntity.ok(new PessoaResponseDto(pessoa, campos)))
+                        .orElseGet(() -> ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/v1/pessoa/email/{dsEmail}")
+    @Operation(summary = "Busca pessoa por e-mail", description = "Busca o cliente ou funcionario pelo e-mail cadastrado")
+    public CompletableFuture<ResponseEntity<PessoaResponseDto>> buscarPessoaPorEmail(@PathVariable String dsEmail) {
+        return pessoaAsyncServicePort.buscaPessoaPorEmail(dsEmail)
+                .thenApply(pessoaModel -> pessoaModel
+                        .map(pessoa -> ResponseEntity.ok(new PessoaResponseDto(pessoa)))
+                        .orElseGet(() -> ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/v1/pessoa")
+    @Operation(summary = "Lista pessoas por tipo", description = "Lista clientes ou funcionarios ordenados por nome, ate "
+            + PessoaController.TAMANHO_PAGINA_MAXIMO + " por pagina. O cursor devolvido busca a proxima pagina; sem cursor, nao ha mais paginas")
+    public CompletableFuture<ResponseEntity<PessoaPaginaResponseDto>> listarPessoasPorTipo(@RequestParam TipoPessoaEnum tpPessoa,
+                                                                                           @RequestParam(defaultValue = "50") int tamanho,
+                                                                                           @RequestParam(required = false) String cursor) {
+        int tamanhoPagina = Math.clamp(tamanho, 1, PessoaController.TAMANHO_PAGINA_MAXIMO);
+        return pessoaAsyncServicePort.listaPessoasPorTipo(tpPessoa, tamanhoPagina, cursor)
+                .thenApply(pagina -> ResponseEntity.ok(new PessoaPaginaResponseDto(pagina)));
+    }
+
+    @PostMapping("/v1/pessoa/batch-lookup")
+    @Operation(summary = "Busca pessoas em lote", description = "Busca ate 500 clientes ou funcionarios por documento em uma unica chamada")
+    public CompletableFuture<ResponseEntity<List<PessoaResponseDto>>> buscarPessoasPorCpfs(@Valid @RequestBody PessoaBatchLookupRequestDto pessoaBatchLookupRequestDto) {
+        return pessoaAsyncServicePort.buscaPessoasPorCpfs(pessoaBatchLookupRequestDto.cdDocPessoas())
+                .thenApply(pessoas -> ResponseEntity.ok(pessoas.stream().map(PessoaResponseDto::new).toList()));
+    }
+
+    private PessoaModel toModel(PessoaRequestDto pessoaRequestDto) {
+        return new PessoaModel(pessoaRequestDto.cdDocPessoa(),
+                pessoaRequestDto.nmPessoa(),
+                pessoaRequestDto.tpPessoa(),
+                pessoaRequestDto.dsEmail());
+    }
+}
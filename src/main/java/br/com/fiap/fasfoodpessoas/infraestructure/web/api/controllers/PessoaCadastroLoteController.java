@@ -0,0 +1,82 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorMessageDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaBatchRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaCadastroResultadoDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Pessoas", description = "end-point para gerenciar os clientes e funcionarios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PessoaCadastroLoteController {
+    private final PessoaServicePort pessoaServicePort;
+    private final Validator validator;
+
+    public PessoaCadastroLoteController(PessoaServicePort pessoaServicePort, Validator validator) {
+        this.pessoaServicePort = pessoaServicePort;
+        this.validator = validator;
+    }
+
+    @PostMapping("/v1/pessoa/batch")
+    @Operation(summary = "Cadastra pessoas em lote", description = "Cadastra ate 10000 clientes ou funcionarios e retorna o status de cada item")
+    public ResponseEntity<List<PessoaCadastroResultadoDto>> cadastrarPessoas(@Valid @RequestBody PessoaBatchRequestDto pessoaBatchRequestDto) {
+        List<PessoaRequestDto> pessoas = pessoaBatchRequestDto.pessoas();
+        PessoaCadastroResultadoDto[] resultados = new PessoaCadastroResultadoDto[pessoas.size()];
+        List<Integer> posicoesValidas = new ArrayList<>(pessoas.size());
+        List<PessoaModel> pessoasValidas = new ArrayList<>(pessoas.size());
+
+        for (int i = 0; i < pessoas.size(); i++) {
+            PessoaRequestDto pessoa = pessoas.get(i);
+            if (pessoa == null) {
+                resultados[i] = PessoaCadastroResultadoDto.invalido(null,
+                        List.of(new ErrorMessageDto("O item informado nao pode ser nulo.")));
+                continue;
+            }
+
+            Set<ConstraintViolation<PessoaRequestDto>> violacoes = validator.validate(pessoa);
+            if (!violacoes.isEmpty()) {
+                resultados[i] = PessoaCadastroResultadoDto.invalido(pessoa.cdDocPessoa(),
+                        violacoes.stream().map(violacao -> new ErrorMessageDto(violacao.getMessage())).toList());
+            } else {
+                posicoesValidas.add(i);
+                pessoasValidas.add(toModel(pessoa));
+            }
+        }
+
+        if (!pessoasValidas.isEmpty()) {
+            List<ResultadoCadastroModel> cadastrados = pessoaServicePort.cadastraPessoas(pessoasValidas);
+            for (int i = 0; i < cadastrados.size(); i++) {
+                resultados[posicoesValidas.get(i)] = new PessoaCadastroResultadoDto(cadastrados.get(i));
+            }
+        }
+        return ResponseEntity.ok(Arrays.asList(resultados));
+    }
+
+    private PessoaModel toModel(PessoaRequestDto pessoaRequestDto) {
+        return new PessoaModel(pessoaRequestDto.cdDocPessoa(),
+                pessoaRequestDto.nmPessoa(),
+                pessoaRequestDto.tpPessoa(),
+                pessoaRequestDto.dsEmail());
+    }
+}
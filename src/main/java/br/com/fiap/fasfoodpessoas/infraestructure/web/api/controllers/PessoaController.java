@@ -1,12 +1,24 @@
 package br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers;
 
 import java.net.URI;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaBatchLookupRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaPaginaResponseDto;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaResponseDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CampoInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfInvalidoException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +26,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,7 +37,11 @@ import jakarta.validation.Valid;
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Pessoas", description = "end-point para gerenciar os clientes e funcionarios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "pessoas.async.habilitado", havingValue = "false", matchIfMissing = true)
 public class PessoaController {
+    static final int TAMANHO_PAGINA_MAXIMO = 100;
+
     private final PessoaServicePort pessoaServicePort;
 
     public PessoaController(PessoaServicePort pessoaServicePort) {
@@ -42,15 +59,56 @@ public class PessoaController {
     }
 
     @GetMapping("/v1/pessoa/{cdDocPessoa}")
-    @Operation(summary = "Busca pessoa", description = "Busca o cliente ou funcionario por documento")
-    public ResponseEntity<PessoaResponseDto> buscarPessoaPorCpf(@PathVariable String cdDocPessoa) {
-        Optional<PessoaModel> pessoaModel = pessoaServicePort.buscaPessoaPorCpf(cdDocPessoa);
-        if(pessoaModel.isPresent()) {
-            PessoaResponseDto pessoaResponseDto = toResponseDto(pessoaModel.get());
-            return  ResponseEntity.ok(pessoaResponseDto);
+    @Operation(summary = "Busca pessoa", description = "Busca o cliente ou funcionario por documento. O parametro "
+            + "fields (ex.: fields=nmPessoa,tpPessoa) limita os campos lidos e devolvidos; o CPF vem sempre")
+    public ResponseEntity<PessoaResponseDto> buscarPessoaPorCpf(@PathVariable String cdDocPessoa,
+                                                                @RequestParam(name = "fields", required = false) List<String> fields) {
+        if (!Cpf.isValido(cdDocPessoa)) {
+            throw new CpfInvalidoException("CPF invalido: " + cdDocPessoa);
+        }
+        if (fields == null || fields.isEmpty()) {
+            Optional<PessoaModel> pessoaModel = pessoaServicePort.buscaPessoaPorCpf(cdDocPessoa);
+            if(pessoaModel.isPresent()) {
+                PessoaResponseDto pessoaResponseDto = toResponseDto(pessoaModel.get());
+                return  ResponseEntity.ok(pessoaResponseDto);
+            }
+
+            return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.noContent().build();
+        Set<CampoPessoaEnum> campos = toCampos(fields);
+        return pessoaServicePort.buscaPessoaPorCpf(cdDocPessoa, campos)
+                .map(pessoaModel -> ResponseEntity.ok(new PessoaResponseDto(pessoaModel, campos)))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/v1/pessoa/email/{dsEmail}")
+    @Operation(summary = "Busca pessoa por e-mail", description = "Busca o cliente ou funcionario pelo e-mail cadastrado")
+    public ResponseEntity<PessoaResponseDto> buscarPessoaPorEmail(@PathVariable String dsEmail) {
+        return pessoaServicePort.buscaPessoaPorEmail(dsEmail)
+                .map(pessoaModel -> ResponseEntity.ok(toResponseDto(pessoaModel)))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/v1/pessoa")
+    @Operation(summary = "Lista pessoas por tipo", description = "Lista clientes ou funcionarios ordenados por nome, ate "
+            + TAMANHO_PAGINA_MAXIMO + " por pagina. O cursor devolvido busca a proxima pagina; sem cursor, nao ha mais paginas")
+    public ResponseEntity<PessoaPaginaResponseDto> listarPessoasPorTipo(@RequestParam TipoPessoaEnum tpPessoa,
+                                                                        @RequestParam(defaultValue = "50") int tamanho,
+                                                                        @RequestParam(required = false) String cursor) {
+        int tamanhoPagina = Math.clamp(tamanho, 1, TAMANHO_PAGINA_MAXIMO);
+        return ResponseEntity.ok(new PessoaPaginaResponseDto(
+                pessoaServicePort.listaPessoasPorTipo(tpPessoa, tamanhoPagina, cursor)));
+    }
+
+    @PostMapping("/v1/pessoa/batch-lookup")
+    @Operation(summary = "Busca pessoas em lote", description = "Busca ate 500 clientes ou funcionarios por documento em uma unica chamada")
+    public ResponseEntity<List<PessoaResponseDto>> buscarPessoasPorCpfs(@Valid @RequestBody PessoaBatchLookupRequestDto pessoaBatchLookupRequestDto) {
+        List<PessoaResponseDto> pessoas = pessoaServicePort.buscaPessoasPorCpfs(pessoaBatchLookupRequestDto.cdDocPessoas())
+                .stream()
+                .map(this::toResponseDto)
+                .toList();
+        return ResponseEntity.ok(pessoas);
     }
 
     private PessoaModel toModel(PessoaRequestDto pessoaRequestDto) {
@@ -60,6 +118,15 @@ public class PessoaController {
                 pessoaRequestDto.dsEmail());
     }
 
+    static Set<CampoPessoaEnum> toCampos(List<String> fields) {
+        Set<CampoPessoaEnum> campos = EnumSet.noneOf(CampoPessoaEnum.class);
+        for (String field : fields) {
+            campos.add(CampoPessoaEnum.doAtributo(field.strip())
+                    .orElseThrow(() -> new CampoInvalidoException("Campo invalido: " + field)));
+        }
+        return campos;
+    }
+
     private PessoaResponseDto toResponseDto(PessoaModel pessoaModel) {
         return new PessoaResponseDto(pessoaModel);
     }
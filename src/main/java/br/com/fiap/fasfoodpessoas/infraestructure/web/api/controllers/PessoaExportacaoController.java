@@ -0,0 +1,56 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoNdjson;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.Duration;
+
+/**
+ * Exportacao da tabela inteira por HTTP, desligada por padrao: qualquer cliente com acesso a API levaria todos os
+ * cadastros. Habilite com {@code pessoas.exportacao.http.habilitada=true} apenas onde a rota estiver restrita.
+ */
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Pessoas", description = "end-point para gerenciar os clientes e funcionarios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "pessoas.exportacao.http.habilitada", havingValue = "true")
+public class PessoaExportacaoController {
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportacaoNdjson exportacaoNdjson;
+    private final Duration timeout;
+
+    public PessoaExportacaoController(ExportacaoNdjson exportacaoNdjson,
+                                      @Value("${pessoas.exportacao.http.timeout:2h}") Duration timeout) {
+        this.exportacaoNdjson = exportacaoNdjson;
+        this.timeout = timeout;
+    }
+
+    @GetMapping("/v1/pessoa/export")
+    @Operation(summary = "Exporta pessoas", description = "Exporta todos os clientes e funcionarios em NDJSON, uma pessoa por linha")
+    public ResponseEntity<StreamingResponseBody> exportarPessoas(HttpServletRequest request) {
+        // So esta resposta ganha o timeout longo; as demais respostas assincronas mantem o padrao do MVC
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(timeout.toMillis());
+        }
+        StreamingResponseBody corpo = saida -> exportacaoNdjson.exportar(saida);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(corpo);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.FormatoImportacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Pessoas", description = "end-point para gerenciar os clientes e funcionarios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PessoaImportacaoController {
+    static final String TEXT_CSV = "text/csv";
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final ImportacaoPessoas importacaoPessoas;
+
+    public PessoaImportacaoController(ImportacaoPessoas importacaoPessoas) {
+        this.importacaoPessoas = importacaoPessoas;
+    }
+
+    @PostMapping(value = "/v1/pessoa/import", consumes = { TEXT_CSV, APPLICATION_NDJSON })
+    @Operation(summary = "Importa pessoas", description = "Importa um arquivo CSV ou NDJSON de clientes e funcionarios, lido e gravado em lotes enquanto chega")
+    public ResponseEntity<ResultadoImportacaoDto> importarPessoas(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(defaultValue = "0") long aPartirDaLinha,
+            InputStream corpo) throws IOException {
+        FormatoImportacao formato = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? FormatoImportacao.CSV
+                : FormatoImportacao.NDJSON;
+        return ResponseEntity.ok(importacaoPessoas.importar(corpo, formato, Math.max(aPartirDaLinha, 0)));
+    }
+}
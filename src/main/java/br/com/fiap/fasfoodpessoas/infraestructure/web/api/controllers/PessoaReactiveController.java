@@ -0,0 +1,122 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaBatchLookupRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaPaginaResponseDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaResponseDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CampoInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfInvalidoException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante WebFlux de {@link PessoaController}, ativa no profile {@code reactive}. As rotas e contratos sao os
+ * mesmos; as chamadas ao DynamoDB vao pelo client assincrono do SDK e os {@code CompletableFuture} devolvidos viram
+ * {@code Mono}, entao nenhuma thread, do event loop ou de outro pool, fica parada esperando o DynamoDB.
+ */
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Pessoas", description = "end-point para gerenciar os clientes e funcionarios")
+@Profile("reactive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class PessoaReactiveController {
+    private final PessoaAsyncServicePort pessoaAsyncServicePort;
+
+    public PessoaReactiveController(PessoaAsyncServicePort pessoaAsyncServicePort) {
+        this.pessoaAsyncServicePort = pessoaAsyncServicePort;
+    }
+
+    @PostMapping("/v1/pessoa")
+    @Operation(summary = "Cadastra pessoas", description = "Cadastra os clientes e funcionarios")
+    public Mono<ResponseEntity<PessoaResponseDto>> cadastrarPessoa(@Valid @RequestBody PessoaRequestDto pessoaRequestDto) {
+        return Mono.fromFuture(() -> pessoaAsyncServicePort.cadastraPessoa(toModel(pessoaRequestDto)))
+                .map(pessoaModel -> {
+                    PessoaResponseDto pessoaResponseDto = new PessoaResponseDto(pessoaModel);
+                    return ResponseEntity.created(URI.create("/api/v1/pessoa/" + pessoaResponseDto.cdDocPessoa()))
+                            .body(pessoaResponseDto);
+                });
+    }
+
+    @GetMapping("/v1/pessoa/{cdDocPessoa}")
+    @Operation(summary = "Busca pessoa", description = "Busca o cliente ou funcionario por documento. O parametro "
+            + "fields (ex.: fields=nmPessoa,tpPessoa) limita os campos lidos e devolvidos; o CPF vem sempre")
+    public Mono<ResponseEntity<PessoaResponseDto>> buscarPessoaPorCpf(@PathVariable String cdDocPessoa,
+                                                                      @RequestParam(name = "fields", required = false) List<String> fields) {
+        if (!Cpf.isValido(cdDocPessoa)) {
+            return Mono.error(new CpfInvalidoException("CPF invalido: " + cdDocPessoa));
+        }
+        if (fields == null || fields.isEmpty()) {
+            return Mono.fromFuture(() -> pessoaAsyncServicePort.buscaPessoaPorCpf(cdDocPessoa))
+                    .map(pessoaModel -> pessoaModel
+                            .map(pessoa -> ResponseEntity.ok(new PessoaResponseDto(pessoa)))
+                            .orElseGet(() -> ResponseEntity.noContent().build()));
+        }
+
+        Set<CampoPessoaEnum> campos;
+        try {
+            campos = PessoaController.toCampos(fields);
+        } catch (CampoInvalidoException e) {
+            return Mono.error(e);
+        }
+        return Mono.fromFuture(() -> pessoaAsyncServicePort.buscaPessoaPorCpf(cdDocPessoa, campos))
+                .map(pessoaModel -> pessoaModel
+                        .map(pessoa -> ResponseEntity.ok(new PessoaResponseDto(pessoa, campos)))
+                        .orElseGet(() -> ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/v1/pessoa/email/{dsEmail}")
+    @Operation(summary = "Busca pessoa por e-mail", description = "Busca o cliente ou funcionario pelo e-mail cadastrado")
+    public Mono<ResponseEntity<PessoaResponseDto>> buscarPessoaPorEmail(@PathVariable String dsEmail) {
+        return Mono.fromFuture(() -> pessoaAsyncServicePort.buscaPessoaPorEmail(dsEmail))
+                .map(pessoaModel -> pessoaModel
+                        .map(pessoa -> ResponseEntity.ok(new PessoaResponseDto(pessoa)))
+                        .orElseGet(() -> ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/v1/pessoa")
+    @Operation(summary = "Lista pessoas por tipo", description = "Lista clientes ou funcionarios ordenados por nome, ate "
+            + PessoaController.TAMANHO_PAGINA_MAXIMO + " por pagina. O cursor devolvido busca a proxima pagina; sem cursor, nao ha mais paginas")
+    public Mono<ResponseEntity<PessoaPaginaResponseDto>> listarPessoasPorTipo(@RequestParam TipoPessoaEnum tpPessoa,
+                                                                              @RequestParam(defaultValue = "50") int tamanho,
+                                                                              @RequestParam(required = false) String cursor) {
+        int tamanhoPagina = Math.clamp(tamanho, 1, PessoaController.TAMANHO_PAGINA_MAXIMO);
+        return Mono.fromFuture(() -> pessoaAsyncServicePort.listaPessoasPorTipo(tpPessoa, tamanhoPagina, cursor))
+                .map(pagina -> ResponseEntity.ok(new PessoaPaginaResponseDto(pagina)));
+    }
+
+    @PostMapping("/v1/pessoa/batch-lookup")
+    @Operation(summary = "Busca pessoas em lote", description = "Busca ate 500 clientes ou funcionarios por documento em uma unica chamada")
+    public Mono<ResponseEntity<List<PessoaResponseDto>>> buscarPessoasPorCpfs(@Valid @RequestBody PessoaBatchLookupRequestDto pessoaBatchLookupRequestDto) {
+        return Mono.fromFuture(() -> pessoaAsyncServicePort.buscaPessoasPorCpfs(pessoaBatchLookupRequestDto.cdDocPessoas()))
+                .map(pessoas -> ResponseEntity.ok(pessoas.stream().map(PessoaResponseDto::new).toList()));
+    }
+
+    private PessoaModel toModel(PessoaRequestDto pessoaRequestDto) {
+        return new PessoaModel(pessoaRequestDto.cdDocPessoa(),
+                pessoaRequestDto.nmPessoa(),
+                pessoaRequestDto.tpPessoa(),
+                pessoaRequestDto.dsEmail());
+    }
+}
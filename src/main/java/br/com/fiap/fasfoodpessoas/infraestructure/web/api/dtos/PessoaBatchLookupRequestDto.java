@@ -0,0 +1,14 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PessoaBatchLookupRequestDto(
+        @NotEmpty(message = "O atributo cdDocPessoas deve conter ao menos um CPF.")
+        @Size(max = 500, message = "O atributo cdDocPessoas aceita no maximo 500 CPFs por requisicao.")
+        List<@NotBlank(message = "O atributo cdDocPessoas nao pode conter CPFs vazios.") String> cdDocPessoas
+) {
+}
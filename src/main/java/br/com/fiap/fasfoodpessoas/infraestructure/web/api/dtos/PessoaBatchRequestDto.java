@@ -0,0 +1,13 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PessoaBatchRequestDto(
+        @NotEmpty(message = "O atributo pessoas deve conter ao menos uma pessoa.")
+        @Size(max = 10000, message = "O atributo pessoas aceita no maximo 10000 pessoas por requisicao.")
+        List<PessoaRequestDto> pessoas
+) {
+}
@@ -0,0 +1,23 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+
+import java.util.List;
+
+public record PessoaCadastroResultadoDto(
+        String cdDocPessoa,
+        StatusCadastroEnum status,
+        List<ErrorMessageDto> errors
+) {
+    public PessoaCadastroResultadoDto(ResultadoCadastroModel resultadoCadastroModel) {
+        this(resultadoCadastroModel.getCdDocPessoa(), resultadoCadastroModel.getStatus(),
+                resultadoCadastroModel.getMensagem() == null
+                        ? null
+                        : List.of(new ErrorMessageDto(resultadoCadastroModel.getMensagem())));
+    }
+
+    public static PessoaCadastroResultadoDto invalido(String cdDocPessoa, List<ErrorMessageDto> errors) {
+        return new PessoaCadastroResultadoDto(cdDocPessoa, StatusCadastroEnum.INVALIDO, errors);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
+
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PessoaPaginaResponseDto(
+        List<PessoaResponseDto> pessoas,
+        String cursor
+) {
+    public PessoaPaginaResponseDto(PaginaPessoasModel paginaPessoasModel) {
+        this(paginaPessoasModel.getPessoas().stream().map(PessoaResponseDto::new).toList(),
+                paginaPessoasModel.getCursor());
+    }
+}
@@ -3,16 +3,16 @@ package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
 
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.validators.CpfValido;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import org.hibernate.validator.constraints.br.CPF;
 
 public record PessoaRequestDto(
         @Valid
         @NotNull(message = "O atributo cdDocPessoa é obrigatório.")
-        @CPF(message = "O CPF informado no atributo cdDocPessoa é inválido.")
+        @CpfValido(message = "O CPF informado no atributo cdDocPessoa é inválido.")
         String cdDocPessoa,
         @Valid
         @NotNull(message = "O atributo nmPessoa é obrigatório.")
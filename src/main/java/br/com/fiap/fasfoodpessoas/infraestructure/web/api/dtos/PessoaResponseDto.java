@@ -1,8 +1,13 @@
 package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.util.Set;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PessoaResponseDto(
         String cdDocPessoa,
         String nmPessoa,
@@ -15,4 +20,14 @@ public record PessoaResponseDto(
                 pessoaModel.getTpPessoa(),
                 pessoaModel.getDsEmail());
     }
+
+    /**
+     * Resposta com o CPF e apenas os {@code campos} pedidos; os demais ficam nulos e sao omitidos do JSON.
+     */
+    public PessoaResponseDto(PessoaModel pessoaModel, Set<CampoPessoaEnum> campos) {
+        this(pessoaModel.getCdDocPessoa(),
+                campos.contains(CampoPessoaEnum.NM_PESSOA) ? pessoaModel.getNmPessoa() : null,
+                campos.contains(CampoPessoaEnum.TP_PESSOA) ? pessoaModel.getTpPessoa() : null,
+                campos.contains(CampoPessoaEnum.DS_EMAIL) ? pessoaModel.getDsEmail() : null);
+    }
 }
@@ -0,0 +1,19 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos;
+
+import java.util.List;
+
+/**
+ * Resumo de uma importacao. {@code ultimaLinhaConfirmada} e a linha do arquivo ate a qual tudo foi gravado ou
+ * rejeitado; {@code linhasInvalidas} traz apenas as primeiras rejeicoes, para o resumo nao crescer com o arquivo.
+ */
+public record ResultadoImportacaoDto(
+        long linhasLidas,
+        long criadas,
+        long duplicadas,
+        long invalidas,
+        long ultimaLinhaConfirmada,
+        List<LinhaInvalidaDto> linhasInvalidas
+) {
+    public record LinhaInvalidaDto(long linha, String cdDocPessoa, List<ErrorMessageDto> errors) {
+    }
+}
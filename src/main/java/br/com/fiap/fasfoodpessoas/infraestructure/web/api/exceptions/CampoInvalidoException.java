@@ -0,0 +1,8 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions;
+
+public class CampoInvalidoException extends RuntimeException {
+
+  public CampoInvalidoException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions;
+
+public class CpfInvalidoException extends RuntimeException {
+
+  public CpfInvalidoException(String message) {
+    super(message);
+  }
+
+  public CpfInvalidoException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions;
+
+public class CursorInvalidoException extends RuntimeException {
+
+  public CursorInvalidoException(String message) {
+    super(message);
+  }
+
+  public CursorInvalidoException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
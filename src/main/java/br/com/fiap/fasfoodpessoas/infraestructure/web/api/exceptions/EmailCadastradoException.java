@@ -0,0 +1,12 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions;
+
+public class EmailCadastradoException extends RuntimeException {
+
+  public EmailCadastradoException(String message) {
+    super(message);
+  }
+
+  public EmailCadastradoException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions;
+
+public class ImportacaoInterrompidaException extends RuntimeException {
+
+  private final long ultimaLinhaConfirmada;
+
+  public ImportacaoInterrompidaException(String message, long ultimaLinhaConfirmada) {
+    super(message);
+    this.ultimaLinhaConfirmada = ultimaLinhaConfirmada;
+  }
+
+  public ImportacaoInterrompidaException(String message, long ultimaLinhaConfirmada, Throwable cause) {
+    super(message, cause);
+    this.ultimaLinhaConfirmada = ultimaLinhaConfirmada;
+  }
+
+  public long getUltimaLinhaConfirmada() {
+    return ultimaLinhaConfirmada;
+  }
+}
@@ -2,8 +2,14 @@ package br.com.fiap.fasfoodpessoas.infraestructure.web.api.handlers;
 
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorDto;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorMessageDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CampoInvalidoException;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.ImportacaoInterrompidaException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -15,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -30,4 +37,63 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
                 errors,
                 req.getServletPath());
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { EmailCadastradoException.class })
+    public ErrorDto handleEmailCadastradoException(EmailCadastradoException ex, HttpServletRequest req) {
+        List<ErrorMessageDto> errors = new ArrayList<>();
+        ErrorMessageDto error = new ErrorMessageDto(ex.getMessage());
+        errors.add(error);
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                errors,
+                req.getServletPath());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CampoInvalidoException.class })
+    public ErrorDto handleCampoInvalidoException(CampoInvalidoException ex, HttpServletRequest req) {
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(ex.getMessage())),
+                req.getServletPath());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CursorInvalidoException.class })
+    public ErrorDto handleCursorInvalidoException(CursorInvalidoException ex, HttpServletRequest req) {
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(ex.getMessage())),
+                req.getServletPath());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CpfInvalidoException.class })
+    public ErrorDto handleCpfInvalidoException(CpfInvalidoException ex, HttpServletRequest req) {
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(ex.getMessage())),
+                req.getServletPath());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(value = { ImportacaoInterrompidaException.class })
+    public ErrorDto handleImportacaoInterrompidaException(ImportacaoInterrompidaException ex, HttpServletRequest req) {
+        String retomada = "Reenvie o arquivo com aPartirDaLinha=" + ex.getUltimaLinhaConfirmada() + " para continuar.";
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(retomada)),
+                req.getServletPath());
+    }
 }
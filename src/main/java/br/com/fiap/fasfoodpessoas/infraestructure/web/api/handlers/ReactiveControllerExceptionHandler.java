@@ -0,0 +1,89 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.handlers;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorMessageDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CampoInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Equivalente WebFlux de {@link ControllerExceptionHandler}, com o mesmo formato de erro.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveControllerExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CpfCadastradoException.class })
+    public ErrorDto handleCpfCadastradoException(CpfCadastradoException ex, ServerWebExchange exchange) {
+        List<ErrorMessageDto> errors = new ArrayList<>();
+        ErrorMessageDto error = new ErrorMessageDto(ex.getMessage());
+        errors.add(error);
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                errors,
+                exchange.getRequest().getPath().pathWithinApplication().value());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { EmailCadastradoException.class })
+    public ErrorDto handleEmailCadastradoException(EmailCadastradoException ex, ServerWebExchange exchange) {
+        List<ErrorMessageDto> errors = new ArrayList<>();
+        ErrorMessageDto error = new ErrorMessageDto(ex.getMessage());
+        errors.add(error);
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                errors,
+                exchange.getRequest().getPath().pathWithinApplication().value());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CpfInvalidoException.class })
+    public ErrorDto handleCpfInvalidoException(CpfInvalidoException ex, ServerWebExchange exchange) {
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(ex.getMessage())),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CampoInvalidoException.class })
+    public ErrorDto handleCampoInvalidoException(CampoInvalidoException ex, ServerWebExchange exchange) {
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(ex.getMessage())),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = { CursorInvalidoException.class })
+    public ErrorDto handleCursorInvalidoException(CursorInvalidoException ex, ServerWebExchange exchange) {
+        return new ErrorDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of(new ErrorMessageDto(ex.getMessage())),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+    }
+}
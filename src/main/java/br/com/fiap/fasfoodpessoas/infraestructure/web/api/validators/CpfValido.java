@@ -0,0 +1,28 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.validators;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CPF com formato e digitos verificadores validos, conferidos por {@link br.com.fiap.fasfoodpessoas.domain.models.Cpf}.
+ * Valores nulos sao aceitos; combine com {@code @NotNull} quando o CPF for obrigatorio.
+ */
+@Documented
+@Constraint(validatedBy = CpfValidoValidator.class)
+@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.ANNOTATION_TYPE, ElementType.CONSTRUCTOR,
+        ElementType.PARAMETER, ElementType.TYPE_USE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CpfValido {
+
+    String message() default "O CPF informado é inválido.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
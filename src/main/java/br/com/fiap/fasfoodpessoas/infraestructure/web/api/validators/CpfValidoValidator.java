@@ -0,0 +1,13 @@
+package br.com.fiap.fasfoodpessoas.infraestructure.web.api.validators;
+
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CpfValidoValidator implements ConstraintValidator<CpfValido, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence cdDocPessoa, ConstraintValidatorContext context) {
+        return cdDocPessoa == null || Cpf.isValido(cdDocPessoa);
+    }
+}
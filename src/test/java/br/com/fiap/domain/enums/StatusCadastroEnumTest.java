@@ -0,0 +1,30 @@
+package br.com.fiap.domain.enums;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusCadastroEnumTest {
+
+    @Test
+    void deveRetornarTodosOsValoresDoEnum() {
+        StatusCadastroEnum[] valores = StatusCadastroEnum.values();
+
+        assertEquals(4, valores.length);
+        assertEquals(StatusCadastroEnum.CRIADO, valores[0]);
+        assertEquals(StatusCadastroEnum.DUPLICADO, valores[1]);
+        assertEquals(StatusCadastroEnum.INVALIDO, valores[2]);
+        assertEquals(StatusCadastroEnum.FALHA, valores[3]);
+    }
+
+    @Test
+    void deveRetornarStatusQuandoValueOfValido() {
+        assertEquals(StatusCadastroEnum.DUPLICADO, StatusCadastroEnum.valueOf("DUPLICADO"));
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoValueOfInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> StatusCadastroEnum.valueOf("IGNORADO"));
+    }
+}
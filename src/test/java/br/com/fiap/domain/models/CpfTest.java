@@ -0,0 +1,154 @@
+package br.com.fiap.domain.models;
+
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.validator.constraints.br.CPF;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "11144477735", "52998224725", "12345678909", "98765432100", "111.444.777-35",
+            "111444777-35", "111.444777-35", "111444.777-35" })
+    void deveAceitarCpfsValidosComOuSemPontuacao(String cpf) {
+        assertTrue(Cpf.isValido(cpf));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "123", "11144477736", "11144477725", "111.444.777.35", "111.444.77735",
+            "111..444777-35", "111-444-777-35", "1114447773-5", "11144477735 ", " 11144477735", "1114447773a",
+            "111444777355", "111.444.777-355", "١١١٤٤٤٧٧٧٣٥" })
+    void deveRecusarCpfsInvalidosOuMalFormatados(String cpf) {
+        assertFalse(Cpf.isValido(cpf));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "00000000000", "11111111111", "22222222222", "33333333333", "44444444444",
+            "55555555555", "66666666666", "77777777777", "88888888888", "99999999999" })
+    void deveRecusarCpfsComTodosOsDigitosIguais(String cpf) {
+        assertFalse(Cpf.isValido(cpf));
+    }
+
+    @Test
+    void deveRecusarNulo() {
+        assertFalse(Cpf.isValido(null));
+    }
+
+    @Test
+    void deveConcordarComOValidadorDoHibernate() {
+        Random random = new Random(42);
+        String caracteres = "0123456789.-";
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            for (int i = 0; i < 200_000; i++) {
+                String cpf = i % 2 == 0 ? comDigitos(random) : aleatorio(random, caracteres);
+                boolean hibernate = validator.validateValue(ComCpf.class, "cdDocPessoa", cpf).isEmpty();
+                assertEquals(hibernate, Cpf.isValido(cpf), cpf);
+            }
+        }
+    }
+
+    private static String comDigitos(Random random) {
+        StringBuilder cpf = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            cpf.append((char) ('0' + random.nextInt(10)));
+        }
+        if (random.nextBoolean()) {
+            cpf.insert(9, '-');
+            if (random.nextBoolean()) {
+                cpf.insert(6, '.').insert(3, '.');
+            }
+        }
+        return cpf.toString();
+    }
+
+    private static String aleatorio(Random random, String caracteres) {
+        StringBuilder cpf = new StringBuilder();
+        int tamanho = 10 + random.nextInt(6);
+        for (int i = 0; i < tamanho; i++) {
+            cpf.append(caracteres.charAt(random.nextInt(caracteres.length())));
+        }
+        return cpf.toString();
+    }
+
+    private static final class ComCpf {
+        @CPF
+        private String cdDocPessoa;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "11144477735", "01234567890", "00000000000", "99999999999", "111.444.777-35",
+            "111444777-35", "111.444777-35", "111444.777-35", "12345678900" })
+    void deveCompactarEFormatarSemPerderAPontuacao(String cpf) {
+        long compactado = Cpf.compactar(cpf);
+
+        assertNotEquals(Cpf.INVALIDO, compactado);
+        assertTrue(compactado >= 0);
+        assertEquals(cpf, Cpf.formatar(compactado));
+        assertEquals(cpf.length(), Cpf.tamanho(compactado));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "123", "111.444.777.35", "111.444.77735", "1114447773-5", "1114447773a",
+            "111444777355", " 11144477735" })
+    void deveRecusarCompactarTextoForaDoFormato(String cpf) {
+        assertEquals(Cpf.INVALIDO, Cpf.compactar(cpf));
+    }
+
+    @Test
+    void deveCompactarNuloComoInvalido() {
+        assertEquals(Cpf.INVALIDO, Cpf.compactar(null));
+    }
+
+    @Test
+    void deveCompactarComESemPontuacaoNoMesmoNumero() {
+        long semPontuacao = Cpf.compactar("11144477735");
+        long comPontuacao = Cpf.compactar("111.444.777-35");
+
+        assertNotEquals(semPontuacao, comPontuacao);
+        assertEquals(11144477735L, semPontuacao);
+        assertEquals(semPontuacao, Cpf.numero(comPontuacao));
+    }
+
+    @Test
+    void deveEscreverCpfNaPosicaoInformadaDoBuffer() {
+        byte[] destino = new byte[20];
+
+        int escritos = Cpf.escrever(Cpf.compactar("111.444.777-35"), destino, 3);
+
+        assertEquals(14, escritos);
+        assertEquals("111.444.777-35", new String(destino, 3, escritos, java.nio.charset.StandardCharsets.US_ASCII));
+        assertEquals(0, destino[2]);
+        assertEquals(0, destino[17]);
+    }
+
+    @Test
+    void deveManterOrdemDosCpfsCompactadosEm40Bits() {
+        String[] textos = { "00000000000", "11144477735", "99999999999", "111.444.777-35", "111444777-35",
+                "111.444777-35", "999.999.999-99" };
+        for (String a : textos) {
+            for (String b : textos) {
+                long ca = Cpf.compactar(a);
+                long cb = Cpf.compactar(b);
+                assertEquals(Long.signum(ca - cb), Long.signum(Cpf.ordem(ca) - Cpf.ordem(cb)), a + " x " + b);
+            }
+            assertTrue(Cpf.ordem(Cpf.compactar(a)) < 1L << 40);
+        }
+    }
+
+    @Test
+    void deveRecusarFormatarValorQueNaoEUmCpfCompactado() {
+        assertThrows(IllegalArgumentException.class, () -> Cpf.formatar(Cpf.INVALIDO));
+        assertThrows(IllegalArgumentException.class, () -> Cpf.formatar(100_000_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> Cpf.formatar(Long.MAX_VALUE));
+    }
+}
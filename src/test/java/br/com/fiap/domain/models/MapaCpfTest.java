@@ -0,0 +1,72 @@
+package br.com.fiap.domain.models;
+
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.MapaCpf;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapaCpfTest {
+
+    @Test
+    void deveColocarBuscarERemover() {
+        MapaCpf<String> mapa = new MapaCpf<>();
+
+        assertNull(mapa.colocar(11144477735L, "primeiro"));
+        assertEquals("primeiro", mapa.colocar(11144477735L, "segundo"));
+        assertEquals("segundo", mapa.buscar(11144477735L));
+        assertTrue(mapa.contem(11144477735L));
+        assertEquals(1, mapa.tamanho());
+
+        assertEquals("segundo", mapa.remover(11144477735L));
+        assertNull(mapa.remover(11144477735L));
+        assertFalse(mapa.contem(11144477735L));
+        assertTrue(mapa.isVazio());
+    }
+
+    @Test
+    void deveColocarSeAusenteSemSubstituir() {
+        MapaCpf<String> mapa = new MapaCpf<>();
+
+        assertNull(mapa.colocarSeAusente(0L, "primeiro"));
+        assertEquals("primeiro", mapa.colocarSeAusente(0L, "segundo"));
+        assertEquals("primeiro", mapa.buscar(0L));
+    }
+
+    @Test
+    void deveResponderAusenteParaCpfInvalido() {
+        MapaCpf<String> mapa = new MapaCpf<>();
+
+        assertNull(mapa.buscar(Cpf.INVALIDO));
+        assertFalse(mapa.contem(Cpf.INVALIDO));
+        assertNull(mapa.remover(Cpf.INVALIDO));
+        assertThrows(IllegalArgumentException.class, () -> mapa.colocar(Cpf.INVALIDO, "valor"));
+        assertThrows(NullPointerException.class, () -> mapa.colocar(1L, null));
+        assertThrows(IllegalArgumentException.class, () -> new MapaCpf<>(-1));
+    }
+
+    @Test
+    void deveConcordarComHashMapEmOperacoesAleatorias() {
+        MapaCpf<Long> mapa = new MapaCpf<>(4);
+        Map<Long, Long> referencia = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long cpf = random.nextInt(5_000) * 1_000_003L;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(referencia.put(cpf, (long) i), mapa.colocar(cpf, (long) i));
+                case 1 -> assertEquals(referencia.remove(cpf), mapa.remover(cpf));
+                default -> assertEquals(referencia.get(cpf), mapa.buscar(cpf));
+            }
+            assertEquals(referencia.size(), mapa.tamanho());
+        }
+
+        Map<Long, Long> visitados = new HashMap<>();
+        mapa.paraCada(visitados::put);
+        assertEquals(referencia, visitados);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.fiap.domain.models;
 
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +36,26 @@ class PessoaModelTest {
         assertEquals("joao@email.com", pessoa.getDsEmail());
     }
 
+    @Test
+    void deveNormalizarEmailNoConstrutorENoSetter() {
+        PessoaModel pessoa = new PessoaModel("12345678900", "Joao", TipoPessoaEnum.CLIENTE, " Joao@Email.com ");
+
+        assertEquals("joao@email.com", pessoa.getDsEmail());
+        assertEquals("maria@email.com", pessoa.setDsEmail("MARIA@email.com\t").getDsEmail());
+        assertNull(pessoa.setDsEmail(null).getDsEmail());
+    }
+
+    @Test
+    void deveReaproveitarTextoDoCpfEntreChamadas() {
+        PessoaModel pessoa = new PessoaModel("111.444.777-35", "Joao", TipoPessoaEnum.CLIENTE, null);
+
+        String primeiro = pessoa.getCdDocPessoa();
+
+        assertEquals("111.444.777-35", primeiro);
+        assertSame(primeiro, pessoa.getCdDocPessoa());
+        assertEquals("52998224725", pessoa.setCdDocPessoa("52998224725").getCdDocPessoa());
+    }
+
     @Test
     void deveSetarCdDocPessoaComRetornoFluent() {
         PessoaModel pessoa = new PessoaModel();
@@ -224,4 +245,42 @@ class PessoaModelTest {
 
         assertEquals("", pessoa.getDsEmail());
     }
+
+    @Test
+    void deveGuardarCpfCompactadoEDevolverOTextoOriginal() {
+        PessoaModel pessoa = new PessoaModel("111.444.777-35", "Teste", TipoPessoaEnum.CLIENTE, "teste@email.com");
+
+        assertEquals(Cpf.compactar("111.444.777-35"), pessoa.getCpf());
+        assertEquals("111.444.777-35", pessoa.getCdDocPessoa());
+
+        pessoa.setCdDocPessoa("01234567890");
+
+        assertEquals(1234567890L, pessoa.getCpf());
+        assertEquals("01234567890", pessoa.getCdDocPessoa());
+    }
+
+    @Test
+    void deveManterTextoDeDocumentoForaDoFormatoDeCpf() {
+        PessoaModel pessoa = new PessoaModel("abc", "Teste", TipoPessoaEnum.CLIENTE, "teste@email.com");
+
+        assertEquals(Cpf.INVALIDO, pessoa.getCpf());
+        assertEquals("abc", pessoa.getCdDocPessoa());
+        assertNull(new PessoaModel().getCdDocPessoa());
+        assertEquals(Cpf.INVALIDO, new PessoaModel().getCpf());
+    }
+
+    @Test
+    void deveCopiarTodosOsCamposSemCompartilharAInstancia() {
+        PessoaModel original = new PessoaModel("111.444.777-35", "Teste", TipoPessoaEnum.CLIENTE, "teste@email.com");
+
+        PessoaModel copia = new PessoaModel(original);
+        copia.setNmPessoa("Outro");
+
+        assertNotSame(original, copia);
+        assertEquals(original.getCpf(), copia.getCpf());
+        assertEquals("111.444.777-35", copia.getCdDocPessoa());
+        assertEquals(TipoPessoaEnum.CLIENTE, copia.getTpPessoa());
+        assertEquals("teste@email.com", copia.getDsEmail());
+        assertEquals("Teste", original.getNmPessoa());
+    }
 }
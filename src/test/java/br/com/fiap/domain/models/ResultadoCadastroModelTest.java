@@ -0,0 +1,51 @@
+package br.com.fiap.domain.models;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultadoCadastroModelTest {
+
+    @Test
+    void deveCriarResultadoComConstrutorCompleto() {
+        ResultadoCadastroModel resultado = new ResultadoCadastroModel("12345678900", StatusCadastroEnum.INVALIDO);
+
+        assertEquals("12345678900", resultado.getCdDocPessoa());
+        assertEquals(StatusCadastroEnum.INVALIDO, resultado.getStatus());
+    }
+
+    @Test
+    void deveCriarResultadoCriado() {
+        ResultadoCadastroModel resultado = ResultadoCadastroModel.criado("12345678900");
+
+        assertEquals("12345678900", resultado.getCdDocPessoa());
+        assertEquals(StatusCadastroEnum.CRIADO, resultado.getStatus());
+    }
+
+    @Test
+    void deveCriarResultadoDuplicado() {
+        ResultadoCadastroModel resultado = ResultadoCadastroModel.duplicado("98765432100");
+
+        assertEquals("98765432100", resultado.getCdDocPessoa());
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultado.getStatus());
+    }
+
+    @Test
+    void deveCriarResultadoDeEmailDuplicadoComMensagem() {
+        ResultadoCadastroModel resultado = ResultadoCadastroModel.emailDuplicado("98765432100");
+
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultado.getStatus());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", resultado.getMensagem());
+    }
+
+    @Test
+    void deveCriarResultadoDeFalha() {
+        ResultadoCadastroModel resultado = ResultadoCadastroModel.falha("98765432100", "Servico indisponivel");
+
+        assertEquals(StatusCadastroEnum.FALHA, resultado.getStatus());
+        assertEquals("Servico indisponivel", resultado.getMensagem());
+        assertNull(ResultadoCadastroModel.criado("98765432100").getMensagem());
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.fiap.domain.ports.in;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaAsyncServicePortTest {
+
+    @Test
+    void deveSerUmaInterface() {
+        assertTrue(PessoaAsyncServicePort.class.isInterface());
+    }
+
+    @Test
+    void deveRetornarCompletableFutureEmTodosOsMetodos() throws NoSuchMethodException {
+        assertEquals(CompletableFuture.class, PessoaAsyncServicePort.class.getMethod("cadastraPessoa", PessoaModel.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncServicePort.class.getMethod("buscaPessoaPorCpf", String.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncServicePort.class.getMethod("buscaPessoaPorCpf", String.class, Set.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncServicePort.class.getMethod("buscaPessoaPorEmail", String.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncServicePort.class.getMethod("listaPessoasPorTipo", TipoPessoaEnum.class, int.class, String.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncServicePort.class.getMethod("buscaPessoasPorCpfs", Collection.class).getReturnType());
+    }
+
+    @Test
+    void deveConterSeisMetodos() {
+        assertEquals(6, PessoaAsyncServicePort.class.getDeclaredMethods().length);
+    }
+}
@@ -1,11 +1,15 @@
 package br.com.fiap.domain.ports.in;
 
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Modifier;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,13 +41,90 @@ class PessoaServicePortTest {
     }
 
     @Test
-    void deveConterDoisMetodos() {
-        assertEquals(2, PessoaServicePort.class.getDeclaredMethods().length);
+    void deveConterDezMetodos() {
+        long metodosNaoSinteticos = java.util.Arrays.stream(PessoaServicePort.class.getDeclaredMethods())
+                .filter(metodo -> !metodo.isSynthetic())
+                .count();
+        assertEquals(10, metodosNaoSinteticos);
+    }
+
+    @Test
+    void deveExigirBuscaPorEmailListagemEExportacaoDeTodaImplementacao() throws NoSuchMethodException {
+        assertTrue(Modifier.isAbstract(PessoaServicePort.class
+                .getMethod("buscaPessoaPorEmail", String.class).getModifiers()));
+        assertTrue(Modifier.isAbstract(PessoaServicePort.class
+                .getMethod("listaPessoasPorTipo", TipoPessoaEnum.class, int.class, String.class).getModifiers()));
+        assertTrue(Modifier.isAbstract(PessoaServicePort.class
+                .getMethod("exportaPessoas", int.class, double.class, Consumer.class).getModifiers()));
+    }
+
+    @Test
+    void deveCadastrarPessoasEmLotePeloMetodoDefault() {
+        PessoaModel nova = new PessoaModel.Builder()
+                .setCdDocPessoa("11111111111")
+                .setNmPessoa("Nova Pessoa")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("nova@email.com")
+                .build();
+        PessoaModel existente = new PessoaModel.Builder()
+                .setCdDocPessoa("22222222222")
+                .setNmPessoa("Pessoa Existente")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("existente@email.com")
+                .build();
+
+        PessoaServicePort implementacao = new ServicoPorCpf() {
+            @Override
+            public PessoaModel cadastraPessoa(PessoaModel pessoaModel) {
+                if (pessoaModel == existente) {
+                    throw new br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException("duplicado");
+                }
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa) {
+                return Optional.empty();
+            }
+        };
+
+        var resultado = implementacao.cadastraPessoas(java.util.List.of(nova, existente));
+
+        assertEquals(2, resultado.size());
+        assertEquals(br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum.CRIADO, resultado.get(0).getStatus());
+        assertEquals(br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum.DUPLICADO, resultado.get(1).getStatus());
+    }
+
+    @Test
+    void deveBuscarPessoasEmLotePeloMetodoDefault() {
+        PessoaModel pessoa = new PessoaModel.Builder()
+                .setCdDocPessoa("12345678900")
+                .setNmPessoa("Ana Silva")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("ana@email.com")
+                .build();
+
+        PessoaServicePort implementacao = new ServicoPorCpf() {
+            @Override
+            public PessoaModel cadastraPessoa(PessoaModel pessoaModel) {
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscaPessoaPorCpf(String cdDocPessoa) {
+                return "12345678900".equals(cdDocPessoa) ? Optional.of(pessoa) : Optional.empty();
+            }
+        };
+
+        var resultado = implementacao.buscaPessoasPorCpfs(java.util.List.of("12345678900", "00000000000"));
+
+        assertEquals(1, resultado.size());
+        assertSame(pessoa, resultado.get(0));
     }
 
     @Test
     void devePermitirImplementacao() {
-        PessoaServicePort implementacao = new PessoaServicePort() {
+        PessoaServicePort implementacao = new ServicoPorCpf() {
             @Override
             public PessoaModel cadastraPessoa(PessoaModel pessoa) {
                 return pessoa;
@@ -67,7 +148,7 @@ class PessoaServicePortTest {
                 .setDsEmail("joao@email.com")
                 .build();
 
-        PessoaServicePort implementacao = new PessoaServicePort() {
+        PessoaServicePort implementacao = new ServicoPorCpf() {
             @Override
             public PessoaModel cadastraPessoa(PessoaModel pessoa) {
                 return pessoa;
@@ -94,7 +175,7 @@ class PessoaServicePortTest {
                 .setDsEmail("maria@email.com")
                 .build();
 
-        PessoaServicePort implementacao = new PessoaServicePort() {
+        PessoaServicePort implementacao = new ServicoPorCpf() {
             @Override
             public PessoaModel cadastraPessoa(PessoaModel pessoa) {
                 return pessoa;
@@ -117,7 +198,7 @@ class PessoaServicePortTest {
 
     @Test
     void deveRetornarOptionalVazioQuandoCpfNaoEncontrado() {
-        PessoaServicePort implementacao = new PessoaServicePort() {
+        PessoaServicePort implementacao = new ServicoPorCpf() {
             @Override
             public PessoaModel cadastraPessoa(PessoaModel pessoa) {
                 return pessoa;
@@ -137,7 +218,7 @@ class PessoaServicePortTest {
 
     @Test
     void devePermitirMultiplasImplementacoesDiferentes() {
-        PessoaServicePort implementacao1 = new PessoaServicePort() {
+        PessoaServicePort implementacao1 = new ServicoPorCpf() {
             @Override
             public PessoaModel cadastraPessoa(PessoaModel pessoa) {
                 return pessoa;
@@ -149,7 +230,7 @@ class PessoaServicePortTest {
             }
         };
 
-        PessoaServicePort implementacao2 = new PessoaServicePort() {
+        PessoaServicePort implementacao2 = new ServicoPorCpf() {
             @Override
             public PessoaModel cadastraPessoa(PessoaModel pessoa) {
                 return new PessoaModel.Builder()
@@ -194,4 +275,24 @@ class PessoaServicePortTest {
         assertEquals("br.com.fiap.fasfoodpessoas.domain.ports.in", 
                      PessoaServicePort.class.getPackageName());
     }
+
+    /**
+     * Base das implementacoes de teste, que so precisam do cadastro e da busca por CPF.
+     */
+    private abstract static class ServicoPorCpf implements PessoaServicePort {
+
+        @Override
+        public Optional<PessoaModel> buscaPessoaPorEmail(String dsEmail) {
+            return Optional.empty();
+        }
+
+        @Override
+        public PaginaPessoasModel listaPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+            return new PaginaPessoasModel(List.of(), null);
+        }
+
+        @Override
+        public void exportaPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package br.com.fiap.domain.ports.out;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaAsyncRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaAsyncRepositoryPortTest {
+
+    @Test
+    void deveSerUmaInterface() {
+        assertTrue(PessoaAsyncRepositoryPort.class.isInterface());
+    }
+
+    @Test
+    void deveRetornarCompletableFutureEmTodosOsMetodos() throws NoSuchMethodException {
+        assertEquals(CompletableFuture.class, PessoaAsyncRepositoryPort.class.getMethod("cadastrarPessoaSeNaoExistir", PessoaModel.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncRepositoryPort.class.getMethod("buscarPessoaPorCpf", String.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncRepositoryPort.class.getMethod("buscarPessoaPorCpf", String.class, Set.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncRepositoryPort.class.getMethod("buscarPessoaPorEmail", String.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncRepositoryPort.class.getMethod("listarPessoasPorTipo", TipoPessoaEnum.class, int.class, String.class).getReturnType());
+        assertEquals(CompletableFuture.class, PessoaAsyncRepositoryPort.class.getMethod("buscarPessoasPorCpfs", Collection.class).getReturnType());
+    }
+
+    @Test
+    void deveConterSeisMetodos() {
+        assertEquals(6, PessoaAsyncRepositoryPort.class.getDeclaredMethods().length);
+    }
+}
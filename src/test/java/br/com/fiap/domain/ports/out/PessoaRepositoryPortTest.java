@@ -1,11 +1,17 @@
 package br.com.fiap.domain.ports.out;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Modifier;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,13 +43,56 @@ class PessoaRepositoryPortTest {
     }
 
     @Test
-    void deveConterDoisMetodos() {
-        assertEquals(2, PessoaRepositoryPort.class.getDeclaredMethods().length);
+    void deveConterDozeMetodos() {
+        long metodosNaoSinteticos = java.util.Arrays.stream(PessoaRepositoryPort.class.getDeclaredMethods())
+                .filter(metodo -> !metodo.isSynthetic())
+                .count();
+        assertEquals(12, metodosNaoSinteticos);
+    }
+
+    @Test
+    void deveCadastrarCadaPessoaCondicionalmenteNoMetodoDefault() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
+            @Override
+            public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+                if ("22222222222".equals(pessoaModel.getCdDocPessoa())) {
+                    throw new IllegalStateException("Servico indisponivel");
+                }
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+                return "11111111111".equals(cdDocPessoa)
+                        ? Optional.of(new PessoaModel.Builder().setCdDocPessoa(cdDocPessoa).build())
+                        : Optional.empty();
+            }
+        };
+
+        List<ResultadoCadastroModel> resultados = implementacao.cadastrarPessoasSeNaoExistirem(List.of(
+                new PessoaModel.Builder().setCdDocPessoa("11111111111").build(),
+                new PessoaModel.Builder().setCdDocPessoa("22222222222").build(),
+                new PessoaModel.Builder().setCdDocPessoa("33333333333").build()));
+
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultados.get(0).getStatus());
+        assertEquals(StatusCadastroEnum.FALHA, resultados.get(1).getStatus());
+        assertEquals("Servico indisponivel", resultados.get(1).getMensagem());
+        assertEquals(StatusCadastroEnum.CRIADO, resultados.get(2).getStatus());
+    }
+
+    @Test
+    void deveExigirBuscaPorEmailListagemEExportacaoDeTodaImplementacao() throws NoSuchMethodException {
+        assertTrue(Modifier.isAbstract(PessoaRepositoryPort.class
+                .getMethod("buscarPessoaPorEmail", String.class).getModifiers()));
+        assertTrue(Modifier.isAbstract(PessoaRepositoryPort.class
+                .getMethod("listarPessoasPorTipo", TipoPessoaEnum.class, int.class, String.class).getModifiers()));
+        assertTrue(Modifier.isAbstract(PessoaRepositoryPort.class
+                .getMethod("exportarPessoas", int.class, double.class, Consumer.class).getModifiers()));
     }
 
     @Test
     void devePermitirImplementacao() {
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -67,7 +116,7 @@ class PessoaRepositoryPortTest {
                 .setDsEmail("ana@email.com")
                 .build();
 
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -95,7 +144,7 @@ class PessoaRepositoryPortTest {
                 .setDsEmail("carlos@email.com")
                 .build();
 
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -119,7 +168,7 @@ class PessoaRepositoryPortTest {
 
     @Test
     void deveRetornarOptionalVazioQuandoCpfNaoEncontrado() {
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -146,7 +195,7 @@ class PessoaRepositoryPortTest {
                 .setDsEmail("maria@email.com")
                 .build();
 
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -172,7 +221,7 @@ class PessoaRepositoryPortTest {
                 .setDsEmail("pedro@empresa.com")
                 .build();
 
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -191,7 +240,7 @@ class PessoaRepositoryPortTest {
 
     @Test
     void devePermitirImplementacaoComArmazenamentoEmMemoria() {
-        PessoaRepositoryPort implementacao = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
             private PessoaModel pessoaArmazenada;
 
             @Override
@@ -241,6 +290,112 @@ class PessoaRepositoryPortTest {
         assertTrue(java.lang.reflect.Modifier.isPublic(method.getModifiers()));
     }
 
+    @Test
+    void deveDefinirCadastrarPessoaSeNaoExistirComoMetodoDefault() throws NoSuchMethodException {
+        var method = PessoaRepositoryPort.class.getMethod("cadastrarPessoaSeNaoExistir", PessoaModel.class);
+
+        assertTrue(method.isDefault());
+        assertEquals(PessoaModel.class, method.getReturnType());
+    }
+
+    @Test
+    void deveCadastrarPeloMetodoDefaultQuandoCpfNaoExiste() {
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
+            @Override
+            public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+                return Optional.empty();
+            }
+        };
+
+        PessoaModel pessoa = new PessoaModel.Builder()
+                .setCdDocPessoa("44444444444")
+                .setNmPessoa("Lucas Lima")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("lucas@email.com")
+                .build();
+
+        assertSame(pessoa, implementacao.cadastrarPessoaSeNaoExistir(pessoa));
+    }
+
+    @Test
+    void deveLancarExcecaoPeloMetodoDefaultQuandoCpfJaExiste() {
+        PessoaModel pessoa = new PessoaModel.Builder()
+                .setCdDocPessoa("55555555555")
+                .setNmPessoa("Bruna Dias")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("bruna@email.com")
+                .build();
+
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
+            @Override
+            public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+                fail("Nao deve cadastrar CPF existente");
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+                return Optional.of(pessoa);
+            }
+        };
+
+        assertThrows(br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException.class,
+                () -> implementacao.cadastrarPessoaSeNaoExistir(pessoa));
+    }
+
+    @Test
+    void deveCadastrarPessoasEmLotePeloMetodoDefault() {
+        java.util.List<PessoaModel> cadastradas = new java.util.ArrayList<>();
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
+            @Override
+            public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+                cadastradas.add(pessoaModel);
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+                return Optional.empty();
+            }
+        };
+
+        implementacao.cadastrarPessoasEmLote(java.util.List.of(new PessoaModel(), new PessoaModel()));
+
+        assertEquals(2, cadastradas.size());
+    }
+
+    @Test
+    void deveBuscarPessoasEmLotePeloMetodoDefault() {
+        PessoaModel pessoa = new PessoaModel.Builder()
+                .setCdDocPessoa("66666666666")
+                .setNmPessoa("Rafael Souza")
+                .setTpPessoa(TipoPessoaEnum.FUNCIONARIO)
+                .setDsEmail("rafael@empresa.com")
+                .build();
+
+        PessoaRepositoryPort implementacao = new RepositorioPorCpf() {
+            @Override
+            public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
+                return pessoaModel;
+            }
+
+            @Override
+            public Optional<PessoaModel> buscarPessoaPorCpf(String cdDocPessoa) {
+                return "66666666666".equals(cdDocPessoa) ? Optional.of(pessoa) : Optional.empty();
+            }
+        };
+
+        var resultado = implementacao.buscarPessoasPorCpfs(java.util.List.of("66666666666", "77777777777"));
+
+        assertEquals(1, resultado.size());
+        assertSame(pessoa, resultado.get(0));
+    }
+
     @Test
     void deveEstarNoPacoteCorreto() {
         assertEquals("br.com.fiap.fasfoodpessoas.domain.ports.out", 
@@ -249,7 +404,7 @@ class PessoaRepositoryPortTest {
 
     @Test
     void devePermitirMultiplasImplementacoesDiferentes() {
-        PessoaRepositoryPort implementacao1 = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao1 = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return pessoaModel;
@@ -261,7 +416,7 @@ class PessoaRepositoryPortTest {
             }
         };
 
-        PessoaRepositoryPort implementacao2 = new PessoaRepositoryPort() {
+        PessoaRepositoryPort implementacao2 = new RepositorioPorCpf() {
             @Override
             public PessoaModel cadastrarPessoa(PessoaModel pessoaModel) {
                 return new PessoaModel.Builder()
@@ -282,4 +437,24 @@ class PessoaRepositoryPortTest {
         assertNotNull(implementacao2);
         assertNotEquals(implementacao1.getClass(), implementacao2.getClass());
     }
+
+    /**
+     * Base das implementacoes de teste, que so precisam do cadastro e da busca por CPF.
+     */
+    private abstract static class RepositorioPorCpf implements PessoaRepositoryPort {
+
+        @Override
+        public Optional<PessoaModel> buscarPessoaPorEmail(String dsEmail) {
+            return Optional.empty();
+        }
+
+        @Override
+        public PaginaPessoasModel listarPessoasPorTipo(TipoPessoaEnum tpPessoa, int tamanho, String cursor) {
+            return new PaginaPessoasModel(List.of(), null);
+        }
+
+        @Override
+        public void exportarPessoas(int segmentos, double capacidadeLeituraPorSegundo, Consumer<PessoaModel> consumidor) {
+        }
+    }
 }
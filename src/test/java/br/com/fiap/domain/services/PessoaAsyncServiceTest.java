@@ -0,0 +1,114 @@
+package br.com.fiap.domain.services;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaAsyncRepositoryPort;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaAsyncService;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaAsyncServiceTest {
+
+    @Mock
+    private PessoaAsyncRepositoryPort pessoaAsyncRepositoryPort;
+
+    private PessoaAsyncService pessoaAsyncService;
+    private PessoaModel pessoaCliente;
+
+    @BeforeEach
+    void setUp() {
+        pessoaAsyncService = new PessoaAsyncService(pessoaAsyncRepositoryPort);
+        pessoaCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+    }
+
+    @Test
+    void deveCadastrarPessoaComEscritaCondicionalDoRepositorio() {
+        when(pessoaAsyncRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaCliente))
+                .thenReturn(CompletableFuture.completedFuture(pessoaCliente));
+
+        assertSame(pessoaCliente, pessoaAsyncService.cadastraPessoa(pessoaCliente).join());
+    }
+
+    @Test
+    void deveDevolverOFuturoComErroDoRepositorio() {
+        when(pessoaAsyncRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaCliente)).thenReturn(
+                CompletableFuture.failedFuture(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado")));
+
+        CompletionException erro = assertThrows(CompletionException.class,
+                () -> pessoaAsyncService.cadastraPessoa(pessoaCliente).join());
+
+        assertInstanceOf(CpfCadastradoException.class, erro.getCause());
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpfNoRepositorio() {
+        when(pessoaAsyncRepositoryPort.buscarPessoaPorCpf("12345678900"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaCliente)));
+
+        assertEquals(Optional.of(pessoaCliente), pessoaAsyncService.buscaPessoaPorCpf("12345678900").join());
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpfComCamposNoRepositorio() {
+        Set<CampoPessoaEnum> campos = EnumSet.of(CampoPessoaEnum.NM_PESSOA);
+        when(pessoaAsyncRepositoryPort.buscarPessoaPorCpf("12345678900", campos))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaCliente)));
+
+        assertEquals(Optional.of(pessoaCliente), pessoaAsyncService.buscaPessoaPorCpf("12345678900", campos).join());
+    }
+
+    @Test
+    void deveBuscarPessoaPeloEmailNormalizado() {
+        when(pessoaAsyncRepositoryPort.buscarPessoaPorEmail("joao@email.com"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaCliente)));
+
+        assertEquals(Optional.of(pessoaCliente), pessoaAsyncService.buscaPessoaPorEmail(" Joao@Email.com ").join());
+    }
+
+    @Test
+    void deveListarPessoasPorTipoNoRepositorio() {
+        PaginaPessoasModel pagina = new PaginaPessoasModel(List.of(pessoaCliente), "cursor");
+        when(pessoaAsyncRepositoryPort.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, null))
+                .thenReturn(CompletableFuture.completedFuture(pagina));
+
+        assertSame(pagina, pessoaAsyncService.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, null).join());
+    }
+
+    @Test
+    void deveBuscarCpfsDistintosEmLoteSemNulos() {
+        when(pessoaAsyncRepositoryPort.buscarPessoasPorCpfs(Set.of("12345678900", "98765432100")))
+                .thenReturn(CompletableFuture.completedFuture(List.of(pessoaCliente)));
+
+        List<PessoaModel> resultado = pessoaAsyncService
+                .buscaPessoasPorCpfs(Arrays.asList("12345678900", null, "98765432100", "12345678900"))
+                .join();
+
+        assertEquals(List.of(pessoaCliente), resultado);
+    }
+
+    @Test
+    void naoDeveConsultarORepositorioComListaVazia() {
+        assertTrue(pessoaAsyncService.buscaPessoasPorCpfs(Arrays.asList(null, null)).join().isEmpty());
+
+        verify(pessoaAsyncRepositoryPort, never()).buscarPessoasPorCpfs(any());
+    }
+}
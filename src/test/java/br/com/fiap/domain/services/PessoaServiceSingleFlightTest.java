@@ -0,0 +1,245 @@
+package br.com.fiap.domain.services;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaServiceSingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaServiceSingleFlightTest {
+
+    private static final int CHAMADAS_CONCORRENTES = 8;
+
+    @Mock
+    private PessoaServicePort delegate;
+
+    private PessoaServiceSingleFlight pessoaServiceSingleFlight;
+    private ExecutorService executor;
+    private PessoaModel pessoaCliente;
+
+    @BeforeEach
+    void setUp() {
+        pessoaServiceSingleFlight = new PessoaServiceSingleFlight(delegate);
+        executor = Executors.newFixedThreadPool(CHAMADAS_CONCORRENTES);
+        pessoaCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveCompartilharUmaUnicaBuscaEntreChamadasConcorrentes() throws Exception {
+        CountDownLatch liberarBusca = new CountDownLatch(1);
+        when(delegate.buscaPessoaPorCpf("12345678900")).thenAnswer(invocation -> {
+            liberarBusca.await(5, TimeUnit.SECONDS);
+            return Optional.of(pessoaCliente);
+        });
+
+        List<Future<Optional<PessoaModel>>> chamadas = dispararBuscasConcorrentes();
+        aguardarChamadasAgrupadas();
+        liberarBusca.countDown();
+
+        List<PessoaModel> pessoas = new ArrayList<>();
+        for (Future<Optional<PessoaModel>> chamada : chamadas) {
+            PessoaModel pessoa = chamada.get(5, TimeUnit.SECONDS).orElseThrow();
+            assertEquals("12345678900", pessoa.getCdDocPessoa());
+            assertEquals("João Silva", pessoa.getNmPessoa());
+            assertEquals(TipoPessoaEnum.CLIENTE, pessoa.getTpPessoa());
+            assertEquals("joao@email.com", pessoa.getDsEmail());
+            pessoas.add(pessoa);
+        }
+        // Cada chamada agrupada recebe a propria copia; so a que executou a busca recebe a instancia do delegate
+        assertEquals(CHAMADAS_CONCORRENTES, pessoas.stream().map(System::identityHashCode).distinct().count());
+        assertEquals(1, pessoas.stream().filter(pessoa -> pessoa == pessoaCliente).count());
+        verify(delegate, times(1)).buscaPessoaPorCpf("12345678900");
+        assertEquals(1, pessoaServiceSingleFlight.getBuscasExecutadas());
+        assertEquals(CHAMADAS_CONCORRENTES - 1, pessoaServiceSingleFlight.getBuscasAgrupadas());
+    }
+
+    @Test
+    void deveRepassarAMesmaExcecaoParaTodasAsChamadasAgrupadas() throws Exception {
+        CountDownLatch liberarBusca = new CountDownLatch(1);
+        IllegalStateException falha = new IllegalStateException("DynamoDB indisponivel");
+        when(delegate.buscaPessoaPorCpf("12345678900")).thenAnswer(invocation -> {
+            liberarBusca.await(5, TimeUnit.SECONDS);
+            throw falha;
+        });
+
+        List<Future<Optional<PessoaModel>>> chamadas = dispararBuscasConcorrentes();
+        aguardarChamadasAgrupadas();
+        liberarBusca.countDown();
+
+        for (Future<Optional<PessoaModel>> chamada : chamadas) {
+            ExecutionException excecao = assertThrows(ExecutionException.class, () -> chamada.get(5, TimeUnit.SECONDS));
+            assertSame(falha, excecao.getCause());
+        }
+        verify(delegate, times(1)).buscaPessoaPorCpf("12345678900");
+    }
+
+    @Test
+    void deveExecutarNovaBuscaAposAConcluirAAnterior() {
+        when(delegate.buscaPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        pessoaServiceSingleFlight.buscaPessoaPorCpf("12345678900");
+        pessoaServiceSingleFlight.buscaPessoaPorCpf("12345678900");
+
+        verify(delegate, times(2)).buscaPessoaPorCpf("12345678900");
+        assertEquals(2, pessoaServiceSingleFlight.getBuscasExecutadas());
+        assertEquals(0, pessoaServiceSingleFlight.getBuscasAgrupadas());
+    }
+
+    @Test
+    void deveLiberarCpfAposFalhaNaBusca() {
+        when(delegate.buscaPessoaPorCpf("12345678900"))
+                .thenThrow(new IllegalStateException("falha"))
+                .thenReturn(Optional.of(pessoaCliente));
+
+        assertThrows(IllegalStateException.class, () -> pessoaServiceSingleFlight.buscaPessoaPorCpf("12345678900"));
+
+        assertTrue(pessoaServiceSingleFlight.buscaPessoaPorCpf("12345678900").isPresent());
+    }
+
+    @Test
+    void deveAgruparTextosIguaisDoMesmoCpfPelaFormaCompacta() throws Exception {
+        CountDownLatch liberarBusca = new CountDownLatch(1);
+        PessoaModel formatada = new PessoaModel("111.444.777-35", "Maria", TipoPessoaEnum.CLIENTE, null);
+        when(delegate.buscaPessoaPorCpf(anyString())).thenAnswer(invocation -> {
+            liberarBusca.await(5, TimeUnit.SECONDS);
+            return Optional.of(formatada);
+        });
+
+        List<Future<Optional<PessoaModel>>> chamadas = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS_CONCORRENTES; i++) {
+            // Uma String nova por chamada, como em cada requisicao
+            String cdDocPessoa = new StringBuilder("111.444.777-35").toString();
+            chamadas.add(executor.submit(() -> pessoaServiceSingleFlight.buscaPessoaPorCpf(cdDocPessoa)));
+        }
+        aguardarChamadasAgrupadas();
+        liberarBusca.countDown();
+
+        for (Future<Optional<PessoaModel>> chamada : chamadas) {
+            assertEquals("111.444.777-35", chamada.get(5, TimeUnit.SECONDS).orElseThrow().getCdDocPessoa());
+        }
+        verify(delegate, times(1)).buscaPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void naoDeveAgruparCpfComPontuacaoDiferenteGravadoComoOutroItem() {
+        when(delegate.buscaPessoaPorCpf(anyString())).thenReturn(Optional.empty());
+
+        pessoaServiceSingleFlight.buscaPessoaPorCpf("111.444.777-35");
+        pessoaServiceSingleFlight.buscaPessoaPorCpf("11144477735");
+
+        verify(delegate).buscaPessoaPorCpf("111.444.777-35");
+        verify(delegate).buscaPessoaPorCpf("11144477735");
+    }
+
+    @Test
+    void deveDelegarSemAgruparDocumentoForaDoFormatoDeCpf() {
+        when(delegate.buscaPessoaPorCpf("abc")).thenReturn(Optional.empty());
+
+        assertTrue(pessoaServiceSingleFlight.buscaPessoaPorCpf("abc").isEmpty());
+        assertEquals(0, pessoaServiceSingleFlight.getBuscasExecutadas());
+    }
+
+    @Test
+    void deveDelegarBuscaComCpfNulo() {
+        when(delegate.buscaPessoaPorCpf(null)).thenReturn(Optional.empty());
+
+        assertTrue(pessoaServiceSingleFlight.buscaPessoaPorCpf(null).isEmpty());
+        verify(delegate, times(1)).buscaPessoaPorCpf(null);
+    }
+
+    @Test
+    void deveDelegarDemaisOperacoes() {
+        List<ResultadoCadastroModel> resultados = List.of(ResultadoCadastroModel.criado("12345678900"));
+        when(delegate.cadastraPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+        when(delegate.buscaPessoasPorCpfs(List.of("12345678900"))).thenReturn(List.of(pessoaCliente));
+        when(delegate.cadastraPessoas(List.of(pessoaCliente))).thenReturn(resultados);
+
+        assertSame(pessoaCliente, pessoaServiceSingleFlight.cadastraPessoa(pessoaCliente));
+        assertEquals(List.of(pessoaCliente), pessoaServiceSingleFlight.buscaPessoasPorCpfs(List.of("12345678900")));
+        assertSame(resultados, pessoaServiceSingleFlight.cadastraPessoas(List.of(pessoaCliente)));
+    }
+
+    @Test
+    void deveDelegarBuscasProjetadasSemAgrupar() {
+        when(delegate.buscaPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.TP_PESSOA))).thenReturn(Optional.of(pessoaCliente));
+        when(delegate.existePessoa("12345678900")).thenReturn(true);
+        when(delegate.buscaTipoPessoa("12345678900")).thenReturn(Optional.of(TipoPessoaEnum.CLIENTE));
+
+        assertSame(pessoaCliente, pessoaServiceSingleFlight.buscaPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.TP_PESSOA)).orElseThrow());
+        assertTrue(pessoaServiceSingleFlight.existePessoa("12345678900"));
+        assertEquals(Optional.of(TipoPessoaEnum.CLIENTE), pessoaServiceSingleFlight.buscaTipoPessoa("12345678900"));
+        assertEquals(0, pessoaServiceSingleFlight.getBuscasExecutadas());
+    }
+
+    @Test
+    void deveDelegarBuscaPorEmailSemAgrupar() {
+        when(delegate.buscaPessoaPorEmail("joao@email.com")).thenReturn(Optional.of(pessoaCliente));
+
+        assertSame(pessoaCliente, pessoaServiceSingleFlight.buscaPessoaPorEmail("joao@email.com").orElseThrow());
+        assertEquals(0, pessoaServiceSingleFlight.getBuscasExecutadas());
+    }
+
+    @Test
+    void deveDelegarListagemPorTipoSemAgrupar() {
+        PaginaPessoasModel pagina = new PaginaPessoasModel(List.of(pessoaCliente), null);
+        when(delegate.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 20, "cursor")).thenReturn(pagina);
+
+        assertSame(pagina, pessoaServiceSingleFlight.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 20, "cursor"));
+        assertEquals(0, pessoaServiceSingleFlight.getBuscasExecutadas());
+    }
+
+    @Test
+    void deveDelegarExportacaoSemAgrupar() {
+        Consumer<PessoaModel> consumidor = pessoa -> { };
+
+        pessoaServiceSingleFlight.exportaPessoas(4, 200, consumidor);
+
+        verify(delegate, times(1)).exportaPessoas(4, 200, consumidor);
+        assertEquals(0, pessoaServiceSingleFlight.getBuscasExecutadas());
+    }
+
+    private List<Future<Optional<PessoaModel>>> dispararBuscasConcorrentes() {
+        List<Future<Optional<PessoaModel>>> chamadas = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS_CONCORRENTES; i++) {
+            chamadas.add(executor.submit(() -> pessoaServiceSingleFlight.buscaPessoaPorCpf("12345678900")));
+        }
+        return chamadas;
+    }
+
+    private void aguardarChamadasAgrupadas() throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pessoaServiceSingleFlight.getBuscasAgrupadas() < CHAMADAS_CONCORRENTES - 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package br.com.fiap.domain.services;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
 import br.com.fiap.fasfoodpessoas.domain.services.PessoaService;
@@ -12,7 +16,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,8 +58,7 @@ class PessoaServiceTest {
 
     @Test
     void deveCadastrarPessoaComSucesso() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(anyString())).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.cadastrarPessoa(any(PessoaModel.class))).thenReturn(pessoaCliente);
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(any(PessoaModel.class))).thenReturn(pessoaCliente);
 
         PessoaModel resultado = pessoaService.cadastraPessoa(pessoaCliente);
 
@@ -61,14 +68,12 @@ class PessoaServiceTest {
         assertEquals(TipoPessoaEnum.CLIENTE, resultado.getTpPessoa());
         assertEquals("joao@email.com", resultado.getDsEmail());
 
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf("12345678900");
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(pessoaCliente);
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoaCliente);
     }
 
     @Test
     void deveCadastrarFuncionarioComSucesso() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(anyString())).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.cadastrarPessoa(any(PessoaModel.class))).thenReturn(pessoaFuncionario);
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(any(PessoaModel.class))).thenReturn(pessoaFuncionario);
 
         PessoaModel resultado = pessoaService.cadastraPessoa(pessoaFuncionario);
 
@@ -77,39 +82,33 @@ class PessoaServiceTest {
         assertEquals("Maria Santos", resultado.getNmPessoa());
         assertEquals(TipoPessoaEnum.FUNCIONARIO, resultado.getTpPessoa());
 
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf("98765432100");
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(pessoaFuncionario);
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoaFuncionario);
     }
 
     @Test
     void deveLancarExcecaoQuandoCpfJaCadastrado() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(anyString())).thenReturn(Optional.of(pessoaCliente));
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(any(PessoaModel.class)))
+                .thenThrow(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado"));
 
         CpfCadastradoException exception = assertThrows(CpfCadastradoException.class, () -> {
             pessoaService.cadastraPessoa(pessoaCliente);
         });
 
         assertEquals("Cliente ja cadastrado com o CPF informado", exception.getMessage());
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf("12345678900");
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoaCliente);
         verify(pessoaRepositoryPort, never()).cadastrarPessoa(any(PessoaModel.class));
     }
 
     @Test
     void naoDeveCadastrarQuandoCpfDuplicado() {
-        PessoaModel pessoaExistente = new PessoaModel.Builder()
-                .setCdDocPessoa("12345678900")
-                .setNmPessoa("Pessoa Existente")
-                .setTpPessoa(TipoPessoaEnum.CLIENTE)
-                .setDsEmail("existente@email.com")
-                .build();
-
-        when(pessoaRepositoryPort.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaExistente));
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaCliente))
+                .thenThrow(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado"));
 
         assertThrows(CpfCadastradoException.class, () -> {
             pessoaService.cadastraPessoa(pessoaCliente);
         });
 
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf("12345678900");
+        verify(pessoaRepositoryPort, never()).buscarPessoaPorCpf(anyString());
         verify(pessoaRepositoryPort, never()).cadastrarPessoa(any(PessoaModel.class));
     }
 
@@ -158,41 +157,38 @@ class PessoaServiceTest {
                 .setDsEmail("pedro@email.com")
                 .build();
 
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(cpf)).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.cadastrarPessoa(novaPessoa)).thenReturn(novaPessoa);
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(novaPessoa)).thenReturn(novaPessoa);
 
         PessoaModel resultado = pessoaService.cadastraPessoa(novaPessoa);
 
         assertNotNull(resultado);
         assertEquals(cpf, resultado.getCdDocPessoa());
         
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf(cpf);
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(novaPessoa);
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(novaPessoa);
         verifyNoMoreInteractions(pessoaRepositoryPort);
     }
 
     @Test
-    void deveVerificarCpfAntesDeInserirNoBanco() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+    void deveCadastrarComUmaUnicaEscritaCondicional() {
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaCliente)).thenReturn(pessoaCliente);
 
-        assertThrows(CpfCadastradoException.class, () -> {
-            pessoaService.cadastraPessoa(pessoaCliente);
-        });
+        pessoaService.cadastraPessoa(pessoaCliente);
 
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf("12345678900");
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoaCliente);
+        verify(pessoaRepositoryPort, never()).buscarPessoaPorCpf(anyString());
         verify(pessoaRepositoryPort, never()).cadastrarPessoa(any(PessoaModel.class));
     }
 
     @Test
-    void deveCadastrarQuandoBuscaRetornaVazio() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(anyString())).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.cadastrarPessoa(any(PessoaModel.class))).thenReturn(pessoaCliente);
+    void devePropagarExcecaoDoRepositorioQuandoCpfJaCadastrado() {
+        CpfCadastradoException excecao = new CpfCadastradoException("Cliente ja cadastrado com o CPF informado");
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(any(PessoaModel.class))).thenThrow(excecao);
 
-        PessoaModel resultado = pessoaService.cadastraPessoa(pessoaCliente);
+        CpfCadastradoException exception = assertThrows(CpfCadastradoException.class, () -> {
+            pessoaService.cadastraPessoa(pessoaCliente);
+        });
 
-        assertNotNull(resultado);
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf(anyString());
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(any(PessoaModel.class));
+        assertSame(excecao, exception);
     }
 
     @Test
@@ -211,10 +207,8 @@ class PessoaServiceTest {
                 .setDsEmail("pessoa2@email.com")
                 .build();
 
-        when(pessoaRepositoryPort.buscarPessoaPorCpf("11111111111")).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.buscarPessoaPorCpf("22222222222")).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.cadastrarPessoa(pessoa1)).thenReturn(pessoa1);
-        when(pessoaRepositoryPort.cadastrarPessoa(pessoa2)).thenReturn(pessoa2);
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoa1)).thenReturn(pessoa1);
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoa2)).thenReturn(pessoa2);
 
         PessoaModel resultado1 = pessoaService.cadastraPessoa(pessoa1);
         PessoaModel resultado2 = pessoaService.cadastraPessoa(pessoa2);
@@ -223,8 +217,8 @@ class PessoaServiceTest {
         assertNotNull(resultado2);
         assertNotEquals(resultado1.getCdDocPessoa(), resultado2.getCdDocPessoa());
         
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(pessoa1);
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(pessoa2);
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoa1);
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoa2);
     }
 
     @Test
@@ -240,18 +234,18 @@ class PessoaServiceTest {
 
     @Test
     void deveDelegarCadastroParaRepositorioAposValidacao() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(anyString())).thenReturn(Optional.empty());
-        when(pessoaRepositoryPort.cadastrarPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaCliente)).thenReturn(pessoaCliente);
 
         PessoaModel resultado = pessoaService.cadastraPessoa(pessoaCliente);
 
         assertNotNull(resultado);
-        verify(pessoaRepositoryPort, times(1)).cadastrarPessoa(pessoaCliente);
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoaCliente);
     }
 
     @Test
     void deveManterMensagemDeErroEspecificaParaCpfDuplicado() {
-        when(pessoaRepositoryPort.buscarPessoaPorCpf(anyString())).thenReturn(Optional.of(pessoaCliente));
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(any(PessoaModel.class)))
+                .thenThrow(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado"));
 
         CpfCadastradoException exception = assertThrows(CpfCadastradoException.class, () -> {
             pessoaService.cadastraPessoa(pessoaCliente);
@@ -261,7 +255,7 @@ class PessoaServiceTest {
     }
 
     @Test
-    void deveUsarCpfDaPessoaParaBuscarDuplicidade() {
+    void deveUsarPessoaInformadaNaEscritaCondicional() {
         PessoaModel pessoaComCpfEspecifico = new PessoaModel.Builder()
                 .setCdDocPessoa("44444444444")
                 .setNmPessoa("Teste")
@@ -269,12 +263,149 @@ class PessoaServiceTest {
                 .setDsEmail("teste@email.com")
                 .build();
 
-        when(pessoaRepositoryPort.buscarPessoaPorCpf("44444444444")).thenReturn(Optional.of(pessoaComCpfEspecifico));
+        when(pessoaRepositoryPort.cadastrarPessoaSeNaoExistir(pessoaComCpfEspecifico))
+                .thenThrow(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado"));
 
         assertThrows(CpfCadastradoException.class, () -> {
             pessoaService.cadastraPessoa(pessoaComCpfEspecifico);
         });
 
-        verify(pessoaRepositoryPort, times(1)).buscarPessoaPorCpf("44444444444");
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoaSeNaoExistir(pessoaComCpfEspecifico);
+    }
+
+    @Test
+    void deveBuscarPessoasEmLoteRemovendoCpfsDuplicadosENulos() {
+        when(pessoaRepositoryPort.buscarPessoasPorCpfs(any())).thenReturn(List.of(pessoaCliente, pessoaFuncionario));
+
+        List<PessoaModel> resultado = pessoaService.buscaPessoasPorCpfs(
+                Arrays.asList("12345678900", null, "98765432100", "12345678900"));
+
+        assertEquals(2, resultado.size());
+        verify(pessoaRepositoryPort, times(1)).buscarPessoasPorCpfs(argThat(cpfs ->
+                cpfs.size() == 2 && cpfs.containsAll(List.of("12345678900", "98765432100"))));
+        verify(pessoaRepositoryPort, never()).buscarPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void naoDeveConsultarRepositorioQuandoListaDeCpfsVazia() {
+        List<PessoaModel> resultado = pessoaService.buscaPessoasPorCpfs(List.of());
+
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(pessoaRepositoryPort);
+    }
+
+    @Test
+    void deveCadastrarEmLoteComCadastroCondicionalPorPessoa() {
+        PessoaModel novaPessoa = new PessoaModel.Builder()
+                .setCdDocPessoa("11111111111")
+                .setNmPessoa("Pedro Costa")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("pedro@email.com")
+                .build();
+        when(pessoaRepositoryPort.cadastrarPessoasSeNaoExistirem(List.of(pessoaCliente, novaPessoa, pessoaFuncionario)))
+                .thenReturn(List.of(ResultadoCadastroModel.duplicado("12345678900"),
+                        ResultadoCadastroModel.criado("11111111111"),
+                        ResultadoCadastroModel.falha("98765432100", "Servico indisponivel")));
+
+        List<ResultadoCadastroModel> resultado = pessoaService.cadastraPessoas(List.of(pessoaCliente, novaPessoa, pessoaFuncionario));
+
+        assertEquals(3, resultado.size());
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultado.get(0).getStatus());
+        assertEquals(StatusCadastroEnum.CRIADO, resultado.get(1).getStatus());
+        assertEquals("11111111111", resultado.get(1).getCdDocPessoa());
+        assertEquals(StatusCadastroEnum.FALHA, resultado.get(2).getStatus());
+        verify(pessoaRepositoryPort, never()).buscarPessoasPorCpfs(any());
+        verify(pessoaRepositoryPort, never()).cadastrarPessoasEmLote(any());
+    }
+
+    @Test
+    void deveMarcarComoDuplicadoCpfRepetidoNoMesmoLote() {
+        PessoaModel mesmoCpf = new PessoaModel.Builder()
+                .setCdDocPessoa("12345678900")
+                .setNmPessoa("Outro Nome")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("outro@email.com")
+                .build();
+        when(pessoaRepositoryPort.cadastrarPessoasSeNaoExistirem(List.of(pessoaCliente)))
+                .thenReturn(List.of(ResultadoCadastroModel.criado("12345678900")));
+
+        List<ResultadoCadastroModel> resultado = pessoaService.cadastraPessoas(List.of(pessoaCliente, mesmoCpf));
+
+        assertEquals(StatusCadastroEnum.CRIADO, resultado.get(0).getStatus());
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultado.get(1).getStatus());
+    }
+
+    @Test
+    void deveMarcarComoDuplicadoEmailRepetidoNoMesmoLote() {
+        PessoaModel mesmoEmail = new PessoaModel.Builder()
+                .setCdDocPessoa("11111111111")
+                .setNmPessoa("Outro Nome")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail(pessoaCliente.getDsEmail())
+                .build();
+        when(pessoaRepositoryPort.cadastrarPessoasSeNaoExistirem(List.of(pessoaCliente)))
+                .thenReturn(List.of(ResultadoCadastroModel.criado("12345678900")));
+
+        List<ResultadoCadastroModel> resultado = pessoaService.cadastraPessoas(List.of(pessoaCliente, mesmoEmail));
+
+        assertEquals(StatusCadastroEnum.CRIADO, resultado.get(0).getStatus());
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultado.get(1).getStatus());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", resultado.get(1).getMensagem());
+    }
+
+    @Test
+    void naoDeveGravarQuandoTodasAsPessoasSaoRepetidas() {
+        when(pessoaRepositoryPort.cadastrarPessoasSeNaoExistirem(List.of(pessoaCliente)))
+                .thenReturn(List.of(ResultadoCadastroModel.criado("12345678900")));
+
+        List<ResultadoCadastroModel> resultado = pessoaService.cadastraPessoas(List.of(pessoaCliente, pessoaCliente));
+
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultado.get(1).getStatus());
+        verify(pessoaRepositoryPort, times(1)).cadastrarPessoasSeNaoExistirem(any());
+    }
+
+    @Test
+    void deveDelegarBuscasProjetadasAoRepositorio() {
+        when(pessoaRepositoryPort.buscarPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.NM_PESSOA)))
+                .thenReturn(Optional.of(pessoaCliente));
+        when(pessoaRepositoryPort.existePessoa("12345678900")).thenReturn(true);
+        when(pessoaRepositoryPort.buscarTipoPessoa("98765432100")).thenReturn(Optional.of(TipoPessoaEnum.FUNCIONARIO));
+
+        assertSame(pessoaCliente, pessoaService.buscaPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.NM_PESSOA)).orElseThrow());
+        assertTrue(pessoaService.existePessoa("12345678900"));
+        assertEquals(Optional.of(TipoPessoaEnum.FUNCIONARIO), pessoaService.buscaTipoPessoa("98765432100"));
+        verify(pessoaRepositoryPort, never()).buscarPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void deveDelegarBuscaPorEmailAoRepositorio() {
+        when(pessoaRepositoryPort.buscarPessoaPorEmail("joao@email.com")).thenReturn(Optional.of(pessoaCliente));
+
+        assertSame(pessoaCliente, pessoaService.buscaPessoaPorEmail("joao@email.com").orElseThrow());
+        verify(pessoaRepositoryPort, never()).buscarPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void deveNormalizarEmailAntesDaBusca() {
+        when(pessoaRepositoryPort.buscarPessoaPorEmail("joao@email.com")).thenReturn(Optional.of(pessoaCliente));
+
+        assertSame(pessoaCliente, pessoaService.buscaPessoaPorEmail("  Joao@Email.COM ").orElseThrow());
+    }
+
+    @Test
+    void deveDelegarListagemPorTipoAoRepositorio() {
+        PaginaPessoasModel pagina = new PaginaPessoasModel(List.of(pessoaCliente), "cursor");
+        when(pessoaRepositoryPort.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 20, null)).thenReturn(pagina);
+
+        assertSame(pagina, pessoaService.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 20, null));
+    }
+
+    @Test
+    void deveDelegarExportacaoAoRepositorio() {
+        Consumer<PessoaModel> consumidor = pessoa -> { };
+
+        pessoaService.exportaPessoas(4, 200, consumidor);
+
+        verify(pessoaRepositoryPort, times(1)).exportarPessoas(4, 200, consumidor);
     }
 }
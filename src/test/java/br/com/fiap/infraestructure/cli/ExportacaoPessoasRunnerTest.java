@@ -0,0 +1,61 @@
+package br.com.fiap.infraestructure.cli;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.cli.ExportacaoPessoasRunner;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoNdjson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoPessoasRunnerTest {
+
+    @Mock
+    private ExportacaoNdjson exportacaoNdjson;
+
+    @Mock
+    private ConfigurableApplicationContext contexto;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void deveExportarParaOArquivoEEncerrarAAplicacao() throws IOException {
+        Path arquivo = diretorio.resolve("pessoas.ndjson");
+        when(exportacaoNdjson.exportar(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("{\"cdDocPessoa\":\"12345678900\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        ExportacaoPessoasRunner runner = new ExportacaoPessoasRunner(exportacaoNdjson, contexto, arquivo);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals("{\"cdDocPessoa\":\"12345678900\"}\n", Files.readString(arquivo));
+        verify(contexto, times(1)).close();
+    }
+
+    @Test
+    void naoDeveEncerrarAAplicacaoQuandoAExportacaoFalha() throws IOException {
+        when(exportacaoNdjson.exportar(any(OutputStream.class))).thenThrow(new IOException("disco cheio"));
+        ExportacaoPessoasRunner runner = new ExportacaoPessoasRunner(exportacaoNdjson, contexto,
+                diretorio.resolve("pessoas.ndjson"));
+
+        assertThrows(IOException.class, () -> runner.run(new DefaultApplicationArguments()));
+
+        verify(contexto, never()).close();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fiap.infraestructure.cli;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.cli.ImportacaoPessoasRunner;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.FormatoImportacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoProperties;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.ImportacaoInterrompidaException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoPessoasRunnerTest {
+
+    @Mock
+    private ImportacaoPessoas importacaoPessoas;
+
+    @Mock
+    private ConfigurableApplicationContext contexto;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void deveImportarORemoverOCheckpointEEncerrarAAplicacao() throws IOException {
+        Path arquivo = Files.writeString(diretorio.resolve("parceiro.csv"), "12345678909,Joao Silva,CLIENTE,joao@email.com");
+        when(importacaoPessoas.importar(any(InputStream.class), eq(FormatoImportacao.CSV), eq(0L), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    LongConsumer aoConfirmar = invocation.getArgument(3);
+                    aoConfirmar.accept(1);
+                    assertEquals("1", Files.readString(diretorio.resolve("parceiro.csv.checkpoint")));
+                    return new ResultadoImportacaoDto(1, 1, 0, 0, 1, List.of());
+                });
+
+        runner(arquivo, null).run(new DefaultApplicationArguments());
+
+        assertFalse(Files.exists(diretorio.resolve("parceiro.csv.checkpoint")));
+        verify(contexto, times(1)).close();
+    }
+
+    @Test
+    void deveRetomarAPartirDoCheckpointGravado() throws IOException {
+        Path arquivo = Files.writeString(diretorio.resolve("parceiro.ndjson"), "{}");
+        Path checkpoint = Files.writeString(diretorio.resolve("importacao.checkpoint"), "1500\n");
+        when(importacaoPessoas.importar(any(InputStream.class), eq(FormatoImportacao.NDJSON), eq(1500L), any(LongConsumer.class)))
+                .thenReturn(new ResultadoImportacaoDto(10, 10, 0, 0, 1510, List.of()));
+
+        runner(arquivo, checkpoint).run(new DefaultApplicationArguments());
+
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    void deveManterOCheckpointQuandoAImportacaoEInterrompida() throws IOException {
+        Path arquivo = Files.writeString(diretorio.resolve("parceiro.csv"), "");
+        when(importacaoPessoas.importar(any(InputStream.class), any(FormatoImportacao.class), anyLong(), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    LongConsumer aoConfirmar = invocation.getArgument(3);
+                    aoConfirmar.accept(500);
+                    throw new ImportacaoInterrompidaException("Importacao interrompida", 500);
+                });
+
+        assertThrows(ImportacaoInterrompidaException.class, () -> runner(arquivo, null).run(new DefaultApplicationArguments()));
+
+        assertEquals("500", Files.readString(diretorio.resolve("parceiro.csv.checkpoint")));
+        verify(contexto, never()).close();
+    }
+
+    private ImportacaoPessoasRunner runner(Path arquivo, Path checkpoint) {
+        ImportacaoProperties properties = new ImportacaoProperties(500, 4, arquivo.toString(),
+                checkpoint != null ? checkpoint.toString() : null);
+        return new ImportacaoPessoasRunner(importacaoPessoas, properties, contexto);
+    }
+}
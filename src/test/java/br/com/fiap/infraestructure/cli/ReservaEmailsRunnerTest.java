@@ -0,0 +1,45 @@
+package br.com.fiap.infraestructure.cli;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.cli.ReservaEmailsRunner;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository.ResumoReservaEmails;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaEmailsRunnerTest {
+
+    @Mock
+    private PessoaRepository pessoaRepository;
+
+    @Mock
+    private ConfigurableApplicationContext contexto;
+
+    @Test
+    void deveReservarEmailsComOsSegmentosConfiguradosEEncerrarAAplicacao() {
+        when(pessoaRepository.reservarEmailsCadastrados(8)).thenReturn(new ResumoReservaEmails(10, 2, 1, 0));
+        ReservaEmailsRunner runner = new ReservaEmailsRunner(pessoaRepository, contexto, 8);
+
+        runner.run(new DefaultApplicationArguments());
+
+        verify(pessoaRepository).reservarEmailsCadastrados(8);
+        verify(contexto, times(1)).close();
+    }
+
+    @Test
+    void naoDeveEncerrarAAplicacaoQuandoOBackfillFalha() {
+        when(pessoaRepository.reservarEmailsCadastrados(4)).thenThrow(new IllegalStateException("tabela inexistente"));
+        ReservaEmailsRunner runner = new ReservaEmailsRunner(pessoaRepository, contexto, 4);
+
+        assertThrows(IllegalStateException.class, () -> runner.run(new DefaultApplicationArguments()));
+
+        verify(contexto, never()).close();
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.fiap.infraestructure.commons.exportacao;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoNdjson;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoNdjsonTest {
+
+    @Mock
+    private PessoaServicePort pessoaServicePort;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExportacaoNdjson exportacaoNdjson;
+
+    private PessoaModel pessoaCliente;
+    private PessoaModel pessoaFuncionario;
+
+    @BeforeEach
+    void setUp() {
+        exportacaoNdjson = new ExportacaoNdjson(pessoaServicePort, new ExportacaoProperties(3, 50, null), objectMapper);
+
+        pessoaCliente = new PessoaModel.Builder()
+                .setCdDocPessoa("12345678900")
+                .setNmPessoa("João Silva")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("joao@email.com")
+                .build();
+
+        pessoaFuncionario = new PessoaModel.Builder()
+                .setCdDocPessoa("98765432100")
+                .setNmPessoa("Maria Santos")
+                .setTpPessoa(TipoPessoaEnum.FUNCIONARIO)
+                .setDsEmail("maria@empresa.com")
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveEscreverUmaPessoaPorLinhaComAConfiguracaoDoScan() throws IOException {
+        doAnswer(invocation -> {
+            Consumer<PessoaModel> consumidor = invocation.getArgument(2);
+            consumidor.accept(pessoaCliente);
+            consumidor.accept(pessoaFuncionario);
+            return null;
+        }).when(pessoaServicePort).exportaPessoas(eq(3), eq(50.0), any(Consumer.class));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = exportacaoNdjson.exportar(saida);
+
+        String[] conteudo = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas);
+        assertEquals(2, conteudo.length);
+        JsonNode primeira = objectMapper.readTree(conteudo[0]);
+        assertEquals("12345678900", primeira.get("cdDocPessoa").asText());
+        assertEquals("João Silva", primeira.get("nmPessoa").asText());
+        assertEquals("FUNCIONARIO", objectMapper.readTree(conteudo[1]).get("tpPessoa").asText());
+    }
+
+    @Test
+    void deveEscreverSaidaVaziaQuandoNaoHaPessoas() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertEquals(0, exportacaoNdjson.exportar(saida));
+        assertEquals(0, saida.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePropagarFalhaDeEscritaComoIOException() {
+        doAnswer(invocation -> {
+            Consumer<PessoaModel> consumidor = invocation.getArgument(2);
+            for (int i = 0; i < 1000; i++) {
+                consumidor.accept(pessoaCliente);
+            }
+            return null;
+        }).when(pessoaServicePort).exportaPessoas(anyInt(), anyDouble(), any(Consumer.class));
+        OutputStream desconectada = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException erro = assertThrows(IOException.class, () -> exportacaoNdjson.exportar(desconectada));
+
+        assertEquals("Broken pipe", erro.getMessage());
+    }
+}
@@ -0,0 +1,301 @@
+package br.com.fiap.infraestructure.commons.importacao;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.FormatoImportacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoProperties;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.ImportacaoInterrompidaException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoPessoasTest {
+
+    @Mock
+    private PessoaServicePort pessoaServicePort;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<List<PessoaModel>> lotesGravados = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(pessoaServicePort.cadastraPessoas(anyList())).thenAnswer(invocation -> {
+            List<PessoaModel> lote = invocation.getArgument(0);
+            lotesGravados.add(List.copyOf(lote));
+            return lote.stream().map(pessoa -> ResultadoCadastroModel.criado(pessoa.getCdDocPessoa())).toList();
+        });
+    }
+
+    @Test
+    void deveImportarCsvComCabecalhoDescartandoInvalidasERepetidas() throws IOException {
+        String csv = """
+                cdDocPessoa,nmPessoa,tpPessoa,dsEmail
+                12345678909,"Silva, Joao",CLIENTE,joao@email.com
+                12345678900,Cpf Invalido,CLIENTE,invalido@email.com
+                98765432100,Maria Santos,FUNCIONARIO,maria@empresa.com
+
+                12345678909,Joao Repetido,CLIENTE,joao2@email.com
+                11144477735,Ana Souza,GERENTE,ana@email.com
+                """;
+
+        ResultadoImportacaoDto resultado = importacao(500, 4)
+                .importar(entrada(csv), FormatoImportacao.CSV, 0);
+
+        assertEquals(5, resultado.linhasLidas());
+        assertEquals(2, resultado.criadas());
+        assertEquals(1, resultado.duplicadas());
+        assertEquals(2, resultado.invalidas());
+        assertEquals(7, resultado.ultimaLinhaConfirmada());
+        assertEquals(List.of(3L, 7L), resultado.linhasInvalidas().stream().map(linha -> linha.linha()).toList());
+        assertEquals("12345678900", resultado.linhasInvalidas().get(0).cdDocPessoa());
+        assertEquals("O atributo tpPessoa deve ser CLIENTE ou FUNCIONARIO.",
+                resultado.linhasInvalidas().get(1).errors().get(0).message());
+
+        PessoaModel primeira = lotesGravados.get(0).get(0);
+        assertEquals("Silva, Joao", primeira.getNmPessoa());
+        assertEquals(TipoPessoaEnum.CLIENTE, primeira.getTpPessoa());
+        assertEquals(List.of("12345678909", "98765432100"), cpfsGravados());
+    }
+
+    @Test
+    void deveImportarNdjsonRejeitandoLinhasQueNaoSaoPessoas() throws IOException {
+        String ndjson = """
+                {"cdDocPessoa":"12345678909","nmPessoa":"Joao Silva","tpPessoa":"CLIENTE","dsEmail":"joao@email.com"}
+                {"cdDocPessoa":"98765432100","nmPessoa":
+                {"cdDocPessoa":"11144477735","nmPessoa":"Ana Souza","tpPessoa":"GERENTE","dsEmail":"ana@email.com"}
+                {"cdDocPessoa":"52998224725","nmPessoa":"Maria Santos","tpPessoa":"FUNCIONARIO","dsEmail":"email-invalido"}
+                """;
+
+        ResultadoImportacaoDto resultado = importacao(500, 4)
+                .importar(entrada(ndjson), FormatoImportacao.NDJSON, 0);
+
+        assertEquals(4, resultado.linhasLidas());
+        assertEquals(1, resultado.criadas());
+        assertEquals(3, resultado.invalidas());
+        assertEquals("A linha nao e um JSON de pessoa valido.", resultado.linhasInvalidas().get(0).errors().get(0).message());
+        assertEquals("52998224725", resultado.linhasInvalidas().get(2).cdDocPessoa());
+        assertEquals(List.of("12345678909"), cpfsGravados());
+    }
+
+    @Test
+    void deveGravarEmLotesEConfirmarAsLinhasEmOrdem() throws IOException {
+        List<String> linhas = cpfsValidos(7).stream()
+                .map(cpf -> cpf + ",Pessoa " + cpf + ",CLIENTE," + cpf + "@email.com")
+                .toList();
+        List<Long> confirmacoes = Collections.synchronizedList(new ArrayList<>());
+
+        ResultadoImportacaoDto resultado = importacao(2, 2)
+                .importar(entrada(String.join("\n", linhas)), FormatoImportacao.CSV, 0, confirmacoes::add);
+
+        assertEquals(7, resultado.criadas());
+        assertEquals(4, lotesGravados.size());
+        assertTrue(lotesGravados.stream().allMatch(lote -> lote.size() <= 2));
+        assertEquals(7L, confirmacoes.get(confirmacoes.size() - 1));
+        assertEquals(confirmacoes.stream().sorted().toList(), confirmacoes);
+    }
+
+    @Test
+    void deveRetomarAposALinhaInformada() throws IOException {
+        String csv = """
+                cdDocPessoa,nmPessoa,tpPessoa,dsEmail
+                12345678909,Joao Silva,CLIENTE,joao@email.com
+                98765432100,Maria Santos,FUNCIONARIO,maria@empresa.com
+                11144477735,Ana Souza,CLIENTE,ana@email.com
+                """;
+
+        ResultadoImportacaoDto resultado = importacao(500, 4)
+                .importar(entrada(csv), FormatoImportacao.CSV, 2);
+
+        assertEquals(2, resultado.linhasLidas());
+        assertEquals(4, resultado.ultimaLinhaConfirmada());
+        assertEquals(List.of("98765432100", "11144477735"), cpfsGravados());
+    }
+
+    @Test
+    void deveDescartarCpfRepetidoEmLoteRecenteSemEnviarAoCadastro() throws IOException {
+        String csv = """
+                12345678909,Joao Silva,CLIENTE,joao@email.com
+                98765432100,Maria Santos,FUNCIONARIO,maria@empresa.com
+                12345678909,Joao Repetido,CLIENTE,joao2@email.com
+                """;
+
+        ResultadoImportacaoDto resultado = importacao(1, 1)
+                .importar(entrada(csv), FormatoImportacao.CSV, 0);
+
+        assertEquals(2, resultado.criadas());
+        assertEquals(1, resultado.duplicadas());
+        assertEquals(List.of("12345678909", "98765432100"), cpfsGravados());
+    }
+
+    @Test
+    void deveDescartarEmailRepetidoNoArquivoComparandoONormalizado() throws IOException {
+        String csv = """
+                12345678909,Joao Silva,CLIENTE,joao@email.com
+                98765432100,Joao Outro,CLIENTE, Joao@Email.com
+                11144477735,Ana Souza,CLIENTE,ana@email.com
+                52998224725,Ana Outra,CLIENTE,ANA@email.com
+                """;
+
+        ResultadoImportacaoDto resultado = importacao(3, 1)
+                .importar(entrada(csv), FormatoImportacao.CSV, 0);
+
+        assertEquals(2, resultado.criadas());
+        assertEquals(2, resultado.duplicadas());
+        assertEquals(List.of("12345678909", "11144477735"), cpfsGravados());
+    }
+
+    @Test
+    void deveContarDuplicadasApontadasPeloCadastro() throws IOException {
+        when(pessoaServicePort.cadastraPessoas(anyList())).thenAnswer(invocation -> {
+            List<PessoaModel> lote = invocation.getArgument(0);
+            return lote.stream().map(pessoa -> ResultadoCadastroModel.duplicado(pessoa.getCdDocPessoa())).toList();
+        });
+
+        ResultadoImportacaoDto resultado = importacao(500, 4)
+                .importar(entrada("12345678909,Joao Silva,CLIENTE,joao@email.com"), FormatoImportacao.CSV, 0);
+
+        assertEquals(0, resultado.criadas());
+        assertEquals(1, resultado.duplicadas());
+    }
+
+    @Test
+    void deveInterromperNaFalhaDeUmLoteMantendoAUltimaLinhaConfirmada() {
+        AtomicInteger chamadas = new AtomicInteger();
+        when(pessoaServicePort.cadastraPessoas(anyList())).thenAnswer(invocation -> {
+            if (chamadas.incrementAndGet() == 2) {
+                throw new IllegalStateException("throttled");
+            }
+            List<PessoaModel> lote = invocation.getArgument(0);
+            return lote.stream().map(pessoa -> ResultadoCadastroModel.criado(pessoa.getCdDocPessoa())).toList();
+        });
+        String csv = cpfsValidos(6).stream()
+                .map(cpf -> cpf + ",Pessoa " + cpf + ",CLIENTE," + cpf + "@email.com")
+                .collect(Collectors.joining("\n"));
+
+        ImportacaoInterrompidaException erro = assertThrows(ImportacaoInterrompidaException.class,
+                () -> importacao(2, 1).importar(entrada(csv), FormatoImportacao.CSV, 0));
+
+        assertEquals(2, erro.getUltimaLinhaConfirmada());
+        assertEquals("throttled", erro.getCause().getMessage());
+        assertEquals(2, chamadas.get());
+    }
+
+    @Test
+    void deveInterromperQuandoAValidacaoFalhaSemTravarALeitura() {
+        Validator comFalha = mock(Validator.class);
+        when(comFalha.validate(any())).thenThrow(new IllegalStateException("validador indisponivel"));
+        String csv = cpfsValidos(5000).stream()
+                .map(cpf -> cpf + ",Pessoa " + cpf + ",CLIENTE," + cpf + "@email.com")
+                .collect(Collectors.joining("\n"));
+        ImportacaoPessoas importacao = new ImportacaoPessoas(pessoaServicePort,
+                new ImportacaoProperties(500, 4, null, null), comFalha, objectMapper);
+
+        ImportacaoInterrompidaException erro = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(ImportacaoInterrompidaException.class,
+                        () -> importacao.importar(entrada(csv), FormatoImportacao.CSV, 0)));
+
+        assertEquals("validador indisponivel", erro.getCause().getMessage());
+        assertEquals(0, erro.getUltimaLinhaConfirmada());
+        verify(pessoaServicePort, never()).cadastraPessoas(anyList());
+    }
+
+    @Test
+    void deveInterromperQuandoAGravacaoFalhaComErro() {
+        when(pessoaServicePort.cadastraPessoas(anyList())).thenThrow(new StackOverflowError());
+        String csv = cpfsValidos(5000).stream()
+                .map(cpf -> cpf + ",Pessoa " + cpf + ",CLIENTE," + cpf + "@email.com")
+                .collect(Collectors.joining("\n"));
+
+        ImportacaoInterrompidaException erro = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(ImportacaoInterrompidaException.class,
+                        () -> importacao(100, 2).importar(entrada(csv), FormatoImportacao.CSV, 0)));
+
+        assertInstanceOf(StackOverflowError.class, erro.getCause());
+        assertEquals(0, erro.getUltimaLinhaConfirmada());
+    }
+
+    @Test
+    void deveLimitarAsLinhasInvalidasReportadas() throws IOException {
+        String csv = IntStream.range(0, 150).mapToObj(i -> "invalida").collect(Collectors.joining("\n"));
+
+        ResultadoImportacaoDto resultado = importacao(500, 4)
+                .importar(entrada(csv), FormatoImportacao.CSV, 0);
+
+        assertEquals(150, resultado.invalidas());
+        assertEquals(100, resultado.linhasInvalidas().size());
+        verify(pessoaServicePort, never()).cadastraPessoas(anyList());
+    }
+
+    @Test
+    void deveReconhecerOFormatoPelaExtensaoDoArquivo() {
+        assertEquals(FormatoImportacao.CSV, FormatoImportacao.doArquivo("/dados/parceiro.CSV"));
+        assertEquals(FormatoImportacao.NDJSON, FormatoImportacao.doArquivo("pessoas.ndjson"));
+        assertEquals(FormatoImportacao.NDJSON, FormatoImportacao.doArquivo("pessoas.jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> FormatoImportacao.doArquivo("pessoas.xlsx"));
+    }
+
+    private ImportacaoPessoas importacao(int tamanhoLote, int lotesEmAndamento) {
+        return new ImportacaoPessoas(pessoaServicePort,
+                new ImportacaoProperties(tamanhoLote, lotesEmAndamento, null, null), validator, objectMapper);
+    }
+
+    private List<String> cpfsGravados() {
+        return lotesGravados.stream().flatMap(List::stream).map(PessoaModel::getCdDocPessoa).toList();
+    }
+
+    private static InputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // CPFs validos sequenciais a partir de 100000000, com os digitos verificadores calculados
+    private static List<String> cpfsValidos(int quantidade) {
+        return IntStream.range(0, quantidade)
+                .mapToObj(i -> comDigitos(Integer.toString(100_000_000 + i)))
+                .toList();
+    }
+
+    private static String comDigitos(String base) {
+        int primeiro = digito(base, 10);
+        int segundo = digito(base + primeiro, 11);
+        return base + primeiro + segundo;
+    }
+
+    private static int digito(String numeros, int pesoInicial) {
+        int soma = 0;
+        for (int i = 0; i < numeros.length(); i++) {
+            soma += (numeros.charAt(i) - '0') * (pesoInicial - i);
+        }
+        return soma * 10 % 11 % 10;
+    }
+}
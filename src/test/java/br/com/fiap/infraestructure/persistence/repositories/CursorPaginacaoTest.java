@@ -0,0 +1,63 @@
+package br.com.fiap.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CursorPaginacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPaginacaoTest {
+
+    private final CursorPaginacao cursorPaginacao = new CursorPaginacao("chave-de-teste");
+
+    @Test
+    void deveDecodificarNomeECpfDoCursorAssinado() {
+        String cursor = cursorPaginacao.codificar(TipoPessoaEnum.CLIENTE, "João Silva", "12345678900");
+
+        assertArrayEquals(new String[] { "João Silva", "12345678900" },
+                cursorPaginacao.decodificar(cursor, TipoPessoaEnum.CLIENTE));
+    }
+
+    @Test
+    void deveTratarCursorVazioComoPrimeiraPagina() {
+        assertNull(cursorPaginacao.decodificar(null, TipoPessoaEnum.CLIENTE));
+        assertNull(cursorPaginacao.decodificar(" ", TipoPessoaEnum.CLIENTE));
+    }
+
+    @Test
+    void deveRejeitarCursorAlterado() {
+        String cursor = cursorPaginacao.codificar(TipoPessoaEnum.CLIENTE, "João Silva", "12345678900");
+        String outraPosicao = cursorPaginacao.codificar(TipoPessoaEnum.CLIENTE, "Maria", "98765432100");
+        String alterado = outraPosicao.substring(0, outraPosicao.indexOf('.')) + cursor.substring(cursor.indexOf('.'));
+
+        assertThrows(CursorInvalidoException.class, () -> cursorPaginacao.decodificar(alterado, TipoPessoaEnum.CLIENTE));
+    }
+
+    @Test
+    void deveRejeitarCursorAssinadoComOutraChave() {
+        String cursor = new CursorPaginacao("outra-chave".getBytes(StandardCharsets.UTF_8))
+                .codificar(TipoPessoaEnum.CLIENTE, "João Silva", "12345678900");
+
+        assertThrows(CursorInvalidoException.class, () -> cursorPaginacao.decodificar(cursor, TipoPessoaEnum.CLIENTE));
+    }
+
+    @Test
+    void deveRejeitarCursorDeOutroTipoOuMalformado() {
+        String cursor = cursorPaginacao.codificar(TipoPessoaEnum.FUNCIONARIO, "Maria", "98765432100");
+
+        assertThrows(CursorInvalidoException.class, () -> cursorPaginacao.decodificar(cursor, TipoPessoaEnum.CLIENTE));
+        assertThrows(CursorInvalidoException.class, () -> cursorPaginacao.decodificar("nao é base64", TipoPessoaEnum.CLIENTE));
+        assertThrows(CursorInvalidoException.class, () -> cursorPaginacao.decodificar("abc.é", TipoPessoaEnum.CLIENTE));
+    }
+
+    @Test
+    void deveGerarChaveAleatoriaSemConfiguracao() {
+        String cursor = new CursorPaginacao("").codificar(TipoPessoaEnum.CLIENTE, "João Silva", "12345678900");
+
+        assertThrows(CursorInvalidoException.class, () -> new CursorPaginacao((String) null)
+                .decodificar(cursor, TipoPessoaEnum.CLIENTE));
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.fiap.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.LeituraComHedge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeituraComHedgeTest {
+
+    private LeituraComHedge leituraComHedge;
+
+    @AfterEach
+    void tearDown() {
+        leituraComHedge.close();
+    }
+
+    @Test
+    void deveRetornarSemHedgeQuandoPrimeiraLeituraResponde() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofSeconds(1), 1.0);
+
+        assertEquals("pessoa", leituraComHedge.executar(() -> "pessoa"));
+        assertEquals(0, leituraComHedge.getHedgesEnviados());
+    }
+
+    @Test
+    void deveExecutarPrimeiraLeituraNaThreadDeQuemLe() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofSeconds(1), 1.0);
+
+        assertSame(Thread.currentThread(), leituraComHedge.executar(Thread::currentThread));
+    }
+
+    @Test
+    void deveInterromperPrimeiraLeituraQuandoHedgeVenceEmThreadVirtual() throws Exception {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofMillis(10), 1.0);
+        CountDownLatch liberarPrimeira = new CountDownLatch(1);
+        AtomicInteger chamadas = new AtomicInteger();
+        AtomicReference<String> resultado = new AtomicReference<>();
+        AtomicBoolean interrompidaAoFinal = new AtomicBoolean(true);
+
+        Thread leitor = Thread.ofVirtual().start(() -> {
+            resultado.set(leituraComHedge.executar(() -> {
+                if (chamadas.incrementAndGet() == 1) {
+                    aguardar(liberarPrimeira);
+                    return "primeira";
+                }
+                return "hedge";
+            }));
+            interrompidaAoFinal.set(Thread.currentThread().isInterrupted());
+        });
+        assertTrue(leitor.join(Duration.ofSeconds(2)));
+        liberarPrimeira.countDown();
+
+        assertEquals("hedge", resultado.get());
+        assertFalse(interrompidaAoFinal.get());
+        assertEquals(2, chamadas.get());
+        assertEquals(1, leituraComHedge.getHedgesEnviados());
+        assertEquals(1, leituraComHedge.getHedgesVencedores());
+    }
+
+    @Test
+    void deveDeixarPrimeiraLeituraTerminarQuandoHedgeVenceEmThreadDePlataforma() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofMillis(10), 1.0);
+        CountDownLatch hedgeRespondeu = new CountDownLatch(1);
+        AtomicInteger chamadas = new AtomicInteger();
+        AtomicBoolean primeiraInterrompida = new AtomicBoolean();
+
+        String resultado = leituraComHedge.executar(() -> {
+            if (chamadas.incrementAndGet() == 1) {
+                aguardar(hedgeRespondeu);
+                dormir(20);
+                primeiraInterrompida.set(Thread.currentThread().isInterrupted());
+                return "primeira";
+            }
+            hedgeRespondeu.countDown();
+            return "hedge";
+        });
+
+        assertEquals("hedge", resultado);
+        assertFalse(primeiraInterrompida.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(1, leituraComHedge.getHedgesVencedores());
+    }
+
+    @Test
+    void deveAguardarHedgeQuandoPrimeiraLeituraFalhaDepoisDoDisparo() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofMillis(10), 1.0);
+        CountDownLatch hedgeIniciado = new CountDownLatch(1);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = leituraComHedge.executar(() -> {
+            if (chamadas.incrementAndGet() == 1) {
+                aguardar(hedgeIniciado);
+                throw new IllegalStateException("DynamoDB indisponivel");
+            }
+            hedgeIniciado.countDown();
+            dormir(50);
+            return "hedge";
+        });
+
+        assertEquals("hedge", resultado);
+        assertEquals(1, leituraComHedge.getHedgesEnviados());
+        assertEquals(1, leituraComHedge.getHedgesVencedores());
+    }
+
+    @Test
+    void deveAguardarPrimeiraLeituraQuandoLimiteDeHedgesEsgotado() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofMillis(10), 0.0);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = leituraComHedge.executar(() -> {
+            chamadas.incrementAndGet();
+            dormir(50);
+            return "primeira";
+        });
+
+        assertEquals("primeira", resultado);
+        assertEquals(1, chamadas.get());
+        assertEquals(0, leituraComHedge.getHedgesEnviados());
+        assertEquals(1, leituraComHedge.getHedgesNegados());
+    }
+
+    @Test
+    void deveUsarPrimeiraRespostaBemSucedidaQuandoHedgeFalha() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofMillis(10), 1.0);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = leituraComHedge.executar(() -> {
+            if (chamadas.incrementAndGet() == 1) {
+                dormir(50);
+                return "primeira";
+            }
+            throw new IllegalStateException("falha no hedge");
+        });
+
+        assertEquals("primeira", resultado);
+        assertEquals(0, leituraComHedge.getHedgesVencedores());
+    }
+
+    @Test
+    void devePropagarErroQuandoAsDuasLeiturasFalham() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofMillis(10), 1.0);
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class, () -> leituraComHedge.executar(() -> {
+            dormir(20);
+            throw new IllegalStateException("DynamoDB indisponivel");
+        }));
+
+        assertEquals("DynamoDB indisponivel", erro.getMessage());
+    }
+
+    @Test
+    void devePropagarErroDaPrimeiraLeituraSemHedge() {
+        leituraComHedge = new LeituraComHedge(0.95, Duration.ofSeconds(1), 1.0);
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class, () -> leituraComHedge.executar(() -> {
+            throw new IllegalStateException("DynamoDB indisponivel");
+        }));
+
+        assertEquals("DynamoDB indisponivel", erro.getMessage());
+        assertEquals(0, leituraComHedge.getHedgesEnviados());
+    }
+
+    @Test
+    void deveAjustarAtrasoPeloPercentilDasLatencias() throws InterruptedException {
+        leituraComHedge = new LeituraComHedge(0.5, Duration.ZERO, 0.0);
+        assertEquals(Duration.ZERO, leituraComHedge.getAtraso());
+
+        for (int i = 0; i < 1024; i++) {
+            leituraComHedge.executar(() -> {
+                dormir(1);
+                return "pessoa";
+            });
+        }
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (leituraComHedge.getAtraso().isZero() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(leituraComHedge.getAtraso().compareTo(Duration.ofMillis(1)) >= 0);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package br.com.fiap.infraestructure.persistence.repositories;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CursorPaginacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaAsyncRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbConfig;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPagePublisher;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaAsyncRepositoryTest {
+
+    @Mock
+    private DynamoDbEnhancedAsyncClient enhancedAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncTable<PessoaEntity> tabelaPessoa;
+
+    @Mock
+    private DynamoDbAsyncTable<PessoaEmailEntity> tabelaEmail;
+
+    private PessoaAsyncRepository pessoaAsyncRepository;
+    private CursorPaginacao cursorPaginacao;
+    private PessoaModel pessoaModelCliente;
+    private PessoaModel pessoaModelSemEmail;
+    private PessoaEntity pessoaEntityCliente;
+    private PessoaEntity pessoaEntityFuncionario;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(enhancedAsyncClient.table(anyString(), any(TableSchema.class))).thenReturn(tabelaPessoa);
+        when(enhancedAsyncClient.table(eq("PessoasEmail"), any(TableSchema.class))).thenReturn(tabelaEmail);
+        DynamoDbConfig config = new DynamoDbConfig();
+        cursorPaginacao = new CursorPaginacao("chave-de-teste".getBytes());
+        pessoaAsyncRepository = new PessoaAsyncRepository(enhancedAsyncClient, dynamoDbAsyncClient,
+                config.pessoaTableSchema(), config.pessoaEmailTableSchema(), cursorPaginacao);
+
+        pessoaModelCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaModelSemEmail = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, null);
+        pessoaEntityCliente = new PessoaEntity("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaEntityFuncionario = new PessoaEntity("98765432100", "Maria Santos", TipoPessoaEnum.FUNCIONARIO, "maria@empresa.com");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveCadastrarComEscritaCondicionalEVersao() {
+        when(tabelaPessoa.putItem(any(PutItemEnhancedRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        PessoaModel resultado = pessoaAsyncRepository.cadastrarPessoaSeNaoExistir(pessoaModelSemEmail).join();
+
+        assertEquals("12345678900", resultado.getCdDocPessoa());
+        ArgumentCaptor<PutItemEnhancedRequest<PessoaEntity>> captor = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(tabelaPessoa).putItem(captor.capture());
+        assertEquals("attribute_not_exists(cdDocPessoa)", captor.getValue().conditionExpression().expression());
+        assertNotNull(captor.getValue().item().getDtAtualizacao());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveCompletarComCpfCadastradoExceptionQuandoCondicaoFalhar() {
+        when(tabelaPessoa.putItem(any(PutItemEnhancedRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().message("condicao").build()));
+
+        CompletionException excecao = assertThrows(CompletionException.class,
+                () -> pessoaAsyncRepository.cadastrarPessoaSeNaoExistir(pessoaModelSemEmail).join());
+
+        assertInstanceOf(CpfCadastradoException.class, excecao.getCause());
+        assertEquals("Cliente ja cadastrado com o CPF informado", excecao.getCause().getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePropagarDemaisFalhasDaEscrita() {
+        IllegalStateException falha = new IllegalStateException("indisponivel");
+        when(tabelaPessoa.putItem(any(PutItemEnhancedRequest.class))).thenReturn(CompletableFuture.failedFuture(falha));
+
+        CompletionException excecao = assertThrows(CompletionException.class,
+                () -> pessoaAsyncRepository.cadastrarPessoaSeNaoExistir(pessoaModelSemEmail).join());
+
+        assertSame(falha, excecao.getCause());
+    }
+
+    @Test
+    void deveCadastrarPessoaEReservaDoEmailNaMesmaTransacao() {
+        prepararTabelasParaTransacao();
+        when(enhancedAsyncClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        PessoaModel resultado = pessoaAsyncRepository.cadastrarPessoaSeNaoExistir(pessoaModelCliente).join();
+
+        assertEquals("joao@email.com", resultado.getDsEmail());
+        verify(enhancedAsyncClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        verify(tabelaPessoa, never()).putItem(any(PutItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveCompletarComEmailCadastradoExceptionQuandoReservaFalhar() {
+        prepararTabelasParaTransacao();
+        TransactionCanceledException cancelada = TransactionCanceledException.builder()
+                .cancellationReasons(CancellationReason.builder().code("None").build(),
+                        CancellationReason.builder().code("ConditionalCheckFailed").build())
+                .build();
+        when(enhancedAsyncClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(cancelada));
+
+        CompletionException excecao = assertThrows(CompletionException.class,
+                () -> pessoaAsyncRepository.cadastrarPessoaSeNaoExistir(pessoaModelCliente).join());
+
+        assertInstanceOf(EmailCadastradoException.class, excecao.getCause());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", excecao.getCause().getMessage());
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpf() {
+        when(tabelaPessoa.getItem(any(Key.class))).thenReturn(CompletableFuture.completedFuture(pessoaEntityCliente));
+
+        Optional<PessoaModel> resultado = pessoaAsyncRepository.buscarPessoaPorCpf("12345678900").join();
+
+        assertEquals("João Silva", resultado.orElseThrow().getNmPessoa());
+    }
+
+    @Test
+    void deveRetornarVazioQuandoCpfNaoEncontrado() {
+        when(tabelaPessoa.getItem(any(Key.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertTrue(pessoaAsyncRepository.buscarPessoaPorCpf("00000000000").join().isEmpty());
+    }
+
+    @Test
+    void deveBuscarPessoasEmLoteComBatchGetItem() {
+        prepararTabelaParaLote();
+        BatchGetResultPage pagina = pagina(List.of(pessoaEntityCliente, pessoaEntityFuncionario), List.of());
+        when(enhancedAsyncClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(publisher(pagina));
+
+        List<PessoaModel> resultado = pessoaAsyncRepository.buscarPessoasPorCpfs(List.of("12345678900", "98765432100")).join();
+
+        assertEquals(2, resultado.size());
+        verify(enhancedAsyncClient, times(1)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveDividirBuscaEmLotesDeCemChaves() {
+        prepararTabelaParaLote();
+        when(enhancedAsyncClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenAnswer(invocation -> publisher(pagina(List.of(), List.of())));
+
+        List<String> cpfs = IntStream.range(0, 250).mapToObj(i -> String.format("%011d", i)).toList();
+        pessoaAsyncRepository.buscarPessoasPorCpfs(cpfs).join();
+
+        verify(enhancedAsyncClient, times(3)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveReenviarChavesNaoProcessadas() {
+        prepararTabelaParaLote();
+        Key chaveFuncionario = Key.builder().partitionValue("98765432100").build();
+        BatchGetResultPagePublisher primeira = publisher(pagina(List.of(pessoaEntityCliente), List.of(chaveFuncionario)));
+        BatchGetResultPagePublisher segunda = publisher(pagina(List.of(pessoaEntityFuncionario), List.of()));
+        when(enhancedAsyncClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenReturn(primeira)
+                .thenReturn(segunda);
+
+        List<PessoaModel> resultado = pessoaAsyncRepository.buscarPessoasPorCpfs(List.of("12345678900", "98765432100")).join();
+
+        assertEquals(List.of("12345678900", "98765432100"), resultado.stream().map(PessoaModel::getCdDocPessoa).toList());
+        ArgumentCaptor<BatchGetItemEnhancedRequest> captor = ArgumentCaptor.forClass(BatchGetItemEnhancedRequest.class);
+        verify(enhancedAsyncClient, times(2)).batchGetItem(captor.capture());
+        assertEquals(List.of(chaveFuncionario), captor.getAllValues().get(1).readBatches().iterator().next().keysAndAttributes().keys().stream()
+                .map(chave -> Key.builder().partitionValue(chave.get("cdDocPessoa").s()).build())
+                .toList());
+    }
+
+    @Test
+    void deveFalharQuandoChavesContinuamNaoProcessadas() {
+        prepararTabelaParaLote();
+        Key chaveCliente = Key.builder().partitionValue("12345678900").build();
+        when(enhancedAsyncClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenAnswer(invocation -> publisher(pagina(List.of(), List.of(chaveCliente))));
+
+        CompletionException excecao = assertThrows(CompletionException.class,
+                () -> pessoaAsyncRepository.buscarPessoasPorCpfs(List.of("12345678900")).join());
+
+        assertInstanceOf(IllegalStateException.class, excecao.getCause());
+        verify(enhancedAsyncClient, times(6)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveBuscarApenasOsCamposPedidosComProjecao() {
+        GetItemResponse response = GetItemResponse.builder()
+                .item(Map.of("cdDocPessoa", AttributeValue.fromS("12345678900"), "tpPessoa", AttributeValue.fromS("CLIENTE")))
+                .build();
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+        PessoaModel resultado = pessoaAsyncRepository
+                .buscarPessoaPorCpf("12345678900", EnumSet.of(CampoPessoaEnum.TP_PESSOA)).join().orElseThrow();
+
+        assertEquals(TipoPessoaEnum.CLIENTE, resultado.getTpPessoa());
+        assertNull(resultado.getNmPessoa());
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(dynamoDbAsyncClient).getItem(captor.capture());
+        assertEquals("cdDocPessoa, tpPessoa", captor.getValue().projectionExpression());
+        verify(tabelaPessoa, never()).getItem(any(Key.class));
+    }
+
+    @Test
+    void deveRetornarVazioNaProjecaoQuandoCpfNaoEncontrado() {
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetItemResponse.builder().build()));
+
+        assertTrue(pessoaAsyncRepository.buscarPessoaPorCpf("12345678900", Set.of()).join().isEmpty());
+    }
+
+    @Test
+    void deveBuscarItemCompletoQuandoTodosOsCamposSaoPedidos() {
+        when(tabelaPessoa.getItem(any(Key.class))).thenReturn(CompletableFuture.completedFuture(pessoaEntityCliente));
+
+        assertTrue(pessoaAsyncRepository.buscarPessoaPorCpf("12345678900", EnumSet.allOf(CampoPessoaEnum.class)).join().isPresent());
+
+        verifyNoInteractions(dynamoDbAsyncClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveBuscarPessoaPorEmailNoIndiceComUmaUnicaQuery() {
+        DynamoDbAsyncIndex<PessoaEntity> indice = mock(DynamoDbAsyncIndex.class);
+        when(tabelaPessoa.index("dsEmail-index")).thenReturn(indice);
+        when(indice.query(any(QueryEnhancedRequest.class))).thenReturn(publicar(Page.create(List.of(pessoaEntityCliente))));
+
+        Optional<PessoaModel> resultado = pessoaAsyncRepository.buscarPessoaPorEmail("joao@email.com").join();
+
+        assertEquals("12345678900", resultado.orElseThrow().getCdDocPessoa());
+        ArgumentCaptor<QueryEnhancedRequest> captor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+        verify(indice).query(captor.capture());
+        assertEquals(1, captor.getValue().limit());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveRetornarVazioQuandoEmailNaoEncontrado() {
+        DynamoDbAsyncIndex<PessoaEntity> indice = mock(DynamoDbAsyncIndex.class);
+        when(tabelaPessoa.index("dsEmail-index")).thenReturn(indice);
+        when(indice.query(any(QueryEnhancedRequest.class))).thenReturn(publicar(Page.create(List.<PessoaEntity>of())));
+
+        assertTrue(pessoaAsyncRepository.buscarPessoaPorEmail("ninguem@email.com").join().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveListarUmaPaginaPorTipoComCursorAssinado() {
+        DynamoDbAsyncIndex<PessoaEntity> indice = mock(DynamoDbAsyncIndex.class);
+        when(tabelaPessoa.index("tpPessoa-nmPessoa-index")).thenReturn(indice);
+        Map<String, AttributeValue> ultimaChave = Map.of("tpPessoa", AttributeValue.fromS("CLIENTE"),
+                "nmPessoa", AttributeValue.fromS("João Silva"), "cdDocPessoa", AttributeValue.fromS("12345678900"));
+        when(indice.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(publicar(Page.create(List.of(pessoaEntityCliente), ultimaChave)));
+        String cursor = cursorPaginacao.codificar(TipoPessoaEnum.CLIENTE, "Ana", "11144477735");
+
+        PaginaPessoasModel pagina = pessoaAsyncRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 1, cursor).join();
+
+        assertEquals(List.of("12345678900"), pagina.getPessoas().stream().map(PessoaModel::getCdDocPessoa).toList());
+        assertEquals(cursorPaginacao.codificar(TipoPessoaEnum.CLIENTE, "João Silva", "12345678900"), pagina.getCursor());
+        ArgumentCaptor<QueryEnhancedRequest> captor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+        verify(indice).query(captor.capture());
+        assertEquals(1, captor.getValue().limit());
+        assertEquals("11144477735", captor.getValue().exclusiveStartKey().get("cdDocPessoa").s());
+    }
+
+    @Test
+    void deveCompletarComErroParaCursorInvalidoSemConsultarOIndice() {
+        CompletableFuture<PaginaPessoasModel> resultado =
+                pessoaAsyncRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, "cursor-forjado");
+
+        CompletionException excecao = assertThrows(CompletionException.class, resultado::join);
+        assertInstanceOf(CursorInvalidoException.class, excecao.getCause());
+        verify(tabelaPessoa, never()).index(anyString());
+    }
+
+    private void prepararTabelaParaLote() {
+        lenient().when(tabelaPessoa.tableName()).thenReturn("Pessoas");
+        lenient().when(tabelaPessoa.tableSchema()).thenReturn(TableSchema.fromBean(PessoaEntity.class));
+    }
+
+    private BatchGetResultPage pagina(List<PessoaEntity> resultados, List<Key> naoProcessadas) {
+        BatchGetResultPage pagina = mock(BatchGetResultPage.class);
+        lenient().when(pagina.resultsForTable(tabelaPessoa)).thenReturn(resultados);
+        lenient().when(pagina.unprocessedKeysForTable(tabelaPessoa)).thenReturn(naoProcessadas);
+        return pagina;
+    }
+
+    private static BatchGetResultPagePublisher publisher(BatchGetResultPage pagina) {
+        return BatchGetResultPagePublisher.create(publicar(pagina));
+    }
+
+    private static <T> SdkPublisher<T> publicar(T item) {
+        return subscriber -> subscriber.onSubscribe(new Subscription() {
+            private boolean emitido;
+
+            @Override
+            public void request(long n) {
+                if (!emitido) {
+                    emitido = true;
+                    subscriber.onNext(item);
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                emitido = true;
+            }
+        });
+    }
+
+    private void prepararTabelasParaTransacao() {
+        DynamoDbConfig config = new DynamoDbConfig();
+        lenient().when(tabelaPessoa.tableName()).thenReturn("Pessoas");
+        lenient().when(tabelaPessoa.tableSchema()).thenReturn(config.pessoaTableSchema());
+        lenient().when(tabelaEmail.tableName()).thenReturn("PessoasEmail");
+        lenient().when(tabelaEmail.tableSchema()).thenReturn(config.pessoaEmailTableSchema());
+    }
+}
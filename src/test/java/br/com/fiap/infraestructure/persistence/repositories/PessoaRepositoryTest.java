@@ -1,21 +1,74 @@
 package br.com.fiap.infraestructure.persistence.repositories;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CursorPaginacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.LeituraComHedge;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository.ResultadoEnvio;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbConfig;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import org.mockito.ArgumentCaptor;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,11 +77,23 @@ class PessoaRepositoryTest {
     @Mock
     private DynamoDbTable<PessoaEntity> tabelaPessoa;
 
+    @Mock
+    private DynamoDbTable<PessoaEmailEntity> tabelaEmail;
+
     @Mock
     private software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient enhancedClient;
 
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    private final TableSchema<PessoaEntity> pessoaTableSchema = new DynamoDbConfig().pessoaTableSchema();
+
+    private final TableSchema<PessoaEmailEntity> pessoaEmailTableSchema = new DynamoDbConfig().pessoaEmailTableSchema();
+
     private PessoaRepository pessoaRepository;
 
+    private ExecutorService executor;
+
     private PessoaModel pessoaModelCliente;
     private PessoaModel pessoaModelFuncionario;
     private PessoaEntity pessoaEntityCliente;
@@ -38,7 +103,11 @@ class PessoaRepositoryTest {
     void setUp() {
         when(enhancedClient.table(anyString(), any(software.amazon.awssdk.enhanced.dynamodb.TableSchema.class)))
                 .thenReturn(tabelaPessoa);
-        pessoaRepository = new PessoaRepository(enhancedClient);
+        when(enhancedClient.table(eq("PessoasEmail"), any(software.amazon.awssdk.enhanced.dynamodb.TableSchema.class)))
+                .thenReturn(tabelaEmail);
+        executor = Executors.newFixedThreadPool(2);
+        pessoaRepository = new PessoaRepository(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema, executor);
+        prepararTabelaParaLote();
 
         pessoaModelCliente = new PessoaModel.Builder()
                 .setCdDocPessoa("12345678900")
@@ -67,6 +136,11 @@ class PessoaRepositoryTest {
         pessoaEntityFuncionario.setDsEmail("maria@empresa.com");
     }
 
+    @AfterEach
+    void tearDown() {
+        pessoaRepository.encerrar();
+    }
+
     @Test
     void deveCadastrarPessoaComSucesso() {
         PessoaModel resultado = pessoaRepository.cadastrarPessoa(pessoaModelCliente);
@@ -77,7 +151,7 @@ class PessoaRepositoryTest {
         assertEquals(TipoPessoaEnum.CLIENTE, resultado.getTpPessoa());
         assertEquals("joao@email.com", resultado.getDsEmail());
 
-        verify(tabelaPessoa, times(1)).putItem(any(PessoaEntity.class));
+        verify(enhancedClient, times(1)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
     }
 
     @Test
@@ -90,7 +164,7 @@ class PessoaRepositoryTest {
         assertEquals(TipoPessoaEnum.FUNCIONARIO, resultado.getTpPessoa());
         assertEquals("maria@empresa.com", resultado.getDsEmail());
 
-        verify(tabelaPessoa, times(1)).putItem(any(PessoaEntity.class));
+        verify(enhancedClient, times(1)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
     }
 
     @Test
@@ -134,16 +208,14 @@ class PessoaRepositoryTest {
 
     @Test
     void deveConverterModelParaEntityAoCadastrar() {
-        doAnswer(invocation -> {
-            PessoaEntity entity = invocation.getArgument(0);
-            assertEquals("12345678900", entity.getCdDocPessoa());
-            assertEquals("João Silva", entity.getNmPessoa());
-            return null;
-        }).when(tabelaPessoa).putItem(any(PessoaEntity.class));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
 
         pessoaRepository.cadastrarPessoa(pessoaModelCliente);
 
-        verify(tabelaPessoa, times(1)).putItem(any(PessoaEntity.class));
+        verify(enhancedClient, times(1)).transactWriteItems(captor.capture());
+        Map<String, AttributeValue> item = captor.getValue().transactWriteItems().get(0).put().item();
+        assertEquals("12345678900", item.get("cdDocPessoa").s());
+        assertEquals("João Silva", item.get("nmPessoa").s());
     }
 
     @Test
@@ -165,7 +237,7 @@ class PessoaRepositoryTest {
         assertNotNull(resultado);
         assertInstanceOf(PessoaModel.class, resultado);
 
-        verify(tabelaPessoa, times(1)).putItem(any(PessoaEntity.class));
+        verify(enhancedClient, times(1)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
     }
 
     @Test
@@ -183,8 +255,8 @@ class PessoaRepositoryTest {
     void deveDelegarCadastroParaDynamoDbTable() {
         pessoaRepository.cadastrarPessoa(pessoaModelCliente);
 
-        verify(tabelaPessoa, times(1)).putItem(any(PessoaEntity.class));
-        verifyNoMoreInteractions(tabelaPessoa);
+        verify(enhancedClient, times(1)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        verify(tabelaPessoa, never()).putItem(any(PessoaEntity.class));
     }
 
     @Test
@@ -206,7 +278,7 @@ class PessoaRepositoryTest {
         assertNotNull(resultado2);
         assertNotEquals(resultado1.getCdDocPessoa(), resultado2.getCdDocPessoa());
 
-        verify(tabelaPessoa, times(2)).putItem(any(PessoaEntity.class));
+        verify(enhancedClient, times(2)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
     }
 
     @Test
@@ -227,7 +299,7 @@ class PessoaRepositoryTest {
 
     @Test
     void deveManterDadosAposCadastroEBusca() {
-        when(tabelaPessoa.getItem(any(Key.class))).thenReturn(pessoaEntityCliente);
+        lenient().when(tabelaPessoa.getItem(any(Key.class))).thenReturn(pessoaEntityCliente);
 
         PessoaModel cadastrada = pessoaRepository.cadastrarPessoa(pessoaModelCliente);
         Optional<PessoaModel> buscada = pessoaRepository.buscarPessoaPorCpf("12345678900");
@@ -303,4 +375,991 @@ class PessoaRepositoryTest {
         assertTrue(resultado.isPresent());
         assertInstanceOf(PessoaModel.class, resultado.get());
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveCadastrarComEscritaCondicionalQuandoCpfNaoExiste() {
+        PessoaModel resultado = pessoaRepository.cadastrarPessoaSeNaoExistir(semEmail(pessoaModelCliente));
+
+        ArgumentCaptor<PutItemEnhancedRequest<PessoaEntity>> captor = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(tabelaPessoa, times(1)).putItem(captor.capture());
+        verify(tabelaPessoa, never()).getItem(any(Key.class));
+
+        assertEquals("attribute_not_exists(cdDocPessoa)", captor.getValue().conditionExpression().expression());
+        assertEquals("12345678900", captor.getValue().item().getCdDocPessoa());
+        assertEquals("12345678900", resultado.getCdDocPessoa());
+        assertEquals("João Silva", resultado.getNmPessoa());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveLancarCpfCadastradoExceptionQuandoCondicaoFalhar() {
+        ConditionalCheckFailedException falha = ConditionalCheckFailedException.builder()
+                .message("The conditional request failed")
+                .build();
+        doThrow(falha).when(tabelaPessoa).putItem(any(PutItemEnhancedRequest.class));
+
+        CpfCadastradoException exception = assertThrows(CpfCadastradoException.class,
+                () -> pessoaRepository.cadastrarPessoaSeNaoExistir(semEmail(pessoaModelCliente)));
+
+        assertEquals("Cliente ja cadastrado com o CPF informado", exception.getMessage());
+        assertSame(falha, exception.getCause());
+    }
+
+    @Test
+    void deveCadastrarPessoaEReservaDoEmailNaMesmaTransacao() {
+        prepararTabelaParaLote();
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        PessoaModel resultado = pessoaRepository.cadastrarPessoaSeNaoExistir(pessoaModelCliente);
+
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        verify(tabelaPessoa, never()).putItem(any(PutItemEnhancedRequest.class));
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(2, itens.size());
+        assertEquals("Pessoas", itens.get(0).put().tableName());
+        assertEquals("attribute_not_exists(cdDocPessoa)", itens.get(0).put().conditionExpression());
+        assertEquals("PessoasEmail", itens.get(1).put().tableName());
+        assertEquals("attribute_not_exists(dsEmail)", itens.get(1).put().conditionExpression());
+        assertEquals(AttributeValue.fromS("12345678900"), itens.get(1).put().item().get("cdDocPessoa"));
+        assertEquals("joao@email.com", resultado.getDsEmail());
+    }
+
+    @Test
+    void deveLancarCpfCadastradoExceptionQuandoTransacaoFalharNoCpf() {
+        prepararTabelaParaLote();
+        doThrow(cancelamento("ConditionalCheckFailed", "None"))
+                .when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        CpfCadastradoException exception = assertThrows(CpfCadastradoException.class,
+                () -> pessoaRepository.cadastrarPessoaSeNaoExistir(pessoaModelCliente));
+
+        assertEquals("Cliente ja cadastrado com o CPF informado", exception.getMessage());
+    }
+
+    @Test
+    void deveLancarEmailCadastradoExceptionQuandoEmailJaReservado() {
+        prepararTabelaParaLote();
+        doThrow(cancelamento("None", "ConditionalCheckFailed"))
+                .when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        EmailCadastradoException exception = assertThrows(EmailCadastradoException.class,
+                () -> pessoaRepository.cadastrarPessoaSeNaoExistir(pessoaModelCliente));
+
+        assertEquals("Cliente ja cadastrado com o e-mail informado", exception.getMessage());
+    }
+
+    @Test
+    void devePropagarCancelamentoDaTransacaoPorOutrosMotivos() {
+        prepararTabelaParaLote();
+        TransactionCanceledException conflito = cancelamento("TransactionConflict", "None");
+        doThrow(conflito).when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        TransactionCanceledException exception = assertThrows(TransactionCanceledException.class,
+                () -> pessoaRepository.cadastrarPessoaSeNaoExistir(pessoaModelCliente));
+
+        assertSame(conflito, exception);
+    }
+
+    @Test
+    void deveReservarEmailAoCadastrarPessoa() {
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        pessoaRepository.cadastrarPessoa(pessoaModelCliente);
+
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(2, itens.size());
+        assertEquals("attribute_not_exists(dsEmail)", itens.get(0).put().conditionExpression());
+        assertEquals("PessoasEmail", itens.get(1).put().tableName());
+        assertEquals("joao@email.com", itens.get(1).put().item().get("dsEmail").s());
+        assertEquals("attribute_not_exists(dsEmail) OR cdDocPessoa = :cdDocPessoa", itens.get(1).put().conditionExpression());
+        assertEquals("12345678900", itens.get(1).put().expressionAttributeValues().get(":cdDocPessoa").s());
+        verify(tabelaPessoa, never()).putItem(any(PessoaEntity.class));
+    }
+
+    @Test
+    void deveRecusarSubstituicaoQuandoEmailPertenceAOutroCpf() {
+        doThrow(cancelamento("None", "ConditionalCheckFailed"))
+                .when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        assertThrows(EmailCadastradoException.class, () -> pessoaRepository.cadastrarPessoa(pessoaModelCliente));
+    }
+
+    @Test
+    void naoDeveReservarEmailQuandoPessoaNaoTemEmail() {
+        pessoaRepository.cadastrarPessoa(semEmail(pessoaModelCliente));
+
+        verify(tabelaPessoa).putItem(any(PutItemEnhancedRequest.class));
+        verifyNoInteractions(tabelaEmail);
+    }
+
+    @Test
+    void deveLiberarReservaDoEmailAnteriorAoTrocarEmail() {
+        when(tabelaPessoa.getItem(any(GetItemEnhancedRequest.class))).thenReturn(comEmail(pessoaEntityCliente, "antigo@email.com"));
+        when(tabelaEmail.getItem(any(GetItemEnhancedRequest.class))).thenReturn(new PessoaEmailEntity("antigo@email.com", "12345678900"));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        pessoaRepository.cadastrarPessoa(pessoaModelCliente);
+
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(3, itens.size());
+        assertEquals("dsEmail = :dsEmailGravado", itens.get(0).put().conditionExpression());
+        assertEquals("antigo@email.com", itens.get(0).put().expressionAttributeValues().get(":dsEmailGravado").s());
+        assertEquals("joao@email.com", itens.get(1).put().item().get("dsEmail").s());
+        assertEquals("PessoasEmail", itens.get(2).delete().tableName());
+        assertEquals("antigo@email.com", itens.get(2).delete().key().get("dsEmail").s());
+        assertEquals("cdDocPessoa = :cdDocPessoa", itens.get(2).delete().conditionExpression());
+        assertEquals("12345678900", itens.get(2).delete().expressionAttributeValues().get(":cdDocPessoa").s());
+    }
+
+    @Test
+    void deveLiberarReservaDoEmailAnteriorAoRemoverEmail() {
+        when(tabelaPessoa.getItem(any(GetItemEnhancedRequest.class))).thenReturn(pessoaEntityCliente);
+        when(tabelaEmail.getItem(any(GetItemEnhancedRequest.class))).thenReturn(new PessoaEmailEntity("joao@email.com", "12345678900"));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        pessoaRepository.cadastrarPessoa(semEmail(pessoaModelCliente));
+
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(2, itens.size());
+        assertNull(itens.get(0).put().item().get("dsEmail"));
+        assertEquals("joao@email.com", itens.get(1).delete().key().get("dsEmail").s());
+        verify(tabelaPessoa, never()).putItem(any(PutItemEnhancedRequest.class));
+    }
+
+    @Test
+    void naoDeveLiberarReservaDoEmailAnteriorQuandoElaPertenceAOutroCpf() {
+        when(tabelaPessoa.getItem(any(GetItemEnhancedRequest.class))).thenReturn(comEmail(pessoaEntityCliente, "antigo@email.com"));
+        when(tabelaEmail.getItem(any(GetItemEnhancedRequest.class))).thenReturn(new PessoaEmailEntity("antigo@email.com", "11111111111"));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        pessoaRepository.cadastrarPessoa(pessoaModelCliente);
+
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(2, itens.size());
+        assertNull(itens.get(1).delete());
+    }
+
+    @Test
+    void deveRelerCadastroQuandoEmailMudarEntreALeituraEATransacao() {
+        when(tabelaPessoa.getItem(any(GetItemEnhancedRequest.class)))
+                .thenReturn(null)
+                .thenReturn(comEmail(pessoaEntityCliente, "antigo@email.com"));
+        when(tabelaEmail.getItem(any(GetItemEnhancedRequest.class))).thenReturn(new PessoaEmailEntity("antigo@email.com", "12345678900"));
+        doThrow(cancelamento("ConditionalCheckFailed", "None"))
+                .doNothing()
+                .when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        pessoaRepository.cadastrarPessoa(pessoaModelCliente);
+
+        verify(enhancedClient, times(2)).transactWriteItems(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).transactWriteItems().size());
+        assertEquals(3, captor.getAllValues().get(1).transactWriteItems().size());
+        verify(tabelaPessoa, times(2)).getItem(any(GetItemEnhancedRequest.class));
+    }
+
+    @Test
+    void devePropagarConflitoQuandoEmailContinuaMudandoAposAsReleituras() {
+        TransactionCanceledException conflito = cancelamento("ConditionalCheckFailed", "None");
+        doThrow(conflito).when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        TransactionCanceledException exception = assertThrows(TransactionCanceledException.class,
+                () -> pessoaRepository.cadastrarPessoa(pessoaModelCliente));
+
+        assertSame(conflito, exception);
+        verify(enhancedClient, times(3)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveBuscarPessoaPorEmailNoIndiceGlobal() {
+        DynamoDbIndex<PessoaEntity> indice = mock(DynamoDbIndex.class);
+        when(tabelaPessoa.index("dsEmail-index")).thenReturn(indice);
+        when(indice.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(() -> List.of(Page.create(List.of(pessoaEntityCliente))).iterator());
+        ArgumentCaptor<QueryEnhancedRequest> captor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+
+        Optional<PessoaModel> resultado = pessoaRepository.buscarPessoaPorEmail("joao@email.com");
+
+        assertTrue(resultado.isPresent());
+        assertEquals("12345678900", resultado.get().getCdDocPessoa());
+        verify(indice).query(captor.capture());
+        assertEquals(1, captor.getValue().limit());
+        verify(tabelaPessoa, never()).scan(any(ScanEnhancedRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveRetornarVazioQuandoEmailNaoEncontrado() {
+        DynamoDbIndex<PessoaEntity> indice = mock(DynamoDbIndex.class);
+        when(tabelaPessoa.index("dsEmail-index")).thenReturn(indice);
+        when(indice.query(any(QueryEnhancedRequest.class))).thenReturn(() -> List.of(Page.<PessoaEntity>create(List.of())).iterator());
+
+        assertTrue(pessoaRepository.buscarPessoaPorEmail("ninguem@email.com").isEmpty());
+    }
+
+    @Test
+    void deveBuscarPessoasEmLoteComUmaUnicaChamadaBatchGetItem() {
+        prepararTabelaParaLote();
+        BatchGetResultPage pagina = pagina(List.of(pessoaEntityCliente, pessoaEntityFuncionario), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(pagina));
+
+        List<PessoaModel> resultado = pessoaRepository.buscarPessoasPorCpfs(List.of("12345678900", "98765432100"));
+
+        assertEquals(2, resultado.size());
+        assertEquals("João Silva", resultado.get(0).getNmPessoa());
+        assertEquals("Maria Santos", resultado.get(1).getNmPessoa());
+        verify(enhancedClient, times(1)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+        verify(tabelaPessoa, never()).getItem(any(Key.class));
+    }
+
+    @Test
+    void deveDividirBuscaEmLotesDeCemChaves() {
+        prepararTabelaParaLote();
+        List<BatchGetItemEnhancedRequest> requests = new ArrayList<>();
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenAnswer(invocation -> {
+            synchronized (requests) {
+                requests.add(invocation.getArgument(0));
+            }
+            return paginas(pagina(List.of(), List.of()));
+        });
+
+        List<String> cpfs = IntStream.range(0, 250).mapToObj(i -> String.format("%011d", i)).toList();
+        pessoaRepository.buscarPessoasPorCpfs(cpfs);
+
+        assertEquals(3, requests.size());
+        List<Integer> tamanhos = requests.stream()
+                .map(request -> request.readBatches().iterator().next().keysAndAttributes().keys().size())
+                .sorted()
+                .toList();
+        assertEquals(List.of(50, 100, 100), tamanhos);
+    }
+
+    @Test
+    void deveReprocessarChavesNaoProcessadas() {
+        prepararTabelaParaLote();
+        BatchGetResultPage primeira = pagina(List.of(pessoaEntityCliente), List.of(Key.builder().partitionValue("98765432100").build()));
+        BatchGetResultPage segunda = pagina(List.of(pessoaEntityFuncionario), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(primeira, segunda));
+
+        List<PessoaModel> resultado = pessoaRepository.buscarPessoasPorCpfs(List.of("12345678900", "98765432100"));
+
+        assertEquals(2, resultado.size());
+        verify(segunda, times(1)).resultsForTable(tabelaPessoa);
+    }
+
+    @Test
+    void deveFalharQuandoChavesContinuamNaoProcessadas() {
+        prepararTabelaParaLote();
+        Key pendente = Key.builder().partitionValue("98765432100").build();
+        BatchGetResultPage[] paginas = IntStream.range(0, 10)
+                .mapToObj(i -> pagina(List.of(), List.of(pendente)))
+                .toArray(BatchGetResultPage[]::new);
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(paginas));
+
+        assertThrows(IllegalStateException.class,
+                () -> pessoaRepository.buscarPessoasPorCpfs(List.of("98765432100")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveListarPrimeiraPaginaPorTipoDevolvendoCursor() {
+        DynamoDbIndex<PessoaEntity> indice = mock(DynamoDbIndex.class);
+        when(tabelaPessoa.index("tpPessoa-nmPessoa-index")).thenReturn(indice);
+        Map<String, AttributeValue> ultimaChave = Map.of(
+                "tpPessoa", AttributeValue.fromS("CLIENTE"),
+                "nmPessoa", AttributeValue.fromS("João Silva"),
+                "cdDocPessoa", AttributeValue.fromS("12345678900"));
+        when(indice.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(() -> List.of(Page.create(List.of(pessoaEntityCliente), ultimaChave)).iterator());
+        ArgumentCaptor<QueryEnhancedRequest> captor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+
+        PaginaPessoasModel pagina = pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 1, null);
+
+        assertEquals(1, pagina.getPessoas().size());
+        assertEquals("João Silva", pagina.getPessoas().get(0).getNmPessoa());
+        assertNotNull(pagina.getCursor());
+        verify(indice).query(captor.capture());
+        assertEquals(1, captor.getValue().limit());
+        assertNull(captor.getValue().exclusiveStartKey());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveRetomarListagemAPartirDoCursor() {
+        DynamoDbIndex<PessoaEntity> indice = mock(DynamoDbIndex.class);
+        when(tabelaPessoa.index("tpPessoa-nmPessoa-index")).thenReturn(indice);
+        Map<String, AttributeValue> ultimaChave = Map.of(
+                "tpPessoa", AttributeValue.fromS("CLIENTE"),
+                "nmPessoa", AttributeValue.fromS("João Silva"),
+                "cdDocPessoa", AttributeValue.fromS("12345678900"));
+        when(indice.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(() -> List.of(Page.create(List.of(pessoaEntityCliente), ultimaChave)).iterator())
+                .thenReturn(() -> List.of(Page.<PessoaEntity>create(List.of())).iterator());
+        ArgumentCaptor<QueryEnhancedRequest> captor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+
+        String cursor = pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 1, null).getCursor();
+        PaginaPessoasModel ultima = pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 1, cursor);
+
+        verify(indice, times(2)).query(captor.capture());
+        assertEquals(ultimaChave, captor.getAllValues().get(1).exclusiveStartKey());
+        assertTrue(ultima.getPessoas().isEmpty());
+        assertNull(ultima.getCursor());
+    }
+
+    @Test
+    void deveRejeitarCursorMalformado() {
+        assertThrows(CursorInvalidoException.class,
+                () -> pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, "nao é base64"));
+        verify(tabelaPessoa, never()).index(any());
+    }
+
+    @Test
+    void deveRejeitarCursorSemAssinatura() {
+        String forjado = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("CLIENTE\u0000A\u000000000000000".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(CursorInvalidoException.class,
+                () -> pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, forjado));
+        verify(tabelaPessoa, never()).index(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveRejeitarCursorDeOutroTipoDePessoa() {
+        DynamoDbIndex<PessoaEntity> indice = mock(DynamoDbIndex.class);
+        when(tabelaPessoa.index("tpPessoa-nmPessoa-index")).thenReturn(indice);
+        Map<String, AttributeValue> ultimaChave = Map.of(
+                "tpPessoa", AttributeValue.fromS("FUNCIONARIO"),
+                "nmPessoa", AttributeValue.fromS("Maria Santos"),
+                "cdDocPessoa", AttributeValue.fromS("98765432100"));
+        when(indice.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(() -> List.of(Page.create(List.of(pessoaEntityFuncionario), ultimaChave)).iterator());
+        String cursorFuncionario = pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.FUNCIONARIO, 1, null).getCursor();
+
+        assertThrows(CursorInvalidoException.class,
+                () -> pessoaRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 1, cursorFuncionario));
+    }
+
+    @Test
+    void deveGravarPessoasEReservasDeEmailEmLotesDeAteVinteECincoItens() {
+        prepararTabelaParaLote();
+        List<BatchWriteItemEnhancedRequest> requests = new ArrayList<>();
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenAnswer(invocation -> {
+            synchronized (requests) {
+                requests.add(invocation.getArgument(0));
+            }
+            return semPendencias;
+        });
+
+        List<PessoaModel> pessoas = IntStream.range(0, 60)
+                .mapToObj(i -> new PessoaModel(String.format("%011d", i), "Pessoa " + i, TipoPessoaEnum.CLIENTE, i + "@email.com"))
+                .toList();
+        pessoaRepository.cadastrarPessoasEmLote(pessoas);
+
+        assertEquals(5, requests.size());
+        requests.forEach(request -> {
+            List<WriteBatch> writeBatches = List.copyOf(request.writeBatches());
+            assertEquals(2, writeBatches.size());
+            assertEquals(12, writeBatches.get(0).writeRequests().size());
+            assertEquals(12, writeBatches.get(1).writeRequests().size());
+            assertEquals("PessoasEmail", writeBatches.get(1).tableName());
+        });
+        verify(tabelaPessoa, never()).putItem(any(PessoaEntity.class));
+    }
+
+    @Test
+    void deveReenviarItensNaoProcessadosNaEscritaEmLote() {
+        prepararTabelaParaLote();
+        BatchWriteResult comPendencia = resultadoEscrita(List.of(pessoaEntityFuncionario));
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class)))
+                .thenReturn(comPendencia)
+                .thenReturn(semPendencias);
+
+        pessoaRepository.cadastrarPessoasEmLote(List.of(pessoaModelCliente, pessoaModelFuncionario));
+
+        ArgumentCaptor<BatchWriteItemEnhancedRequest> captor = ArgumentCaptor.forClass(BatchWriteItemEnhancedRequest.class);
+        verify(enhancedClient, times(2)).batchWriteItem(captor.capture());
+        assertEquals(1, captor.getAllValues().get(1).writeBatches().iterator().next().writeRequests().size());
+    }
+
+    @Test
+    void deveFalharQuandoItensContinuamNaoProcessadosNaEscrita() {
+        prepararTabelaParaLote();
+        BatchWriteResult comPendencia = resultadoEscrita(List.of(pessoaEntityCliente));
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(comPendencia);
+
+        assertThrows(IllegalStateException.class,
+                () -> pessoaRepository.cadastrarPessoasEmLote(List.of(pessoaModelCliente)));
+    }
+
+    @Test
+    void deveGravarLoteSemAsPessoasCujoEmailPertenceAOutroCpf() {
+        BatchGetResultPage reservaDeOutroCpf = reservas(List.of(new PessoaEmailEntity("joao@email.com", "11111111111")));
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(reservaDeOutroCpf));
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(semPendencias);
+        ArgumentCaptor<BatchWriteItemEnhancedRequest> captor = ArgumentCaptor.forClass(BatchWriteItemEnhancedRequest.class);
+
+        EmailCadastradoException exception = assertThrows(EmailCadastradoException.class,
+                () -> pessoaRepository.cadastrarPessoasEmLote(List.of(pessoaModelCliente, pessoaModelFuncionario)));
+
+        assertTrue(exception.getMessage().endsWith("12345678900"));
+        verify(enhancedClient).batchWriteItem(captor.capture());
+        captor.getValue().writeBatches().forEach(writeBatch -> assertEquals(1, writeBatch.writeRequests().size()));
+    }
+
+    @Test
+    void deveLiberarReservasDosEmailsAnterioresNoCadastroEmLote() {
+        BatchGetResultPage cadastrada = pagina(List.of(comEmail(pessoaEntityCliente, "antigo@email.com")), List.of());
+        when(cadastrada.resultsForTable(tabelaEmail)).thenReturn(List.of(new PessoaEmailEntity("antigo@email.com", "12345678900")));
+        when(cadastrada.unprocessedKeysForTable(tabelaEmail)).thenReturn(List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(semPendencias);
+        ArgumentCaptor<BatchWriteItemEnhancedRequest> captor = ArgumentCaptor.forClass(BatchWriteItemEnhancedRequest.class);
+
+        pessoaRepository.cadastrarPessoasEmLote(List.of(pessoaModelCliente));
+
+        verify(enhancedClient, times(2)).batchWriteItem(captor.capture());
+        WriteBatch liberacao = captor.getAllValues().get(1).writeBatches().iterator().next();
+        assertEquals("PessoasEmail", liberacao.tableName());
+        assertEquals("antigo@email.com", liberacao.writeRequests().iterator().next().deleteRequest().key().get("dsEmail").s());
+    }
+
+    @Test
+    void deveRecusarEmailRepetidoNoMesmoLote() {
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(semPendencias);
+        PessoaModel mesmoEmail = new PessoaModel("11111111111", "Outro", TipoPessoaEnum.CLIENTE, "JOAO@email.com");
+
+        EmailCadastradoException exception = assertThrows(EmailCadastradoException.class,
+                () -> pessoaRepository.cadastrarPessoasEmLote(List.of(pessoaModelCliente, mesmoEmail)));
+
+        assertTrue(exception.getMessage().endsWith("11111111111"));
+    }
+
+    @Test
+    void deveSincronizarCpfAindaNaoCadastradoEmLoteComAVersaoLocal() {
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(semPendencias);
+        ArgumentCaptor<BatchWriteItemEnhancedRequest> captor = ArgumentCaptor.forClass(BatchWriteItemEnhancedRequest.class);
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoaModelCliente), List.of(5_000L));
+
+        assertEquals(List.of(ResultadoEnvio.GRAVADA), resultados);
+        verify(enhancedClient).batchWriteItem(captor.capture());
+        Map<String, AttributeValue> item = captor.getValue().writeBatches().iterator().next()
+                .writeRequests().iterator().next().putRequest().item();
+        assertEquals("5000", item.get("dtAtualizacao").n());
+        verify(enhancedClient, never()).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        verify(tabelaPessoa, never()).putItem(any(PutItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveSincronizarCpfJaCadastradoComPutItemCondicionadoAVersao() {
+        PessoaModel pessoa = semEmail(pessoaModelCliente);
+        BatchGetResultPage cadastrada = pagina(List.of(versao(pessoa, 1_000L)), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+        ArgumentCaptor<PutItemEnhancedRequest<PessoaEntity>> captor = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoa), List.of(2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.GRAVADA), resultados);
+        verify(tabelaPessoa).putItem(captor.capture());
+        assertEquals(2_000L, captor.getValue().item().getDtAtualizacao());
+        assertEquals("2000", captor.getValue().conditionExpression().expressionValues().get(":dtAtualizacao").n());
+        verify(enhancedClient, never()).batchWriteItem(any(BatchWriteItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveDescartarSincronizacaoQuandoDynamoDbTemVersaoMaisNova() {
+        PessoaModel pessoa = semEmail(pessoaModelCliente);
+        BatchGetResultPage cadastrada = pagina(List.of(versao(pessoa, 3_000L)), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoa), List.of(2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.SUPERADA), resultados);
+        verify(tabelaPessoa, never()).putItem(any(PutItemEnhancedRequest.class));
+        verify(enhancedClient, never()).batchWriteItem(any(BatchWriteItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveDescartarSincronizacaoQuandoVersaoMudarAntesDoPutItem() {
+        PessoaModel pessoa = semEmail(pessoaModelCliente);
+        BatchGetResultPage cadastrada = pagina(List.of(versao(pessoa, 1_000L)), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+        doThrow(ConditionalCheckFailedException.builder().message("Versao mais nova").build())
+                .when(tabelaPessoa).putItem(any(PutItemEnhancedRequest.class));
+        when(tabelaPessoa.getItem(any(GetItemEnhancedRequest.class))).thenReturn(versao(pessoa, 3_000L));
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoa), List.of(2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.SUPERADA), resultados);
+        verify(tabelaPessoa).putItem(any(PutItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveLiberarReservaDoEmailAnteriorNaSincronizacao() {
+        PessoaEntity gravada = comEmail(versao(pessoaModelCliente, 1_000L), "antigo@email.com");
+        BatchGetResultPage cadastrada = pagina(List.of(gravada), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+        when(tabelaEmail.getItem(any(GetItemEnhancedRequest.class))).thenReturn(new PessoaEmailEntity("antigo@email.com", "12345678900"));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor =
+                ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoaModelCliente), List.of(2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.GRAVADA), resultados);
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(3, itens.size());
+        assertTrue(itens.get(0).put().conditionExpression().contains("dtAtualizacao <= :dtAtualizacao"));
+        assertTrue(itens.get(0).put().conditionExpression().contains("dsEmail = :dsEmailGravado"));
+        assertEquals("antigo@email.com", itens.get(2).delete().key().get("dsEmail").s());
+    }
+
+    @Test
+    void deveSincronizarCpfJaCadastradoComEmailEmTransacaoCondicionadaAVersao() {
+        BatchGetResultPage cadastrada = pagina(List.of(versao(pessoaModelCliente, 1_000L)), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor =
+                ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoaModelCliente), List.of(2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.GRAVADA), resultados);
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(2, itens.size());
+        assertTrue(itens.get(0).put().conditionExpression().contains("dtAtualizacao"));
+        assertEquals("12345678900", itens.get(1).put().item().get("cdDocPessoa").s());
+    }
+
+    @Test
+    void deveRecusarSincronizacaoQuandoReservaDoEmailMudarDeDonoNaTransacao() {
+        BatchGetResultPage cadastrada = pagina(List.of(versao(pessoaModelCliente, 1_000L)), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(cadastrada));
+        doThrow(cancelamento("None", "ConditionalCheckFailed"))
+                .when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(List.of(pessoaModelCliente), List.of(2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.EMAIL_DE_OUTRO_CPF), resultados);
+    }
+
+    @Test
+    void deveRecusarSincronizacaoComEmailReservadoParaOutroCpfSemGravar() {
+        BatchGetResultPage reservaDeOutroCpf = reservas(List.of(new PessoaEmailEntity("joao@email.com", "11111111111")));
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(reservaDeOutroCpf));
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(semPendencias);
+
+        List<ResultadoEnvio> resultados = pessoaRepository.sincronizarPessoas(
+                List.of(pessoaModelCliente, pessoaModelFuncionario), List.of(2_000L, 2_000L));
+
+        assertEquals(List.of(ResultadoEnvio.EMAIL_DE_OUTRO_CPF, ResultadoEnvio.GRAVADA), resultados);
+    }
+
+    @Test
+    void deveCadastrarEmLoteComEmailCondicionalmenteEmUmaTransacao() {
+        prepararTabelaParaLote();
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        List<ResultadoCadastroModel> resultados = pessoaRepository.cadastrarPessoasSeNaoExistirem(
+                List.of(pessoaModelCliente, pessoaModelFuncionario));
+
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(4, itens.size());
+        assertEquals("attribute_not_exists(cdDocPessoa)", itens.get(2).put().conditionExpression());
+        assertEquals("PessoasEmail", itens.get(3).put().tableName());
+        assertTrue(resultados.stream().allMatch(resultado -> resultado.getStatus() == StatusCadastroEnum.CRIADO));
+        verify(enhancedClient, never()).batchWriteItem(any(BatchWriteItemEnhancedRequest.class));
+    }
+
+    @Test
+    void deveCadastrarEmLoteSemEmailPorBatchWriteItemSemTransacao() {
+        PessoaModel semEmail = new PessoaModel.Builder().setCdDocPessoa("11111111111").setNmPessoa("Sem Email").build();
+        PessoaModel cadastrada = semEmail(pessoaModelFuncionario);
+        BatchGetResultPage existente = pagina(List.of(versao(cadastrada, 1_000L)), List.of());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(paginas(existente));
+        BatchWriteResult semPendencias = resultadoEscrita(List.of());
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenReturn(semPendencias);
+        ArgumentCaptor<BatchWriteItemEnhancedRequest> captor = ArgumentCaptor.forClass(BatchWriteItemEnhancedRequest.class);
+
+        List<ResultadoCadastroModel> resultados = pessoaRepository.cadastrarPessoasSeNaoExistirem(
+                List.of(semEmail, cadastrada, pessoaModelCliente));
+
+        assertEquals(List.of(StatusCadastroEnum.CRIADO, StatusCadastroEnum.DUPLICADO, StatusCadastroEnum.CRIADO),
+                resultados.stream().map(ResultadoCadastroModel::getStatus).toList());
+        assertEquals(List.of("11111111111", "98765432100", "12345678900"),
+                resultados.stream().map(ResultadoCadastroModel::getCdDocPessoa).toList());
+        verify(enhancedClient).batchWriteItem(captor.capture());
+        var writeBatches = captor.getValue().writeBatches();
+        assertEquals(1, writeBatches.size());
+        var escritas = writeBatches.iterator().next().writeRequests();
+        assertEquals(1, escritas.size());
+        assertEquals("11111111111", escritas.iterator().next().putRequest().item().get("cdDocPessoa").s());
+        verify(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+    }
+
+    @Test
+    void deveMarcarComoFalhaApenasOLoteSemEmailQueNaoPodeSerGravado() {
+        prepararTabelaParaLote();
+        PessoaModel semEmail = new PessoaModel.Builder().setCdDocPessoa("11111111111").setNmPessoa("Sem Email").build();
+        when(enhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class)))
+                .thenThrow(ProvisionedThroughputExceededException.builder().message("limite").build());
+
+        List<ResultadoCadastroModel> resultados = pessoaRepository.cadastrarPessoasSeNaoExistirem(
+                List.of(pessoaModelCliente, semEmail));
+
+        assertEquals(StatusCadastroEnum.CRIADO, resultados.get(0).getStatus());
+        assertEquals(StatusCadastroEnum.FALHA, resultados.get(1).getStatus());
+    }
+
+    @Test
+    void deveReenviarApenasPessoasSemConflitoQuandoTransacaoForCanceladaPorCondicao() {
+        prepararTabelaParaLote();
+        List<TransactWriteItemsEnhancedRequest> requests = new ArrayList<>();
+        doAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            if (requests.size() == 1) {
+                throw TransactionCanceledException.builder()
+                        .cancellationReasons(motivo("ConditionalCheckFailed"), motivo("None"),
+                                motivo("None"), motivo("ConditionalCheckFailed"))
+                        .build();
+            }
+            return null;
+        }).when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        PessoaModel terceira = new PessoaModel.Builder().setCdDocPessoa("11111111111").setNmPessoa("Terceira")
+                .setDsEmail("terceira@email.com").build();
+
+        List<ResultadoCadastroModel> resultados = pessoaRepository.cadastrarPessoasSeNaoExistirem(
+                List.of(pessoaModelCliente, pessoaModelFuncionario, terceira));
+
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultados.get(0).getStatus());
+        assertNull(resultados.get(0).getMensagem());
+        assertEquals(StatusCadastroEnum.DUPLICADO, resultados.get(1).getStatus());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", resultados.get(1).getMensagem());
+        assertEquals(StatusCadastroEnum.CRIADO, resultados.get(2).getStatus());
+        assertEquals(2, requests.size());
+        assertEquals(2, requests.get(1).transactWriteItems().size());
+    }
+
+    @Test
+    void deveMarcarComoFalhaApenasOGrupoQueNaoPodeSerGravado() {
+        prepararTabelaParaLote();
+        List<PessoaModel> pessoas = IntStream.range(0, 60)
+                .mapToObj(i -> new PessoaModel.Builder().setCdDocPessoa(String.format("%011d", i)).setNmPessoa("P" + i)
+                        .setDsEmail("p" + i + "@email.com").build())
+                .toList();
+        doAnswer(invocation -> {
+            TransactWriteItemsEnhancedRequest request = invocation.getArgument(0);
+            if (request.transactWriteItems().size() < 100) {
+                throw ProvisionedThroughputExceededException.builder().message("limite").build();
+            }
+            return null;
+        }).when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        List<ResultadoCadastroModel> resultados = pessoaRepository.cadastrarPessoasSeNaoExistirem(pessoas);
+
+        assertEquals(60, resultados.size());
+        assertTrue(resultados.subList(0, 50).stream().allMatch(resultado -> resultado.getStatus() == StatusCadastroEnum.CRIADO));
+        assertTrue(resultados.subList(50, 60).stream().allMatch(resultado -> resultado.getStatus() == StatusCadastroEnum.FALHA));
+        assertEquals("00000000059", resultados.get(59).getCdDocPessoa());
+    }
+
+    @Test
+    void devePercorrerCpfsComScanParaleloProjetandoApenasAChave() {
+        List<ScanEnhancedRequest> requests = new ArrayList<>();
+        when(tabelaPessoa.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation -> {
+            ScanEnhancedRequest request = invocation.getArgument(0);
+            synchronized (requests) {
+                requests.add(request);
+            }
+            PessoaEntity entity = request.segment() == 0 ? pessoaEntityCliente : pessoaEntityFuncionario;
+            return PageIterable.create(() -> List.of(Page.create(List.of(entity))).iterator());
+        });
+
+        Set<String> cpfs = ConcurrentHashMap.newKeySet();
+        pessoaRepository.percorrerCpfsCadastrados(2, cpfs::add);
+
+        assertEquals(Set.of("12345678900", "98765432100"), cpfs);
+        assertEquals(2, requests.size());
+        requests.forEach(request -> {
+            assertEquals(2, request.totalSegments());
+            assertEquals(List.of("cdDocPessoa"), request.attributesToProject());
+        });
+    }
+
+    @Test
+    void deveNormalizarEmailsEReservarNoBackfill() {
+        PessoaEntity mista = comEmail(pessoaEntityCliente, "Joao@Email.com");
+        mista.setDtAtualizacao(1_000L);
+        when(tabelaPessoa.scan(any(ScanEnhancedRequest.class)))
+                .thenReturn(PageIterable.create(() -> List.of(Page.create(List.of(mista))).iterator()));
+        ArgumentCaptor<TransactWriteItemsEnhancedRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+
+        PessoaRepository.ResumoReservaEmails resumo = pessoaRepository.reservarEmailsCadastrados(1);
+
+        assertEquals(new PessoaRepository.ResumoReservaEmails(1, 1, 0, 0), resumo);
+        verify(enhancedClient).transactWriteItems(captor.capture());
+        var itens = captor.getValue().transactWriteItems();
+        assertEquals(2, itens.size());
+        assertEquals("joao@email.com", itens.get(0).put().item().get("dsEmail").s());
+        assertEquals("1000", itens.get(0).put().item().get("dtAtualizacao").n());
+        assertEquals("Joao@Email.com", itens.get(0).put().expressionAttributeValues().get(":dsEmailGravado").s());
+        assertEquals("joao@email.com", itens.get(1).put().item().get("dsEmail").s());
+    }
+
+    @Test
+    void deveContarEmailsDeOutroCpfEAlteradosNoBackfillSemFalhar() {
+        when(tabelaPessoa.scan(any(ScanEnhancedRequest.class))).thenReturn(PageIterable.create(() ->
+                List.of(Page.create(List.of(pessoaEntityCliente, pessoaEntityFuncionario))).iterator()));
+        doThrow(cancelamento("None", "ConditionalCheckFailed"))
+                .doThrow(cancelamento("ConditionalCheckFailed", "None"))
+                .when(enhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+        PessoaRepository.ResumoReservaEmails resumo = pessoaRepository.reservarEmailsCadastrados(1);
+
+        assertEquals(new PessoaRepository.ResumoReservaEmails(0, 0, 1, 1), resumo);
+    }
+
+    @Test
+    void deveExportarTodosOsSegmentosMesmoComMaisItensQueAFila() {
+        List<ScanEnhancedRequest> requests = new ArrayList<>();
+        when(tabelaPessoa.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation -> {
+            ScanEnhancedRequest request = invocation.getArgument(0);
+            synchronized (requests) {
+                requests.add(request);
+            }
+            List<Page<PessoaEntity>> paginas = IntStream.range(0, 3)
+                    .mapToObj(pagina -> Page.create(IntStream.range(0, 500)
+                            .mapToObj(item -> entityExportada(request.segment(), pagina, item))
+                            .toList()))
+                    .toList();
+            return PageIterable.create(paginas::iterator);
+        });
+
+        Set<String> cpfs = new HashSet<>();
+        pessoaRepository.exportarPessoas(2, 0, pessoa -> cpfs.add(pessoa.getCdDocPessoa()));
+
+        assertEquals(3000, cpfs.size());
+        assertEquals(2, requests.size());
+        requests.forEach(request -> {
+            assertEquals(2, request.totalSegments());
+            assertEquals(500, request.limit());
+            assertEquals(ReturnConsumedCapacity.TOTAL, request.returnConsumedCapacity());
+        });
+    }
+
+    @Test
+    void devePropagarFalhaDoConsumidorNaExportacao() {
+        when(tabelaPessoa.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation ->
+                PageIterable.create(() -> List.of(Page.create(List.of(pessoaEntityCliente))).iterator()));
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> pessoaRepository.exportarPessoas(2, 0, pessoa -> {
+                    throw new IllegalStateException("cliente desconectou");
+                }));
+
+        assertEquals("cliente desconectou", erro.getMessage());
+    }
+
+    @Test
+    void devePropagarFalhaDoScanNaExportacao() {
+        when(tabelaPessoa.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation -> {
+            ScanEnhancedRequest request = invocation.getArgument(0);
+            if (request.segment() == 1) {
+                throw ProvisionedThroughputExceededException.builder().message("throttled").build();
+            }
+            return PageIterable.create(() -> List.of(Page.create(List.of(pessoaEntityCliente))).iterator());
+        });
+
+        assertThrows(ProvisionedThroughputExceededException.class,
+                () -> pessoaRepository.exportarPessoas(2, 0, pessoa -> { }));
+    }
+
+    @Test
+    void deveUsarThreadsVirtuaisNosLotesQuandoHabilitado() throws Exception {
+        PessoaRepository repositoryVirtual = new PessoaRepository(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema, 2, true, semHedge(), new CursorPaginacao((String) null));
+        try {
+            ExecutorService executorVirtual = (ExecutorService) ReflectionTestUtils.getField(repositoryVirtual, "executor");
+
+            assertTrue(executorVirtual.submit(() -> Thread.currentThread().isVirtual()).get());
+        } finally {
+            repositoryVirtual.encerrar();
+        }
+    }
+
+    @Test
+    void deveUsarPoolDeThreadsDePlataformaQuandoThreadsVirtuaisDesabilitadas() throws Exception {
+        PessoaRepository repositoryPlataforma = new PessoaRepository(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema, 2, false, semHedge(), new CursorPaginacao((String) null));
+        try {
+            ExecutorService executorPlataforma = (ExecutorService) ReflectionTestUtils.getField(repositoryPlataforma, "executor");
+
+            assertFalse(executorPlataforma.submit(() -> Thread.currentThread().isVirtual()).get());
+        } finally {
+            repositoryPlataforma.encerrar();
+        }
+    }
+
+    @Test
+    void deveBuscarPorCpfComHedgeQuandoConfigurado() {
+        try (LeituraComHedge hedge = new LeituraComHedge(0.95, Duration.ofMillis(5), 0.05)) {
+            PessoaRepository repositoryComHedge = new PessoaRepository(enhancedClient, dynamoDbClient, pessoaTableSchema, pessoaEmailTableSchema, executor, hedge);
+            when(tabelaPessoa.getItem(any(Key.class))).thenReturn(pessoaEntityCliente);
+
+            Optional<PessoaModel> resultado = repositoryComHedge.buscarPessoaPorCpf("12345678900");
+
+            assertTrue(resultado.isPresent());
+            assertEquals("12345678900", resultado.get().getCdDocPessoa());
+            verify(tabelaPessoa).getItem(Key.builder().partitionValue("12345678900").build());
+        }
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpfProjetandoApenasCamposSolicitados() {
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+                .item(Map.of("cdDocPessoa", AttributeValue.fromS("12345678900"), "tpPessoa", AttributeValue.fromS("CLIENTE")))
+                .build());
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+
+        Optional<PessoaModel> resultado = pessoaRepository.buscarPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.TP_PESSOA));
+
+        assertTrue(resultado.isPresent());
+        assertEquals("12345678900", resultado.get().getCdDocPessoa());
+        assertEquals(TipoPessoaEnum.CLIENTE, resultado.get().getTpPessoa());
+        assertNull(resultado.get().getNmPessoa());
+        verify(dynamoDbClient).getItem(captor.capture());
+        assertEquals("Pessoas", captor.getValue().tableName());
+        assertEquals("cdDocPessoa, tpPessoa", captor.getValue().projectionExpression());
+        assertEquals(AttributeValue.fromS("12345678900"), captor.getValue().key().get("cdDocPessoa"));
+        verify(tabelaPessoa, never()).getItem(any(Key.class));
+    }
+
+    @Test
+    void deveVerificarExistenciaProjetandoApenasAChave() {
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+                .item(Map.of("cdDocPessoa", AttributeValue.fromS("12345678900")))
+                .build());
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+
+        assertTrue(pessoaRepository.existePessoa("12345678900"));
+
+        verify(dynamoDbClient).getItem(captor.capture());
+        assertEquals("cdDocPessoa", captor.getValue().projectionExpression());
+    }
+
+    @Test
+    void deveRetornarVazioNaBuscaProjetadaQuandoCpfNaoExiste() {
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().build());
+
+        assertFalse(pessoaRepository.existePessoa("00000000000"));
+        assertTrue(pessoaRepository.buscarTipoPessoa("00000000000").isEmpty());
+    }
+
+    @Test
+    void deveBuscarTipoPessoaPorProjecao() {
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+                .item(Map.of("cdDocPessoa", AttributeValue.fromS("98765432100"), "tpPessoa", AttributeValue.fromS("FUNCIONARIO")))
+                .build());
+
+        assertEquals(Optional.of(TipoPessoaEnum.FUNCIONARIO), pessoaRepository.buscarTipoPessoa("98765432100"));
+    }
+
+    @Test
+    void deveUsarGetItemCompletoQuandoTodosOsCamposSaoSolicitados() {
+        when(tabelaPessoa.getItem(any(Key.class))).thenReturn(pessoaEntityCliente);
+
+        Optional<PessoaModel> resultado = pessoaRepository.buscarPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.values()));
+
+        assertTrue(resultado.isPresent());
+        verifyNoInteractions(dynamoDbClient);
+    }
+
+    private static org.springframework.beans.factory.ObjectProvider<LeituraComHedge> semHedge() {
+        return new StaticListableBeanFactory().getBeanProvider(LeituraComHedge.class);
+    }
+
+    private BatchWriteResult resultadoEscrita(List<PessoaEntity> naoProcessados) {
+        BatchWriteResult resultado = mock(BatchWriteResult.class);
+        lenient().when(resultado.unprocessedPutItemsForTable(tabelaPessoa)).thenReturn(naoProcessados);
+        lenient().when(resultado.unprocessedPutItemsForTable(tabelaEmail)).thenReturn(List.of());
+        return resultado;
+    }
+
+    private void prepararTabelaParaLote() {
+        lenient().when(tabelaPessoa.tableName()).thenReturn("Pessoas");
+        lenient().when(tabelaPessoa.tableSchema()).thenReturn(pessoaTableSchema);
+        lenient().when(tabelaEmail.tableName()).thenReturn("PessoasEmail");
+        lenient().when(tabelaEmail.tableSchema()).thenReturn(pessoaEmailTableSchema);
+        BatchGetResultPage semReservas = reservas(List.of());
+        lenient().when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenReturn(paginas(semReservas));
+    }
+
+    private BatchGetResultPage reservas(List<PessoaEmailEntity> reservas) {
+        BatchGetResultPage pagina = mock(BatchGetResultPage.class);
+        lenient().when(pagina.resultsForTable(tabelaEmail)).thenReturn(reservas);
+        lenient().when(pagina.unprocessedKeysForTable(tabelaEmail)).thenReturn(List.of());
+        return pagina;
+    }
+
+    private static PessoaEntity entityExportada(int segmento, int pagina, int item) {
+        PessoaEntity entity = new PessoaEntity();
+        entity.setCdDocPessoa(String.format("%d%02d%08d", segmento, pagina, item));
+        entity.setNmPessoa("Pessoa " + item);
+        entity.setTpPessoa(TipoPessoaEnum.CLIENTE);
+        return entity;
+    }
+
+    private static PessoaEntity versao(PessoaModel pessoaModel, long dtAtualizacao) {
+        PessoaEntity entity = new PessoaEntity(pessoaModel.getCdDocPessoa(), pessoaModel.getNmPessoa(),
+                pessoaModel.getTpPessoa(), pessoaModel.getDsEmail());
+        entity.setDtAtualizacao(dtAtualizacao);
+        return entity;
+    }
+
+    private static PessoaEntity comEmail(PessoaEntity pessoaEntity, String dsEmail) {
+        PessoaEntity entity = new PessoaEntity(pessoaEntity.getCdDocPessoa(), pessoaEntity.getNmPessoa(),
+                pessoaEntity.getTpPessoa(), dsEmail);
+        entity.setDtAtualizacao(pessoaEntity.getDtAtualizacao());
+        return entity;
+    }
+
+        private static PessoaModel semEmail(PessoaModel pessoaModel) {
+        return new PessoaModel(pessoaModel.getCdDocPessoa(), pessoaModel.getNmPessoa(), pessoaModel.getTpPessoa(), null);
+    }
+
+    private static TransactionCanceledException cancelamento(String motivoPessoa, String motivoEmail) {
+        return TransactionCanceledException.builder()
+                .cancellationReasons(CancellationReason.builder().code(motivoPessoa).build(),
+                        CancellationReason.builder().code(motivoEmail).build())
+                .build();
+    }
+
+    private static CancellationReason motivo(String codigo) {
+        return CancellationReason.builder().code(codigo).build();
+    }
+
+    private BatchGetResultPage pagina(List<PessoaEntity> resultados, List<Key> naoProcessadas) {
+        BatchGetResultPage pagina = mock(BatchGetResultPage.class);
+        lenient().when(pagina.resultsForTable(tabelaPessoa)).thenReturn(resultados);
+        lenient().when(pagina.unprocessedKeysForTable(tabelaPessoa)).thenReturn(naoProcessadas);
+        return pagina;
+    }
+
+    private static BatchGetResultPageIterable paginas(BatchGetResultPage... paginas) {
+        return () -> List.of(paginas).iterator();
+    }
 }
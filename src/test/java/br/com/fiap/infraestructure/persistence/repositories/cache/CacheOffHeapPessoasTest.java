@@ -0,0 +1,177 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.CacheOffHeapPessoas;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheOffHeapPessoasTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void deveGuardarEDevolverTodosOsCamposDaPessoa() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 192, Duration.ofMinutes(10), relogio::get);
+
+        cache.colocar(new PessoaModel("111.444.777-35", "João Ávila", TipoPessoaEnum.FUNCIONARIO, "joao@email.com"));
+        PessoaModel pessoa = cache.buscar(Cpf.compactar("111.444.777-35"));
+
+        assertEquals("111.444.777-35", pessoa.getCdDocPessoa());
+        assertEquals("João Ávila", pessoa.getNmPessoa());
+        assertEquals(TipoPessoaEnum.FUNCIONARIO, pessoa.getTpPessoa());
+        assertEquals("joao@email.com", pessoa.getDsEmail());
+        assertNull(cache.buscar(Cpf.compactar("11144477735")));
+        assertEquals(1, cache.getAcertos());
+        assertEquals(1, cache.getFaltas());
+    }
+
+    @Test
+    void deveGuardarCamposNulos() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 64, Duration.ZERO, relogio::get);
+
+        cache.colocar(new PessoaModel("12345678900", null, null, null));
+        PessoaModel pessoa = cache.buscar(12345678900L);
+
+        assertEquals("12345678900", pessoa.getCdDocPessoa());
+        assertNull(pessoa.getNmPessoa());
+        assertNull(pessoa.getTpPessoa());
+        assertNull(pessoa.getDsEmail());
+    }
+
+    @Test
+    void deveSubstituirApenasQuandoSolicitado() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 192, Duration.ofMinutes(10), relogio::get);
+        cache.colocar(pessoa(12345678900L, "Original"));
+
+        cache.colocarSeAusente(pessoa(12345678900L, "Ignorada"));
+        assertEquals("Original", cache.buscar(12345678900L).getNmPessoa());
+
+        cache.colocar(pessoa(12345678900L, "Atualizada"));
+        assertEquals("Atualizada", cache.buscar(12345678900L).getNmPessoa());
+        assertEquals(1, cache.getEntradas());
+    }
+
+    @Test
+    void deveRecusarPessoaMaiorQueAEntradaERemoverValorAnterior() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 64, Duration.ofMinutes(10), relogio::get);
+        cache.colocar(pessoa(12345678900L, "Curto"));
+
+        cache.colocar(pessoa(12345678900L, "Um nome longo o bastante para nao caber na entrada de 64 bytes"));
+
+        assertNull(cache.buscar(12345678900L));
+        assertEquals(1, cache.getRecusadas());
+        assertEquals(0, cache.getEntradas());
+    }
+
+    @Test
+    void deveExpirarEntradasPeloTtl() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 192, Duration.ofSeconds(30), relogio::get);
+        cache.colocar(pessoa(12345678900L, "Expira"));
+
+        relogio.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertNotNull(cache.buscar(12345678900L));
+
+        relogio.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNull(cache.buscar(12345678900L));
+        assertEquals(0, cache.getEntradas());
+
+        cache.colocarSeAusente(pessoa(12345678900L, "Nova"));
+        assertEquals("Nova", cache.buscar(12345678900L).getNmPessoa());
+    }
+
+    @Test
+    void deveRemoverEntradasSemUsoRecenteQuandoCheio() {
+        // 16 segmentos de 4 entradas
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(16 * 4 * 64, 64, Duration.ZERO, relogio::get);
+        assertEquals(64, cache.getCapacidade());
+
+        for (long cpf = 0; cpf < 1_000; cpf++) {
+            cache.colocar(pessoa(cpf, "P" + cpf));
+        }
+
+        assertTrue(cache.getEntradas() <= 64);
+        assertEquals(1_000 - cache.getEntradas(), cache.getRemocoes());
+        for (long cpf = 0; cpf < 1_000; cpf++) {
+            PessoaModel pessoa = cache.buscar(cpf);
+            if (pessoa != null) {
+                assertEquals("P" + cpf, pessoa.getNmPessoa());
+            }
+        }
+    }
+
+    @Test
+    void deveDarSegundaChanceAEntradasLidas() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(16 * 4 * 64, 64, Duration.ZERO, relogio::get);
+        cache.colocar(pessoa(1L, "Lida"));
+
+        for (long cpf = 2; cpf < 2_000; cpf++) {
+            assertNotNull(cache.buscar(1L), "Removida ao inserir " + cpf);
+            cache.colocar(pessoa(cpf, "P" + cpf));
+        }
+    }
+
+    @Test
+    void deveConcordarComHashMapEmOperacoesAleatorias() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 22, 64, Duration.ZERO, relogio::get);
+        Map<Long, String> referencia = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long cpf = random.nextInt(5_000) * 1_000_003L;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    cache.colocar(pessoa(cpf, "N" + i));
+                    referencia.put(cpf, "N" + i);
+                }
+                case 1 -> {
+                    cache.remover(cpf);
+                    referencia.remove(cpf);
+                }
+                default -> {
+                    PessoaModel pessoa = cache.buscar(cpf);
+                    assertEquals(referencia.get(cpf), pessoa == null ? null : pessoa.getNmPessoa());
+                }
+            }
+        }
+        assertEquals(referencia.size(), cache.getEntradas());
+        assertEquals(0, cache.getRemocoes());
+    }
+
+    @Test
+    void deveIgnorarDocumentoForaDoFormatoDeCpf() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 192, Duration.ZERO, relogio::get);
+
+        cache.colocar(new PessoaModel("abc", "Sem Cpf", TipoPessoaEnum.CLIENTE, null));
+
+        assertEquals(0, cache.getEntradas());
+        assertNull(cache.buscar(Cpf.INVALIDO));
+    }
+
+    @Test
+    void deveRejeitarConfiguracaoInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheOffHeapPessoas(1 << 20, 8, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new CacheOffHeapPessoas(100, 64, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new CacheOffHeapPessoas(Long.MAX_VALUE, 64, Duration.ZERO));
+    }
+
+    @Test
+    void deveReportarMemoriaReservada() {
+        CacheOffHeapPessoas cache = new CacheOffHeapPessoas(1 << 20, 128, Duration.ZERO);
+
+        assertEquals(8_192, cache.getCapacidade());
+        assertTrue(cache.getMemoriaEmBytes() >= 1 << 20);
+    }
+
+    private static PessoaModel pessoa(long cpf, String nome) {
+        return new PessoaModel(Cpf.formatar(cpf), nome, TipoPessoaEnum.CLIENTE, "email@email.com");
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.FiltroBloomCpf;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FiltroBloomCpfTest {
+
+    @Test
+    void naoDeveTerFalsoNegativo() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar(cpf(i)));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filtro.podeConter(cpf(i))));
+    }
+
+    @Test
+    void deveManterTaxaDeFalsoPositivoProximaDaConfigurada() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar(cpf(i)));
+
+        long falsosPositivos = IntStream.range(10_000, 110_000)
+                .filter(i -> filtro.podeConter(cpf(i)))
+                .count();
+
+        assertTrue(falsosPositivos < 2_000, "Falsos positivos: " + falsosPositivos);
+        assertEquals(0.01, filtro.getTaxaFalsoPositivoEstimada(), 0.005);
+    }
+
+    @Test
+    void deveDimensionarBitsEFuncoesHashPelaCapacidadeETaxa() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(1_000_000, 0.01);
+
+        assertEquals(7, filtro.getFuncoesHash());
+        assertEquals(0, filtro.getTotalBits() % Long.SIZE);
+        assertTrue(filtro.getTotalBits() >= 9_585_059);
+        assertEquals(filtro.getTotalBits() / 8, filtro.getMemoriaEmBytes());
+        assertEquals(1_000_000, filtro.getCapacidadeEsperada());
+        assertEquals(0.01, filtro.getTaxaFalsoPositivo());
+    }
+
+    @Test
+    void deveEstimarQuantidadeDeElementos() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(10_000, 0.01);
+        IntStream.range(0, 5_000).forEach(i -> filtro.adicionar(cpf(i)));
+        IntStream.range(0, 5_000).forEach(i -> filtro.adicionar(cpf(i)));
+
+        assertEquals(5_000, filtro.getElementosEstimados(), 250);
+    }
+
+    @Test
+    void deveIniciarVazioENaoPronto() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(100, 0.01);
+
+        assertFalse(filtro.isPronto());
+        assertFalse(filtro.podeConter("12345678900"));
+        assertEquals(0.0, filtro.getTaxaFalsoPositivoEstimada());
+        assertEquals(0, filtro.getElementosEstimados());
+
+        filtro.marcarPronto();
+
+        assertTrue(filtro.isPronto());
+    }
+
+    @Test
+    void deveDeixarDeEstarProntoAoFimDaValidadeContadaDoInicioDaCarga() {
+        Clock relogio = mock(Clock.class);
+        when(relogio.millis()).thenReturn(1_000L, 60_999L, 61_000L);
+        FiltroBloomCpf filtro = new FiltroBloomCpf(100, 0.01, Duration.ofMinutes(1), relogio);
+
+        filtro.recarregar(consumidor -> consumidor.accept("12345678900"));
+
+        assertTrue(filtro.isPronto());
+        assertFalse(filtro.isPronto());
+    }
+
+    @Test
+    void deveSubstituirOConteudoNaRecargaMantendoCpfsAdicionadosDuranteEla() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(100, 0.01);
+        filtro.adicionar("11111111111");
+
+        filtro.recarregar(consumidor -> {
+            consumidor.accept("22222222222");
+            filtro.adicionar("33333333333");
+            assertTrue(filtro.podeConter("11111111111"));
+        });
+
+        assertTrue(filtro.isPronto());
+        assertFalse(filtro.podeConter("11111111111"));
+        assertTrue(filtro.podeConter("22222222222"));
+        assertTrue(filtro.podeConter("33333333333"));
+    }
+
+    @Test
+    void deveManterConteudoAnteriorQuandoRecargaFalha() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(100, 0.01);
+        filtro.recarregar(consumidor -> consumidor.accept("11111111111"));
+
+        assertThrows(IllegalStateException.class, () -> filtro.recarregar(consumidor -> {
+            consumidor.accept("22222222222");
+            throw new IllegalStateException("falha no scan");
+        }));
+        filtro.adicionar("33333333333");
+
+        assertTrue(filtro.isPronto());
+        assertTrue(filtro.podeConter("11111111111"));
+        assertFalse(filtro.podeConter("22222222222"));
+        assertTrue(filtro.podeConter("33333333333"));
+    }
+
+    @Test
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomCpf(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomCpf(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomCpf(100, 1));
+    }
+
+    private static String cpf(int numero) {
+        return String.format("%011d", numero);
+    }
+
+    @Test
+    void deveIndexarPeloCpfCompactado() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(100, 0.01);
+
+        filtro.adicionar("11144477735");
+
+        assertTrue(filtro.podeConter(11144477735L));
+        assertTrue(filtro.podeConter("11144477735"));
+        assertFalse(filtro.podeConter("111.444.777-35"));
+    }
+
+    @Test
+    void deveResponderQuePodeConterDocumentoForaDoFormatoDeCpf() {
+        FiltroBloomCpf filtro = new FiltroBloomCpf(100, 0.01);
+
+        filtro.adicionar("abc");
+
+        assertTrue(filtro.podeConter("abc"));
+        assertEquals(0, filtro.getElementosEstimados());
+    }
+}
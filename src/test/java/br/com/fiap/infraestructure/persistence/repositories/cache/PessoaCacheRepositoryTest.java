@@ -0,0 +1,248 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaCacheRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaCacheRepositoryTest {
+
+    @Mock
+    private PessoaRepositoryPort delegate;
+
+    private Cache<Long, PessoaModel> cache;
+    private PessoaCacheRepository pessoaCacheRepository;
+    private PessoaModel pessoaCliente;
+    private PessoaModel pessoaFuncionario;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        pessoaCacheRepository = new PessoaCacheRepository(delegate, cache);
+
+        pessoaCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaFuncionario = new PessoaModel("98765432100", "Maria Santos", TipoPessoaEnum.FUNCIONARIO, "maria@empresa.com");
+    }
+
+    @Test
+    void deveConsultarRepositorioApenasNaPrimeiraBusca() {
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        Optional<PessoaModel> primeira = pessoaCacheRepository.buscarPessoaPorCpf("12345678900");
+        Optional<PessoaModel> segunda = pessoaCacheRepository.buscarPessoaPorCpf("12345678900");
+
+        assertSame(pessoaCliente, primeira.orElseThrow());
+        assertSame(pessoaCliente, segunda.orElseThrow());
+        verify(delegate, times(1)).buscarPessoaPorCpf("12345678900");
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void naoDeveSobrescreverValorGravadoDuranteABusca() {
+        PessoaModel atualizada = new PessoaModel("12345678900", "João Atualizado", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenAnswer(invocation -> {
+            cache.put(12345678900L, atualizada);
+            return Optional.of(pessoaCliente);
+        });
+
+        pessoaCacheRepository.buscarPessoaPorCpf("12345678900");
+
+        assertSame(atualizada, cache.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void naoDeveArmazenarCpfNaoEncontrado() {
+        when(delegate.buscarPessoaPorCpf("00000000000")).thenReturn(Optional.empty());
+
+        assertTrue(pessoaCacheRepository.buscarPessoaPorCpf("00000000000").isEmpty());
+        assertTrue(pessoaCacheRepository.buscarPessoaPorCpf("00000000000").isEmpty());
+
+        verify(delegate, times(2)).buscarPessoaPorCpf("00000000000");
+        assertNull(cache.getIfPresent(0L));
+    }
+
+    @Test
+    void deveArmazenarPessoaAposCadastroCondicional() {
+        when(delegate.cadastrarPessoaSeNaoExistir(pessoaCliente)).thenReturn(pessoaCliente);
+
+        pessoaCacheRepository.cadastrarPessoaSeNaoExistir(pessoaCliente);
+        Optional<PessoaModel> resultado = pessoaCacheRepository.buscarPessoaPorCpf("12345678900");
+
+        assertSame(pessoaCliente, resultado.orElseThrow());
+        verify(delegate, never()).buscarPessoaPorCpf(any());
+    }
+
+    @Test
+    void naoDeveAlterarCacheQuandoCadastroCondicionalFalha() {
+        cache.put(12345678900L, pessoaCliente);
+        PessoaModel outra = new PessoaModel("12345678900", "Outro Nome", TipoPessoaEnum.CLIENTE, "outro@email.com");
+        when(delegate.cadastrarPessoaSeNaoExistir(outra)).thenThrow(new CpfCadastradoException("duplicado"));
+
+        assertThrows(CpfCadastradoException.class, () -> pessoaCacheRepository.cadastrarPessoaSeNaoExistir(outra));
+
+        assertSame(pessoaCliente, cache.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void deveSubstituirEntradaAoCadastrarPessoa() {
+        cache.put(12345678900L, pessoaCliente);
+        PessoaModel atualizada = new PessoaModel("12345678900", "João Atualizado", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        when(delegate.cadastrarPessoa(atualizada)).thenReturn(atualizada);
+
+        pessoaCacheRepository.cadastrarPessoa(atualizada);
+
+        assertSame(atualizada, cache.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void deveInvalidarEntradaQuandoCadastroFalha() {
+        cache.put(12345678900L, pessoaCliente);
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenThrow(new RuntimeException("falha"));
+
+        assertThrows(RuntimeException.class, () -> pessoaCacheRepository.cadastrarPessoa(pessoaCliente));
+
+        assertNull(cache.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void deveInvalidarEntradasAoCadastrarEmLote() {
+        cache.put(12345678900L, pessoaCliente);
+        cache.put(98765432100L, pessoaFuncionario);
+
+        pessoaCacheRepository.cadastrarPessoasEmLote(List.of(pessoaCliente));
+
+        verify(delegate, times(1)).cadastrarPessoasEmLote(List.of(pessoaCliente));
+        assertNull(cache.getIfPresent(12345678900L));
+        assertSame(pessoaFuncionario, cache.getIfPresent(98765432100L));
+    }
+
+    @Test
+    void deveBuscarEmLoteApenasCpfsAusentesDoCache() {
+        cache.put(12345678900L, pessoaCliente);
+        when(delegate.buscarPessoasPorCpfs(anyCollection())).thenReturn(List.of(pessoaFuncionario));
+
+        List<PessoaModel> resultado = pessoaCacheRepository.buscarPessoasPorCpfs(
+                List.of("12345678900", "98765432100", "00000000000"));
+
+        assertEquals(List.of(pessoaCliente, pessoaFuncionario), resultado);
+        verify(delegate, times(1)).buscarPessoasPorCpfs(argThat(cpfs -> cpfs.size() == 2
+                && cpfs.contains("98765432100") && cpfs.contains("00000000000")));
+        assertSame(pessoaFuncionario, cache.getIfPresent(98765432100L));
+        assertNull(cache.getIfPresent(0L));
+    }
+
+    @Test
+    void naoDeveConsultarRepositorioQuandoTodoLoteEstaEmCache() {
+        cache.put(12345678900L, pessoaCliente);
+        cache.put(98765432100L, pessoaFuncionario);
+
+        List<PessoaModel> resultado = pessoaCacheRepository.buscarPessoasPorCpfs(List.of("98765432100", "12345678900"));
+
+        assertEquals(List.of(pessoaFuncionario, pessoaCliente), resultado);
+        verify(delegate, never()).buscarPessoasPorCpfs(anyCollection());
+    }
+
+    @Test
+    void deveResponderBuscaProjetadaPeloCacheQuandoPessoaJaFoiLida() {
+        cache.put(12345678900L, pessoaCliente);
+
+        assertTrue(pessoaCacheRepository.existePessoa("12345678900"));
+        assertEquals(Optional.of(TipoPessoaEnum.CLIENTE), pessoaCacheRepository.buscarTipoPessoa("12345678900"));
+
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void naoDeveGuardarNoCacheResultadoDeBuscaProjetada() {
+        PessoaModel parcial = new PessoaModel("12345678900", null, TipoPessoaEnum.CLIENTE, null);
+        when(delegate.buscarPessoaPorCpf("12345678900", Set.of(CampoPessoaEnum.TP_PESSOA))).thenReturn(Optional.of(parcial));
+
+        assertEquals(Optional.of(TipoPessoaEnum.CLIENTE), pessoaCacheRepository.buscarTipoPessoa("12345678900"));
+
+        assertNull(cache.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void deveBuscarPorEmailSempreNoRepositorio() {
+        cache.put(12345678900L, pessoaCliente);
+        when(delegate.buscarPessoaPorEmail("joao@email.com")).thenReturn(Optional.of(pessoaCliente));
+
+        assertEquals(Optional.of(pessoaCliente), pessoaCacheRepository.buscarPessoaPorEmail("joao@email.com"));
+
+        verify(delegate, times(1)).buscarPessoaPorEmail("joao@email.com");
+    }
+
+    @Test
+    void deveListarPorTipoNoRepositorioSemPreencherCache() {
+        PaginaPessoasModel pagina = new PaginaPessoasModel(List.of(pessoaCliente), null);
+        when(delegate.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, null)).thenReturn(pagina);
+
+        assertSame(pagina, pessoaCacheRepository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, null));
+
+        assertNull(cache.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void deveExportarPeloRepositorioSemPreencherCache() {
+        Consumer<PessoaModel> consumidor = pessoa -> { };
+
+        pessoaCacheRepository.exportarPessoas(4, 200, consumidor);
+
+        verify(delegate, times(1)).exportarPessoas(4, 200, consumidor);
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void deveBuscarDocumentoForaDoFormatoDeCpfSemUsarCache() {
+        PessoaModel semCpf = new PessoaModel("abc", "Sem Cpf", TipoPessoaEnum.CLIENTE, "sem@email.com");
+        when(delegate.buscarPessoaPorCpf("abc")).thenReturn(Optional.of(semCpf));
+        when(delegate.buscarPessoasPorCpfs(List.of("abc"))).thenReturn(List.of(semCpf));
+
+        assertSame(semCpf, pessoaCacheRepository.buscarPessoaPorCpf("abc").orElseThrow());
+        assertSame(semCpf, pessoaCacheRepository.buscarPessoaPorCpf("abc").orElseThrow());
+        assertEquals(List.of(semCpf), pessoaCacheRepository.buscarPessoasPorCpfs(List.of("abc")));
+
+        verify(delegate, times(2)).buscarPessoaPorCpf("abc");
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void deveIndexarPeloCpfCompactadoPreservandoAPontuacao() {
+        PessoaModel pontuada = new PessoaModel("111.444.777-35", "Pontuada", TipoPessoaEnum.CLIENTE, "p@email.com");
+        when(delegate.cadastrarPessoa(pontuada)).thenReturn(pontuada);
+
+        pessoaCacheRepository.cadastrarPessoa(pontuada);
+
+        assertSame(pontuada, pessoaCacheRepository.buscarPessoaPorCpf("111.444.777-35").orElseThrow());
+        assertNull(cache.getIfPresent(11144477735L));
+        verify(delegate, never()).buscarPessoaPorCpf(any());
+    }
+}
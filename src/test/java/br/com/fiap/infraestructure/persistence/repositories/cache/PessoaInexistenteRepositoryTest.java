@@ -0,0 +1,264 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.FiltroBloomCpf;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaInexistenteRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaInexistenteRepositoryTest {
+
+    @Mock
+    private PessoaRepositoryPort delegate;
+
+    private Cache<Long, Boolean> cacheNegativo;
+    private FiltroBloomCpf filtroBloom;
+    private PessoaModel pessoaCliente;
+
+    @BeforeEach
+    void setUp() {
+        cacheNegativo = Caffeine.newBuilder().maximumSize(100).executor(Runnable::run).build();
+        filtroBloom = new FiltroBloomCpf(1_000, 0.01);
+        pessoaCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+    }
+
+    @Test
+    void deveResponderBuscaRepetidaDeCpfInexistenteSemConsultarRepositorio() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.buscarPessoaPorCpf("00000000000")).thenReturn(Optional.empty());
+
+        assertTrue(repository.buscarPessoaPorCpf("00000000000").isEmpty());
+        assertTrue(repository.buscarPessoaPorCpf("00000000000").isEmpty());
+
+        verify(delegate, times(1)).buscarPessoaPorCpf("00000000000");
+        assertEquals(1, repository.getAcertosCacheNegativo());
+    }
+
+    @Test
+    void naoDeveRegistrarNoCacheNegativoCpfEncontrado() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        assertSame(pessoaCliente, repository.buscarPessoaPorCpf("12345678900").orElseThrow());
+        assertNull(cacheNegativo.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void naoDeveRegistrarInexistenciaQuandoUmaEscritaTerminaDuranteABusca() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenAnswer(invocation -> {
+            repository.cadastrarPessoa(pessoaCliente);
+            return Optional.empty();
+        });
+
+        assertTrue(repository.buscarPessoaPorCpf("12345678900").isEmpty());
+
+        assertNull(cacheNegativo.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void naoDeveRegistrarInexistenciaNoLoteQuandoUmaEscritaTerminaDuranteABusca() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+        when(delegate.buscarPessoasPorCpfs(anyCollection())).thenAnswer(invocation -> {
+            repository.cadastrarPessoa(pessoaCliente);
+            return List.of();
+        });
+
+        assertTrue(repository.buscarPessoasPorCpfs(List.of("12345678900", "98765432100")).isEmpty());
+
+        assertNull(cacheNegativo.getIfPresent(12345678900L));
+        assertNull(cacheNegativo.getIfPresent(98765432100L));
+    }
+
+    @Test
+    void deveDescartarPeloFiltroCpfNuncaCadastrado() {
+        filtroBloom.adicionar("12345678900");
+        filtroBloom.marcarPronto();
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+
+        assertTrue(repository.buscarPessoaPorCpf("00000000000").isEmpty());
+
+        verify(delegate, never()).buscarPessoaPorCpf(any());
+        assertEquals(1, repository.getDescartesFiltro());
+    }
+
+    @Test
+    void naoDeveUsarFiltroAntesDeEstarPronto() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        assertTrue(repository.buscarPessoaPorCpf("12345678900").isPresent());
+        assertEquals(0, repository.getDescartesFiltro());
+    }
+
+    @Test
+    void deveConsultarRepositorioQuandoFiltroIndicaPossivelExistencia() {
+        filtroBloom.adicionar("12345678900");
+        filtroBloom.marcarPronto();
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        assertTrue(repository.buscarPessoaPorCpf("12345678900").isPresent());
+        verify(delegate, times(1)).buscarPessoaPorCpf("12345678900");
+    }
+
+    @Test
+    void deveRegistrarCpfNoFiltroEInvalidarCacheNegativoAoCadastrar() {
+        filtroBloom.marcarPronto();
+        cacheNegativo.put(12345678900L, Boolean.TRUE);
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.cadastrarPessoaSeNaoExistir(pessoaCliente)).thenReturn(pessoaCliente);
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        repository.cadastrarPessoaSeNaoExistir(pessoaCliente);
+
+        assertTrue(filtroBloom.podeConter("12345678900"));
+        assertNull(cacheNegativo.getIfPresent(12345678900L));
+        assertTrue(repository.buscarPessoaPorCpf("12345678900").isPresent());
+    }
+
+    @Test
+    void deveRegistrarCpfNoFiltroMesmoQuandoJaCadastrado() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.cadastrarPessoaSeNaoExistir(pessoaCliente)).thenThrow(new CpfCadastradoException("duplicado"));
+
+        assertThrows(CpfCadastradoException.class, () -> repository.cadastrarPessoaSeNaoExistir(pessoaCliente));
+
+        assertTrue(filtroBloom.podeConter("12345678900"));
+    }
+
+    @Test
+    void deveRegistrarCpfAoCadastrarSemCondicao() {
+        cacheNegativo.put(12345678900L, Boolean.TRUE);
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+
+        assertSame(pessoaCliente, repository.cadastrarPessoa(pessoaCliente));
+
+        assertTrue(filtroBloom.podeConter("12345678900"));
+        assertNull(cacheNegativo.getIfPresent(12345678900L));
+    }
+
+    @Test
+    void deveRegistrarCpfsAoCadastrarEmLote() {
+        PessoaModel outra = new PessoaModel("98765432100", "Maria Santos", TipoPessoaEnum.FUNCIONARIO, "maria@empresa.com");
+        cacheNegativo.put(98765432100L, Boolean.TRUE);
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+
+        repository.cadastrarPessoasEmLote(List.of(pessoaCliente, outra));
+
+        verify(delegate, times(1)).cadastrarPessoasEmLote(List.of(pessoaCliente, outra));
+        assertTrue(filtroBloom.podeConter("12345678900"));
+        assertTrue(filtroBloom.podeConter("98765432100"));
+        assertNull(cacheNegativo.getIfPresent(98765432100L));
+    }
+
+    @Test
+    void deveBuscarEmLoteApenasCpfsNaoDescartados() {
+        filtroBloom.adicionar("12345678900");
+        filtroBloom.adicionar("11111111111");
+        filtroBloom.marcarPronto();
+        cacheNegativo.put(11111111111L, Boolean.TRUE);
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.buscarPessoasPorCpfs(List.of("12345678900"))).thenReturn(List.of(pessoaCliente));
+
+        List<PessoaModel> resultado = repository.buscarPessoasPorCpfs(List.of("12345678900", "11111111111", "00000000000"));
+
+        assertEquals(List.of(pessoaCliente), resultado);
+        assertEquals(1, repository.getDescartesFiltro());
+        assertEquals(1, repository.getAcertosCacheNegativo());
+    }
+
+    @Test
+    void deveRegistrarNoCacheNegativoCpfsAusentesDoLote() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.buscarPessoasPorCpfs(List.of("12345678900", "00000000000"))).thenReturn(List.of(pessoaCliente));
+
+        repository.buscarPessoasPorCpfs(List.of("12345678900", "00000000000"));
+
+        assertNull(cacheNegativo.getIfPresent(12345678900L));
+        assertEquals(Boolean.TRUE, cacheNegativo.getIfPresent(0L));
+    }
+
+    @Test
+    void naoDeveConsultarRepositorioQuandoTodoLoteEDescartado() {
+        cacheNegativo.put(0L, Boolean.TRUE);
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+
+        assertTrue(repository.buscarPessoasPorCpfs(List.of("00000000000")).isEmpty());
+
+        verify(delegate, never()).buscarPessoasPorCpfs(anyCollection());
+    }
+
+    @Test
+    void deveCompartilharCacheNegativoComBuscasProjetadas() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.buscarPessoaPorCpf("00000000000", Set.of())).thenReturn(Optional.empty());
+
+        assertFalse(repository.existePessoa("00000000000"));
+        assertTrue(repository.buscarPessoaPorCpf("00000000000").isEmpty());
+        assertTrue(repository.buscarTipoPessoa("00000000000").isEmpty());
+
+        verify(delegate, times(1)).buscarPessoaPorCpf("00000000000", Set.of());
+        verify(delegate, never()).buscarPessoaPorCpf("00000000000");
+        assertEquals(2, repository.getAcertosCacheNegativo());
+    }
+
+    @Test
+    void deveDelegarBuscaPorEmailSemConsultarCacheNegativo() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.buscarPessoaPorEmail("ninguem@email.com")).thenReturn(Optional.empty());
+
+        assertTrue(repository.buscarPessoaPorEmail("ninguem@email.com").isEmpty());
+
+        verify(delegate, times(1)).buscarPessoaPorEmail("ninguem@email.com");
+        assertEquals(0, cacheNegativo.estimatedSize());
+    }
+
+    @Test
+    void deveConsultarSempreORepositorioParaDocumentoForaDoFormatoDeCpf() {
+        filtroBloom.marcarPronto();
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, filtroBloom);
+        when(delegate.buscarPessoaPorCpf("abc")).thenReturn(Optional.empty());
+
+        assertTrue(repository.buscarPessoaPorCpf("abc").isEmpty());
+        assertTrue(repository.buscarPessoaPorCpf("abc").isEmpty());
+
+        verify(delegate, times(2)).buscarPessoaPorCpf("abc");
+        assertEquals(0, cacheNegativo.estimatedSize());
+    }
+
+    @Test
+    void deveDistinguirCpfComESemPontuacaoNoCacheNegativo() {
+        PessoaInexistenteRepository repository = new PessoaInexistenteRepository(delegate, cacheNegativo, null);
+        when(delegate.buscarPessoaPorCpf("111.444.777-35")).thenReturn(Optional.empty());
+        when(delegate.buscarPessoaPorCpf("11144477735")).thenReturn(Optional.empty());
+
+        repository.buscarPessoaPorCpf("111.444.777-35");
+        repository.buscarPessoaPorCpf("11144477735");
+
+        verify(delegate, times(1)).buscarPessoaPorCpf("111.444.777-35");
+        verify(delegate, times(1)).buscarPessoaPorCpf("11144477735");
+        assertEquals(2, cacheNegativo.estimatedSize());
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.CacheOffHeapPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaOffHeapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaOffHeapRepositoryTest {
+
+    @Mock
+    private PessoaRepositoryPort delegate;
+
+    private CacheOffHeapPessoas cache;
+    private PessoaOffHeapRepository repository;
+    private PessoaModel pessoaCliente;
+    private PessoaModel pessoaFuncionario;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheOffHeapPessoas(1 << 20, 192, Duration.ofMinutes(10));
+        repository = new PessoaOffHeapRepository(delegate, cache);
+        pessoaCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaFuncionario = new PessoaModel("98765432100", "Maria Santos", TipoPessoaEnum.FUNCIONARIO, "maria@empresa.com");
+    }
+
+    @Test
+    void deveConsultarRepositorioApenasNaPrimeiraBusca() {
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        repository.buscarPessoaPorCpf("12345678900");
+        PessoaModel segunda = repository.buscarPessoaPorCpf("12345678900").orElseThrow();
+
+        assertEquals("João Silva", segunda.getNmPessoa());
+        assertEquals(TipoPessoaEnum.CLIENTE, segunda.getTpPessoa());
+        verify(delegate, times(1)).buscarPessoaPorCpf("12345678900");
+        assertEquals(1, cache.getAcertos());
+    }
+
+    @Test
+    void naoDeveArmazenarCpfNaoEncontrado() {
+        when(delegate.buscarPessoaPorCpf("00000000000")).thenReturn(Optional.empty());
+
+        assertTrue(repository.buscarPessoaPorCpf("00000000000").isEmpty());
+        assertTrue(repository.buscarPessoaPorCpf("00000000000").isEmpty());
+
+        verify(delegate, times(2)).buscarPessoaPorCpf("00000000000");
+        assertEquals(0, cache.getEntradas());
+    }
+
+    @Test
+    void deveSubstituirEntradaAoCadastrarPessoa() {
+        cache.colocar(pessoaCliente);
+        PessoaModel atualizada = new PessoaModel("12345678900", "João Atualizado", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        when(delegate.cadastrarPessoa(atualizada)).thenReturn(atualizada);
+
+        repository.cadastrarPessoa(atualizada);
+
+        assertEquals("João Atualizado", repository.buscarPessoaPorCpf("12345678900").orElseThrow().getNmPessoa());
+        verify(delegate, never()).buscarPessoaPorCpf(any());
+    }
+
+    @Test
+    void deveInvalidarEntradaQuandoCadastroFalha() {
+        cache.colocar(pessoaCliente);
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenThrow(new RuntimeException("falha"));
+
+        assertThrows(RuntimeException.class, () -> repository.cadastrarPessoa(pessoaCliente));
+
+        assertNull(cache.buscar(12345678900L));
+    }
+
+    @Test
+    void deveInvalidarEntradasAoCadastrarEmLote() {
+        cache.colocar(pessoaCliente);
+        cache.colocar(pessoaFuncionario);
+
+        repository.cadastrarPessoasEmLote(List.of(pessoaCliente));
+
+        verify(delegate, times(1)).cadastrarPessoasEmLote(List.of(pessoaCliente));
+        assertNull(cache.buscar(12345678900L));
+        assertNotNull(cache.buscar(98765432100L));
+    }
+
+    @Test
+    void deveBuscarEmLoteApenasCpfsAusentesDoCacheNaOrdemPedida() {
+        cache.colocar(pessoaCliente);
+        when(delegate.buscarPessoasPorCpfs(anyCollection())).thenReturn(List.of(pessoaFuncionario));
+
+        List<PessoaModel> resultado = repository.buscarPessoasPorCpfs(
+                List.of("98765432100", "12345678900", "00000000000", "98765432100"));
+
+        assertEquals(List.of("98765432100", "12345678900"), resultado.stream().map(PessoaModel::getCdDocPessoa).toList());
+        verify(delegate, times(1)).buscarPessoasPorCpfs(List.of("98765432100", "00000000000"));
+        assertNotNull(cache.buscar(98765432100L));
+    }
+
+    @Test
+    void deveResponderBuscaProjetadaPeloCacheSemGuardarResultadoParcial() {
+        cache.colocar(pessoaCliente);
+        PessoaModel parcial = new PessoaModel("98765432100", null, TipoPessoaEnum.FUNCIONARIO, null);
+        when(delegate.buscarPessoaPorCpf("98765432100", Set.of(CampoPessoaEnum.TP_PESSOA))).thenReturn(Optional.of(parcial));
+
+        assertEquals(Optional.of(TipoPessoaEnum.CLIENTE), repository.buscarTipoPessoa("12345678900"));
+        assertEquals(Optional.of(TipoPessoaEnum.FUNCIONARIO), repository.buscarTipoPessoa("98765432100"));
+
+        assertNull(cache.buscar(98765432100L));
+    }
+
+    @Test
+    void deveBuscarDocumentoForaDoFormatoDeCpfNoRepositorio() {
+        PessoaModel semCpf = new PessoaModel("abc", "Sem Cpf", TipoPessoaEnum.CLIENTE, "sem@email.com");
+        when(delegate.buscarPessoasPorCpfs(List.of("abc"))).thenReturn(List.of(semCpf));
+
+        assertEquals(List.of(semCpf), repository.buscarPessoasPorCpfs(List.of("abc")));
+        assertEquals(0, cache.getEntradas());
+    }
+}
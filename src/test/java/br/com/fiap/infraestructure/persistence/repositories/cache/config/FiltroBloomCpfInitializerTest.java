@@ -0,0 +1,63 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache.config;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.FiltroBloomCpf;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.config.FiltroBloomCpfInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FiltroBloomCpfInitializerTest {
+
+    @Mock
+    private PessoaRepository pessoaRepository;
+
+    private FiltroBloomCpf filtroBloomCpf;
+    private FiltroBloomCpfInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        filtroBloomCpf = new FiltroBloomCpf(1_000, 0.01);
+        initializer = new FiltroBloomCpfInitializer(pessoaRepository, filtroBloomCpf);
+        ReflectionTestUtils.setField(initializer, "segmentosScan", 4);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveCarregarCpfsEMarcarFiltroComoPronto() {
+        doAnswer(invocation -> {
+            Consumer<String> consumidor = invocation.getArgument(1);
+            consumidor.accept("12345678900");
+            consumidor.accept("98765432100");
+            return null;
+        }).when(pessoaRepository).percorrerCpfsCadastrados(eq(4), any(Consumer.class));
+
+        initializer.carregarFiltro();
+
+        assertTrue(filtroBloomCpf.isPronto());
+        assertTrue(filtroBloomCpf.podeConter("12345678900"));
+        assertTrue(filtroBloomCpf.podeConter("98765432100"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void naoDeveMarcarFiltroComoProntoQuandoScanFalha() {
+        doThrow(new IllegalStateException("falha no scan"))
+                .when(pessoaRepository).percorrerCpfsCadastrados(eq(4), any(Consumer.class));
+
+        assertDoesNotThrow(() -> initializer.carregarFiltro());
+
+        assertFalse(filtroBloomCpf.isPronto());
+    }
+}
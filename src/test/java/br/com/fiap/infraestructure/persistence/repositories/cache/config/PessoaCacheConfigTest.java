@@ -0,0 +1,169 @@
+package br.com.fiap.infraestructure.persistence.repositories.cache.config;
+
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.FiltroBloomCpf;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaOffHeapRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaCacheRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.PessoaInexistenteRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.cache.config.PessoaCacheConfig;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.PessoaSnapshotRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.PessoaWriteBehindRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaCacheConfigTest {
+
+    @Mock
+    private PessoaRepository pessoaRepository;
+
+    private PessoaCacheConfig pessoaCacheConfig;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        pessoaCacheConfig = new PessoaCacheConfig();
+        ReflectionTestUtils.setField(pessoaCacheConfig, "capacidadeMaxima", 100L);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(pessoaCacheConfig, "negativoCapacidadeMaxima", 100L);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "negativoTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(pessoaCacheConfig, "filtroCapacidadeEsperada", 1_000L);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "filtroTaxaFalsoPositivo", 0.01);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void deveEnvolverRepositorioComCacheQuandoHabilitado() {
+        ReflectionTestUtils.setField(pessoaCacheConfig, "habilitado", true);
+
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, null), provider(PessoaSnapshotRepository.class, null), provider(FiltroBloomCpf.class, null),
+                provider(MeterRegistry.class, meterRegistry));
+
+        assertInstanceOf(PessoaCacheRepository.class, port);
+        assertSame(pessoaRepository, ReflectionTestUtils.getField(port, "delegate"));
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "pessoas").tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "pessoas").functionCounter());
+    }
+
+    @Test
+    void deveRetornarRepositorioOriginalQuandoCachesDesabilitados() {
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, null), provider(PessoaSnapshotRepository.class, null), provider(FiltroBloomCpf.class, null),
+                provider(MeterRegistry.class, meterRegistry));
+
+        assertSame(pessoaRepository, port);
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void deveEncadearCacheNegativoEntreCacheERepositorio() {
+        ReflectionTestUtils.setField(pessoaCacheConfig, "habilitado", true);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "negativoHabilitado", true);
+
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, null), provider(PessoaSnapshotRepository.class, null), provider(FiltroBloomCpf.class, null),
+                provider(MeterRegistry.class, meterRegistry));
+
+        Object inexistentes = ReflectionTestUtils.getField(port, "delegate");
+        assertInstanceOf(PessoaInexistenteRepository.class, inexistentes);
+        assertSame(pessoaRepository, ReflectionTestUtils.getField(inexistentes, "delegate"));
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "pessoas-inexistentes").functionCounter());
+        assertNotNull(meterRegistry.find("pessoas.consultas.inexistentes").tag("origem", "filtro-bloom").functionCounter());
+        assertNotNull(meterRegistry.find("pessoas.consultas.inexistentes").tag("origem", "cache-negativo").functionCounter());
+    }
+
+    @Test
+    void deveEncadearCacheOffHeapEntreCacheNoHeapERepositorio() {
+        ReflectionTestUtils.setField(pessoaCacheConfig, "habilitado", true);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "offHeapHabilitado", true);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "offHeapMemoriaMaxima", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(pessoaCacheConfig, "offHeapTamanhoEntrada", 128);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "offHeapTtl", Duration.ofMinutes(1));
+
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, null), provider(PessoaSnapshotRepository.class, null), provider(FiltroBloomCpf.class, null),
+                provider(MeterRegistry.class, meterRegistry));
+
+        Object offHeap = ReflectionTestUtils.getField(port, "delegate");
+        assertInstanceOf(PessoaOffHeapRepository.class, offHeap);
+        assertSame(pessoaRepository, ReflectionTestUtils.getField(offHeap, "delegate"));
+        assertTrue(meterRegistry.get("pessoas.cache.offheap.memoria").gauge().value() >= 1 << 20);
+        assertEquals(0, meterRegistry.get("pessoas.cache.offheap.entradas").gauge().value());
+        assertNotNull(meterRegistry.find("pessoas.cache.offheap.consultas").tag("resultado", "acerto").functionCounter());
+        assertNotNull(meterRegistry.find("pessoas.cache.offheap.remocoes").functionCounter());
+    }
+
+    @Test
+    void deveColocarSnapshotComoCamadaMaisInterna() {
+        ReflectionTestUtils.setField(pessoaCacheConfig, "habilitado", true);
+        ReflectionTestUtils.setField(pessoaCacheConfig, "negativoHabilitado", true);
+        PessoaSnapshotRepository snapshot = new PessoaSnapshotRepository(pessoaRepository, Duration.ofHours(1), Clock.systemUTC());
+
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, null), provider(PessoaSnapshotRepository.class, snapshot), provider(FiltroBloomCpf.class, null),
+                provider(MeterRegistry.class, null));
+
+        Object negativo = ReflectionTestUtils.getField(port, "delegate");
+        assertInstanceOf(PessoaInexistenteRepository.class, negativo);
+        assertSame(snapshot, ReflectionTestUtils.getField(negativo, "delegate"));
+    }
+
+    @Test
+    void deveColocarWriteBehindComoCamadaMaisInterna(@Mock PessoaWriteBehindRepository writeBehind) {
+        ReflectionTestUtils.setField(pessoaCacheConfig, "habilitado", true);
+        PessoaSnapshotRepository snapshot = new PessoaSnapshotRepository(pessoaRepository, Duration.ofHours(1), Clock.systemUTC());
+
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, writeBehind), provider(PessoaSnapshotRepository.class, snapshot),
+                provider(FiltroBloomCpf.class, null), provider(MeterRegistry.class, null));
+
+        assertInstanceOf(PessoaCacheRepository.class, port);
+        assertSame(writeBehind, ReflectionTestUtils.getField(port, "delegate"));
+    }
+
+    @Test
+    void deveUsarFiltroDeBloomQuandoDisponivel() {
+        FiltroBloomCpf filtro = pessoaCacheConfig.filtroBloomCpf(provider(MeterRegistry.class, meterRegistry));
+
+        PessoaRepositoryPort port = pessoaCacheConfig.pessoaRepositoryPort(pessoaRepository,
+                provider(PessoaWriteBehindRepository.class, null), provider(PessoaSnapshotRepository.class, null), provider(FiltroBloomCpf.class, filtro),
+                provider(MeterRegistry.class, null));
+
+        assertInstanceOf(PessoaInexistenteRepository.class, port);
+        assertSame(filtro, ReflectionTestUtils.getField(port, "filtroBloom"));
+    }
+
+    @Test
+    void deveReportarMemoriaETaxaDoFiltroDeBloom() {
+        FiltroBloomCpf filtro = pessoaCacheConfig.filtroBloomCpf(provider(MeterRegistry.class, meterRegistry));
+        filtro.adicionar("12345678900");
+
+        assertEquals(filtro.getMemoriaEmBytes(), meterRegistry.get("pessoas.filtro.bloom.memoria").gauge().value());
+        assertEquals(1, meterRegistry.get("pessoas.filtro.bloom.elementos").gauge().value());
+        assertTrue(meterRegistry.get("pessoas.filtro.bloom.falso.positivo.estimado").gauge().value() > 0);
+    }
+
+    private static <T> ObjectProvider<T> provider(Class<T> tipo, T bean) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (bean != null) {
+            beanFactory.addBean("bean", bean);
+        }
+        return beanFactory.getBeanProvider(tipo);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.infraestructure.persistence.repositories.dynamo.config;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbAquecimentoInitializer;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbConfig;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbServiceClientConfiguration;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDbAquecimentoInitializerTest {
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private AwsCredentialsProvider credentialsProvider;
+
+    private DynamoDbAquecimentoInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        initializer = new DynamoDbAquecimentoInitializer(dynamoDbClient, new DynamoDbConfig().pessoaTableSchema(),
+                validator, new ObjectMapper());
+        ReflectionTestUtils.setField(initializer, "conexoes", 3);
+
+        when(credentialsProvider.resolveIdentity()).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(AwsBasicCredentials.create("chave", "segredo")));
+        when(dynamoDbClient.serviceClientConfiguration()).thenReturn(DynamoDbServiceClientConfiguration.builder()
+                .credentialsProvider(credentialsProvider)
+                .build());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveResolverCredenciaisEAbrirAsConexoesConfiguradas() {
+        initializer.aquecer();
+
+        verify(credentialsProvider).resolveIdentity();
+        verify(dynamoDbClient, times(3)).describeTable(any(Consumer.class));
+    }
+
+    @Test
+    void deveExercitarValidacaoEConversoes() {
+        initializer.aquecer();
+
+        verify(validator).validate(any(PessoaRequestDto.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void naoDeveImpedirASubidaQuandoDynamoIndisponivel() {
+        when(dynamoDbClient.describeTable(any(Consumer.class)))
+                .thenThrow(DynamoDbException.builder().message("indisponivel").build());
+
+        assertDoesNotThrow(() -> initializer.aquecer());
+
+        verify(validator).validate(any(PessoaRequestDto.class));
+    }
+}
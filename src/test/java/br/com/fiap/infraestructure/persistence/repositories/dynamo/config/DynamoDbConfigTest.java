@@ -1,17 +1,40 @@
 package br.com.fiap.infraestructure.persistence.repositories.dynamo.config;
 
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbConfig;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbHttpProperties;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbRetryProperties;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.RetryStrategyPorOperacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.LeituraComHedge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.test.util.ReflectionTestUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.AdaptiveRetryStrategy;
+import software.amazon.awssdk.retries.StandardRetryStrategy;
+import software.amazon.awssdk.retries.api.RetryStrategy;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +47,9 @@ class DynamoDbConfigTest {
     @BeforeEach
     void setUp() {
         dynamoDbConfig = new DynamoDbConfig();
+        ReflectionTestUtils.setField(dynamoDbConfig, "httpProperties", propriedadesHttp(DynamoDbHttpProperties.Implementacao.APACHE));
+        ReflectionTestUtils.setField(dynamoDbConfig, "retryProperties", propriedadesRetry(DynamoDbRetryProperties.Modo.ADAPTATIVO));
+        ReflectionTestUtils.setField(dynamoDbConfig, "meterRegistry", new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
     }
 
     @Test
@@ -153,4 +179,168 @@ class DynamoDbConfigTest {
                    "Deve ser case-sensitive");
         assertTrue(endpointMinuscula.contains("amazonaws.com"));
     }
+
+    @Test
+    @DisplayName("Deve criar client assíncrono DynamoDB com endpoint local e client enhanced assíncrono")
+    void deveCriarClientAssincronoComEndpointLocal() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "endpoint", "http://localhost:8000");
+        ReflectionTestUtils.setField(dynamoDbConfig, "region", "us-east-1");
+        ReflectionTestUtils.setField(dynamoDbConfig, "asyncMaxConcorrencia", 10);
+
+        try (software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient client = dynamoDbConfig.dynamoDbAsyncClient()) {
+            assertNotNull(client);
+            assertEquals("http://localhost:8000",
+                    client.serviceClientConfiguration().endpointOverride().orElseThrow().toString());
+            assertNotNull(dynamoDbConfig.enhancedAsyncClient(client));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar client assíncrono DynamoDB sem endpoint override para a AWS")
+    void deveCriarClientAssincronoSemEndpointOverride() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "endpoint", "https://dynamodb.us-east-1.amazonaws.com");
+        ReflectionTestUtils.setField(dynamoDbConfig, "region", "us-east-1");
+        ReflectionTestUtils.setField(dynamoDbConfig, "asyncMaxConcorrencia", 10);
+
+        try (software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient client = dynamoDbConfig.dynamoDbAsyncClient()) {
+            assertTrue(client.serviceClientConfiguration().endpointOverride().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve mapear PessoaEntity com o schema estático igual ao schema de bean")
+    void deveMapearPessoaEntityIgualAoSchemaDeBean() {
+        PessoaEntity pessoa = new PessoaEntity("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com",
+                1_792_324_800_000L);
+        TableSchema<PessoaEntity> schemaEstatico = dynamoDbConfig.pessoaTableSchema();
+
+        assertEquals(TableSchema.fromBean(PessoaEntity.class).itemToMap(pessoa, true), schemaEstatico.itemToMap(pessoa, true));
+        assertEquals(pessoa, schemaEstatico.mapToItem(schemaEstatico.itemToMap(pessoa, true)));
+    }
+
+    @Test
+    @DisplayName("Deve usar cdDocPessoa como chave de partição no schema estático")
+    void deveUsarCdDocPessoaComoChaveDeParticao() {
+        TableSchema<PessoaEntity> schemaEstatico = dynamoDbConfig.pessoaTableSchema();
+
+        assertEquals("cdDocPessoa", schemaEstatico.tableMetadata().primaryPartitionKey());
+        assertEquals(List.of("cdDocPessoa", "nmPessoa", "tpPessoa", "dsEmail", "dtAtualizacao"), schemaEstatico.attributeNames());
+    }
+
+    @Test
+    @DisplayName("Deve configurar o pool e os timeouts do client Apache")
+    void deveConfigurarClientApache() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "endpoint", "http://localhost:8000");
+        ReflectionTestUtils.setField(dynamoDbConfig, "region", "us-east-1");
+
+        assertInstanceOf(ApacheHttpClient.Builder.class, dynamoDbConfig.httpClientBuilder());
+        try (DynamoDbClient client = dynamoDbConfig.dynamoDbClient()) {
+            ClientOverrideConfiguration configuracao = client.serviceClientConfiguration().overrideConfiguration();
+            assertEquals(Duration.ofSeconds(1), configuracao.apiCallAttemptTimeout().orElseThrow());
+            assertEquals(Duration.ofSeconds(3), configuracao.apiCallTimeout().orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar client DynamoDB com URL-connection quando selecionado")
+    void deveCriarClientComUrlConnection() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "endpoint", "http://localhost:8000");
+        ReflectionTestUtils.setField(dynamoDbConfig, "region", "us-east-1");
+        ReflectionTestUtils.setField(dynamoDbConfig, "httpProperties", propriedadesHttp(DynamoDbHttpProperties.Implementacao.URL_CONNECTION));
+
+        assertInstanceOf(UrlConnectionHttpClient.Builder.class, dynamoDbConfig.httpClientBuilder());
+        try (DynamoDbClient client = dynamoDbConfig.dynamoDbClient()) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar client DynamoDB com CRT quando selecionado")
+    void deveCriarClientComCrt() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "endpoint", "http://localhost:8000");
+        ReflectionTestUtils.setField(dynamoDbConfig, "region", "us-east-1");
+        ReflectionTestUtils.setField(dynamoDbConfig, "httpProperties", propriedadesHttp(DynamoDbHttpProperties.Implementacao.CRT));
+
+        assertInstanceOf(AwsCrtHttpClient.Builder.class, dynamoDbConfig.httpClientBuilder());
+    }
+
+    @Test
+    @DisplayName("Deve falhar na subida indicando o perfil Maven quando o client escolhido não está no classpath")
+    void deveFalharQuandoClientEscolhidoNaoEstaNoClasspath() throws Exception {
+        try (URLClassLoader semClients = new URLClassLoader(new URL[0], null)) {
+            IllegalStateException erro = assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(
+                    DynamoDbConfig.class, "exigirNoClasspath", DynamoDbHttpProperties.Implementacao.CRT, semClients));
+
+            assertEquals("aws.dynamodb.http.implementacao=CRT exige aws-crt-client e aws-crt no classpath; "
+                    + "gere o jar com mvn -Pclientes-http package", erro.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aceitar os clients presentes no classpath")
+    void deveAceitarClientsPresentesNoClasspath() {
+        for (DynamoDbHttpProperties.Implementacao implementacao : DynamoDbHttpProperties.Implementacao.values()) {
+            assertDoesNotThrow(() -> ReflectionTestUtils.invokeMethod(DynamoDbConfig.class, "exigirNoClasspath",
+                    implementacao, DynamoDbConfig.class.getClassLoader()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar estrategia adaptativa com o maior limite de tentativas entre as operacoes")
+    void deveCriarEstrategiaAdaptativa() {
+        RetryStrategy retryStrategy = dynamoDbConfig.retryStrategy();
+
+        assertInstanceOf(AdaptiveRetryStrategy.class, retryStrategy);
+        assertEquals(5, retryStrategy.maxAttempts());
+    }
+
+    @Test
+    @DisplayName("Deve criar estrategia padrao quando selecionada")
+    void deveCriarEstrategiaPadrao() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "retryProperties", propriedadesRetry(DynamoDbRetryProperties.Modo.PADRAO));
+
+        RetryStrategy retryStrategy = dynamoDbConfig.retryStrategy();
+
+        assertInstanceOf(StandardRetryStrategy.class, retryStrategy);
+        assertEquals(5, retryStrategy.maxAttempts());
+    }
+
+    @Test
+    @DisplayName("Deve manter a estrategia por operacao no client sincrono")
+    void deveManterEstrategiaPorOperacaoNoClient() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "endpoint", "http://localhost:8000");
+        ReflectionTestUtils.setField(dynamoDbConfig, "region", "us-east-1");
+
+        try (DynamoDbClient client = dynamoDbConfig.dynamoDbClient()) {
+            assertInstanceOf(RetryStrategyPorOperacao.class,
+                    client.serviceClientConfiguration().overrideConfiguration().retryStrategy().orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar hedge de leitura com contadores no MeterRegistry")
+    void deveCriarLeituraComHedgeComContadores() {
+        ReflectionTestUtils.setField(dynamoDbConfig, "hedgePercentil", 0.95);
+        ReflectionTestUtils.setField(dynamoDbConfig, "hedgeAtrasoMinimo", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(dynamoDbConfig, "hedgeTaxaMaxima", 0.05);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+
+        try (LeituraComHedge hedge = dynamoDbConfig.leituraComHedge(beanFactory.getBeanProvider(MeterRegistry.class))) {
+            assertEquals(Duration.ofMillis(5), hedge.getAtraso());
+            assertEquals(3, registry.get("dynamodb.hedge").functionCounters().size());
+            assertEquals(5.0, registry.get("dynamodb.hedge.atraso").gauge().value());
+        }
+    }
+
+    private static DynamoDbHttpProperties propriedadesHttp(DynamoDbHttpProperties.Implementacao implementacao) {
+        return new DynamoDbHttpProperties(implementacao, 10, Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ofMinutes(5), Duration.ofSeconds(30), true, true, Duration.ofSeconds(1), Duration.ofSeconds(3));
+    }
+
+    private static DynamoDbRetryProperties propriedadesRetry(DynamoDbRetryProperties.Modo modo) {
+        return new DynamoDbRetryProperties(modo, 3, Map.of("GetItem", 2, "BatchWriteItem", 5), Duration.ofMillis(25),
+                Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(2), true);
+    }
 }
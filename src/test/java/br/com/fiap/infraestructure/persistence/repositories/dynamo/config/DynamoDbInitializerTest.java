@@ -1,28 +1,36 @@
 package br.com.fiap.infraestructure.persistence.repositories.dynamo.config;
 
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEmailEntity;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.entities.PessoaEntity;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbConfig;
 import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbInitializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.ResourceInUseException;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({ MockitoExtension.class, OutputCaptureExtension.class })
 @ActiveProfiles("local")
 @DisplayName("DynamoDbInitializer - Testes da inicialização de tabelas")
 class DynamoDbInitializerTest {
@@ -33,15 +41,19 @@ class DynamoDbInitializerTest {
     @Mock
     private DynamoDbTable<PessoaEntity> pessoaTable;
 
-    @InjectMocks
-    private DynamoDbInitializer dynamoDbInitializer;
+    @Mock
+    private DynamoDbTable<PessoaEmailEntity> pessoaEmailTable;
+
+    private final TableSchema<PessoaEntity> pessoaTableSchema = new DynamoDbConfig().pessoaTableSchema();
 
-    private ByteArrayOutputStream outputStreamCaptor;
+    private final TableSchema<PessoaEmailEntity> pessoaEmailTableSchema = new DynamoDbConfig().pessoaEmailTableSchema();
+
+    private DynamoDbInitializer dynamoDbInitializer;
 
     @BeforeEach
     void setUp() {
-        outputStreamCaptor = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(outputStreamCaptor));
+        dynamoDbInitializer = new DynamoDbInitializer(enhancedClient, pessoaTableSchema, pessoaEmailTableSchema);
+        lenient().when(enhancedClient.table("PessoasEmail", pessoaEmailTableSchema)).thenReturn(pessoaEmailTable);
     }
 
     @Test
@@ -55,7 +67,6 @@ class DynamoDbInitializerTest {
 
         // Assert
         verify(enhancedClient, never()).table(anyString(), any());
-        String output = outputStreamCaptor.toString();
     }
 
     @Test
@@ -63,16 +74,16 @@ class DynamoDbInitializerTest {
     void deveCriarTabelaComSucessoQuandoShouldCreateIsTrue() {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
-        doNothing().when(pessoaTable).createTable();
+        doNothing().when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act
         dynamoDbInitializer.setupTables();
 
         // Assert
-        verify(enhancedClient, times(1)).table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class));
-        verify(pessoaTable, times(1)).createTable();
+        verify(enhancedClient, times(1)).table("Pessoas", pessoaTableSchema);
+        verify(pessoaTable, times(1)).createTable(any(CreateTableEnhancedRequest.class));
     }
 
     @Test
@@ -80,17 +91,17 @@ class DynamoDbInitializerTest {
     void deveTratarExcecaoQuandoFalhaAoCriarTabela() {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
         
         String errorMessage = "Table already exists";
-        doThrow(new RuntimeException(errorMessage)).when(pessoaTable).createTable();
+        doThrow(new RuntimeException(errorMessage)).when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act & Assert - não deve lançar exceção
         assertDoesNotThrow(() -> dynamoDbInitializer.setupTables());
 
-        verify(enhancedClient, times(1)).table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class));
-        verify(pessoaTable, times(1)).createTable();
+        verify(enhancedClient, times(1)).table("Pessoas", pessoaTableSchema);
+        verify(pessoaTable, times(1)).createTable(any(CreateTableEnhancedRequest.class));
     }
 
        @Test
@@ -98,9 +109,9 @@ class DynamoDbInitializerTest {
     void deveUsarNomeCorretoDaTabela() {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
-        doNothing().when(pessoaTable).createTable();
+        doNothing().when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act
         dynamoDbInitializer.setupTables();
@@ -110,19 +121,19 @@ class DynamoDbInitializerTest {
     }
 
     @Test
-    @DisplayName("Deve usar PessoaEntity como schema")
+    @DisplayName("Deve usar o schema estatico compartilhado de PessoaEntity")
     void deveUsarPessoaEntityComoSchema() {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
-        doNothing().when(pessoaTable).createTable();
+        doNothing().when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act
         dynamoDbInitializer.setupTables();
 
         // Assert
-        verify(enhancedClient, times(1)).table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class));
+        verify(enhancedClient, times(1)).table("Pessoas", pessoaTableSchema);
     }
 
     @Test
@@ -130,15 +141,15 @@ class DynamoDbInitializerTest {
     void deveChamarCreateTableApenasUmaVez() {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
-        doNothing().when(pessoaTable).createTable();
+        doNothing().when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act
         dynamoDbInitializer.setupTables();
 
         // Assert
-        verify(pessoaTable, times(1)).createTable();
+        verify(pessoaTable, times(1)).createTable(any(CreateTableEnhancedRequest.class));
     }
 
     @Test
@@ -151,28 +162,73 @@ class DynamoDbInitializerTest {
         dynamoDbInitializer.setupTables();
 
         // Assert
-        verify(pessoaTable, never()).createTable();
+        verify(pessoaTable, never()).createTable(any(CreateTableEnhancedRequest.class));
         verify(enhancedClient, never()).table(anyString(), any());
     }
 
     @Test
-    @DisplayName("Deve imprimir mensagem de erro quando exception contém mensagem")
-    void deveImprimirMensagemDeErro() {
+    @DisplayName("Deve registrar no log a exceção quando a criação da tabela falha")
+    void deveRegistrarErroNoLog(CapturedOutput output) {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
         String errorMessage = "ResourceInUseException: Table already exists";
         Exception exception = new RuntimeException(errorMessage);
         
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
-        doThrow(exception).when(pessoaTable).createTable();
+        doThrow(exception).when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act
         dynamoDbInitializer.setupTables();
 
         // Assert
-        String output = outputStreamCaptor.toString();
-        assertTrue(output.contains(errorMessage) || output.contains("ResourceInUseException"));
+        assertTrue(output.getOut().contains("Nao foi possivel criar a tabela"));
+        assertTrue(output.getOut().contains("java.lang.RuntimeException: " + errorMessage));
+    }
+
+    @Test
+    @DisplayName("Deve registrar como informação quando a tabela já existe")
+    void deveRegistrarTabelaExistenteSemErro(CapturedOutput output) {
+        ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
+        when(enhancedClient.table("Pessoas", pessoaTableSchema)).thenReturn(pessoaTable);
+        when(pessoaTable.tableName()).thenReturn("Pessoas");
+        doThrow(ResourceInUseException.builder().message("Table already exists").build())
+                .when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
+
+        dynamoDbInitializer.setupTables();
+
+        assertTrue(output.getOut().contains("Tabela Pessoas ja existe"));
+        assertFalse(output.getOut().contains("Nao foi possivel criar a tabela Pessoas"));
+        verify(pessoaEmailTable).createTable();
+    }
+
+    @Test
+    @DisplayName("Deve registrar no log a exceção quando a criação da tabela de e-mails falha")
+    void deveRegistrarErroDaTabelaDeEmailsNoLog(CapturedOutput output) {
+        ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
+        when(enhancedClient.table("Pessoas", pessoaTableSchema)).thenReturn(pessoaTable);
+        when(pessoaEmailTable.tableName()).thenReturn("PessoasEmail");
+        doThrow(new RuntimeException("Acesso negado")).when(pessoaEmailTable).createTable();
+
+        dynamoDbInitializer.setupTables();
+
+        assertTrue(output.getOut().contains("Nao foi possivel criar a tabela PessoasEmail"));
+        assertTrue(output.getOut().contains("java.lang.RuntimeException: Acesso negado"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar como informação quando a tabela de e-mails já existe")
+    void deveRegistrarTabelaDeEmailsExistenteSemErro(CapturedOutput output) {
+        ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
+        when(enhancedClient.table("Pessoas", pessoaTableSchema)).thenReturn(pessoaTable);
+        when(pessoaEmailTable.tableName()).thenReturn("PessoasEmail");
+        doThrow(ResourceInUseException.builder().message("Table already exists").build())
+                .when(pessoaEmailTable).createTable();
+
+        dynamoDbInitializer.setupTables();
+
+        assertTrue(output.getOut().contains("Tabela PessoasEmail ja existe"));
+        assertFalse(output.getOut().contains("Nao foi possivel criar a tabela PessoasEmail"));
     }
 
     @Test
@@ -180,10 +236,10 @@ class DynamoDbInitializerTest {
     void deveSerThreadSafe() {
         // Arrange
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
         doThrow(new RuntimeException("Table already exists"))
-                .when(pessoaTable).createTable();
+                .when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act - Chamar múltiplas vezes
         assertDoesNotThrow(() -> {
@@ -192,7 +248,7 @@ class DynamoDbInitializerTest {
         });
 
         // Assert
-        verify(pessoaTable, times(2)).createTable();
+        verify(pessoaTable, times(2)).createTable(any(CreateTableEnhancedRequest.class));
     }
 
     @Test
@@ -202,11 +258,46 @@ class DynamoDbInitializerTest {
         ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
         
         // Teste com IllegalArgumentException
-        when(enhancedClient.table("Pessoas", software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(PessoaEntity.class)))
+        when(enhancedClient.table("Pessoas", pessoaTableSchema))
                 .thenReturn(pessoaTable);
-        doThrow(new IllegalArgumentException("Invalid arguments")).when(pessoaTable).createTable();
+        doThrow(new IllegalArgumentException("Invalid arguments")).when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
 
         // Act & Assert
         assertDoesNotThrow(() -> dynamoDbInitializer.setupTables());
     }
+
+    @Test
+    @DisplayName("Deve criar os indices globais por e-mail e por tipo projetando todos os atributos")
+    void deveCriarIndicesGlobais() {
+        // Arrange
+        ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
+        when(enhancedClient.table("Pessoas", pessoaTableSchema)).thenReturn(pessoaTable);
+        ArgumentCaptor<CreateTableEnhancedRequest> captor = ArgumentCaptor.forClass(CreateTableEnhancedRequest.class);
+
+        // Act
+        dynamoDbInitializer.setupTables();
+
+        // Assert
+        verify(pessoaTable).createTable(captor.capture());
+        List<EnhancedGlobalSecondaryIndex> indices = List.copyOf(captor.getValue().globalSecondaryIndices());
+        assertEquals(List.of(PessoaEntity.INDICE_EMAIL, PessoaEntity.INDICE_TIPO),
+                indices.stream().map(EnhancedGlobalSecondaryIndex::indexName).toList());
+        indices.forEach(indice -> assertEquals(ProjectionType.ALL, indice.projection().projectionType()));
+    }
+
+    @Test
+    @DisplayName("Deve criar a tabela de reserva de e-mails mesmo quando a tabela Pessoas ja existe")
+    void deveCriarTabelaDeEmailsMesmoQuandoPessoasJaExiste() {
+        // Arrange
+        ReflectionTestUtils.setField(dynamoDbInitializer, "shouldCreate", true);
+        when(enhancedClient.table("Pessoas", pessoaTableSchema)).thenReturn(pessoaTable);
+        doThrow(new RuntimeException("Table already exists"))
+                .when(pessoaTable).createTable(any(CreateTableEnhancedRequest.class));
+
+        // Act
+        dynamoDbInitializer.setupTables();
+
+        // Assert
+        verify(pessoaEmailTable, times(1)).createTable();
+    }
 }
@@ -0,0 +1,50 @@
+package br.com.fiap.infraestructure.persistence.repositories.dynamo.config;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.DynamoDbMetricasPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DynamoDbMetricasPublisherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DynamoDbMetricasPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new DynamoDbMetricasPublisher(meterRegistry);
+    }
+
+    @Test
+    void deveContarChamadasRetentativasEThrottlesPorOperacao() {
+        publisher.publish(chamada("GetItem", true, "Throttling", "Throttling", null).collect());
+        publisher.publish(chamada("GetItem", false, "IO").collect());
+        publisher.publish(chamada("PutItem", true, (String) null).collect());
+
+        assertEquals(1, meterRegistry.get("dynamodb.chamadas").tags("operacao", "GetItem", "resultado", "sucesso").counter().count());
+        assertEquals(1, meterRegistry.get("dynamodb.chamadas").tags("operacao", "GetItem", "resultado", "falha").counter().count());
+        assertEquals(2, meterRegistry.get("dynamodb.retentativas").tag("operacao", "GetItem").counter().count());
+        assertEquals(2, meterRegistry.get("dynamodb.throttles").tag("operacao", "GetItem").counter().count());
+        assertEquals(0, meterRegistry.get("dynamodb.retentativas").tag("operacao", "PutItem").counter().count());
+        assertEquals(0, meterRegistry.get("dynamodb.throttles").tag("operacao", "PutItem").counter().count());
+    }
+
+    private static MetricCollector chamada(String operacao, boolean sucesso, String... errosPorTentativa) {
+        MetricCollector chamada = MetricCollector.create("ApiCall");
+        chamada.reportMetric(CoreMetric.OPERATION_NAME, operacao);
+        chamada.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, sucesso);
+        chamada.reportMetric(CoreMetric.RETRY_COUNT, errosPorTentativa.length - 1);
+        for (String erro : errosPorTentativa) {
+            MetricCollector tentativa = chamada.createChild("ApiCallAttempt");
+            if (erro != null) {
+                tentativa.reportMetric(CoreMetric.ERROR_TYPE, erro);
+            }
+        }
+        return chamada;
+    }
+}
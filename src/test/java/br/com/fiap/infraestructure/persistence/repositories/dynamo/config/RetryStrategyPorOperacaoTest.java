@@ -0,0 +1,139 @@
+package br.com.fiap.infraestructure.persistence.repositories.dynamo.config;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.dynamo.config.RetryStrategyPorOperacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenResponse;
+import software.amazon.awssdk.retries.api.RecordSuccessRequest;
+import software.amazon.awssdk.retries.api.RecordSuccessResponse;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenResponse;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.retries.api.RetryToken;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryStrategyPorOperacaoTest {
+
+    private static final RuntimeException FALHA = new RuntimeException("throttling");
+
+    @Mock
+    private RetryStrategy delegado;
+
+    @Mock
+    private RetryToken tokenDelegado;
+
+    private RetryStrategyPorOperacao retryStrategy;
+
+    @BeforeEach
+    void setUp() {
+        retryStrategy = new RetryStrategyPorOperacao(delegado, Map.of("getitem", 2));
+        lenient().when(delegado.maxAttempts()).thenReturn(3);
+        lenient().when(delegado.acquireInitialToken(any()))
+                .thenReturn(AcquireInitialTokenResponse.create(tokenDelegado, Duration.ZERO));
+        lenient().when(delegado.refreshRetryToken(any()))
+                .thenReturn(RefreshRetryTokenResponse.create(tokenDelegado, Duration.ofMillis(10)));
+    }
+
+    @Test
+    void deveAplicarLimiteDaOperacaoIgnorandoMaiusculas() {
+        RetryToken token = adquirirToken("GetItem");
+
+        RefreshRetryTokenResponse resposta = retryStrategy.refreshRetryToken(refresh(token));
+
+        assertEquals(Duration.ofMillis(10), resposta.delay());
+        TokenAcquisitionFailedException erro = assertThrows(TokenAcquisitionFailedException.class,
+                () -> retryStrategy.refreshRetryToken(refresh(resposta.token())));
+        assertSame(FALHA, erro.getCause());
+        verify(delegado, times(1)).refreshRetryToken(any());
+    }
+
+    @Test
+    void deveUsarLimiteDoDelegadoParaOperacaoSemLimiteProprio() {
+        RetryToken token = adquirirToken("PutItem");
+
+        token = retryStrategy.refreshRetryToken(refresh(token)).token();
+        RetryToken segundaRetentativa = retryStrategy.refreshRetryToken(refresh(token)).token();
+
+        assertThrows(TokenAcquisitionFailedException.class,
+                () -> retryStrategy.refreshRetryToken(refresh(segundaRetentativa)));
+        verify(delegado, times(2)).refreshRetryToken(argThat(request -> request.token() == tokenDelegado));
+    }
+
+    @Test
+    void deveUsarLimiteDoDelegadoQuandoOperacaoNaoFoiCapturada() {
+        RetryToken token = retryStrategy.acquireInitialToken(AcquireInitialTokenRequest.create("GLOBAL")).token();
+
+        token = retryStrategy.refreshRetryToken(refresh(token)).token();
+
+        assertNotNull(retryStrategy.refreshRetryToken(refresh(token)));
+    }
+
+    @Test
+    void deveDescartarOperacaoCapturadaAposEmitirToken() {
+        adquirirToken("GetItem");
+        RetryToken token = retryStrategy.acquireInitialToken(AcquireInitialTokenRequest.create("GLOBAL")).token();
+
+        token = retryStrategy.refreshRetryToken(refresh(token)).token();
+
+        assertNotNull(retryStrategy.refreshRetryToken(refresh(token)));
+    }
+
+    @Test
+    void deveManterTokenDoWrapperQuandoDelegadoRecusarRetentativa() {
+        RetryToken token = adquirirToken("PutItem");
+        when(delegado.refreshRetryToken(any()))
+                .thenThrow(new TokenAcquisitionFailedException("sem orcamento", tokenDelegado, FALHA));
+
+        TokenAcquisitionFailedException erro = assertThrows(TokenAcquisitionFailedException.class,
+                () -> retryStrategy.refreshRetryToken(refresh(token)));
+
+        assertSame(token, erro.token());
+        assertSame(FALHA, erro.getCause());
+    }
+
+    @Test
+    void deveRegistrarSucessoNoDelegadoComTokenOriginal() {
+        RetryToken token = adquirirToken("GetItem");
+        when(delegado.recordSuccess(any())).thenReturn(RecordSuccessResponse.create(tokenDelegado));
+
+        RecordSuccessResponse resposta = retryStrategy.recordSuccess(RecordSuccessRequest.create(token));
+
+        assertSame(token, resposta.token());
+        verify(delegado).recordSuccess(argThat(request -> request.token() == tokenDelegado));
+    }
+
+    @Test
+    void deveRepassarMaxAttemptsENaoAplicarPadroesDoClient() {
+        assertEquals(3, retryStrategy.maxAttempts());
+        assertFalse(retryStrategy.useClientDefaults());
+    }
+
+    private RetryToken adquirirToken(String operacao) {
+        RetryStrategyPorOperacao.interceptor().beforeExecution(mock(Context.BeforeExecution.class),
+                ExecutionAttributes.builder().put(SdkExecutionAttribute.OPERATION_NAME, operacao).build());
+        return retryStrategy.acquireInitialToken(AcquireInitialTokenRequest.create("GLOBAL")).token();
+    }
+
+    private static RefreshRetryTokenRequest refresh(RetryToken token) {
+        return RefreshRetryTokenRequest.builder()
+                .token(token)
+                .failure(FALHA)
+                .build();
+    }
+}
@@ -0,0 +1,269 @@
+package br.com.fiap.infraestructure.persistence.repositories.embedded;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogPessoasTest {
+
+    // Pouco acima do minimo aceito, que comporta um registro com nome e email no limite
+    private static final long SEGMENTO_PEQUENO = 80 * 1024;
+    private static final int CABECALHO_SEGMENTO = 16;
+    private static final int CABECALHO_REGISTRO = 8;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void deveGravarEBuscarTodosOsCamposDaPessoa() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            log.aguardarDurabilidade(log.gravar(List.of(
+                    new PessoaModel("111.444.777-35", "João Ávila", TipoPessoaEnum.FUNCIONARIO, "joao@email.com"),
+                    new PessoaModel("12345678900", null, null, null))));
+
+            PessoaModel pessoa = log.buscar(Cpf.compactar("111.444.777-35"));
+            assertEquals("111.444.777-35", pessoa.getCdDocPessoa());
+            assertEquals("João Ávila", pessoa.getNmPessoa());
+            assertEquals(TipoPessoaEnum.FUNCIONARIO, pessoa.getTpPessoa());
+            assertEquals("joao@email.com", pessoa.getDsEmail());
+            PessoaModel semCampos = log.buscar(12345678900L);
+            assertNull(semCampos.getNmPessoa());
+            assertNull(semCampos.getTpPessoa());
+            assertNull(semCampos.getDsEmail());
+            assertNull(log.buscar(Cpf.compactar("11144477735")));
+            assertNull(log.buscar(Cpf.INVALIDO));
+            assertTrue(log.contem(12345678900L));
+            assertEquals(2, log.getRegistros());
+        }
+    }
+
+    @Test
+    void deveManterApenasAUltimaVersaoDeCadaCpf() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            log.gravar(List.of(pessoa(1, "Primeira"), pessoa(1, "Segunda")));
+            log.gravar(List.of(pessoa(1, "Terceira")));
+
+            assertEquals("Terceira", log.buscar(1).getNmPessoa());
+            assertEquals(1, log.getRegistros());
+            assertTrue(log.getFracaoLixo() > 0.6);
+        }
+    }
+
+    @Test
+    void deveRejeitarLoteComDocumentoForaDoFormatoSemGravarNada() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            List<PessoaModel> lote = List.of(pessoa(1, "Valida"), new PessoaModel("abc", "Invalida", null, null));
+
+            assertThrows(IllegalArgumentException.class, () -> log.gravar(lote));
+            assertEquals(0, log.getRegistros());
+            assertFalse(log.contem(1));
+        }
+    }
+
+    @Test
+    void deveReconstruirOIndiceAoReabrir() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            for (int i = 1; i <= 4_000; i++) {
+                log.gravar(List.of(pessoa(i, "Pessoa " + i)));
+            }
+            log.gravar(List.of(pessoa(7, "Alterada")));
+            assertTrue(log.getSegmentos() > 1);
+        }
+
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            assertEquals(4_000, log.getRegistros());
+            assertEquals("Alterada", log.buscar(7).getNmPessoa());
+            assertEquals("Pessoa 3999", log.buscar(3999).getNmPessoa());
+        }
+    }
+
+    @Test
+    void deveReaproveitarUltimoSegmentoVazioAoReabrir() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            log.gravar(List.of(pessoa(1, "Gravada")));
+        }
+        for (int i = 0; i < 3; i++) {
+            try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+                assertEquals(2, log.getSegmentos());
+            }
+        }
+
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            log.gravar(List.of(pessoa(2, "Depois")));
+        }
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            assertEquals("Gravada", log.buscar(1).getNmPessoa());
+            assertEquals("Depois", log.buscar(2).getNmPessoa());
+            assertEquals(3, segmentos().size());
+        }
+    }
+
+    @Test
+    void deveDescartarRegistroIncompletoDoFimDoLogNaRecuperacao() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            log.aguardarDurabilidade(log.gravar(List.of(pessoa(1, "Completa"), pessoa(2, "Interrompida"))));
+        }
+        Path segmento = segmentos().get(0);
+        long tamanho = Files.size(segmento);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho - 3);
+        }
+
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            assertEquals("Completa", log.buscar(1).getNmPessoa());
+            assertNull(log.buscar(2));
+            log.aguardarDurabilidade(log.gravar(List.of(pessoa(3, "Depois da queda"))));
+        }
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            assertEquals(2, log.getRegistros());
+            assertEquals("Depois da queda", log.buscar(3).getNmPessoa());
+        }
+    }
+
+    @Test
+    void deveDescartarRegistroCorrompidoEOsSeguintesDoSegmento() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            log.aguardarDurabilidade(log.gravar(List.of(pessoa(1, "Integra"), pessoa(2, "Corrompida"),
+                    pessoa(3, "Seguinte"))));
+        }
+        Path segmento = segmentos().get(0);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Um byte do nome do segundo registro
+            long posicao = CABECALHO_SEGMENTO + tamanhoRegistro("Integra") + 22;
+            canal.write(ByteBuffer.wrap(new byte[]{'X'}), posicao);
+        }
+
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            assertEquals("Integra", log.buscar(1).getNmPessoa());
+            assertNull(log.buscar(2));
+            assertNull(log.buscar(3));
+        }
+    }
+
+    @Test
+    void deveRecusarSegmentoDeOutroFormato() throws IOException {
+        Files.write(diretorio.resolve("pessoas-0000000000000001.log"), new byte[32]);
+
+        IOException erro = assertThrows(IOException.class, () -> abrir(LogPessoas.Sincronizacao.NUNCA));
+        assertTrue(erro.getMessage().contains("nao e um log de pessoas"));
+    }
+
+    @Test
+    void deveCompactarMantendoApenasRegistrosVivos() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            for (int rodada = 0; rodada < 5; rodada++) {
+                for (int i = 1; i <= 1_000; i++) {
+                    log.gravar(List.of(pessoa(i, "Rodada " + rodada)));
+                }
+            }
+            long antes = log.getBytesEmDisco();
+            long vivos = log.getBytesVivos();
+            assertTrue(log.getSegmentos() > 1);
+
+            assertTrue(log.compactar());
+
+            assertTrue(log.getBytesEmDisco() < antes);
+            assertEquals(vivos, log.getBytesVivos());
+            assertEquals(2, log.getSegmentos());
+            assertEquals(1, log.getCompactacoes());
+            assertEquals(1_000, log.getRegistros());
+            for (int i = 1; i <= 1_000; i++) {
+                assertEquals("Rodada 4", log.buscar(i).getNmPessoa());
+            }
+            // Os registros ainda vivos do segmento compactado nao deixam lixo para uma nova compactacao
+            assertFalse(log.compactar());
+        }
+        assertEquals(2, segmentos().size());
+        assertTrue(segmentos().get(0).getFileName().toString().endsWith(".compactado.log"));
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            assertEquals(1_000, log.getRegistros());
+            assertEquals("Rodada 4", log.buscar(250).getNmPessoa());
+        }
+    }
+
+    @Test
+    void deveIgnorarCompactacaoInterrompidaNaRecuperacao() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            log.gravar(List.of(pessoa(1, "Original")));
+        }
+        Path temporario = diretorio.resolve("pessoas-0000000000000001.compactado.log.tmp");
+        Files.write(temporario, new byte[]{1, 2, 3});
+
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            assertEquals("Original", log.buscar(1).getNmPessoa());
+        }
+        assertFalse(Files.exists(temporario));
+    }
+
+    @Test
+    void devePercorrerApenasAVersaoAtualDeCadaPessoa() throws IOException {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.NUNCA)) {
+            for (int i = 1; i <= 1_000; i++) {
+                log.gravar(List.of(pessoa(i, "Antiga")));
+            }
+            for (int i = 1; i <= 1_000; i += 2) {
+                log.gravar(List.of(pessoa(i, "Nova")));
+            }
+
+            List<PessoaModel> pessoas = new ArrayList<>();
+            log.percorrer(pessoas::add);
+
+            assertEquals(1_000, pessoas.size());
+            assertEquals(500, pessoas.stream().filter(pessoa -> pessoa.getNmPessoa().equals("Nova")).count());
+            assertEquals(1_000, pessoas.stream().mapToLong(PessoaModel::getCpf).distinct().count());
+        }
+    }
+
+    @Test
+    void deveAtenderEscritasConcorrentesComSincronizacaoSempre() throws Exception {
+        try (LogPessoas log = abrir(LogPessoas.Sincronizacao.SEMPRE)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int base = t * 250;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 1; i <= 250; i++) {
+                        log.aguardarDurabilidade(log.gravar(List.of(pessoa(base + i, "Concorrente"))));
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(1_000, log.getRegistros());
+        }
+    }
+
+    private LogPessoas abrir(LogPessoas.Sincronizacao sincronizacao) throws IOException {
+        return LogPessoas.abrir(diretorio, sincronizacao, Duration.ofMillis(50), SEGMENTO_PEQUENO);
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static int tamanhoRegistro(String nome) {
+        return CABECALHO_REGISTRO + Long.BYTES + 1 + 2 * Short.BYTES + nome.length();
+    }
+
+    private static PessoaModel pessoa(long cpf, String nome) {
+        return new PessoaModel(Cpf.formatar(cpf), nome, TipoPessoaEnum.CLIENTE, null);
+    }
+}
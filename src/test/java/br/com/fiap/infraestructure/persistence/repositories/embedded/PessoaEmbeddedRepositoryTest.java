@@ -0,0 +1,191 @@
+package br.com.fiap.infraestructure.persistence.repositories.embedded;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.CursorPaginacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.PessoaEmbeddedRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaEmbeddedRepositoryTest {
+
+    private static final CursorPaginacao CURSOR = new CursorPaginacao("chave-de-teste");
+
+    @TempDir
+    private Path diretorio;
+
+    private PessoaEmbeddedRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = abrir();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void deveCadastrarEBuscarPessoaPorCpfEEmail() {
+        PessoaModel pessoa = new PessoaModel("111.444.777-35", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com");
+
+        PessoaModel cadastrada = repository.cadastrarPessoa(pessoa);
+
+        assertNotSame(pessoa, cadastrada);
+        assertEquals("Joao", repository.buscarPessoaPorCpf("111.444.777-35").orElseThrow().getNmPessoa());
+        assertEquals("111.444.777-35", repository.buscarPessoaPorEmail("joao@email.com").orElseThrow().getCdDocPessoa());
+        assertTrue(repository.existePessoa("111.444.777-35"));
+        assertFalse(repository.existePessoa("11144477735"));
+        assertTrue(repository.buscarPessoaPorCpf("invalido").isEmpty());
+    }
+
+    @Test
+    void deveSubstituirCadastroERemoverEmailAnteriorDoIndice() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "antigo@email.com"));
+
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "novo@email.com"));
+
+        assertTrue(repository.buscarPessoaPorEmail("antigo@email.com").isEmpty());
+        assertEquals("novo@email.com", repository.buscarPessoaPorCpf("11144477735").orElseThrow().getDsEmail());
+        assertTrue(repository.buscarPessoaPorEmail("novo@email.com").isPresent());
+    }
+
+    @Test
+    void deveRecusarCpfOuEmailJaCadastradosNoCadastroCondicional() {
+        repository.cadastrarPessoaSeNaoExistir(
+                new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+
+        assertThrows(CpfCadastradoException.class, () -> repository.cadastrarPessoaSeNaoExistir(
+                new PessoaModel("11144477735", "Outro", TipoPessoaEnum.CLIENTE, "outro@email.com")));
+        assertThrows(EmailCadastradoException.class, () -> repository.cadastrarPessoaSeNaoExistir(
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "joao@email.com")));
+        assertFalse(repository.existePessoa("52998224725"));
+        assertEquals("Joao", repository.buscarPessoaPorCpf("11144477735").orElseThrow().getNmPessoa());
+    }
+
+    @Test
+    void deveManterEmailDeOutroCpfNaSubstituicaoEGravarORestoDoLote() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+
+        assertThrows(EmailCadastradoException.class, () -> repository.cadastrarPessoa(
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "Joao@Email.com")));
+        EmailCadastradoException exception = assertThrows(EmailCadastradoException.class,
+                () -> repository.cadastrarPessoasEmLote(List.of(
+                        new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "joao@email.com"),
+                        new PessoaModel("39053344705", "Ana", TipoPessoaEnum.CLIENTE, "ana@email.com"),
+                        new PessoaModel("16899535009", "Bia", TipoPessoaEnum.CLIENTE, "ana@email.com"))));
+
+        assertEquals("E-mail reservado para outro CPF; nao gravados: 52998224725, 16899535009", exception.getMessage());
+        assertFalse(repository.existePessoa("52998224725"));
+        assertFalse(repository.existePessoa("16899535009"));
+        assertEquals("39053344705", repository.buscarPessoaPorEmail("ana@email.com").orElseThrow().getCdDocPessoa());
+        assertEquals("11144477735", repository.buscarPessoaPorEmail("joao@email.com").orElseThrow().getCdDocPessoa());
+    }
+
+    @Test
+    void deveRecusarDocumentoForaDoFormatoDeCpf() {
+        PessoaModel pessoa = new PessoaModel("abc", "Joao", TipoPessoaEnum.CLIENTE, null);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.cadastrarPessoa(pessoa));
+    }
+
+    @Test
+    void deveListarPorTipoEmOrdemDeNomePaginandoPorCursor() {
+        repository.cadastrarPessoasEmLote(List.of(
+                new PessoaModel("00000000001", "Carla", TipoPessoaEnum.CLIENTE, null),
+                new PessoaModel("00000000002", "Ana", TipoPessoaEnum.CLIENTE, null),
+                new PessoaModel("00000000003", "Bruno", TipoPessoaEnum.FUNCIONARIO, null),
+                new PessoaModel("00000000004", "Bia", TipoPessoaEnum.CLIENTE, null),
+                new PessoaModel("00000000005", "Ana", TipoPessoaEnum.CLIENTE, null)));
+
+        PaginaPessoasModel primeira = repository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 2, null);
+        PaginaPessoasModel segunda = repository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 2, primeira.getCursor());
+
+        assertEquals(List.of("00000000002", "00000000005"), documentos(primeira));
+        assertEquals(List.of("00000000004", "00000000001"), documentos(segunda));
+        assertNull(segunda.getCursor());
+        assertArrayEquals(new String[] { "Ana", "00000000005" },
+                CURSOR.decodificar(primeira.getCursor(), TipoPessoaEnum.CLIENTE));
+    }
+
+    @Test
+    void deveTirarPessoaDaListagemDoTipoAnteriorAoMudarDeTipo() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, null));
+
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.FUNCIONARIO, null));
+
+        assertTrue(repository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, null).getPessoas().isEmpty());
+        assertEquals(1, repository.listarPessoasPorTipo(TipoPessoaEnum.FUNCIONARIO, 10, null).getPessoas().size());
+    }
+
+    @Test
+    void deveRecusarCursorMalformadoSemAssinaturaOuDeOutroTipo() {
+        String cursorFuncionario = CURSOR.codificar(TipoPessoaEnum.FUNCIONARIO, "Ana", "11144477735");
+        String semAssinatura = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("CLIENTE\u0000Ana\u000011144477735".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(CursorInvalidoException.class,
+                () -> repository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, "%%%"));
+        assertThrows(CursorInvalidoException.class,
+                () -> repository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, semAssinatura));
+        assertThrows(CursorInvalidoException.class,
+                () -> repository.listarPessoasPorTipo(TipoPessoaEnum.CLIENTE, 10, cursorFuncionario));
+    }
+
+    @Test
+    void deveReconstruirIndicesSecundariosAoReabrir() throws IOException {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "antigo@email.com"));
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        repository.cadastrarPessoa(new PessoaModel("52998224725", "Maria", TipoPessoaEnum.FUNCIONARIO, null));
+        repository.close();
+
+        repository = abrir();
+
+        assertEquals("11144477735", repository.buscarPessoaPorEmail("joao@email.com").orElseThrow().getCdDocPessoa());
+        assertTrue(repository.buscarPessoaPorEmail("antigo@email.com").isEmpty());
+        assertEquals(List.of("52998224725"),
+                documentos(repository.listarPessoasPorTipo(TipoPessoaEnum.FUNCIONARIO, 10, null)));
+        List<PessoaModel> exportadas = new ArrayList<>();
+        repository.exportarPessoas(4, 100, exportadas::add);
+        assertEquals(2, exportadas.size());
+    }
+
+    @Test
+    void deveBuscarPessoasEmLote() {
+        repository.cadastrarPessoasEmLote(List.of(
+                new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, null),
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, null)));
+
+        List<PessoaModel> pessoas = repository.buscarPessoasPorCpfs(List.of("52998224725", "00000000000", "11144477735"));
+
+        assertEquals(List.of("52998224725", "11144477735"),
+                pessoas.stream().map(PessoaModel::getCdDocPessoa).toList());
+    }
+
+    private PessoaEmbeddedRepository abrir() throws IOException {
+        return new PessoaEmbeddedRepository(LogPessoas.abrir(diretorio, LogPessoas.Sincronizacao.SEMPRE,
+                Duration.ofMillis(100), 1024 * 1024), CURSOR);
+    }
+
+    private static List<String> documentos(PaginaPessoasModel pagina) {
+        return pagina.getPessoas().stream().map(PessoaModel::getCdDocPessoa).toList();
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.fiap.infraestructure.persistence.repositories.snapshot;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.GravacaoSnapshotPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.PessoaSnapshotRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaSnapshotRepositoryTest {
+
+    private static final Instant GERADO_EM = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    private PessoaRepositoryPort delegate;
+
+    @TempDir
+    private Path diretorio;
+
+    private SnapshotPessoas snapshot;
+    private PessoaModel pessoaCliente;
+    private PessoaModel pessoaFuncionario;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pessoaCliente = new PessoaModel("12345678900", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaFuncionario = new PessoaModel("98765432100", "Maria Santos", TipoPessoaEnum.FUNCIONARIO, "maria@empresa.com");
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(diretorio.resolve("pessoas.snapshot"))) {
+            gravacao.adicionar(pessoaCliente);
+            snapshot = gravacao.concluir(GERADO_EM);
+        }
+    }
+
+    @Test
+    void deveResponderPeloSnapshotSemConsultarRepositorio() {
+        PessoaSnapshotRepository repository = repository(GERADO_EM.plusSeconds(60));
+
+        PessoaModel pessoa = repository.buscarPessoaPorCpf("12345678900").orElseThrow();
+
+        assertEquals("João Silva", pessoa.getNmPessoa());
+        assertEquals(Optional.of(TipoPessoaEnum.CLIENTE), repository.buscarTipoPessoa("12345678900"));
+        verify(delegate, never()).buscarPessoaPorCpf(anyString());
+        verify(delegate, never()).buscarPessoaPorCpf(anyString(), any());
+        assertEquals(2, repository.getAcertos());
+        assertEquals(60, repository.getIdadeEmSegundos());
+    }
+
+    @Test
+    void deveConsultarRepositorioParaCpfAusenteDoSnapshot() {
+        PessoaSnapshotRepository repository = repository(GERADO_EM);
+        when(delegate.buscarPessoaPorCpf("98765432100", Set.of(CampoPessoaEnum.TP_PESSOA)))
+                .thenReturn(Optional.of(pessoaFuncionario));
+
+        assertEquals(Optional.of(TipoPessoaEnum.FUNCIONARIO), repository.buscarTipoPessoa("98765432100"));
+        assertEquals(1, repository.getFaltas());
+    }
+
+    @Test
+    void deveIgnorarSnapshotMaisAntigoQueIdadeMaxima() {
+        PessoaSnapshotRepository repository = repository(GERADO_EM.plus(Duration.ofHours(2)));
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.empty());
+
+        assertTrue(repository.buscarPessoaPorCpf("12345678900").isEmpty());
+        assertEquals(0, repository.getAcertos() + repository.getFaltas());
+    }
+
+    @Test
+    void deveLerDoRepositorioCpfEscritoDepoisDoSnapshot() {
+        PessoaSnapshotRepository repository = repository(GERADO_EM.plusSeconds(60));
+        PessoaModel atualizada = new PessoaModel("12345678900", "João Atualizado", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        when(delegate.cadastrarPessoa(atualizada)).thenReturn(atualizada);
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(atualizada));
+
+        repository.cadastrarPessoa(atualizada);
+
+        assertEquals("João Atualizado", repository.buscarPessoaPorCpf("12345678900").orElseThrow().getNmPessoa());
+    }
+
+    @Test
+    void deveLerDoRepositorioCpfComEscritaQueFalhou() {
+        PessoaSnapshotRepository repository = repository(GERADO_EM.plusSeconds(60));
+        doThrow(new RuntimeException("falha")).when(delegate).cadastrarPessoasEmLote(List.of(pessoaCliente));
+
+        assertThrows(RuntimeException.class, () -> repository.cadastrarPessoasEmLote(List.of(pessoaCliente)));
+        repository.buscarPessoaPorCpf("12345678900");
+
+        verify(delegate, times(1)).buscarPessoaPorCpf("12345678900");
+    }
+
+    @Test
+    void deveVoltarAUsarSnapshotGeradoDepoisDaEscrita() throws IOException {
+        PessoaSnapshotRepository repository = repository(GERADO_EM.plusSeconds(60));
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+        repository.cadastrarPessoa(pessoaCliente);
+
+        SnapshotPessoas novo;
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(diretorio.resolve("novo.snapshot"))) {
+            gravacao.adicionar(pessoaCliente);
+            // Scan iniciado mais de um minuto (a margem de consistencia) depois da escrita
+            novo = gravacao.concluir(GERADO_EM.plusSeconds(121));
+        }
+        repository.carregar(novo);
+
+        assertTrue(repository.buscarPessoaPorCpf("12345678900").isPresent());
+        verify(delegate, never()).buscarPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void deveDescartarEscritasMaisAntigasQueQualquerSnapshotUtilizavel() {
+        Clock relogio = mock(Clock.class);
+        PessoaSnapshotRepository repository = new PessoaSnapshotRepository(delegate, Duration.ofHours(1), relogio);
+        repository.carregar(snapshot);
+        when(relogio.millis()).thenReturn(GERADO_EM.plusSeconds(60).toEpochMilli());
+        when(delegate.cadastrarPessoa(pessoaCliente)).thenReturn(pessoaCliente);
+        repository.cadastrarPessoa(pessoaCliente);
+
+        when(relogio.instant()).thenReturn(GERADO_EM.plus(Duration.ofMinutes(62)),
+                // Idade maxima mais a margem de consistencia depois da escrita
+                GERADO_EM.plus(Duration.ofMinutes(62)).plusMillis(1));
+        repository.descartarEscritasAntigas();
+        assertEquals(1, repository.getEscritasAcompanhadas());
+
+        repository.descartarEscritasAntigas();
+        assertEquals(0, repository.getEscritasAcompanhadas());
+    }
+
+    @Test
+    void deveBuscarEmLoteApenasCpfsAusentesDoSnapshotNaOrdemPedida() {
+        PessoaSnapshotRepository repository = repository(GERADO_EM);
+        PessoaModel semCpf = new PessoaModel("abc", "Sem Cpf", TipoPessoaEnum.CLIENTE, null);
+        when(delegate.buscarPessoasPorCpfs(List.of("98765432100", "abc"))).thenReturn(List.of(pessoaFuncionario, semCpf));
+
+        List<PessoaModel> resultado = repository.buscarPessoasPorCpfs(
+                List.of("98765432100", "12345678900", "abc", "98765432100"));
+
+        assertEquals(List.of("98765432100", "12345678900", "abc"),
+                resultado.stream().map(PessoaModel::getCdDocPessoa).toList());
+    }
+
+    @Test
+    void deveDelegarTudoSemSnapshotCarregado() {
+        PessoaSnapshotRepository repository = new PessoaSnapshotRepository(delegate, Duration.ofHours(1), Clock.systemUTC());
+        when(delegate.buscarPessoaPorCpf("12345678900")).thenReturn(Optional.of(pessoaCliente));
+
+        assertEquals(Optional.of(pessoaCliente), repository.buscarPessoaPorCpf("12345678900"));
+        assertEquals(0, repository.getRegistros());
+        assertTrue(Double.isNaN(repository.getIdadeEmSegundos()));
+    }
+
+    private PessoaSnapshotRepository repository(Instant agora) {
+        PessoaSnapshotRepository repository = new PessoaSnapshotRepository(delegate, Duration.ofHours(1),
+                Clock.fixed(agora, ZoneOffset.UTC));
+        repository.carregar(snapshot);
+        return repository;
+    }
+}
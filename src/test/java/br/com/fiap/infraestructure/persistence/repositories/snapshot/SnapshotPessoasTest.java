@@ -0,0 +1,205 @@
+package br.com.fiap.infraestructure.persistence.repositories.snapshot;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.Cpf;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.GravacaoSnapshotPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.snapshot.SnapshotPessoas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotPessoasTest {
+
+    private static final Instant GERADO_EM = Instant.parse("2026-10-18T12:00:00Z");
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void deveGravarEBuscarTodosOsCamposDaPessoa() throws IOException {
+        Path arquivo = diretorio.resolve("pessoas.snapshot");
+
+        SnapshotPessoas snapshot = gravar(arquivo,
+                new PessoaModel("111.444.777-35", "João Ávila", TipoPessoaEnum.FUNCIONARIO, "joao@email.com"),
+                new PessoaModel("12345678900", null, null, null));
+
+        assertEquals(2, snapshot.getQuantidade());
+        assertEquals(GERADO_EM, snapshot.getGeradoEm());
+        PessoaModel pessoa = snapshot.buscar(Cpf.compactar("111.444.777-35"));
+        assertEquals("111.444.777-35", pessoa.getCdDocPessoa());
+        assertEquals("João Ávila", pessoa.getNmPessoa());
+        assertEquals(TipoPessoaEnum.FUNCIONARIO, pessoa.getTpPessoa());
+        assertEquals("joao@email.com", pessoa.getDsEmail());
+        PessoaModel semCampos = snapshot.buscar(12345678900L);
+        assertNull(semCampos.getNmPessoa());
+        assertNull(semCampos.getTpPessoa());
+        assertNull(semCampos.getDsEmail());
+        assertNull(snapshot.buscar(Cpf.compactar("11144477735")));
+        assertNull(snapshot.buscar(Cpf.INVALIDO));
+    }
+
+    @Test
+    void deveEncontrarPessoasRecebidasForaDeOrdem() throws IOException {
+        List<Long> cpfs = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            cpfs.add(random.nextLong(100_000_000_000L));
+        }
+        Collections.shuffle(cpfs, random);
+
+        SnapshotPessoas snapshot;
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(diretorio.resolve("pessoas.snapshot"))) {
+            cpfs.forEach(cpf -> gravacao.adicionar(pessoa(cpf, "P" + cpf)));
+            snapshot = gravacao.concluir(GERADO_EM);
+        }
+
+        assertEquals(cpfs.stream().distinct().count(), snapshot.getQuantidade());
+        for (long cpf : cpfs) {
+            assertEquals("P" + cpf, snapshot.buscar(cpf).getNmPessoa());
+        }
+        assertNull(snapshot.buscar(100_000_000_000L - 1));
+    }
+
+    @Test
+    void deveIntercalarBlocosOrdenadosSeparadamente() throws IOException {
+        List<Long> cpfs = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            cpfs.add(random.nextLong(100_000_000_000L));
+        }
+        // Repete CPFs em blocos diferentes: vale a ultima ocorrencia, mesmo vinda de outro bloco
+        cpfs.addAll(cpfs.subList(0, 100));
+
+        SnapshotPessoas snapshot;
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(diretorio.resolve("pessoas.snapshot"), 64)) {
+            for (int i = 0; i < cpfs.size(); i++) {
+                gravacao.adicionar(pessoa(cpfs.get(i), "P" + i));
+            }
+            snapshot = gravacao.concluir(GERADO_EM);
+        }
+
+        assertEquals(cpfs.stream().distinct().count(), snapshot.getQuantidade());
+        for (int i = 0; i < cpfs.size(); i++) {
+            assertEquals("P" + cpfs.lastIndexOf(cpfs.get(i)), snapshot.buscar(cpfs.get(i)).getNmPessoa());
+        }
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(List.of(diretorio.resolve("pessoas.snapshot")), arquivos.toList());
+        }
+    }
+
+    @Test
+    void deveManterUltimaOcorrenciaDoMesmoCpf() throws IOException {
+        SnapshotPessoas snapshot = gravar(diretorio.resolve("pessoas.snapshot"),
+                pessoa(12345678900L, "Primeira"), pessoa(98765432100L, "Outra"), pessoa(12345678900L, "Ultima"));
+
+        assertEquals(2, snapshot.getQuantidade());
+        assertEquals("Ultima", snapshot.buscar(12345678900L).getNmPessoa());
+    }
+
+    @Test
+    void deveDescartarPessoasQueNaoCabemNoRegistro() throws IOException {
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(diretorio.resolve("pessoas.snapshot"))) {
+            assertTrue(gravacao.adicionar(pessoa(12345678900L, "Cabe")));
+            assertFalse(gravacao.adicionar(pessoa(98765432100L, "N".repeat(121))));
+            assertFalse(gravacao.adicionar(new PessoaModel("abc", "Sem Cpf", TipoPessoaEnum.CLIENTE, null)));
+
+            SnapshotPessoas snapshot = gravacao.concluir(GERADO_EM);
+
+            assertEquals(1, snapshot.getQuantidade());
+            assertEquals(2, gravacao.getDescartadas());
+            assertNull(snapshot.buscar(98765432100L));
+        }
+    }
+
+    @Test
+    void deveGravarSnapshotVazio() throws IOException {
+        SnapshotPessoas snapshot = gravar(diretorio.resolve("pessoas.snapshot"));
+
+        assertEquals(0, snapshot.getQuantidade());
+        assertNull(snapshot.buscar(12345678900L));
+    }
+
+    @Test
+    void deveSubstituirArquivoSemInvalidarSnapshotAberto() throws IOException {
+        Path arquivo = diretorio.resolve("pessoas.snapshot");
+        SnapshotPessoas anterior = gravar(arquivo, pessoa(12345678900L, "Anterior"));
+
+        SnapshotPessoas novo = gravar(arquivo, pessoa(12345678900L, "Novo"));
+
+        assertEquals("Anterior", anterior.buscar(12345678900L).getNmPessoa());
+        assertEquals("Novo", novo.buscar(12345678900L).getNmPessoa());
+        assertEquals("Novo", SnapshotPessoas.abrir(arquivo).buscar(12345678900L).getNmPessoa());
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(List.of(arquivo), arquivos.toList());
+        }
+    }
+
+    @Test
+    void deveRecusarArquivoCorrompido() throws IOException {
+        Path arquivo = diretorio.resolve("pessoas.snapshot");
+        gravar(arquivo, pessoa(12345678900L, "Original"));
+
+        sobrescrever(arquivo, Files.size(arquivo) - 1, (byte) 1);
+
+        IOException erro = assertThrows(IOException.class, () -> SnapshotPessoas.abrir(arquivo));
+        assertTrue(erro.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void deveRecusarOutraVersaoDoFormato() throws IOException {
+        Path arquivo = diretorio.resolve("pessoas.snapshot");
+        gravar(arquivo, pessoa(12345678900L, "Original"));
+
+        sobrescrever(arquivo, 11, (byte) 2);
+
+        IOException erro = assertThrows(IOException.class, () -> SnapshotPessoas.abrir(arquivo));
+        assertTrue(erro.getMessage().contains("versao 2"));
+    }
+
+    @Test
+    void deveRecusarArquivoTruncadoOuDeOutroFormato() throws IOException {
+        Path arquivo = diretorio.resolve("pessoas.snapshot");
+        gravar(arquivo, pessoa(12345678900L, "Original"));
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 10);
+        }
+        Path outro = Files.write(diretorio.resolve("outro"), new byte[128]);
+
+        assertThrows(IOException.class, () -> SnapshotPessoas.abrir(arquivo));
+        assertThrows(IOException.class, () -> SnapshotPessoas.abrir(outro));
+        assertThrows(IOException.class, () -> SnapshotPessoas.abrir(diretorio.resolve("inexistente")));
+    }
+
+    private static SnapshotPessoas gravar(Path arquivo, PessoaModel... pessoas) throws IOException {
+        try (GravacaoSnapshotPessoas gravacao = GravacaoSnapshotPessoas.iniciar(arquivo)) {
+            for (PessoaModel pessoa : pessoas) {
+                gravacao.adicionar(pessoa);
+            }
+            return gravacao.concluir(GERADO_EM);
+        }
+    }
+
+    private static void sobrescrever(Path arquivo, long posicao, byte valor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{valor}), posicao);
+        }
+    }
+
+    private static PessoaModel pessoa(long cpf, String nome) {
+        return new PessoaModel(Cpf.formatar(cpf), nome, TipoPessoaEnum.CLIENTE, "email@email.com");
+    }
+}
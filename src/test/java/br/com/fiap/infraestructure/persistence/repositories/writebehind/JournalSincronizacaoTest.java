@@ -0,0 +1,162 @@
+package br.com.fiap.infraestructure.persistence.repositories.writebehind;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.JournalSincronizacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalSincronizacaoTest {
+
+    // CRC32C, sequencia, CPF e instante
+    private static final int TAMANHO_ENTRADA = 28;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void deveReproduzirEntradasNaoConfirmadasAoReabrir() throws IOException {
+        try (JournalSincronizacao journal = abrir(new ArrayList<>())) {
+            assertEquals(1, journal.registrar(11144477735L, 1_000));
+            assertEquals(2, journal.registrar(52998224725L, 2_000));
+            assertEquals(3, journal.registrar(11144477735L, 3_000));
+            journal.confirmar(1);
+        }
+
+        List<JournalSincronizacao.Entrada> entradas = new ArrayList<>();
+        try (JournalSincronizacao journal = abrir(entradas)) {
+            assertEquals(List.of(new JournalSincronizacao.Entrada(2, 52998224725L, 2_000),
+                    new JournalSincronizacao.Entrada(3, 11144477735L, 3_000)), entradas);
+            assertEquals(1, journal.getConfirmadoAte());
+            assertEquals(4, journal.registrar(52998224725L, 4_000));
+        }
+    }
+
+    @Test
+    void deveEsvaziarJournalQuandoTudoForConfirmado() throws IOException {
+        try (JournalSincronizacao journal = abrir(new ArrayList<>())) {
+            journal.registrar(11144477735L, 1_000);
+            journal.registrar(52998224725L, 2_000);
+            assertEquals(2L * TAMANHO_ENTRADA, journal.getTamanhoEmBytes());
+
+            journal.confirmar(2);
+
+            assertEquals(0, journal.getTamanhoEmBytes());
+        }
+
+        List<JournalSincronizacao.Entrada> entradas = new ArrayList<>();
+        try (JournalSincronizacao journal = abrir(entradas)) {
+            assertTrue(entradas.isEmpty());
+            // A sequencia continua depois da confirmada, mesmo com o journal vazio
+            assertEquals(3, journal.registrar(11144477735L, 3_000));
+        }
+    }
+
+    @Test
+    void deveDescartarEntradaIncompletaNoFimDoJournal() throws IOException {
+        try (JournalSincronizacao journal = abrir(new ArrayList<>())) {
+            journal.registrar(11144477735L, 1_000);
+            journal.registrar(52998224725L, 2_000);
+        }
+        Path arquivo = diretorio.resolve("sincronizacao.journal");
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(2L * TAMANHO_ENTRADA - 5);
+        }
+
+        List<JournalSincronizacao.Entrada> entradas = new ArrayList<>();
+        try (JournalSincronizacao journal = abrir(entradas)) {
+            assertEquals(List.of(new JournalSincronizacao.Entrada(1, 11144477735L, 1_000)), entradas);
+            assertEquals(TAMANHO_ENTRADA, journal.getTamanhoEmBytes());
+            assertEquals(2, journal.registrar(52998224725L, 3_000));
+        }
+        assertEquals(2L * TAMANHO_ENTRADA, Files.size(arquivo));
+    }
+
+    @Test
+    void deveDescartarEntradasAPartirDaPrimeiraCorrompida() throws IOException {
+        try (JournalSincronizacao journal = abrir(new ArrayList<>())) {
+            journal.registrar(11144477735L, 1_000);
+            journal.registrar(52998224725L, 2_000);
+            journal.registrar(39053344705L, 3_000);
+        }
+        Path arquivo = diretorio.resolve("sincronizacao.journal");
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[TAMANHO_ENTRADA + 10] ^= 1;
+        Files.write(arquivo, conteudo);
+
+        List<JournalSincronizacao.Entrada> entradas = new ArrayList<>();
+        try (JournalSincronizacao journal = abrir(entradas)) {
+            assertEquals(1, entradas.size());
+            assertEquals(11144477735L, entradas.get(0).cpf());
+            assertEquals(TAMANHO_ENTRADA, journal.getTamanhoEmBytes());
+        }
+    }
+
+    @Test
+    void deveIgnorarConfirmacaoDeSequenciaJaConfirmada() throws IOException {
+        try (JournalSincronizacao journal = abrir(new ArrayList<>())) {
+            journal.registrar(11144477735L, 1_000);
+            journal.registrar(52998224725L, 2_000);
+            journal.confirmar(1);
+
+            journal.confirmar(1);
+            journal.confirmar(0);
+
+            assertEquals(1, journal.getConfirmadoAte());
+            assertEquals("1", Files.readString(diretorio.resolve("sincronizacao.checkpoint")));
+        }
+    }
+
+    @Test
+    void deveCompactarJournalGrandeComPoucasEntradasPendentes() throws IOException {
+        JournalSincronizacao.Entrada pendente = new JournalSincronizacao.Entrada(40_000, 52998224725L, 40_000);
+        try (JournalSincronizacao journal = JournalSincronizacao.abrir(diretorio, LogPessoas.Sincronizacao.NUNCA,
+                Duration.ofMillis(100), entrada -> { })) {
+            for (int i = 1; i <= 40_000; i++) {
+                journal.registrar(i == 40_000 ? 52998224725L : 11144477735L, i);
+            }
+            journal.confirmar(39_999);
+            assertFalse(journal.deveCompactar(20_000));
+            assertTrue(journal.deveCompactar(1));
+
+            journal.compactar(List.of(pendente));
+
+            assertEquals(TAMANHO_ENTRADA, journal.getTamanhoEmBytes());
+            assertFalse(journal.deveCompactar(1));
+            assertEquals(40_001, journal.registrar(11144477735L, 40_001));
+        }
+
+        List<JournalSincronizacao.Entrada> entradas = new ArrayList<>();
+        try (JournalSincronizacao journal = abrir(entradas)) {
+            assertEquals(List.of(pendente, new JournalSincronizacao.Entrada(40_001, 11144477735L, 40_001)), entradas);
+            assertEquals(39_999, journal.getConfirmadoAte());
+        }
+        assertFalse(Files.exists(diretorio.resolve("sincronizacao.journal.tmp")));
+    }
+
+    @Test
+    void deveManterJournalAbaixoDoTamanhoMinimoSemCompactar() throws IOException {
+        try (JournalSincronizacao journal = abrir(new ArrayList<>())) {
+            journal.registrar(11144477735L, 1_000);
+            journal.registrar(52998224725L, 2_000);
+            journal.confirmar(1);
+
+            assertFalse(journal.deveCompactar(1));
+        }
+    }
+
+    private JournalSincronizacao abrir(List<JournalSincronizacao.Entrada> entradas) throws IOException {
+        return JournalSincronizacao.abrir(diretorio, LogPessoas.Sincronizacao.SEMPRE, Duration.ofMillis(100),
+                entradas::add);
+    }
+}
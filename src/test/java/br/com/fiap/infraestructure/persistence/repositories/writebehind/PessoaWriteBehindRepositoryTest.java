@@ -0,0 +1,250 @@
+package br.com.fiap.infraestructure.persistence.repositories.writebehind;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.PessoaRepository.ResultadoEnvio;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.LogPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.embedded.PessoaEmbeddedRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.JournalSincronizacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.persistence.repositories.writebehind.PessoaWriteBehindRepository;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PessoaWriteBehindRepositoryTest {
+
+    // Cada pessoa enviada e gravada no DynamoDB
+    private static final Answer<List<ResultadoEnvio>> GRAVADAS = invocacao ->
+            Collections.nCopies(invocacao.<List<?>>getArgument(0).size(), ResultadoEnvio.GRAVADA);
+
+    @TempDir
+    private Path diretorio;
+
+    @Mock
+    private PessoaRepository remoto;
+
+    @Mock
+    private Clock relogio;
+
+    @Captor
+    private ArgumentCaptor<List<PessoaModel>> lotes;
+
+    @Captor
+    private ArgumentCaptor<List<Long>> versoes;
+
+    private PessoaEmbeddedRepository local;
+    private PessoaWriteBehindRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        lenient().when(relogio.millis()).thenReturn(1_000L);
+        lenient().when(remoto.sincronizarPessoas(anyList(), anyList())).thenAnswer(GRAVADAS);
+        abrir(10);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fechar();
+    }
+
+    @Test
+    void deveConfirmarCadastroSemChamarDynamoDb() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+
+        assertEquals("Joao", repository.buscarPessoaPorCpf("11144477735").orElseThrow().getNmPessoa());
+        assertEquals(1, repository.getProfundidade());
+        verifyNoInteractions(remoto);
+    }
+
+    @Test
+    void deveEnviarVersaoMaisRecenteUmaVezPorCpf() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        repository.cadastrarPessoa(new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"));
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao Silva", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+
+        assertEquals(2, repository.sincronizar());
+
+        verify(remoto).sincronizarPessoas(lotes.capture(), versoes.capture());
+        assertEquals(List.of("Maria", "Joao Silva"), lotes.getValue().stream().map(PessoaModel::getNmPessoa).toList());
+        assertEquals(List.of(1_000L, 1_000L), versoes.getValue());
+        assertEquals(0, repository.getProfundidade());
+        assertEquals(2, repository.getEnviadas());
+        assertEquals(0, repository.sincronizar());
+        verifyNoMoreInteractions(remoto);
+    }
+
+    @Test
+    void deveEnviarFilaEmLotesDoTamanhoConfigurado() throws IOException {
+        fechar();
+        abrir(2);
+        repository.cadastrarPessoasEmLote(List.of(
+                new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"),
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"),
+                new PessoaModel("39053344705", "Ana", TipoPessoaEnum.CLIENTE, "ana@email.com")));
+
+        assertEquals(3, repository.sincronizar());
+
+        verify(remoto, times(2)).sincronizarPessoas(lotes.capture(), anyList());
+        assertEquals(List.of(2, 1), lotes.getAllValues().stream().map(List::size).toList());
+    }
+
+    @Test
+    void deveManterFilaQuandoEnvioFalhar() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        when(remoto.sincronizarPessoas(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("DynamoDB indisponivel"))
+                .thenAnswer(GRAVADAS);
+
+        assertEquals(0, repository.sincronizar());
+        assertEquals(1, repository.getProfundidade());
+        assertEquals(1, repository.getFalhas());
+
+        assertEquals(1, repository.sincronizar());
+        assertEquals(0, repository.getProfundidade());
+        verify(remoto, times(2)).sincronizarPessoas(anyList(), anyList());
+    }
+
+    @Test
+    void deveReenviarPendentesAposReabrir() throws IOException {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        repository.cadastrarPessoa(new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"));
+        fechar();
+
+        abrir(10);
+
+        assertEquals(2, repository.getProfundidade());
+        assertEquals(2, repository.sincronizar());
+        fechar();
+        abrir(10);
+        assertEquals(0, repository.getProfundidade());
+    }
+
+    @Test
+    void deveRecusarSubstituicaoComEmailDeOutroCpf() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "mesmo@email.com"));
+        assertThrows(EmailCadastradoException.class, () -> repository.cadastrarPessoa(
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "mesmo@email.com")));
+
+        assertEquals(1, repository.sincronizar());
+
+        verify(remoto).sincronizarPessoas(lotes.capture(), anyList());
+        assertEquals(List.of("Joao"), lotes.getValue().stream().map(PessoaModel::getNmPessoa).toList());
+        assertEquals(0, repository.getProfundidade());
+    }
+
+    @Test
+    void deveDescartarCadastroRecusadoSemVersaoLocal() {
+        repository.cadastrarPessoaSeNaoExistir(
+                new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        assertThrows(EmailCadastradoException.class, () -> repository.cadastrarPessoaSeNaoExistir(
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "joao@email.com")));
+
+        assertEquals(1, repository.sincronizar());
+
+        verify(remoto).sincronizarPessoas(lotes.capture(), anyList());
+        assertEquals(1, lotes.getValue().size());
+        assertEquals(0, repository.getProfundidade());
+    }
+
+    @Test
+    void deveEnviarInstanteDaEscritaLocalComoVersao() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        when(relogio.millis()).thenReturn(2_000L);
+        repository.cadastrarPessoa(new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"));
+
+        repository.sincronizar();
+
+        verify(remoto).sincronizarPessoas(anyList(), versoes.capture());
+        assertEquals(List.of(1_000L, 2_000L), versoes.getValue());
+    }
+
+    @Test
+    void deveDescartarSemNovaTentativaPessoasEmConflitoNoDynamoDb() {
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        repository.cadastrarPessoa(new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"));
+        when(remoto.sincronizarPessoas(anyList(), anyList()))
+                .thenReturn(List.of(ResultadoEnvio.SUPERADA, ResultadoEnvio.EMAIL_DE_OUTRO_CPF));
+
+        assertEquals(2, repository.sincronizar());
+
+        assertEquals(0, repository.getProfundidade());
+        assertEquals(0, repository.getEnviadas());
+        assertEquals(1, repository.getSuperadas());
+        assertEquals(1, repository.getRecusadas());
+        assertEquals(0, repository.sincronizar());
+        verify(remoto, times(1)).sincronizarPessoas(anyList(), anyList());
+    }
+
+    @Test
+    void deveLiberarCpfsJaRegistradosQuandoJournalFalhar() {
+        JournalSincronizacao journal = spy((JournalSincronizacao) ReflectionTestUtils.getField(repository, "journal"));
+        doCallRealMethod().doThrow(new UncheckedIOException(new IOException("disco cheio")))
+                .when(journal).registrar(anyLong(), anyLong());
+        ReflectionTestUtils.setField(repository, "journal", journal);
+
+        assertThrows(UncheckedIOException.class, () -> repository.cadastrarPessoasEmLote(List.of(
+                new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"),
+                new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"))));
+        assertEquals(1, repository.getProfundidade());
+
+        // Sem a escrita local, a entrada do CPF registrado sai da fila no envio seguinte em vez de ficar presa
+        assertEquals(0, repository.sincronizar());
+        assertEquals(0, repository.getProfundidade());
+        verify(remoto, never()).sincronizarPessoas(anyList(), anyList());
+    }
+
+    @Test
+    void deveRecusarCpfInvalidoSemEnfileirar() {
+        assertThrows(IllegalArgumentException.class, () -> repository.cadastrarPessoa(
+                new PessoaModel("invalido", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com")));
+
+        assertEquals(0, repository.getProfundidade());
+    }
+
+    @Test
+    void deveInformarAtrasoDaEscritaPendenteMaisAntiga() {
+        assertEquals(0, repository.getAtrasoEmSegundos());
+        repository.cadastrarPessoa(new PessoaModel("11144477735", "Joao", TipoPessoaEnum.CLIENTE, "joao@email.com"));
+        when(relogio.millis()).thenReturn(2_000L);
+        repository.cadastrarPessoa(new PessoaModel("52998224725", "Maria", TipoPessoaEnum.CLIENTE, "maria@email.com"));
+        when(relogio.millis()).thenReturn(4_500L);
+
+        assertEquals(3.5, repository.getAtrasoEmSegundos());
+    }
+
+    private void abrir(int tamanhoLote) throws IOException {
+        local = new PessoaEmbeddedRepository(LogPessoas.abrir(diretorio.resolve("log"), LogPessoas.Sincronizacao.NUNCA,
+                Duration.ofMillis(100), 1024 * 1024));
+        repository = new PessoaWriteBehindRepository(local, remoto, diretorio.resolve("sincronizacao"),
+                LogPessoas.Sincronizacao.NUNCA, Duration.ofMillis(100), tamanhoLote, relogio);
+    }
+
+    private void fechar() throws IOException {
+        repository.close();
+        local.close();
+    }
+}
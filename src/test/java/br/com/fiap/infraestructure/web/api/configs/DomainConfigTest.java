@@ -0,0 +1,75 @@
+package br.com.fiap.infraestructure.web.api.configs;
+
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaAsyncRepositoryPort;
+import br.com.fiap.fasfoodpessoas.domain.ports.out.PessoaRepositoryPort;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaAsyncService;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaService;
+import br.com.fiap.fasfoodpessoas.domain.services.PessoaServiceSingleFlight;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.configs.DomainConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class DomainConfigTest {
+
+    @Mock
+    private PessoaRepositoryPort pessoaRepositoryPort;
+
+    private DomainConfig domainConfig;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        domainConfig = new DomainConfig();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void deveCriarPessoaService() {
+        assertNotNull(domainConfig.pessoaService(pessoaRepositoryPort));
+    }
+
+    @Test
+    void deveEnvolverServicoComSingleFlightQuandoHabilitado() {
+        ReflectionTestUtils.setField(domainConfig, "singleFlightHabilitado", true);
+        PessoaService pessoaService = domainConfig.pessoaService(pessoaRepositoryPort);
+
+        PessoaServicePort port = domainConfig.pessoaServicePort(pessoaService, provider(meterRegistry));
+
+        assertInstanceOf(PessoaServiceSingleFlight.class, port);
+        assertNotNull(meterRegistry.find("pessoas.buscas.cpf").tag("resultado", "agrupada").functionCounter());
+        assertNotNull(meterRegistry.find("pessoas.buscas.cpf").tag("resultado", "executada").functionCounter());
+    }
+
+    @Test
+    void deveRetornarServicoOriginalQuandoSingleFlightDesabilitado() {
+        PessoaService pessoaService = domainConfig.pessoaService(pessoaRepositoryPort);
+
+        PessoaServicePort port = domainConfig.pessoaServicePort(pessoaService, provider(meterRegistry));
+
+        assertSame(pessoaService, port);
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void deveCriarPessoaAsyncService(@Mock PessoaAsyncRepositoryPort pessoaAsyncRepositoryPort) {
+        assertInstanceOf(PessoaAsyncService.class, domainConfig.pessoaAsyncService(pessoaAsyncRepositoryPort));
+    }
+
+    private static ObjectProvider<MeterRegistry> provider(MeterRegistry registry) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+}
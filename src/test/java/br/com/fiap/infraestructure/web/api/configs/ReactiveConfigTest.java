@@ -0,0 +1,15 @@
+package br.com.fiap.infraestructure.web.api.configs;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.configs.ReactiveConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class ReactiveConfigTest {
+
+    @Test
+    void deveServirOWebFluxPeloNetty() {
+        assertInstanceOf(NettyReactiveWebServerFactory.class, new ReactiveConfig().nettyReactiveWebServerFactory());
+    }
+}
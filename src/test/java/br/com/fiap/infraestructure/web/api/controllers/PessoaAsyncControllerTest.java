@@ -0,0 +1,235 @@
+package br.com.fiap.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaAsyncController;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = PessoaAsyncController.class, properties = "pessoas.async.habilitado=true")
+@ContextConfiguration(classes = FastFoodPessoasApplication.class)
+@AutoConfigureWebMvc
+class PessoaAsyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private PessoaAsyncServicePort pessoaAsyncServicePort;
+
+    private PessoaRequestDto pessoaRequestDto;
+    private PessoaModel pessoaModel;
+
+    @BeforeEach
+    void setUp() {
+        pessoaRequestDto = new PessoaRequestDto("11144477735", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaModel = new PessoaModel("11144477735", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+    }
+
+    @Test
+    void deveCadastrarPessoaDeFormaAssincrona() throws Exception {
+        when(pessoaAsyncServicePort.cadastraPessoa(any(PessoaModel.class)))
+                .thenReturn(CompletableFuture.completedFuture(pessoaModel));
+
+        MvcResult resultado = mockMvc.perform(post("/api/v1/pessoa")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pessoaRequestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/v1/pessoa/11144477735"))
+                .andExpect(jsonPath("$.cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$.tpPessoa", is("CLIENTE")));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCpfJaCadastrado() throws Exception {
+        when(pessoaAsyncServicePort.cadastraPessoa(any(PessoaModel.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado")));
+
+        MvcResult resultado = mockMvc.perform(post("/api/v1/pessoa")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pessoaRequestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cliente ja cadastrado com o CPF informado")));
+    }
+
+    @Test
+    void deveRetornarBadRequestSemChamarServicoQuandoRequisicaoInvalida() throws Exception {
+        PessoaRequestDto invalido = new PessoaRequestDto("123", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+
+        mockMvc.perform(post("/api/v1/pessoa")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalido)))
+                .andExpect(status().isBadRequest());
+
+        verify(pessoaAsyncServicePort, never()).cadastraPessoa(any());
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpfDeFormaAssincrona() throws Exception {
+        when(pessoaAsyncServicePort.buscaPessoaPorCpf("11144477735"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaModel)));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa/11144477735"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nmPessoa", is("João Silva")));
+    }
+
+    @Test
+    void deveRetornarNoContentQuandoPessoaNaoEncontrada() throws Exception {
+        when(pessoaAsyncServicePort.buscaPessoaPorCpf("52998224725"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa/52998224725"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deveRecusarBuscaPorCpfMalFormadoSemConsultarOServico() throws Exception {
+        mockMvc.perform(get("/api/v1/pessoa/abc"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(pessoaAsyncServicePort);
+    }
+
+    @Test
+    void deveBuscarPessoasEmLoteDeFormaAssincrona() throws Exception {
+        when(pessoaAsyncServicePort.buscaPessoasPorCpfs(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(pessoaModel)));
+
+        MvcResult resultado = mockMvc.perform(post("/api/v1/pessoa/batch-lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("cdDocPessoas", List.of("11144477735", "00000000000")))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].cdDocPessoa", is("11144477735")));
+    }
+
+    @Test
+    void deveBuscarSomenteOsCamposPedidosDeFormaAssincrona() throws Exception {
+        Set<CampoPessoaEnum> campos = EnumSet.of(CampoPessoaEnum.NM_PESSOA);
+        when(pessoaAsyncServicePort.buscaPessoaPorCpf("11144477735", campos))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaModel)));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa/11144477735").param("fields", "nmPessoa"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$.nmPessoa", is("João Silva")))
+                .andExpect(jsonPath("$.dsEmail").doesNotExist());
+    }
+
+    @Test
+    void deveRecusarCampoInvalidoSemConsultarOServico() throws Exception {
+        mockMvc.perform(get("/api/v1/pessoa/11144477735").param("fields", "senha"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Campo invalido: senha")));
+
+        verifyNoInteractions(pessoaAsyncServicePort);
+    }
+
+    @Test
+    void deveBuscarPessoaPorEmailDeFormaAssincrona() throws Exception {
+        when(pessoaAsyncServicePort.buscaPessoaPorEmail("joao@email.com"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaModel)));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa/email/joao@email.com"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cdDocPessoa", is("11144477735")));
+    }
+
+    @Test
+    void deveListarPessoasPorTipoDeFormaAssincrona() throws Exception {
+        when(pessoaAsyncServicePort.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 100, "abc"))
+                .thenReturn(CompletableFuture.completedFuture(new PaginaPessoasModel(List.of(pessoaModel), "def")));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa")
+                        .param("tpPessoa", "CLIENTE")
+                        .param("tamanho", "1000")
+                        .param("cursor", "abc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pessoas[0].cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$.cursor", is("def")));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCursorInvalido() throws Exception {
+        when(pessoaAsyncServicePort.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 50, "xyz"))
+                .thenReturn(CompletableFuture.failedFuture(new CursorInvalidoException("Cursor invalido")));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa")
+                        .param("tpPessoa", "CLIENTE")
+                        .param("cursor", "xyz"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cursor invalido")));
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.fiap.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaCadastroLoteController;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = PessoaCadastroLoteController.class)
+@ContextConfiguration(classes = FastFoodPessoasApplication.class)
+@AutoConfigureWebMvc
+class PessoaCadastroLoteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private PessoaServicePort pessoaServicePort;
+
+    private PessoaRequestDto pessoaRequestDto;
+
+    @BeforeEach
+    void setUp() {
+        pessoaRequestDto = new PessoaRequestDto(
+                "11144477735",
+                "João Silva",
+                TipoPessoaEnum.CLIENTE,
+                "joao@email.com"
+        );
+    }
+
+    @Test
+    void deveCadastrarPessoasEmLoteRetornandoStatusPorItem() throws Exception {
+        PessoaRequestDto invalido = new PessoaRequestDto("123", "Jo", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        PessoaRequestDto duplicado = new PessoaRequestDto("52998224725", "Maria Santos", TipoPessoaEnum.FUNCIONARIO, "maria@empresa.com");
+        when(pessoaServicePort.cadastraPessoas(anyList())).thenReturn(List.of(
+                ResultadoCadastroModel.criado("11144477735"),
+                ResultadoCadastroModel.duplicado("52998224725")));
+
+        mockMvc.perform(post("/api/v1/pessoa/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("pessoas", List.of(pessoaRequestDto, invalido, duplicado)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$[0].status", is("CRIADO")))
+                .andExpect(jsonPath("$[1].cdDocPessoa", is("123")))
+                .andExpect(jsonPath("$[1].status", is("INVALIDO")))
+                .andExpect(jsonPath("$[1].errors.length()", is(2)))
+                .andExpect(jsonPath("$[2].status", is("DUPLICADO")));
+
+        verify(pessoaServicePort, times(1)).cadastraPessoas(argThat(pessoas -> pessoas.size() == 2
+                && pessoas.get(0).getCdDocPessoa().equals("11144477735")
+                && pessoas.get(1).getCdDocPessoa().equals("52998224725")));
+    }
+
+    @Test
+    void naoDeveChamarServicoQuandoTodosOsItensDoLoteSaoInvalidos() throws Exception {
+        PessoaRequestDto invalido = new PessoaRequestDto("123", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+
+        mockMvc.perform(post("/api/v1/pessoa/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("pessoas", List.of(invalido)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("INVALIDO")))
+                .andExpect(jsonPath("$[0].errors[0].message", is("O CPF informado no atributo cdDocPessoa é inválido.")));
+
+        verify(pessoaServicePort, never()).cadastraPessoas(anyList());
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoLoteDeCadastroVazio() throws Exception {
+        mockMvc.perform(post("/api/v1/pessoa/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("pessoas", List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(pessoaServicePort, never()).cadastraPessoas(anyList());
+    }
+}
@@ -1,11 +1,15 @@
 package br.com.fiap.infraestructure.web.api.controllers;
 
 import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
 import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
 import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
 import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaController;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,10 +22,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -133,6 +142,15 @@ class PessoaControllerTest {
         verify(pessoaServicePort, times(1)).buscaPessoaPorCpf("12345678909");
     }
 
+    @Test
+    void deveRecusarBuscaPorCpfMalFormadoSemConsultarOServico() throws Exception {
+        mockMvc.perform(get("/api/v1/pessoa/12345678900"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("CPF invalido: 12345678900")));
+
+        verify(pessoaServicePort, never()).buscaPessoaPorCpf(anyString());
+    }
+
     @Test
     void deveRetornarBadRequestQuandoCpfInvalido() throws Exception {
         PessoaRequestDto dtoInvalido = new PessoaRequestDto(
@@ -298,25 +316,25 @@ class PessoaControllerTest {
                 .build();
 
         PessoaModel pessoa2 = new PessoaModel.Builder()
-                .setCdDocPessoa("71503154071")
+                .setCdDocPessoa("71503154025")
                 .setNmPessoa("Pessoa 2")
                 .setTpPessoa(TipoPessoaEnum.FUNCIONARIO)
                 .setDsEmail("pessoa2@email.com")
                 .build();
 
         when(pessoaServicePort.buscaPessoaPorCpf("52998224725")).thenReturn(Optional.of(pessoa1));
-        when(pessoaServicePort.buscaPessoaPorCpf("71503154071")).thenReturn(Optional.of(pessoa2));
+        when(pessoaServicePort.buscaPessoaPorCpf("71503154025")).thenReturn(Optional.of(pessoa2));
 
         mockMvc.perform(get("/api/v1/pessoa/52998224725"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.nmPessoa", is("Pessoa 1")));
 
-        mockMvc.perform(get("/api/v1/pessoa/71503154071"))
+        mockMvc.perform(get("/api/v1/pessoa/71503154025"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.nmPessoa", is("Pessoa 2")));
 
         verify(pessoaServicePort, times(1)).buscaPessoaPorCpf("52998224725");
-        verify(pessoaServicePort, times(1)).buscaPessoaPorCpf("71503154071");
+        verify(pessoaServicePort, times(1)).buscaPessoaPorCpf("71503154025");
     }
 
     @Test
@@ -399,5 +417,166 @@ class PessoaControllerTest {
         mockMvc.perform(get("/api/v1/pessoa/11144477735"))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    void deveBuscarPessoasEmLote() throws Exception {
+        PessoaModel funcionario = new PessoaModel.Builder()
+                .setCdDocPessoa("52998224725")
+                .setNmPessoa("Maria Santos")
+                .setTpPessoa(TipoPessoaEnum.FUNCIONARIO)
+                .setDsEmail("maria@empresa.com")
+                .build();
+        when(pessoaServicePort.buscaPessoasPorCpfs(anyList())).thenReturn(List.of(pessoaModel, funcionario));
+
+        mockMvc.perform(post("/api/v1/pessoa/batch-lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("cdDocPessoas", List.of("11144477735", "52998224725", "12345678909")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$[1].tpPessoa", is("FUNCIONARIO")));
+
+        verify(pessoaServicePort, times(1)).buscaPessoasPorCpfs(List.of("11144477735", "52998224725", "12345678909"));
+        verify(pessoaServicePort, never()).buscaPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void deveRetornarListaVaziaQuandoNenhumCpfEncontradoNoLote() throws Exception {
+        when(pessoaServicePort.buscaPessoasPorCpfs(anyList())).thenReturn(List.of());
+
+        mockMvc.perform(post("/api/v1/pessoa/batch-lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("cdDocPessoas", List.of("12345678909")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoLoteVazio() throws Exception {
+        mockMvc.perform(post("/api/v1/pessoa/batch-lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("cdDocPessoas", List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(pessoaServicePort, never()).buscaPessoasPorCpfs(anyList());
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpfApenasComCamposSolicitados() throws Exception {
+        when(pessoaServicePort.buscaPessoaPorCpf("11144477735", Set.of(CampoPessoaEnum.TP_PESSOA)))
+                .thenReturn(Optional.of(pessoaModel));
+
+        mockMvc.perform(get("/api/v1/pessoa/11144477735").param("fields", "tpPessoa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$.tpPessoa", is("CLIENTE")))
+                .andExpect(jsonPath("$.nmPessoa").doesNotExist())
+                .andExpect(jsonPath("$.dsEmail").doesNotExist());
+
+        verify(pessoaServicePort, never()).buscaPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void deveAceitarCamposSeparadosPorVirgula() throws Exception {
+        when(pessoaServicePort.buscaPessoaPorCpf("11144477735", Set.of(CampoPessoaEnum.NM_PESSOA, CampoPessoaEnum.DS_EMAIL)))
+                .thenReturn(Optional.of(pessoaModel));
+
+        mockMvc.perform(get("/api/v1/pessoa/11144477735").param("fields", "nmPessoa,dsEmail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nmPessoa", is("João Silva")))
+                .andExpect(jsonPath("$.dsEmail", is("joao@email.com")))
+                .andExpect(jsonPath("$.tpPessoa").doesNotExist());
+    }
+
+    @Test
+    void deveRetornarNoContentQuandoPessoaNaoEncontradaComCampos() throws Exception {
+        when(pessoaServicePort.buscaPessoaPorCpf("12345678909", Set.of(CampoPessoaEnum.TP_PESSOA)))
+                .thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/pessoa/12345678909").param("fields", "tpPessoa"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCampoInvalido() throws Exception {
+        mockMvc.perform(get("/api/v1/pessoa/11144477735").param("fields", "senha"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Campo invalido: senha")));
+
+        verifyNoInteractions(pessoaServicePort);
+    }
+
+    @Test
+    void deveBuscarPessoaPorEmail() throws Exception {
+        when(pessoaServicePort.buscaPessoaPorEmail("joao@email.com")).thenReturn(Optional.of(pessoaModel));
+
+        mockMvc.perform(get("/api/v1/pessoa/email/joao@email.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$.dsEmail", is("joao@email.com")));
+
+        verify(pessoaServicePort, never()).buscaPessoaPorCpf(anyString());
+    }
+
+    @Test
+    void deveRetornarNoContentQuandoEmailNaoEncontrado() throws Exception {
+        when(pessoaServicePort.buscaPessoaPorEmail("ninguem@email.com")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/pessoa/email/ninguem@email.com"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deveListarPessoasPorTipoComCursor() throws Exception {
+        when(pessoaServicePort.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 20, "abc"))
+                .thenReturn(new PaginaPessoasModel(List.of(pessoaModel), "def"));
+
+        mockMvc.perform(get("/api/v1/pessoa")
+                        .param("tpPessoa", "CLIENTE")
+                        .param("tamanho", "20")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pessoas[0].cdDocPessoa", is("11144477735")))
+                .andExpect(jsonPath("$.cursor", is("def")));
+    }
+
+    @Test
+    void deveOmitirCursorNaUltimaPaginaELimitarTamanho() throws Exception {
+        when(pessoaServicePort.listaPessoasPorTipo(TipoPessoaEnum.FUNCIONARIO, 100, null))
+                .thenReturn(new PaginaPessoasModel(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/pessoa")
+                        .param("tpPessoa", "FUNCIONARIO")
+                        .param("tamanho", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pessoas", hasSize(0)))
+                .andExpect(jsonPath("$.cursor").doesNotExist());
+
+        verify(pessoaServicePort).listaPessoasPorTipo(TipoPessoaEnum.FUNCIONARIO, 100, null);
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCursorInvalido() throws Exception {
+        when(pessoaServicePort.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 50, "xyz"))
+                .thenThrow(new CursorInvalidoException("Cursor invalido"));
+
+        mockMvc.perform(get("/api/v1/pessoa")
+                        .param("tpPessoa", "CLIENTE")
+                        .param("cursor", "xyz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cursor invalido")));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoEmailJaCadastrado() throws Exception {
+        when(pessoaServicePort.cadastraPessoa(any(PessoaModel.class)))
+                .thenThrow(new EmailCadastradoException("Cliente ja cadastrado com o e-mail informado"));
+
+        mockMvc.perform(post("/api/v1/pessoa")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pessoaRequestDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cliente ja cadastrado com o e-mail informado")));
+    }
+}
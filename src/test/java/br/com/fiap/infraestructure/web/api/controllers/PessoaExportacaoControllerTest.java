@@ -0,0 +1,77 @@
+package br.com.fiap.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoNdjson;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaExportacaoController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = PessoaExportacaoController.class)
+@ContextConfiguration(classes = FastFoodPessoasApplication.class)
+@Import(ExportacaoNdjson.class)
+@TestPropertySource(properties = {
+        "pessoas.exportacao.segmentos=2",
+        "pessoas.exportacao.capacidade-leitura-por-segundo=10",
+        "pessoas.exportacao.http.habilitada=true",
+        "pessoas.exportacao.http.timeout=90m"
+})
+@AutoConfigureWebMvc
+class PessoaExportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PessoaServicePort pessoaServicePort;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveExportarPessoasEmNdjson() throws Exception {
+        PessoaModel pessoa = new PessoaModel.Builder()
+                .setCdDocPessoa("12345678900")
+                .setNmPessoa("Ana Souza")
+                .setTpPessoa(TipoPessoaEnum.CLIENTE)
+                .setDsEmail("ana@email.com")
+                .build();
+        doAnswer(invocation -> {
+            Consumer<PessoaModel> consumidor = invocation.getArgument(2);
+            consumidor.accept(pessoa);
+            consumidor.accept(pessoa);
+            return null;
+        }).when(pessoaServicePort).exportaPessoas(eq(2), eq(10.0), any(Consumer.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pessoa/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(TimeUnit.MINUTES.toMillis(90), resultado.getRequest().getAsyncContext().getTimeout());
+
+        String linha = "{\"cdDocPessoa\":\"12345678900\",\"nmPessoa\":\"Ana Souza\",\"tpPessoa\":\"CLIENTE\","
+                + "\"dsEmail\":\"ana@email.com\"}\n";
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(linha + linha));
+    }
+}
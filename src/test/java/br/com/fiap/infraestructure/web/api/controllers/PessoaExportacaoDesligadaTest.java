@@ -0,0 +1,45 @@
+package br.com.fiap.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.exportacao.ExportacaoNdjson;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaExportacaoController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PessoaExportacaoController.class)
+@ContextConfiguration(classes = FastFoodPessoasApplication.class)
+@Import(ExportacaoNdjson.class)
+@AutoConfigureWebMvc
+class PessoaExportacaoDesligadaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @MockitoBean
+    private PessoaServicePort pessoaServicePort;
+
+    @Test
+    void naoDeveExporExportacaoSemHabilitarPorPropriedade() throws Exception {
+        assertTrue(contexto.getBeansOfType(PessoaExportacaoController.class).isEmpty());
+
+        mockMvc.perform(get("/api/v1/pessoa/export"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(pessoaServicePort);
+    }
+}
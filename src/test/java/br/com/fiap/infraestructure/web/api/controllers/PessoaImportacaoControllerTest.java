@@ -0,0 +1,91 @@
+package br.com.fiap.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.FormatoImportacao;
+import br.com.fiap.fasfoodpessoas.infraestructure.commons.importacao.ImportacaoPessoas;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaImportacaoController;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorMessageDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ResultadoImportacaoDto.LinhaInvalidaDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.ImportacaoInterrompidaException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = PessoaImportacaoController.class)
+@ContextConfiguration(classes = FastFoodPessoasApplication.class)
+@AutoConfigureWebMvc
+class PessoaImportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImportacaoPessoas importacaoPessoas;
+
+    @Test
+    void deveImportarCsvERetornarOResumo() throws Exception {
+        when(importacaoPessoas.importar(any(InputStream.class), eq(FormatoImportacao.CSV), eq(0L)))
+                .thenReturn(new ResultadoImportacaoDto(2, 1, 0, 1, 3, List.of(
+                        new LinhaInvalidaDto(3, "123", List.of(new ErrorMessageDto("CPF invalido"))))));
+
+        mockMvc.perform(post("/api/v1/pessoa/import")
+                        .contentType("text/csv")
+                        .content("cdDocPessoa,nmPessoa,tpPessoa,dsEmail\n12345678909,Joao Silva,CLIENTE,joao@email.com\n123,Jo,CLIENTE,x"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criadas", is(1)))
+                .andExpect(jsonPath("$.invalidas", is(1)))
+                .andExpect(jsonPath("$.ultimaLinhaConfirmada", is(3)))
+                .andExpect(jsonPath("$.linhasInvalidas[0].linha", is(3)));
+    }
+
+    @Test
+    void deveImportarNdjsonAPartirDaLinhaInformada() throws Exception {
+        when(importacaoPessoas.importar(any(InputStream.class), eq(FormatoImportacao.NDJSON), eq(1500L)))
+                .thenReturn(new ResultadoImportacaoDto(1, 1, 0, 0, 1501, List.of()));
+
+        mockMvc.perform(post("/api/v1/pessoa/import")
+                        .param("aPartirDaLinha", "1500")
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ultimaLinhaConfirmada", is(1501)));
+    }
+
+    @Test
+    void deveRetornar503ComALinhaParaRetomarQuandoAImportacaoEInterrompida() throws Exception {
+        when(importacaoPessoas.importar(any(InputStream.class), any(FormatoImportacao.class), eq(0L)))
+                .thenThrow(new ImportacaoInterrompidaException("Importacao interrompida", 500));
+
+        mockMvc.perform(post("/api/v1/pessoa/import")
+                        .contentType("text/csv")
+                        .content("12345678909,Joao Silva,CLIENTE,joao@email.com"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errors[0].message", is("Reenvie o arquivo com aPartirDaLinha=500 para continuar.")));
+    }
+
+    @Test
+    void deveRecusarFormatoNaoSuportado() throws Exception {
+        mockMvc.perform(post("/api/v1/pessoa/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<pessoas/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(importacaoPessoas);
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.fiap.infraestructure.web.api.controllers;
+
+import br.com.fiap.fasfoodpessoas.FastFoodPessoasApplication;
+import br.com.fiap.fasfoodpessoas.domain.enums.CampoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.PaginaPessoasModel;
+import br.com.fiap.fasfoodpessoas.domain.models.PessoaModel;
+import br.com.fiap.fasfoodpessoas.domain.ports.in.PessoaAsyncServicePort;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.controllers.PessoaReactiveController;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CursorInvalidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = PessoaReactiveController.class)
+@ContextConfiguration(classes = FastFoodPessoasApplication.class)
+@ActiveProfiles("reactive")
+class PessoaReactiveControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private PessoaAsyncServicePort pessoaAsyncServicePort;
+
+    private PessoaRequestDto pessoaRequestDto;
+    private PessoaModel pessoaModel;
+
+    @BeforeEach
+    void setUp() {
+        pessoaRequestDto = new PessoaRequestDto("11144477735", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+        pessoaModel = new PessoaModel("11144477735", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+    }
+
+    @Test
+    void deveCadastrarPessoa() {
+        when(pessoaAsyncServicePort.cadastraPessoa(any(PessoaModel.class)))
+                .thenReturn(CompletableFuture.completedFuture(pessoaModel));
+
+        webTestClient.post().uri("/api/v1/pessoa")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(pessoaRequestDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/api/v1/pessoa/11144477735")
+                .expectBody()
+                .jsonPath("$.cdDocPessoa").isEqualTo("11144477735")
+                .jsonPath("$.tpPessoa").isEqualTo("CLIENTE");
+    }
+
+    @Test
+    void deveRetornarBadRequestNoMesmoFormatoQuandoCpfJaCadastrado() {
+        when(pessoaAsyncServicePort.cadastraPessoa(any(PessoaModel.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CpfCadastradoException("Cliente ja cadastrado com o CPF informado")));
+
+        webTestClient.post().uri("/api/v1/pessoa")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(pessoaRequestDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Cliente ja cadastrado com o CPF informado")
+                .jsonPath("$.errors[0].message").isEqualTo("Cliente ja cadastrado com o CPF informado")
+                .jsonPath("$.path").isEqualTo("/api/v1/pessoa");
+    }
+
+    @Test
+    void deveRetornarBadRequestSemChamarServicoQuandoRequisicaoInvalida() {
+        PessoaRequestDto invalido = new PessoaRequestDto("123", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+
+        webTestClient.post().uri("/api/v1/pessoa")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invalido)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(pessoaAsyncServicePort, never()).cadastraPessoa(any());
+    }
+
+    @Test
+    void deveBuscarPessoaPorCpf() {
+        when(pessoaAsyncServicePort.buscaPessoaPorCpf("11144477735"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaModel)));
+
+        webTestClient.get().uri("/api/v1/pessoa/11144477735")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nmPessoa").isEqualTo("João Silva");
+    }
+
+    @Test
+    void deveRetornarNoContentQuandoPessoaNaoEncontrada() {
+        when(pessoaAsyncServicePort.buscaPessoaPorCpf("52998224725"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        webTestClient.get().uri("/api/v1/pessoa/52998224725")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void deveRecusarBuscaPorCpfMalFormadoSemConsultarOServico() {
+        webTestClient.get().uri("/api/v1/pessoa/11144477736")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("CPF invalido: 11144477736");
+
+        verifyNoInteractions(pessoaAsyncServicePort);
+    }
+
+    @Test
+    void deveBuscarPessoasEmLote() {
+        when(pessoaAsyncServicePort.buscaPessoasPorCpfs(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(pessoaModel)));
+
+        webTestClient.post().uri("/api/v1/pessoa/batch-lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cdDocPessoas", List.of("11144477735", "00000000000")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].cdDocPessoa").isEqualTo("11144477735");
+    }
+
+    @Test
+    void naoDeveChamarServicoAntesDaAssinatura() {
+        webTestClient.get().uri("/api/v1/pessoa/11144477735");
+
+        verify(pessoaAsyncServicePort, never()).buscaPessoaPorCpf(any());
+    }
+
+    @Test
+    void deveBuscarSomenteOsCamposPedidos() {
+        Set<CampoPessoaEnum> campos = EnumSet.of(CampoPessoaEnum.NM_PESSOA);
+        when(pessoaAsyncServicePort.buscaPessoaPorCpf("11144477735", campos))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaModel)));
+
+        webTestClient.get().uri("/api/v1/pessoa/11144477735?fields=nmPessoa")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nmPessoa").isEqualTo("João Silva")
+                .jsonPath("$.dsEmail").doesNotExist();
+    }
+
+    @Test
+    void deveRetornarBadRequestNoMesmoFormatoQuandoCampoInvalido() {
+        webTestClient.get().uri("/api/v1/pessoa/11144477735?fields=senha")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Campo invalido: senha")
+                .jsonPath("$.errors[0].message").isEqualTo("Campo invalido: senha");
+
+        verifyNoInteractions(pessoaAsyncServicePort);
+    }
+
+    @Test
+    void deveBuscarPessoaPorEmail() {
+        when(pessoaAsyncServicePort.buscaPessoaPorEmail("joao@email.com"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(pessoaModel)));
+
+        webTestClient.get().uri("/api/v1/pessoa/email/joao@email.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.cdDocPessoa").isEqualTo("11144477735");
+    }
+
+    @Test
+    void deveListarPessoasPorTipo() {
+        when(pessoaAsyncServicePort.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 1, null))
+                .thenReturn(CompletableFuture.completedFuture(new PaginaPessoasModel(List.of(pessoaModel), "def")));
+
+        webTestClient.get().uri("/api/v1/pessoa?tpPessoa=CLIENTE&tamanho=0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.pessoas[0].cdDocPessoa").isEqualTo("11144477735")
+                .jsonPath("$.cursor").isEqualTo("def");
+    }
+
+    @Test
+    void deveRetornarBadRequestNoMesmoFormatoQuandoCursorInvalido() {
+        when(pessoaAsyncServicePort.listaPessoasPorTipo(TipoPessoaEnum.CLIENTE, 50, "xyz"))
+                .thenReturn(CompletableFuture.failedFuture(new CursorInvalidoException("Cursor invalido")));
+
+        webTestClient.get().uri("/api/v1/pessoa?tpPessoa=CLIENTE&cursor=xyz")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Cursor invalido")
+                .jsonPath("$.path").isEqualTo("/api/v1/pessoa");
+    }
+}
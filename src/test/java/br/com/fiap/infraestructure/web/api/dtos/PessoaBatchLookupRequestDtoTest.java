@@ -0,0 +1,70 @@
+package br.com.fiap.infraestructure.web.api.dtos;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaBatchLookupRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaBatchLookupRequestDtoTest {
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    void deveAceitarListaDeCpfsValida() {
+        PessoaBatchLookupRequestDto dto = new PessoaBatchLookupRequestDto(List.of("52998224725", "11144477735"));
+
+        Set<ConstraintViolation<PessoaBatchLookupRequestDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.isEmpty());
+        assertEquals(2, dto.cdDocPessoas().size());
+    }
+
+    @Test
+    void deveRejeitarListaVazia() {
+        Set<ConstraintViolation<PessoaBatchLookupRequestDto>> violations =
+                validator.validate(new PessoaBatchLookupRequestDto(List.of()));
+
+        assertEquals(1, violations.size());
+        assertEquals("O atributo cdDocPessoas deve conter ao menos um CPF.", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    void deveRejeitarListaNula() {
+        Set<ConstraintViolation<PessoaBatchLookupRequestDto>> violations =
+                validator.validate(new PessoaBatchLookupRequestDto(null));
+
+        assertFalse(violations.isEmpty());
+    }
+
+    @Test
+    void deveRejeitarMaisDeQuinhentosCpfs() {
+        List<String> cpfs = IntStream.range(0, 501).mapToObj(i -> String.format("%011d", i)).toList();
+
+        Set<ConstraintViolation<PessoaBatchLookupRequestDto>> violations =
+                validator.validate(new PessoaBatchLookupRequestDto(cpfs));
+
+        assertEquals(1, violations.size());
+        assertEquals("O atributo cdDocPessoas aceita no maximo 500 CPFs por requisicao.", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    void deveRejeitarCpfEmBranco() {
+        Set<ConstraintViolation<PessoaBatchLookupRequestDto>> violations =
+                validator.validate(new PessoaBatchLookupRequestDto(List.of("52998224725", " ")));
+
+        assertEquals(1, violations.size());
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.fiap.infraestructure.web.api.dtos;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.TipoPessoaEnum;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaBatchRequestDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaBatchRequestDtoTest {
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    void deveAceitarLoteComPessoas() {
+        PessoaBatchRequestDto dto = new PessoaBatchRequestDto(List.of(
+                new PessoaRequestDto("52998224725", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com")));
+
+        assertTrue(validator.validate(dto).isEmpty());
+    }
+
+    @Test
+    void naoDeveValidarItensIndividualmente() {
+        PessoaBatchRequestDto dto = new PessoaBatchRequestDto(List.of(
+                new PessoaRequestDto("123", "Jo", TipoPessoaEnum.CLIENTE, "email-invalido")));
+
+        assertTrue(validator.validate(dto).isEmpty());
+    }
+
+    @Test
+    void deveRejeitarLoteVazio() {
+        Set<ConstraintViolation<PessoaBatchRequestDto>> violations =
+                validator.validate(new PessoaBatchRequestDto(List.of()));
+
+        assertEquals(1, violations.size());
+        assertEquals("O atributo pessoas deve conter ao menos uma pessoa.", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    void deveRejeitarLoteAcimaDoLimite() {
+        PessoaRequestDto pessoa = new PessoaRequestDto("52998224725", "João Silva", TipoPessoaEnum.CLIENTE, "joao@email.com");
+
+        Set<ConstraintViolation<PessoaBatchRequestDto>> violations =
+                validator.validate(new PessoaBatchRequestDto(Collections.nCopies(10001, pessoa)));
+
+        assertEquals(1, violations.size());
+        assertEquals("O atributo pessoas aceita no maximo 10000 pessoas por requisicao.", violations.iterator().next().getMessage());
+    }
+}
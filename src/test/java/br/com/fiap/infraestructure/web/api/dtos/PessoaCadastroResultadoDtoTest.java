@@ -0,0 +1,42 @@
+package br.com.fiap.infraestructure.web.api.dtos;
+
+import br.com.fiap.fasfoodpessoas.domain.enums.StatusCadastroEnum;
+import br.com.fiap.fasfoodpessoas.domain.models.ResultadoCadastroModel;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorMessageDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.PessoaCadastroResultadoDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaCadastroResultadoDtoTest {
+
+    @Test
+    void deveCriarResultadoAPartirDoModel() {
+        PessoaCadastroResultadoDto dto = new PessoaCadastroResultadoDto(ResultadoCadastroModel.criado("52998224725"));
+
+        assertEquals("52998224725", dto.cdDocPessoa());
+        assertEquals(StatusCadastroEnum.CRIADO, dto.status());
+        assertNull(dto.errors());
+    }
+
+    @Test
+    void deveLevarMensagemDoModelParaOsErros() {
+        PessoaCadastroResultadoDto dto = new PessoaCadastroResultadoDto(ResultadoCadastroModel.emailDuplicado("52998224725"));
+
+        assertEquals(StatusCadastroEnum.DUPLICADO, dto.status());
+        assertEquals(List.of(new ErrorMessageDto("Cliente ja cadastrado com o e-mail informado")), dto.errors());
+    }
+
+    @Test
+    void deveCriarResultadoInvalidoComErros() {
+        List<ErrorMessageDto> erros = List.of(new ErrorMessageDto("O CPF informado no atributo cdDocPessoa é inválido."));
+
+        PessoaCadastroResultadoDto dto = PessoaCadastroResultadoDto.invalido("123", erros);
+
+        assertEquals("123", dto.cdDocPessoa());
+        assertEquals(StatusCadastroEnum.INVALIDO, dto.status());
+        assertEquals(erros, dto.errors());
+    }
+}
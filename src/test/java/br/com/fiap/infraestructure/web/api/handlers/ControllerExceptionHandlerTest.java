@@ -3,6 +3,9 @@ package br.com.fiap.infraestructure.web.api.handlers;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorDto;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.handlers.ControllerExceptionHandler;
 import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfInvalidoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.ImportacaoInterrompidaException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -228,4 +231,38 @@ class ControllerExceptionHandlerTest {
         assertEquals("CPF 111 cadastrado", errorDto1.message());
         assertEquals("CPF 222 cadastrado", errorDto2.message());
     }
+
+    @Test
+    @DisplayName("Deve retornar ErrorDto com status BAD_REQUEST para e-mail ja cadastrado")
+    void deveRetornarErrorDtoParaEmailCadastrado() {
+        ErrorDto errorDto = exceptionHandler.handleEmailCadastradoException(
+                new EmailCadastradoException("Cliente ja cadastrado com o e-mail informado"), request);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), errorDto.status());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", errorDto.message());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", errorDto.errors().get(0).message());
+        assertEquals("/api/pessoas", errorDto.path());
+    }
+
+    @Test
+    @DisplayName("Deve retornar ErrorDto com status SERVICE_UNAVAILABLE e a linha para retomar a importacao")
+    void deveRetornarErrorDtoParaImportacaoInterrompida() {
+        ErrorDto errorDto = exceptionHandler.handleImportacaoInterrompidaException(
+                new ImportacaoInterrompidaException("Importacao interrompida", 1500), request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), errorDto.status());
+        assertEquals("Importacao interrompida", errorDto.message());
+        assertEquals("Reenvie o arquivo com aPartirDaLinha=1500 para continuar.", errorDto.errors().get(0).message());
+    }
+
+    @Test
+    @DisplayName("Deve retornar ErrorDto com status BAD_REQUEST para CPF invalido")
+    void deveRetornarErrorDtoParaCpfInvalido() {
+        ErrorDto errorDto = exceptionHandler.handleCpfInvalidoException(
+                new CpfInvalidoException("CPF invalido: 123"), request);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), errorDto.status());
+        assertEquals("CPF invalido: 123", errorDto.errors().get(0).message());
+        assertEquals("/api/pessoas", errorDto.path());
+    }
 }
@@ -0,0 +1,59 @@
+package br.com.fiap.infraestructure.web.api.handlers;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.dtos.ErrorDto;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.CpfCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.exceptions.EmailCadastradoException;
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.handlers.ReactiveControllerExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReactiveControllerExceptionHandler - Testes unitários")
+class ReactiveControllerExceptionHandlerTest {
+
+    private ReactiveControllerExceptionHandler exceptionHandler;
+    private MockServerWebExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        exceptionHandler = new ReactiveControllerExceptionHandler();
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/pessoa").build());
+    }
+
+    @Test
+    @DisplayName("Deve retornar ErrorDto com status BAD_REQUEST e a mensagem da exceção")
+    void deveRetornarErrorDtoComStatusEMensagem() {
+        ErrorDto errorDto = exceptionHandler.handleCpfCadastradoException(
+                new CpfCadastradoException("CPF 12345678900 já cadastrado no sistema"), exchange);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), errorDto.status());
+        assertEquals("CPF 12345678900 já cadastrado no sistema", errorDto.message());
+        assertEquals(1, errorDto.errors().size());
+        assertEquals("CPF 12345678900 já cadastrado no sistema", errorDto.errors().get(0).message());
+        assertNotNull(errorDto.timestamp());
+    }
+
+    @Test
+    @DisplayName("Deve usar o caminho da requisição como path")
+    void deveUsarCaminhoDaRequisicaoComoPath() {
+        ErrorDto errorDto = exceptionHandler.handleCpfCadastradoException(new CpfCadastradoException("duplicado"), exchange);
+
+        assertEquals("/api/v1/pessoa", errorDto.path());
+    }
+
+    @Test
+    @DisplayName("Deve retornar ErrorDto com status BAD_REQUEST para e-mail ja cadastrado")
+    void deveRetornarErrorDtoParaEmailCadastrado() {
+        ErrorDto errorDto = exceptionHandler.handleEmailCadastradoException(
+                new EmailCadastradoException("Cliente ja cadastrado com o e-mail informado"), exchange);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), errorDto.status());
+        assertEquals("Cliente ja cadastrado com o e-mail informado", errorDto.message());
+        assertEquals("/api/v1/pessoa", errorDto.path());
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.infraestructure.web.api.validators;
+
+import br.com.fiap.fasfoodpessoas.infraestructure.web.api.validators.CpfValido;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfValidoValidatorTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void deveAceitarCpfValido() {
+        assertTrue(validator.validate(new Documento("11144477735")).isEmpty());
+    }
+
+    @Test
+    void deveAceitarNuloDeixandoAObrigatoriedadeParaNotNull() {
+        assertTrue(validator.validate(new Documento(null)).isEmpty());
+    }
+
+    @Test
+    void deveRecusarCpfComDigitoVerificadorErradoComAMensagemPadrao() {
+        Set<ConstraintViolation<Documento>> violacoes = validator.validate(new Documento("11144477736"));
+
+        assertEquals(1, violacoes.size());
+        assertEquals("O CPF informado é inválido.", violacoes.iterator().next().getMessage());
+    }
+
+    private record Documento(@CpfValido String cdDocPessoa) {
+    }
+}